@@ -0,0 +1,64 @@
+package sim.control.calculator;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * AllocationCalculator class, measures the number of bytes allocated on the heap by the current
+ * thread, using the thread allocation counters of the HotSpot ThreadMXBean.
+ */
+public final class AllocationCalculator {
+
+  private static final long UNSUPPORTED = -1L;
+
+  private final com.sun.management.ThreadMXBean threadMXBean;
+
+  /**
+   * Constructor for option1.control.calculator.AllocationCalculator class.
+   */
+  public AllocationCalculator() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+      this.threadMXBean = (com.sun.management.ThreadMXBean) bean;
+      this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    } else {
+      this.threadMXBean = null;
+    }
+  }
+
+  /**
+   * Checks if the JVM reports the bytes allocated by a thread.
+   *
+   * @return true if allocations can be measured, false otherwise
+   */
+  public Boolean isSupported() {
+    return this.threadMXBean != null;
+  }
+
+  /**
+   * Gets the total number of bytes allocated by the current thread so far.
+   *
+   * @return the number of bytes allocated, or -1 if allocations cannot be measured
+   */
+  public long getAllocatedBytes() {
+    if (this.threadMXBean == null) {
+      return UNSUPPORTED;
+    }
+    return this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Calculates the number of bytes allocated per event between two measurements.
+   *
+   * @param startBytes  the number of bytes allocated at the first measurement
+   * @param endBytes    the number of bytes allocated at the second measurement
+   * @param numOfEvents the number of events processed between the measurements
+   * @return the number of bytes allocated per event, or -1 if it cannot be calculated
+   */
+  public Double calculateBytesPerEvent(long startBytes, long endBytes, long numOfEvents) {
+    if (startBytes == UNSUPPORTED || endBytes == UNSUPPORTED || numOfEvents == 0) {
+      return (double) UNSUPPORTED;
+    }
+    return (double) (endBytes - startBytes) / numOfEvents;
+  }
+}
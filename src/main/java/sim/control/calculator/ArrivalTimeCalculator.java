@@ -1,7 +1,5 @@
 package sim.control.calculator;
 
-import java.time.LocalDateTime;
-
 /**
  * ArrivalTimeCalculator class, calculates arrival time for a ride.
  */
@@ -21,16 +19,16 @@ public final class ArrivalTimeCalculator {
    *
    * @param distance      the distance covered by the ride in miles
    * @param speed         the driving speed of the driver assigned to the ride
-   * @param departureTime the departure time of the ride
-   * @return the arrival time
+   * @param departureTick the departure tick of the ride, in seconds since the epoch
+   * @return the arrival tick, in seconds since the epoch
    */
-  public LocalDateTime calculate(Double distance, Double speed, LocalDateTime departureTime) {
+  public long calculate(Double distance, Double speed, long departureTick) {
     if (!validateDistance(distance) || !validateSpeed(speed)) {
       throw new IllegalArgumentException("Distance and speed must be positive numbers.");
     }
     double hours = distance / speed;
     long seconds = Math.round(hours * MINUTES_IN_HOUR * SECONDS_IN_MIN);
-    return departureTime.plusSeconds(seconds);
+    return departureTick + seconds;
   }
 
   /**
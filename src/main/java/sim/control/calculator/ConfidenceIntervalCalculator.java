@@ -0,0 +1,71 @@
+package sim.control.calculator;
+
+import java.util.List;
+import sim.model.result.ConfidenceInterval;
+
+/**
+ * ConfidenceIntervalCalculator class, calculates the 95% confidence interval of the mean of
+ * independent samples, using the Student t distribution.
+ */
+public final class ConfidenceIntervalCalculator {
+
+  private static final int MIN_NUM_OF_SAMPLES = 2;
+  private static final double Z_975 = 1.959963984540054; // 97.5% quantile of the normal law
+  // 97.5% quantiles of the t distribution with 1 to 30 degrees of freedom
+  private static final double[] T_975 = {
+      12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+      2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+      2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+  /**
+   * Constructor for option1.calculator.ConfidenceIntervalCalculator class.
+   */
+  public ConfidenceIntervalCalculator() {
+  }
+
+  /**
+   * Calculates the 95% confidence interval of the mean of the given samples.
+   *
+   * @param samples the given samples, at least two
+   * @return the confidence interval of the mean
+   */
+  public ConfidenceInterval calculate(List<Double> samples) {
+    if (samples.size() < MIN_NUM_OF_SAMPLES) {
+      throw new IllegalArgumentException("At least two samples are needed.");
+    }
+    // Welford's algorithm, stable even when the samples are large and close together
+    double mean = 0;
+    double sumOfSquares = 0;
+    int count = 0;
+    for (Double sample : samples) {
+      count++;
+      double delta = sample - mean;
+      mean += delta / count;
+      sumOfSquares += delta * (sample - mean);
+    }
+    double standardError = Math.sqrt(sumOfSquares / (count - 1) / count);
+    return new ConfidenceInterval(mean, criticalValue(count - 1) * standardError, count);
+  }
+
+  /**
+   * Helper method. Gets the 97.5% quantile of the t distribution with the given degrees of
+   * freedom. Beyond the table, the Cornish-Fisher expansion around the normal quantile is used.
+   *
+   * @param degreesOfFreedom the degrees of freedom
+   * @return the critical value of a two-sided 95% confidence interval
+   */
+  private double criticalValue(int degreesOfFreedom) {
+    if (degreesOfFreedom <= T_975.length) {
+      return T_975[degreesOfFreedom - 1];
+    }
+    double z = Z_975;
+    double z3 = z * z * z;
+    double z5 = z3 * z * z;
+    double z7 = z5 * z * z;
+    double n = degreesOfFreedom;
+    return z
+        + (z3 + z) / (4 * n)
+        + (5 * z5 + 16 * z3 + 3 * z) / (96 * n * n)
+        + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * n * n * n);
+  }
+}
@@ -1,6 +1,6 @@
 package sim.control.calculator;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * DistanceCalculator class, generates random distance data used in the simulation.
@@ -9,10 +9,15 @@ public final class DistanceCalculator {
 
   private static final double OFF_SET = 1.0;
 
+  private final RandomGenerator random;
+
   /**
    * Constructor for option1.calculator.DistanceCalculator class.
+   *
+   * @param random the random stream the distances are drawn from
    */
-  public DistanceCalculator() {
+  public DistanceCalculator(RandomGenerator random) {
+    this.random = random;
   }
 
   /**
@@ -25,8 +30,16 @@ public final class DistanceCalculator {
     if (!validateUpperBound(upperBound)) {
       throw new IllegalArgumentException("Upper bound must be a positive number.");
     }
-    Random random = new Random();
-    return random.nextDouble(upperBound) + OFF_SET;
+    return this.random.nextDouble(upperBound) + OFF_SET;
+  }
+
+  /**
+   * Gets the shortest distance that can be generated.
+   *
+   * @return the shortest distance that can be generated
+   */
+  public Double getMinimumDistance() {
+    return OFF_SET;
   }
 
   /**
@@ -0,0 +1,41 @@
+package sim.control.calculator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * EpochTimeCalculator class, converts between the simulation clock and calendar times. The
+ * simulation clock counts primitive long ticks of one second since the epoch, so events are
+ * ordered and times are added without allocating objects; calendar times are only needed when
+ * times are printed or reported. The simulation has no time zone, so calendar times are
+ * interpreted as UTC.
+ */
+public final class EpochTimeCalculator {
+
+  /**
+   * Constructor for option1.control.calculator.EpochTimeCalculator class.
+   */
+  public EpochTimeCalculator() {
+  }
+
+  /**
+   * Converts the given calendar time into ticks of the simulation clock. Fractions of a second
+   * are dropped.
+   *
+   * @param time the given time
+   * @return the number of seconds between the epoch and the given time
+   */
+  public long toTick(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts the given tick of the simulation clock into a calendar time.
+   *
+   * @param tick the number of seconds since the epoch
+   * @return the calendar time of the tick
+   */
+  public LocalDateTime toLocalDateTime(long tick) {
+    return LocalDateTime.ofEpochSecond(tick, 0, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,310 @@
+package sim.control.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import sim.control.factory.ArrivalSource;
+import sim.control.random.RandomStreamService;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.event.RideFinishedEvent;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.DriverQueue;
+import sim.model.queue.EventQueue;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.result.DispatchWindowStatistics;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+
+/**
+ * SimCheckpoint class, writes the state of a sequential simulation to a binary checkpoint file
+ * and restores it, so that a run can be resumed from the checkpoint, or a warmed-up state reused
+ * by later runs. A checkpoint is written between two events, when every event before its tick has
+ * been processed and none after, and it holds everything the rest of the run depends on:
+ * <pre>
+ *   header            magic number "RCKP", version, tick
+ *   dictionary        first and last names, then the other strings in the order of their ids
+ *   random streams    state of every stream, in the order of the purposes
+ *   arrivals          kind and position of the arrival source, and the next arrival if any
+ *   drivers           every driver of the registry with its location, then the ids of the
+ *                     driver queue
+ *   requests          rotation state of the request queue, then the queued requests
+ *   events            the queued ride finished events
+ *   rides             the ride store, column by column if it retains the rides
+ *   statistics        the running statistics and histograms of the ride statistics, then of
+ *                     the dispatch windows
+ * </pre>
+ * Queued events and requests are written in the order returned by forEachQueued, so that the
+ * restored queues dequeue them in the same order, ties included, and a resumed run is the same as
+ * a run that was never interrupted. The mock data is not written: it must be the same when the
+ * checkpoint is restored, which is checked against the names and strings of the dictionary, and
+ * strings encoded after the mock data, such as the addresses of a request log, are encoded again
+ * with the same ids. The file is first written under a temporary name and then renamed, so an
+ * interrupted write never leaves a partial checkpoint behind.
+ */
+public final class SimCheckpoint {
+
+  private static final int MAGIC = 0x52434B50;    // "RCKP"
+  private static final short VERSION = 6;
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final RandomStreamService randomStreams;
+  private final StringDictionary dictionary;
+  private final DriverRegistry driverRegistry;
+  private final DriverQueue driverQueue;
+  private final EventQueue<Event> eventQueue;
+  private final RequestPriorityQueue<RideRequestEvent> requestQueue;
+  private final RideStore rideStore;
+  private final RideStatistics rideStatistics;
+  private final DispatchWindowStatistics windowStatistics;
+  private long tick;
+  private RideRequestEvent nextArrival;
+
+  /**
+   * Constructor for option1.control.checkpoint.SimCheckpoint class, over the state of a
+   * simulation: checkpoints are written from these objects and restored into them.
+   *
+   * @param randomStreams    the random streams of the simulation
+   * @param dictionary       the dictionary the names and locations of the simulation are encoded in
+   * @param driverRegistry   the registry of the drivers
+   * @param driverQueue      the queue of the available drivers
+   * @param eventQueue       the queue of the scheduled events, without the arrivals
+   * @param requestQueue     the queue of the waiting requests
+   * @param rideStore        the store of the finished rides
+   * @param rideStatistics   the statistics of the finished rides
+   * @param windowStatistics the statistics of the dispatch windows
+   */
+  public SimCheckpoint(RandomStreamService randomStreams, StringDictionary dictionary,
+      DriverRegistry driverRegistry, DriverQueue driverQueue, EventQueue<Event> eventQueue,
+      RequestPriorityQueue<RideRequestEvent> requestQueue, RideStore rideStore,
+      RideStatistics rideStatistics, DispatchWindowStatistics windowStatistics) {
+    this.randomStreams = randomStreams;
+    this.dictionary = dictionary;
+    this.driverRegistry = driverRegistry;
+    this.driverQueue = driverQueue;
+    this.eventQueue = eventQueue;
+    this.requestQueue = requestQueue;
+    this.rideStore = rideStore;
+    this.rideStatistics = rideStatistics;
+    this.windowStatistics = windowStatistics;
+    this.tick = Long.MIN_VALUE;
+    this.nextArrival = null;
+  }
+
+  /**
+   * Writes a checkpoint of the current state of the simulation.
+   *
+   * @param fileName    the name of the checkpoint file
+   * @param tick        the tick of the simulation clock, the tick of the next event
+   * @param arrivals    the source of the arrivals not pulled yet
+   * @param nextArrival the next arrival, pulled from the source but not dequeued yet, or null
+   */
+  public void write(String fileName, long tick, ArrivalSource arrivals, Event nextArrival) {
+    Path path = Paths.get(fileName);
+    Path temporaryPath = Paths.get(fileName + TEMPORARY_SUFFIX);
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(temporaryPath.toFile())))) {
+      output.writeInt(MAGIC);
+      output.writeShort(VERSION);
+      output.writeLong(tick);
+      this.dictionary.writeState(output);
+      this.randomStreams.writeState(output);
+      output.writeUTF(arrivals.getClass().getSimpleName());
+      arrivals.writeState(output);
+      output.writeBoolean(nextArrival != null);
+      if (nextArrival != null) {
+        writeEvent(output, nextArrival);
+      }
+      this.driverRegistry.writeState(output);
+      this.driverQueue.writeState(output);
+      this.requestQueue.writeRotationState(output);
+      writeEvents(output, this.requestQueue);
+      writeEvents(output, this.eventQueue);
+      this.rideStore.writeState(output);
+      this.rideStatistics.writeState(output);
+      this.windowStatistics.writeState(output);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    try {
+      Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.tick = tick;
+  }
+
+  /**
+   * Restores the state of the simulation from a checkpoint. The queues, the driver registry, the
+   * ride store and the ride statistics must be empty, and the arrival source must be of the same
+   * kind and supply the same arrivals as the one the checkpoint was written from. The random
+   * streams are restored in place, so that the arrival source and every other holder of a stream
+   * draw the numbers that follow the checkpoint.
+   *
+   * @param fileName the name of the checkpoint file
+   * @param arrivals the source of the arrivals, restored to its position in the checkpoint
+   */
+  public void read(String fileName, ArrivalSource arrivals) {
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(fileName)))) {
+      if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+        throw new IllegalArgumentException("Not a simulation checkpoint: " + fileName);
+      }
+      this.tick = input.readLong();
+      readDictionary(input, fileName);
+      this.randomStreams.readState(input);
+      String arrivalSource = input.readUTF();
+      if (!arrivalSource.equals(arrivals.getClass().getSimpleName())) {
+        throw new IllegalArgumentException("Checkpoint " + fileName + " was written with arrivals"
+            + " from " + arrivalSource + ", not from " + arrivals.getClass().getSimpleName() + ".");
+      }
+      arrivals.readState(input);
+      this.nextArrival = input.readBoolean() ? readRequest(input) : null;
+      this.driverRegistry.readState(input);
+      this.driverQueue.readState(input);
+      this.requestQueue.readRotationState(input);
+      int numOfRequests = input.readInt();
+      for (int i = 0; i < numOfRequests; i++) {
+        this.requestQueue.enqueue(readRequest(input));
+      }
+      int numOfEvents = input.readInt();
+      for (int i = 0; i < numOfEvents; i++) {
+        this.eventQueue.enqueue(readRideFinished(input));
+      }
+      this.rideStore.readState(input);
+      this.rideStatistics.readState(input);
+      this.windowStatistics.readState(input);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Gets the tick of the last checkpoint written or restored.
+   *
+   * @return the tick of the checkpoint, or Long.MIN_VALUE if none was written or restored
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  /**
+   * Gets the next arrival of the last checkpoint restored, pulled from the arrival source
+   * before the checkpoint was written but not dequeued yet.
+   *
+   * @return the next arrival, or null if every arrival had been dequeued
+   */
+  public RideRequestEvent getNextArrival() {
+    return nextArrival;
+  }
+
+  /**
+   * Helper method. Reads the dictionary of a checkpoint. The names and the strings the dictionary
+   * already holds must be the same, and the other strings are encoded with the ids they had.
+   *
+   * @param input    the input
+   * @param fileName the name of the checkpoint file, for error messages
+   * @throws IOException if the dictionary cannot be read
+   */
+  private void readDictionary(DataInputStream input, String fileName) throws IOException {
+    StringDictionary saved = new StringDictionary();
+    saved.readState(input);
+    boolean same = saved.getNames().equals(this.dictionary.getNames());
+    for (int id = saved.getNames().size(); same && id < saved.size(); id++) {
+      String string = saved.decode(id);
+      same = id < this.dictionary.size() ? string.equals(this.dictionary.decode(id))
+          : this.dictionary.encode(string) == id;
+    }
+    if (!same) {
+      throw new IllegalArgumentException("Checkpoint " + fileName + " was written with other"
+          + " names and addresses.");
+    }
+  }
+
+  /**
+   * Helper method. Writes the number of queued events of the given queue, then the events, in
+   * the order returned by forEachQueued.
+   *
+   * @param output the output
+   * @param queue  the queue
+   * @throws IOException if the events cannot be written
+   */
+  private static void writeEvents(DataOutputStream output, EventQueue<? extends Event> queue)
+      throws IOException {
+    ArrayList<Event> events = new ArrayList<>();
+    queue.forEachQueued(events::add);
+    output.writeInt(events.size());
+    for (Event event : events) {
+      writeEvent(output, event);
+    }
+  }
+
+  /**
+   * Helper method. Writes a ride requested or ride finished event. The fields of a ride finished
+   * event follow the fields every event has.
+   *
+   * @param output the output
+   * @param event  the event
+   * @throws IOException if the event cannot be written
+   */
+  private static void writeEvent(DataOutputStream output, Event event) throws IOException {
+    output.writeLong(event.getEventTick());
+    output.writeInt(event.getCustomerId());
+    output.writeInt(event.getStartingLocationId());
+    output.writeInt(event.getDesiredLocationId());
+    output.writeDouble(event.getRideDistance());
+    output.writeByte(event.getPriority());
+    if (event instanceof RideFinishedEvent) {
+      RideFinishedEvent rideFinishedEvent = (RideFinishedEvent) event;
+      output.writeLong(rideFinishedEvent.getRequestTick());
+      output.writeLong(rideFinishedEvent.getDepartureTick());
+      output.writeLong(rideFinishedEvent.getRideLength());
+      output.writeInt(rideFinishedEvent.getDriverId());
+    } else if (!(event instanceof RideRequestEvent)) {
+      throw new IllegalStateException("Cannot checkpoint event: " + event);
+    }
+  }
+
+  /**
+   * Helper method. Reads a ride requested event.
+   *
+   * @param input the input
+   * @return the ride requested event
+   * @throws IOException if the event cannot be read
+   */
+  private static RideRequestEvent readRequest(DataInputStream input) throws IOException {
+    return new RideRequestEvent(input.readLong(), input.readInt(), input.readInt(),
+        input.readInt(), input.readDouble(), (int) input.readByte());
+  }
+
+  /**
+   * Helper method. Reads a ride finished event.
+   *
+   * @param input the input
+   * @return the ride finished event
+   * @throws IOException if the event cannot be read
+   */
+  private static RideFinishedEvent readRideFinished(DataInputStream input) throws IOException {
+    return new RideFinishedEvent(input.readLong(), input.readInt(), input.readInt(),
+        input.readInt(), input.readDouble(), (int) input.readByte(), input.readLong(),
+        input.readLong(), input.readLong(), input.readInt());
+  }
+
+  @Override
+  public String toString() {
+    return "SimCheckpoint{" +
+        "tick=" + tick +
+        ", hasNextArrival=" + (nextArrival != null) +
+        '}';
+  }
+}
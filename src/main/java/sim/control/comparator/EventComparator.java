@@ -15,7 +15,7 @@ public final class EventComparator implements Comparator<Event> {
   }
 
   /**
-   * Compares the two Event objects based on the eventTime attribute.
+   * Compares the two Event objects based on the eventTick attribute.
    *
    * @param o1 the first object to be compared.
    * @param o2 the second object to be compared.
@@ -24,6 +24,6 @@ public final class EventComparator implements Comparator<Event> {
    */
   @Override
   public int compare(Event o1, Event o2) {
-    return o1.getEventTime().compareTo(o2.getEventTime());
+    return Long.compare(o1.getEventTick(), o2.getEventTick());
   }
 }
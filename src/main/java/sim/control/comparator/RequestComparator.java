@@ -15,7 +15,7 @@ public final class RequestComparator<T extends RideRequestEvent> implements Comp
 
   /**
    * Compares two RideRequestEvent objects. It first compares the distance encapsulated in the two
-   * objects. If the distances are equal, it compares the eventTime attribute.
+   * objects. If the distances are equal, it compares the eventTick attribute.
    *
    * @param o1 the first object to be compared.
    * @param o2 the second object to be compared.
@@ -26,7 +26,7 @@ public final class RequestComparator<T extends RideRequestEvent> implements Comp
   public int compare(T o1, T o2) {
     int res = Double.compare(o1.getRideDistance(), o2.getRideDistance());
     if (res == 0) {
-      return o1.getEventTime().compareTo(o2.getEventTime());
+      return Long.compare(o1.getEventTick(), o2.getEventTick());
     } else {
       return res;
     }
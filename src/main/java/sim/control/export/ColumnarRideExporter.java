@@ -0,0 +1,370 @@
+package sim.control.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import sim.model.data.NameSpace;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+
+/**
+ * ColumnarRideExporter class, writes every finished ride to a compressed columnar file, in the
+ * format described by ColumnarRideFormat. Rides are buffered in one primitive array per column;
+ * once a row group is full, each column is encoded with delta and varint encodings that keep ids
+ * and times short, compressed with DEFLATE into a direct buffer and written to the file through a
+ * FileChannel. Ride distances barely compress, so their column is stored without compression,
+ * which keeps the exporter above a million rows per second. The strings of the dictionary and the
+ * drivers are written when the exporter is closed, so the file can be read on its own.
+ *
+ * <p>Exporting is synchronized, so the zones of a parallel engine may share an exporter.
+ */
+public final class ColumnarRideExporter implements RideExporter {
+
+  private static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+  private final String fileName;
+  private final StringDictionary dictionary;
+  private final DriverRegistry driverRegistry;
+  private final int rowGroupSize;
+  private final FileChannel channel;
+  private final int[][] intColumns;    // column -> row -> value, for the id columns
+  private final long[] requestTicks;
+  private final long[] waitingTimes;
+  private final long[] tripTimes;
+  private final double[] rideDistances;
+  private final byte[] rideTypes;
+  private final Deflater deflater;
+  private final ByteBuffer header;
+  private byte[] encoded;              // encoded values of the column being written
+  private int encodedLength;
+  private ByteBuffer compressed;
+  private int numOfRows;               // rows of the current row group
+  private long numOfRowsWritten;       // rows of every row group
+  private long position;               // bytes written to the file
+  private boolean closed;
+
+  /**
+   * Constructor for option1.control.export.ColumnarRideExporter class. The file is created, or
+   * truncated if it exists, and its header is written.
+   *
+   * @param fileName       the name of the file
+   * @param dictionary     the dictionary the names and locations of the rides are encoded in
+   * @param driverRegistry the registry of the drivers of the rides
+   */
+  public ColumnarRideExporter(String fileName, StringDictionary dictionary,
+      DriverRegistry driverRegistry) {
+    this(fileName, dictionary, driverRegistry, DEFAULT_ROW_GROUP_SIZE);
+  }
+
+  /**
+   * Constructor for option1.control.export.ColumnarRideExporter class, with row groups of the
+   * given number of rows.
+   *
+   * @param fileName       the name of the file
+   * @param dictionary     the dictionary the names and locations of the rides are encoded in
+   * @param driverRegistry the registry of the drivers of the rides
+   * @param rowGroupSize   the number of rows of a row group
+   */
+  public ColumnarRideExporter(String fileName, StringDictionary dictionary,
+      DriverRegistry driverRegistry, Integer rowGroupSize) {
+    if (rowGroupSize <= 0
+        || rowGroupSize > Integer.MAX_VALUE / ColumnarRideFormat.MAX_VALUE_SIZE / 2) {
+      throw new IllegalArgumentException("Invalid row group size: " + rowGroupSize);
+    }
+    this.fileName = fileName;
+    this.dictionary = dictionary;
+    this.driverRegistry = driverRegistry;
+    this.rowGroupSize = rowGroupSize;
+    try {
+      this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.intColumns = new int[ColumnarRideFormat.REQUEST_TICK][rowGroupSize];
+    this.requestTicks = new long[rowGroupSize];
+    this.waitingTimes = new long[rowGroupSize];
+    this.tripTimes = new long[rowGroupSize];
+    this.rideDistances = new double[rowGroupSize];
+    this.rideTypes = new byte[rowGroupSize];
+    this.deflater = new Deflater(Deflater.BEST_SPEED);
+    this.header = ByteBuffer.allocateDirect(ColumnarRideFormat.CHUNK_HEADER_SIZE)
+        .order(ColumnarRideFormat.BYTE_ORDER);
+    this.encoded = new byte[rowGroupSize * ColumnarRideFormat.MAX_VALUE_SIZE];
+    this.encodedLength = 0;
+    this.compressed = ByteBuffer.allocateDirect(this.encoded.length);
+    this.numOfRows = 0;
+    this.numOfRowsWritten = 0;
+    this.position = 0;
+    this.closed = false;
+    ByteBuffer fileHeader = ByteBuffer.allocateDirect(ColumnarRideFormat.HEADER_SIZE)
+        .order(ColumnarRideFormat.BYTE_ORDER);
+    fileHeader.putInt(ColumnarRideFormat.MAGIC);
+    fileHeader.putShort(ColumnarRideFormat.VERSION);
+    fileHeader.putInt(rowGroupSize);
+    fileHeader.flip();
+    write(fileHeader);
+  }
+
+  @Override
+  public synchronized void export(int driverId, int numOfRidesFinished, int customerId,
+      int startingLocationId, int desiredLocationId, long requestTick, long departureTick,
+      long arrivalTick, double rideDistance, int priority) {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot export to a closed exporter.");
+    }
+    int row = this.numOfRows;
+    this.intColumns[ColumnarRideFormat.DRIVER_ID][row] = driverId;
+    this.intColumns[ColumnarRideFormat.NUM_OF_RIDES_FINISHED][row] = numOfRidesFinished;
+    this.intColumns[ColumnarRideFormat.CUSTOMER_ID][row] = customerId;
+    this.intColumns[ColumnarRideFormat.STARTING_LOCATION_ID][row] = startingLocationId;
+    this.intColumns[ColumnarRideFormat.DESIRED_LOCATION_ID][row] = desiredLocationId;
+    this.requestTicks[row] = requestTick;
+    this.waitingTimes[row] = departureTick - requestTick;
+    this.tripTimes[row] = arrivalTick - departureTick;
+    this.rideDistances[row] = rideDistance;
+    this.rideTypes[row] = (byte) priority;
+    if (++this.numOfRows == this.rowGroupSize) {
+      writeRowGroup();
+    }
+  }
+
+  /**
+   * Gets the number of rows exported so far.
+   *
+   * @return the number of rows exported
+   */
+  public synchronized long getNumOfRows() {
+    return this.numOfRowsWritten + this.numOfRows;
+  }
+
+  /**
+   * Writes the last row group, the dictionary and the drivers, and closes the file.
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    if (this.numOfRows > 0) {
+      writeRowGroup();
+    }
+    // A row group of 0 rows ends the row groups
+    this.header.clear();
+    this.header.putInt(0);
+    this.header.flip();
+    write(this.header);
+    long dictionaryPosition = this.position;
+    writeStrings();
+    writeDrivers();
+    this.header.clear();
+    this.header.putLong(dictionaryPosition);
+    this.header.flip();
+    write(this.header);
+    this.deflater.end();
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Helper method. Encodes, compresses and writes every column of the current row group.
+   */
+  private void writeRowGroup() {
+    int rows = this.numOfRows;
+    this.header.clear();
+    this.header.putInt(rows);
+    this.header.flip();
+    write(this.header);
+    for (int column = 0; column < ColumnarRideFormat.REQUEST_TICK; column++) {
+      int[] values = this.intColumns[column];
+      this.encodedLength = 0;
+      for (int row = 0; row < rows; row++) {
+        putVarint(values[row] & 0xFFFFFFFFL);
+      }
+      writeChunk(rows, Deflater.BEST_SPEED);
+    }
+    this.encodedLength = 0;
+    long previousTick = 0;
+    for (int row = 0; row < rows; row++) {
+      putVarint(ColumnarRideFormat.zigzag(this.requestTicks[row] - previousTick));
+      previousTick = this.requestTicks[row];
+    }
+    writeChunk(rows, Deflater.BEST_SPEED);
+    this.encodedLength = 0;
+    for (int row = 0; row < rows; row++) {
+      putVarint(ColumnarRideFormat.zigzag(this.waitingTimes[row]));
+    }
+    writeChunk(rows, Deflater.BEST_SPEED);
+    this.encodedLength = 0;
+    for (int row = 0; row < rows; row++) {
+      putVarint(ColumnarRideFormat.zigzag(this.tripTimes[row]));
+    }
+    writeChunk(rows, Deflater.BEST_SPEED);
+    this.encodedLength = 0;
+    for (int row = 0; row < rows; row++) {
+      long bits = Double.doubleToRawLongBits(this.rideDistances[row]);
+      for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+        this.encoded[this.encodedLength++] = (byte) (bits >>> shift);
+      }
+    }
+    writeChunk(rows, Deflater.NO_COMPRESSION);
+    System.arraycopy(this.rideTypes, 0, this.encoded, 0, rows);
+    this.encodedLength = rows;
+    writeChunk(rows, Deflater.BEST_SPEED);
+    this.numOfRowsWritten += rows;
+    this.numOfRows = 0;
+  }
+
+  /**
+   * Helper method. Writes the first names and the last names of the name space of the dictionary,
+   * then the other strings of the dictionary in id order, as three chunks. The names are not
+   * built.
+   */
+  private void writeStrings() {
+    NameSpace names = this.dictionary.getNames();
+    writeStrings(names.getFirstNames());
+    writeStrings(names.getLastNames());
+    this.encodedLength = 0;
+    int dictionarySize = this.dictionary.size();
+    for (int i = names.size(); i < dictionarySize; i++) {
+      putString(this.dictionary.decode(i));
+    }
+    writeChunk(dictionarySize - names.size(), Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Helper method. Writes the given strings as a chunk.
+   *
+   * @param strings the strings
+   */
+  private void writeStrings(List<String> strings) {
+    this.encodedLength = 0;
+    for (String string : strings) {
+      putString(string);
+    }
+    writeChunk(strings.size(), Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Helper method. Writes the names and speeds of the drivers, in id order, as a chunk.
+   */
+  private void writeDrivers() {
+    this.encodedLength = 0;
+    for (int i = 0; i < this.driverRegistry.getNumOfDrivers(); i++) {
+      putString(this.driverRegistry.getDriverName(i));
+      ensureEncodedCapacity(Double.BYTES);
+      long bits = Double.doubleToRawLongBits(this.driverRegistry.getDriverSpeed(i));
+      for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+        this.encoded[this.encodedLength++] = (byte) (bits >>> shift);
+      }
+    }
+    writeChunk(this.driverRegistry.getNumOfDrivers(), Deflater.BEST_SPEED);
+  }
+
+  /**
+   * Helper method. Appends a string to the encoded values, growing them if needed.
+   *
+   * @param string the string
+   */
+  private void putString(String string) {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    ensureEncodedCapacity(ColumnarRideFormat.MAX_VALUE_SIZE + bytes.length);
+    putVarint(bytes.length);
+    System.arraycopy(bytes, 0, this.encoded, this.encodedLength, bytes.length);
+    this.encodedLength += bytes.length;
+  }
+
+  /**
+   * Helper method. Appends a varint to the encoded values.
+   *
+   * @param value the unsigned number
+   */
+  private void putVarint(long value) {
+    byte[] bytes = this.encoded;
+    int length = this.encodedLength;
+    while ((value & ~0x7FL) != 0) {
+      bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    bytes[length++] = (byte) value;
+    this.encodedLength = length;
+  }
+
+  /**
+   * Helper method. Compresses the encoded values into the direct buffer and writes them as a
+   * chunk of the given number of values.
+   *
+   * @param numOfValues the number of values of the chunk
+   * @param level       the DEFLATE compression level
+   */
+  private void writeChunk(int numOfValues, int level) {
+    this.deflater.reset();
+    this.deflater.setLevel(level);
+    this.deflater.setInput(this.encoded, 0, this.encodedLength);
+    this.deflater.finish();
+    this.compressed.clear();
+    while (!this.deflater.finished()) {
+      this.deflater.deflate(this.compressed);
+      if (!this.compressed.hasRemaining()) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(this.compressed.capacity() * 2);
+        this.compressed.flip();
+        this.compressed = grown.put(this.compressed);
+      }
+    }
+    this.compressed.flip();
+    this.header.clear();
+    this.header.putInt(numOfValues);
+    this.header.putInt(this.encodedLength);
+    this.header.putInt(this.compressed.remaining());
+    this.header.flip();
+    write(this.header);
+    write(this.compressed);
+  }
+
+  /**
+   * Helper method. Grows the encoded values if they have less room than the given number of
+   * bytes.
+   *
+   * @param size the number of bytes
+   */
+  private void ensureEncodedCapacity(int size) {
+    if (this.encoded.length - this.encodedLength < size) {
+      this.encoded = Arrays.copyOf(this.encoded,
+          Math.max(this.encodedLength + size, this.encoded.length * 2));
+    }
+  }
+
+  /**
+   * Helper method. Writes every remaining byte of the given buffer to the file.
+   *
+   * @param source the buffer
+   */
+  private void write(ByteBuffer source) {
+    try {
+      while (source.hasRemaining()) {
+        this.position += this.channel.write(source);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnarRideExporter{" +
+        "fileName='" + fileName + '\'' +
+        ", rowGroupSize=" + rowGroupSize +
+        ", numOfRowsWritten=" + numOfRowsWritten +
+        '}';
+  }
+}
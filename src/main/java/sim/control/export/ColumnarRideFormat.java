@@ -0,0 +1,82 @@
+package sim.control.export;
+
+import java.nio.ByteOrder;
+
+/**
+ * ColumnarRideFormat class, describes the compressed columnar file written by
+ * ColumnarRideExporter and read by ColumnarRideReader.
+ *
+ * <p>The file starts with a header: the magic number, the version and the number of rows of a row
+ * group. It is followed by row groups, each made of its number of rows and one chunk per column,
+ * then by a row group of 0 rows that ends them, three chunks holding the dictionary (its first
+ * names, its last names and its other strings), a chunk holding the names and speeds of the
+ * drivers and, in the last 8 bytes of the file, the position of the first dictionary chunk. A
+ * chunk is its number of values, its encoded size, its compressed size and its bytes, encoded
+ * then compressed with DEFLATE.
+ *
+ * <p>The columns are encoded as follows, where a varint is an unsigned LEB128 number and a signed
+ * varint is a zigzag-encoded varint:
+ * <pre>
+ *   column                  encoding
+ *   driver id               varint
+ *   rides finished          varint, rides the driver had finished before the ride
+ *   customer id             varint, dictionary id of the name of the customer
+ *   starting location id    varint, dictionary id
+ *   desired location id     varint, dictionary id
+ *   request tick            signed varint, delta from the previous row of the group, or from 0
+ *   waiting time            signed varint, departure tick minus request tick
+ *   trip time               signed varint, arrival tick minus departure tick
+ *   ride distance           8-byte double
+ *   ride type               1 byte, priority of the ride type
+ * </pre>
+ * A string is a varint length followed by its UTF-8 bytes, and a driver is its name followed by
+ * its speed as an 8-byte double. Every fixed-width value is little-endian.
+ */
+final class ColumnarRideFormat {
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  static final int MAGIC = 0x52434F4C;    // "RCOL"
+  static final short VERSION = 2;
+  static final int HEADER_SIZE = 10;
+  static final int CHUNK_HEADER_SIZE = 12;
+  static final int FOOTER_SIZE = 8;
+
+  static final int DRIVER_ID = 0;
+  static final int NUM_OF_RIDES_FINISHED = 1;
+  static final int CUSTOMER_ID = 2;
+  static final int STARTING_LOCATION_ID = 3;
+  static final int DESIRED_LOCATION_ID = 4;
+  static final int REQUEST_TICK = 5;
+  static final int WAITING_TIME = 6;
+  static final int TRIP_TIME = 7;
+  static final int RIDE_DISTANCE = 8;
+  static final int RIDE_TYPE = 9;
+  static final int NUM_OF_COLUMNS = 10;
+  static final int MAX_VALUE_SIZE = 10;    // bytes of the longest encoded value, a 64-bit varint
+
+  /**
+   * Constructor for option1.control.export.ColumnarRideFormat class. Not instantiable.
+   */
+  private ColumnarRideFormat() {
+  }
+
+  /**
+   * Zigzag-encodes a signed number, so that numbers close to 0 have short varints.
+   *
+   * @param value the signed number
+   * @return the zigzag-encoded number
+   */
+  static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /**
+   * Decodes a zigzag-encoded number.
+   *
+   * @param value the zigzag-encoded number
+   * @return the signed number
+   */
+  static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
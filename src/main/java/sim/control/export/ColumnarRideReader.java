@@ -0,0 +1,227 @@
+package sim.control.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import sim.model.data.NameSpace;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.ride.RideStore;
+
+/**
+ * ColumnarRideReader class, reads back the rides of a compressed columnar file written by
+ * ColumnarRideExporter. The file is mapped in memory read-only; the dictionary and the drivers are
+ * read when the reader is created, and the row groups by {@link #read()}.
+ */
+public final class ColumnarRideReader {
+
+  private final String fileName;
+  private final MappedByteBuffer file;
+  private final Inflater inflater;
+  private final StringDictionary dictionary;
+  private final String[] driverNames;
+  private final double[] driverSpeeds;
+
+  /**
+   * Constructor for option1.control.export.ColumnarRideReader class. Reads the header, the
+   * dictionary and the drivers of the file.
+   *
+   * @param fileName the name of the file
+   */
+  public ColumnarRideReader(String fileName) {
+    this.fileName = fileName;
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      this.file = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.file.order(ColumnarRideFormat.BYTE_ORDER);
+    if (this.file.capacity() < ColumnarRideFormat.HEADER_SIZE + ColumnarRideFormat.FOOTER_SIZE
+        || this.file.getInt(0) != ColumnarRideFormat.MAGIC
+        || this.file.getShort(Integer.BYTES) != ColumnarRideFormat.VERSION) {
+      throw new IllegalArgumentException("Not a columnar ride file: " + fileName);
+    }
+    this.inflater = new Inflater();
+    this.file.position((int) this.file.getLong(
+        this.file.capacity() - ColumnarRideFormat.FOOTER_SIZE));
+    ArrayList<String> firstNames = readStrings();
+    ArrayList<String> lastNames = readStrings();
+    this.dictionary = new StringDictionary();
+    this.dictionary.setNames(new NameSpace(firstNames, lastNames));
+    for (String string : readStrings()) {
+      this.dictionary.encode(string);
+    }
+    int numOfDrivers = this.file.getInt(this.file.position());
+    ByteBuffer drivers = readChunk();
+    this.driverNames = new String[numOfDrivers];
+    this.driverSpeeds = new double[numOfDrivers];
+    for (int i = 0; i < numOfDrivers; i++) {
+      this.driverNames[i] = getString(drivers);
+      this.driverSpeeds[i] = drivers.getDouble();
+    }
+  }
+
+  /**
+   * Gets the dictionary the names and locations of the rides are encoded in.
+   *
+   * @return the dictionary of the file
+   */
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Creates a driver registry holding the drivers of the file, with the ids they had in the
+   * simulation and no finished ride.
+   *
+   * @return the driver registry
+   */
+  public DriverRegistry createDriverRegistry() {
+    DriverRegistry driverRegistry = new DriverRegistry(this.driverNames.length);
+    for (int i = 0; i < this.driverNames.length; i++) {
+      driverRegistry.register(this.driverNames[i], this.driverSpeeds[i]);
+    }
+    return driverRegistry;
+  }
+
+  /**
+   * Reads every ride of the file, in the order they were exported.
+   *
+   * @return the store of the rides
+   */
+  public RideStore read() {
+    RideStore rideStore = new RideStore(Boolean.TRUE);
+    int[][] intColumns = new int[ColumnarRideFormat.REQUEST_TICK][];
+    this.file.position(ColumnarRideFormat.HEADER_SIZE);
+    while (true) {
+      int rows = this.file.getInt();
+      if (rows == 0) {
+        return rideStore;
+      }
+      for (int column = 0; column < ColumnarRideFormat.REQUEST_TICK; column++) {
+        ByteBuffer values = readChunk();
+        if (intColumns[column] == null || intColumns[column].length < rows) {
+          intColumns[column] = new int[rows];
+        }
+        for (int row = 0; row < rows; row++) {
+          intColumns[column][row] = (int) getVarint(values);
+        }
+      }
+      ByteBuffer requestTicks = readChunk();
+      ByteBuffer waitingTimes = readChunk();
+      ByteBuffer tripTimes = readChunk();
+      ByteBuffer rideDistances = readChunk();
+      ByteBuffer rideTypes = readChunk();
+      long requestTick = 0;
+      for (int row = 0; row < rows; row++) {
+        requestTick += ColumnarRideFormat.unzigzag(getVarint(requestTicks));
+        long departureTick = requestTick + ColumnarRideFormat.unzigzag(getVarint(waitingTimes));
+        long arrivalTick = departureTick + ColumnarRideFormat.unzigzag(getVarint(tripTimes));
+        rideStore.add(
+            intColumns[ColumnarRideFormat.DRIVER_ID][row],
+            intColumns[ColumnarRideFormat.NUM_OF_RIDES_FINISHED][row],
+            intColumns[ColumnarRideFormat.CUSTOMER_ID][row],
+            intColumns[ColumnarRideFormat.STARTING_LOCATION_ID][row],
+            intColumns[ColumnarRideFormat.DESIRED_LOCATION_ID][row],
+            requestTick,
+            departureTick,
+            arrivalTick,
+            rideDistances.getDouble(),
+            rideTypes.get());
+      }
+    }
+  }
+
+  /**
+   * Helper method. Reads the chunk at the current position of the file and decompresses it.
+   *
+   * @return the encoded values of the chunk
+   */
+  private ByteBuffer readChunk() {
+    this.file.getInt(); // number of values
+    int encodedSize = this.file.getInt();
+    int compressedSize = this.file.getInt();
+    ByteBuffer input = this.file.slice(this.file.position(), compressedSize);
+    this.file.position(this.file.position() + compressedSize);
+    ByteBuffer output = ByteBuffer.allocate(encodedSize).order(ColumnarRideFormat.BYTE_ORDER);
+    this.inflater.reset();
+    this.inflater.setInput(input);
+    try {
+      while (output.hasRemaining() && !this.inflater.finished()) {
+        if (this.inflater.inflate(output) == 0 && this.inflater.needsInput()) {
+          break;
+        }
+      }
+    } catch (DataFormatException e) {
+      throw new RuntimeException(e);
+    }
+    if (output.hasRemaining()) {
+      throw new IllegalArgumentException("Truncated chunk in columnar ride file: " + fileName);
+    }
+    return output.flip();
+  }
+
+  /**
+   * Helper method. Reads a varint.
+   *
+   * @param buffer the buffer
+   * @return the unsigned number
+   */
+  private static long getVarint(ByteBuffer buffer) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  /**
+   * Helper method. Reads a chunk of strings.
+   *
+   * @return the strings of the chunk
+   */
+  private ArrayList<String> readStrings() {
+    int numOfStrings = this.file.getInt(this.file.position());
+    ByteBuffer chunk = readChunk();
+    ArrayList<String> strings = new ArrayList<>(numOfStrings);
+    for (int i = 0; i < numOfStrings; i++) {
+      strings.add(getString(chunk));
+    }
+    return strings;
+  }
+
+  /**
+   * Helper method. Reads a string: its varint length and its UTF-8 bytes.
+   *
+   * @param buffer the buffer
+   * @return the string
+   */
+  private static String getString(ByteBuffer buffer) {
+    int length = (int) getVarint(buffer);
+    String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+        StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+    return string;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnarRideReader{" +
+        "fileName='" + fileName + '\'' +
+        ", numOfStrings=" + dictionary.size() +
+        ", numOfDrivers=" + driverNames.length +
+        '}';
+  }
+}
@@ -0,0 +1,63 @@
+package sim.control.export;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CompositeRideExporter class, exports every finished ride to each of several exporters, in
+ * order.
+ */
+public final class CompositeRideExporter implements RideExporter {
+
+  private final RideExporter[] exporters;
+
+  /**
+   * Constructor for option1.control.export.CompositeRideExporter class.
+   *
+   * @param exporters the exporters every ride is exported to
+   */
+  public CompositeRideExporter(List<RideExporter> exporters) {
+    this.exporters = exporters.toArray(new RideExporter[0]);
+  }
+
+  @Override
+  public void export(int driverId, int numOfRidesFinished, int customerId,
+      int startingLocationId, int desiredLocationId, long requestTick, long departureTick,
+      long arrivalTick, double rideDistance, int priority) {
+    for (RideExporter exporter : this.exporters) {
+      exporter.export(driverId, numOfRidesFinished, customerId, startingLocationId,
+          desiredLocationId, requestTick, departureTick, arrivalTick, rideDistance, priority);
+    }
+  }
+
+  /**
+   * Closes every exporter, even if closing one of them fails.
+   *
+   * @throws RuntimeException thrown when an exporter could not be closed
+   */
+  @Override
+  public void close() {
+    RuntimeException failure = null;
+    for (RideExporter exporter : this.exporters) {
+      try {
+        exporter.close();
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CompositeRideExporter{" +
+        "exporters=" + Arrays.toString(exporters) +
+        '}';
+  }
+}
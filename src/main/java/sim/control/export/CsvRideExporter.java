@@ -0,0 +1,431 @@
+package sim.control.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import sim.model.data.NameSpace;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.type.RideType;
+
+/**
+ * CsvRideExporter class, writes every finished ride as a row of a CSV file. Each row is encoded
+ * into a reusable byte array and copied in bulk into a direct buffer, written to the file through
+ * a FileChannel whenever it is full. Numbers are written digit by digit, and the locations of the
+ * dictionary, the first and last names of its name space, the names of the drivers and the ride
+ * types are encoded to escaped UTF-8 once, on first use, so exporting a row allocates nothing. A
+ * customer name is written from the bytes of its first and last name: the name space may hold far
+ * more names than there are first and last names, so the names themselves are never cached.
+ *
+ * <p>Times are written as ticks, in seconds since the epoch, and distances with 6 decimals.
+ * Exporting is synchronized, so the zones of a parallel engine may share an exporter.
+ */
+public final class CsvRideExporter implements RideExporter {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+  private static final int MAX_DIGITS = 19;              // digits of the largest long
+  private static final int MAX_FIXED_ROW_SIZE = 256;     // bytes of a row without its strings
+  private static final long DISTANCE_SCALE = 1_000_000;  // distances are written with 6 decimals
+  private static final int DISTANCE_DECIMALS = 6;
+  private static final byte SEPARATOR = ',';
+  private static final byte QUOTE = '"';
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte NAME_SEPARATOR = ' ';
+  private static final byte[] HEADER = ("driver_id,driver_name,driver_rides_finished,"
+      + "customer_name,starting_location,desired_location,ride_type,request_tick,"
+      + "departure_tick,arrival_tick,waiting_time,trip_time,ride_distance\n")
+      .getBytes(StandardCharsets.US_ASCII);
+
+  private final String fileName;
+  private final StringDictionary dictionary;
+  private final DriverRegistry driverRegistry;
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private byte[] row;              // bytes of the row being exported
+  private int rowLength;
+  private final NameSpace names;
+  private final int numOfNames;
+  private final int numOfLastNames;
+  private final byte[][] firstNames;   // first name index -> UTF-8 bytes, quotes doubled
+  private final byte[][] lastNames;    // last name index -> UTF-8 bytes, quotes doubled
+  private final boolean[] firstNameQuoted;
+  private final boolean[] lastNameQuoted;
+  private byte[][] locations;     // dictionary id - number of names -> escaped UTF-8 bytes
+  private byte[][] driverNames;   // driver id -> escaped UTF-8 bytes, encoded on first use
+  private final byte[][] rideTypes;
+  private long numOfRows;
+  private boolean closed;
+
+  /**
+   * Constructor for option1.control.export.CsvRideExporter class. The file is created, or
+   * truncated if it exists, and its header row is written.
+   *
+   * @param fileName       the name of the CSV file
+   * @param dictionary     the dictionary the names and locations of the rides are encoded in
+   * @param driverRegistry the registry of the drivers of the rides
+   */
+  public CsvRideExporter(String fileName, StringDictionary dictionary,
+      DriverRegistry driverRegistry) {
+    this.fileName = fileName;
+    this.dictionary = dictionary;
+    this.driverRegistry = driverRegistry;
+    try {
+      this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    this.row = new byte[MAX_FIXED_ROW_SIZE];
+    this.rowLength = 0;
+    this.names = dictionary.getNames();
+    this.numOfNames = this.names.size();
+    this.numOfLastNames = this.names.getLastNames().size();
+    this.firstNames = new byte[this.names.getFirstNames().size()][];
+    this.lastNames = new byte[this.numOfLastNames][];
+    this.firstNameQuoted = new boolean[this.firstNames.length];
+    this.lastNameQuoted = new boolean[this.numOfLastNames];
+    this.locations = new byte[dictionary.size() - this.numOfNames][];
+    this.driverNames = new byte[driverRegistry.getNumOfDrivers()][];
+    this.rideTypes = new byte[RideType.values().length][];
+    for (RideType rideType : RideType.values()) {
+      this.rideTypes[rideType.getPriority()] = escape(rideType.toString());
+    }
+    this.numOfRows = 0;
+    this.closed = false;
+    this.buffer.put(HEADER);
+  }
+
+  @Override
+  public synchronized void export(int driverId, int numOfRidesFinished, int customerId,
+      int startingLocationId, int desiredLocationId, long requestTick, long departureTick,
+      long arrivalTick, double rideDistance, int priority) {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot export to a closed exporter.");
+    }
+    byte[] driverName = getDriverName(driverId);
+    byte[] startingLocation = getString(startingLocationId);
+    byte[] desiredLocation = getString(desiredLocationId);
+    byte[] rideType = this.rideTypes[priority];
+    int customerNameLength;
+    byte[] customerName = null;
+    if (customerId < this.numOfNames) {
+      customerNameLength = getNameLength(customerId);
+    } else {
+      customerName = getString(customerId);
+      customerNameLength = customerName.length;
+    }
+    ensureRowCapacity(MAX_FIXED_ROW_SIZE + driverName.length + customerNameLength
+        + startingLocation.length + desiredLocation.length + rideType.length);
+    this.rowLength = 0;
+    appendLong(driverId);
+    appendBytes(driverName);
+    appendLong(numOfRidesFinished);
+    if (customerName == null) {
+      appendName(customerId);
+    } else {
+      appendBytes(customerName);
+    }
+    appendBytes(startingLocation);
+    appendBytes(desiredLocation);
+    appendBytes(rideType);
+    appendLong(requestTick);
+    appendLong(departureTick);
+    appendLong(arrivalTick);
+    appendLong(departureTick - requestTick);
+    appendLong(arrivalTick - departureTick);
+    appendDistance(rideDistance);
+    putRow();
+    this.numOfRows++;
+  }
+
+  /**
+   * Gets the number of rows exported so far, without the header row.
+   *
+   * @return the number of rows exported
+   */
+  public synchronized long getNumOfRows() {
+    return numOfRows;
+  }
+
+  /**
+   * Writes the buffered rows and closes the file.
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      flush();
+      this.channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Helper method. Appends a number followed by a separator to the current row.
+   *
+   * @param value the number
+   */
+  private void appendLong(long value) {
+    appendDigits(value);
+    this.row[this.rowLength++] = SEPARATOR;
+  }
+
+  /**
+   * Helper method. Appends a distance with 6 decimals followed by the end of the row to the
+   * current row.
+   *
+   * @param distance the distance in miles
+   */
+  private void appendDistance(double distance) {
+    long scaled = Math.round(distance * DISTANCE_SCALE);
+    if (scaled < 0) {
+      this.row[this.rowLength++] = '-';
+      scaled = -scaled;
+    }
+    appendDigits(scaled / DISTANCE_SCALE);
+    this.row[this.rowLength++] = '.';
+    long decimals = scaled % DISTANCE_SCALE;
+    for (int i = this.rowLength + DISTANCE_DECIMALS - 1; i >= this.rowLength; i--) {
+      this.row[i] = (byte) ('0' + decimals % 10);
+      decimals /= 10;
+    }
+    this.rowLength += DISTANCE_DECIMALS;
+    this.row[this.rowLength++] = LINE_SEPARATOR;
+  }
+
+  /**
+   * Helper method. Appends the digits of a number, with its sign, to the current row.
+   *
+   * @param value the number
+   */
+  private void appendDigits(long value) {
+    if (value == Long.MIN_VALUE) {
+      appendBytesOnly(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+      return;
+    }
+    if (value < 0) {
+      this.row[this.rowLength++] = '-';
+      value = -value;
+    }
+    int numOfDigits = 1;
+    for (long bound = 10; numOfDigits < MAX_DIGITS && value >= bound; bound *= 10) {
+      numOfDigits++;
+    }
+    for (int i = this.rowLength + numOfDigits - 1; i >= this.rowLength; i--) {
+      this.row[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    this.rowLength += numOfDigits;
+  }
+
+  /**
+   * Helper method. Appends the given bytes followed by a separator to the current row.
+   *
+   * @param bytes the bytes
+   */
+  private void appendBytes(byte[] bytes) {
+    appendBytesOnly(bytes);
+    this.row[this.rowLength++] = SEPARATOR;
+  }
+
+  /**
+   * Helper method. Appends the given bytes to the current row.
+   *
+   * @param bytes the bytes
+   */
+  private void appendBytesOnly(byte[] bytes) {
+    System.arraycopy(bytes, 0, this.row, this.rowLength, bytes.length);
+    this.rowLength += bytes.length;
+  }
+
+  /**
+   * Helper method. Grows the current row if it has less room than the given number of bytes.
+   *
+   * @param size the number of bytes
+   */
+  private void ensureRowCapacity(int size) {
+    if (this.row.length < size) {
+      this.row = new byte[Math.max(size, this.row.length * 2)];
+    }
+  }
+
+  /**
+   * Helper method. Copies the current row into the direct buffer, writing the buffered rows to the
+   * file first if the buffer has no room for it.
+   */
+  private void putRow() {
+    if (this.buffer.remaining() < this.rowLength) {
+      flush();
+      if (this.buffer.remaining() < this.rowLength) {
+        write(ByteBuffer.wrap(this.row, 0, this.rowLength));
+        return;
+      }
+    }
+    this.buffer.put(this.row, 0, this.rowLength);
+  }
+
+  /**
+   * Helper method. Appends the name with the given dictionary id followed by a separator to the
+   * current row, from the bytes of its first and last name. The name is quoted if either of them
+   * has to be.
+   *
+   * @param id the dictionary id of the name
+   */
+  private void appendName(int id) {
+    int first = id / this.numOfLastNames;
+    int last = id % this.numOfLastNames;
+    boolean quoted = this.firstNameQuoted[first] || this.lastNameQuoted[last];
+    if (quoted) {
+      this.row[this.rowLength++] = QUOTE;
+    }
+    appendBytesOnly(this.firstNames[first]);
+    this.row[this.rowLength++] = NAME_SEPARATOR;
+    appendBytesOnly(this.lastNames[last]);
+    if (quoted) {
+      this.row[this.rowLength++] = QUOTE;
+    }
+    this.row[this.rowLength++] = SEPARATOR;
+  }
+
+  /**
+   * Helper method. Gets the number of bytes of the field of the name with the given dictionary
+   * id, encoding its first and last name on first use.
+   *
+   * @param id the dictionary id of the name
+   * @return the number of bytes of the escaped name
+   */
+  private int getNameLength(int id) {
+    int first = id / this.numOfLastNames;
+    int last = id % this.numOfLastNames;
+    if (this.firstNames[first] == null) {
+      String firstName = this.names.getFirstNames().get(first);
+      this.firstNames[first] = doubleQuotes(firstName);
+      this.firstNameQuoted[first] = needsQuotes(firstName);
+    }
+    if (this.lastNames[last] == null) {
+      String lastName = this.names.getLastNames().get(last);
+      this.lastNames[last] = doubleQuotes(lastName);
+      this.lastNameQuoted[last] = needsQuotes(lastName);
+    }
+    boolean quoted = this.firstNameQuoted[first] || this.lastNameQuoted[last];
+    return this.firstNames[first].length + 1 + this.lastNames[last].length + (quoted ? 2 : 0);
+  }
+
+  /**
+   * Helper method. Gets the escaped bytes of the string with the given dictionary id, which is not
+   * a name, encoding them on first use.
+   *
+   * @param id the dictionary id of the string
+   * @return the escaped UTF-8 bytes of the string
+   */
+  private byte[] getString(int id) {
+    int index = id - this.numOfNames;
+    if (index >= this.locations.length) {
+      this.locations = Arrays.copyOf(this.locations,
+          Math.max(index + 1, this.dictionary.size() - this.numOfNames));
+    }
+    byte[] bytes = this.locations[index];
+    if (bytes == null) {
+      bytes = escape(this.dictionary.decode(id));
+      this.locations[index] = bytes;
+    }
+    return bytes;
+  }
+
+  /**
+   * Helper method. Gets the escaped bytes of the name of the given driver, encoding them on first
+   * use.
+   *
+   * @param driverId the id of the driver
+   * @return the escaped UTF-8 bytes of the name of the driver
+   */
+  private byte[] getDriverName(int driverId) {
+    if (driverId >= this.driverNames.length) {
+      this.driverNames = Arrays.copyOf(this.driverNames,
+          Math.max(driverId + 1, this.driverRegistry.getNumOfDrivers()));
+    }
+    byte[] bytes = this.driverNames[driverId];
+    if (bytes == null) {
+      bytes = escape(this.driverRegistry.getDriverName(driverId));
+      this.driverNames[driverId] = bytes;
+    }
+    return bytes;
+  }
+
+  /**
+   * Helper method. Encodes a string as a CSV field in UTF-8, quoted if it holds a separator, a
+   * quote or a line break.
+   *
+   * @param string the string
+   * @return the bytes of the field
+   */
+  private static byte[] escape(String string) {
+    if (!needsQuotes(string)) {
+      return string.getBytes(StandardCharsets.UTF_8);
+    }
+    return ('"' + string.replace("\"", "\"\"") + '"').getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Helper method. Checks if a string has to be quoted in a CSV field.
+   *
+   * @param string the string
+   * @return true if the string holds a separator, a quote or a line break
+   */
+  private static boolean needsQuotes(String string) {
+    return string.indexOf(SEPARATOR) >= 0 || string.indexOf(QUOTE) >= 0
+        || string.indexOf('\n') >= 0 || string.indexOf('\r') >= 0;
+  }
+
+  /**
+   * Helper method. Encodes a string in UTF-8 with its quotes doubled, without quoting it, so that
+   * it can be written inside a quoted field.
+   *
+   * @param string the string
+   * @return the bytes of the string
+   */
+  private static byte[] doubleQuotes(String string) {
+    return string.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Helper method. Writes the buffered bytes to the file.
+   */
+  private void flush() {
+    this.buffer.flip();
+    write(this.buffer);
+    this.buffer.clear();
+  }
+
+  /**
+   * Helper method. Writes every remaining byte of the given buffer to the file.
+   *
+   * @param source the buffer
+   */
+  private void write(ByteBuffer source) {
+    try {
+      while (source.hasRemaining()) {
+        this.channel.write(source);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CsvRideExporter{" +
+        "fileName='" + fileName + '\'' +
+        ", numOfRows=" + numOfRows +
+        '}';
+  }
+}
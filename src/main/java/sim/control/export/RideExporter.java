@@ -0,0 +1,33 @@
+package sim.control.export;
+
+/**
+ * RideExporter interface, receives every finished ride of the simulation as it finishes, so that
+ * the rides can be written out while the simulation runs instead of being kept until it ends.
+ * Rides are passed as their primitive fields, the same fields a RideStore keeps.
+ */
+public interface RideExporter extends AutoCloseable {
+
+  /**
+   * Exports a finished ride.
+   *
+   * @param driverId           the id of the driver in the driver registry
+   * @param numOfRidesFinished the number of rides the driver had finished before this ride
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param requestTick        the tick when the ride was requested
+   * @param departureTick      the tick when the ride started
+   * @param arrivalTick        the tick when the ride ended
+   * @param rideDistance       the distance covered by the ride in miles
+   * @param priority           the priority of the ride type
+   */
+  void export(int driverId, int numOfRidesFinished, int customerId, int startingLocationId,
+      int desiredLocationId, long requestTick, long departureTick, long arrivalTick,
+      double rideDistance, int priority);
+
+  /**
+   * Writes every ride exported so far and releases the resources of the exporter.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,197 @@
+package sim.control.factory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+import sim.control.calculator.DistanceCalculator;
+import sim.control.calculator.EpochTimeCalculator;
+import sim.control.random.RandomStreamService;
+import sim.model.event.RideRequestEvent;
+import sim.model.type.ArrivalProfileType;
+import sim.model.type.RandomStreamType;
+
+/**
+ * ArrivalGenerator class, generates the ride requested events of the simulation lazily and in
+ * eventTime order, so that only the next arrival exists at any time instead of every customer.
+ *
+ * <p>The given number of customers arrive within the time span with a rate that follows the
+ * arrival profile, which is a Poisson process with a time-of-day rate curve conditioned on its
+ * number of arrivals. The arrival times are therefore the order statistics of independent draws
+ * from the rate curve, which are generated in increasing order one at a time: the next uniform
+ * order statistic is drawn from the remaining interval and mapped through the inverse of the
+ * cumulative rate. Arrival times are rounded down to the minute.
+ */
+public final class ArrivalGenerator implements ArrivalSource {
+
+  private static final Integer MINUTES_IN_HOUR = 60;
+  private static final Integer SECONDS_IN_MIN = 60;
+  private static final Integer NUM_OF_PRIORITIES = 4; // number of priorities levels (ride types)
+
+  private final Integer numOfArrivals;
+  private final long timeZeroTick;
+  private final double[] cumulativeRates; // minute -> rate accumulated until the end of the minute
+  private final RandomGenerator arrivalStream;
+  private final RandomGenerator nameStream;
+  private final RandomGenerator locationStream;
+  private final RandomGenerator rideTypeStream;
+  private final int numOfNames;
+  private final int[] addressIds;
+  private final DistanceCalculator distanceCalculator;
+  private final Double distanceUpperBound;
+  private int numOfGenerated;
+  private double lastQuantile;
+  private int minute;
+
+  /**
+   * Constructor for option1.control.factory.ArrivalGenerator class.
+   *
+   * @param numOfArrivals      the number of ride requested events to generate
+   * @param timeZero           the time the simulation starts at
+   * @param timeSpan           the time span of the arrivals in minutes
+   * @param arrivalProfileType the time-of-day profile of the arrival rate
+   * @param randomStreams      the random streams of the simulation
+   * @param numOfNames         the number of names the customers are drawn from, whose
+   *                           dictionary ids are 0 to numOfNames - 1
+   * @param addressIds         the dictionary ids of the addresses the locations are drawn from
+   * @param distanceCalculator the calculator the ride distances are drawn from
+   * @param distanceUpperBound the upper bound of the ride distances in miles
+   */
+  public ArrivalGenerator(Integer numOfArrivals, LocalDateTime timeZero, Integer timeSpan,
+      ArrivalProfileType arrivalProfileType, RandomStreamService randomStreams,
+      int numOfNames, int[] addressIds, DistanceCalculator distanceCalculator,
+      Double distanceUpperBound) {
+    this.numOfArrivals = numOfArrivals;
+    this.timeZeroTick = new EpochTimeCalculator().toTick(timeZero);
+    this.cumulativeRates = accumulateRates(timeZero, timeSpan, arrivalProfileType);
+    this.arrivalStream = randomStreams.getStream(RandomStreamType.ARRIVALS);
+    this.nameStream = randomStreams.getStream(RandomStreamType.NAMES);
+    this.locationStream = randomStreams.getStream(RandomStreamType.LOCATIONS);
+    this.rideTypeStream = randomStreams.getStream(RandomStreamType.RIDE_TYPE);
+    this.numOfNames = numOfNames;
+    this.addressIds = addressIds;
+    this.distanceCalculator = distanceCalculator;
+    this.distanceUpperBound = distanceUpperBound;
+    this.numOfGenerated = 0;
+    this.lastQuantile = 0.0;
+    this.minute = 0;
+  }
+
+  /**
+   * Helper method. Accumulates the arrival rate of every minute of the time span.
+   *
+   * @param timeZero           the time the simulation starts at
+   * @param timeSpan           the time span of the arrivals in minutes
+   * @param arrivalProfileType the time-of-day profile of the arrival rate
+   * @return the rate accumulated until the end of every minute
+   */
+  private static double[] accumulateRates(LocalDateTime timeZero, Integer timeSpan,
+      ArrivalProfileType arrivalProfileType) {
+    double[] cumulativeRates = new double[timeSpan];
+    int startMinute = timeZero.getHour() * MINUTES_IN_HOUR + timeZero.getMinute();
+    double sum = 0.0;
+    for (int i = 0; i < timeSpan; i++) {
+      sum += arrivalProfileType.getHourlyRate((startMinute + i) / MINUTES_IN_HOUR);
+      cumulativeRates[i] = sum;
+    }
+    return cumulativeRates;
+  }
+
+  /**
+   * Checks if there are ride requested events left to generate.
+   *
+   * @return true if there are ride requested events left to generate, false otherwise
+   */
+  @Override
+  public boolean hasNext() {
+    return this.numOfGenerated < this.numOfArrivals;
+  }
+
+  /**
+   * Generates the next ride requested event. Its eventTick is not before the eventTick of any
+   * event generated so far.
+   *
+   * @return the next ride requested event
+   */
+  @Override
+  public RideRequestEvent next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("Every arrival has been generated.");
+    }
+    long eventTick = this.timeZeroTick + (long) nextMinute() * SECONDS_IN_MIN;
+    this.numOfGenerated++;
+    int customerId = this.nameStream.nextInt(this.numOfNames);
+    int numOfAddresses = this.addressIds.length;
+    int startingLocationId = this.addressIds[this.locationStream.nextInt(numOfAddresses)];
+    int desiredLocationId = this.addressIds[this.locationStream.nextInt(numOfAddresses)];
+    Double distance = this.distanceCalculator.calculateDistance(this.distanceUpperBound);
+    Integer priority = this.rideTypeStream.nextInt(NUM_OF_PRIORITIES);
+    return new RideRequestEvent(eventTick, customerId, startingLocationId, desiredLocationId,
+        distance, priority);
+  }
+
+  /**
+   * Helper method. Draws the minute of the next arrival. The smallest of k uniform draws on
+   * [q, 1) is 1 - (1 - q) * V^(1/k) with V uniform on (0, 1], where q is the previous order
+   * statistic and k the number of arrivals left.
+   *
+   * @return the minute of the next arrival, counted from timeZero
+   */
+  private int nextMinute() {
+    int remaining = this.numOfArrivals - this.numOfGenerated;
+    double v = 1.0 - this.arrivalStream.nextDouble();
+    this.lastQuantile = 1.0 - (1.0 - this.lastQuantile) * Math.pow(v, 1.0 / remaining);
+    double target = this.lastQuantile * this.cumulativeRates[this.cumulativeRates.length - 1];
+    // Quantiles only increase, so the search resumes from the minute of the previous arrival
+    while (this.minute < this.cumulativeRates.length - 1
+        && this.cumulativeRates[this.minute] <= target) {
+      this.minute++;
+    }
+    return this.minute;
+  }
+
+  /**
+   * Writes the position of the generator in its arrivals, so that it can be restored with
+   * readState. The random streams the arrivals are drawn from are not written.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  public void writeState(DataOutput out) throws IOException {
+    out.writeInt(this.numOfArrivals);
+    out.writeInt(this.numOfGenerated);
+    out.writeDouble(this.lastQuantile);
+    out.writeInt(this.minute);
+  }
+
+  /**
+   * Replaces the position of the generator in its arrivals with a state written by writeState,
+   * for a generator of the same number of arrivals.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readState(DataInput in) throws IOException {
+    int savedNumOfArrivals = in.readInt();
+    if (savedNumOfArrivals != this.numOfArrivals) {
+      throw new IllegalArgumentException("The state was written for " + savedNumOfArrivals
+          + " arrivals, not " + this.numOfArrivals + ".");
+    }
+    this.numOfGenerated = in.readInt();
+    this.lastQuantile = in.readDouble();
+    this.minute = in.readInt();
+  }
+
+  /**
+   * Gets the number of ride requested events generated so far.
+   *
+   * @return the number of ride requested events generated so far
+   */
+  public Integer getNumOfGenerated() {
+    return numOfGenerated;
+  }
+}
@@ -0,0 +1,40 @@
+package sim.control.factory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Iterator;
+import sim.model.event.RideRequestEvent;
+
+/**
+ * ArrivalSource interface, supplies the ride requested events of the simulation lazily and in
+ * eventTime order, so that the main loop only holds the next arrival. Arrivals are either
+ * generated from the random streams or read from a log of real ride requests.
+ */
+public interface ArrivalSource extends Iterator<RideRequestEvent>, AutoCloseable {
+
+  /**
+   * Writes the position of the source in its arrivals, so that it can be restored with readState.
+   * The random streams the arrivals are drawn from are not written.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  void writeState(DataOutput out) throws IOException;
+
+  /**
+   * Replaces the position of the source in its arrivals with a state written by writeState, for a
+   * source over the same arrivals.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  void readState(DataInput in) throws IOException;
+
+  /**
+   * Releases the resources of the source. Sources that hold none do nothing.
+   */
+  @Override
+  default void close() {
+  }
+}
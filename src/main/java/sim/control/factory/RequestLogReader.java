@@ -0,0 +1,705 @@
+package sim.control.factory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+import java.util.zip.GZIPInputStream;
+import sim.control.random.RandomStreamService;
+import sim.model.data.StringDictionary;
+import sim.model.event.RideRequestEvent;
+import sim.model.type.RandomStreamType;
+import sim.model.type.RideType;
+
+/**
+ * RequestLogReader class, reads the ride requested events of the simulation from a log of real
+ * ride requests instead of generating them, lazily and in eventTime order. The log is a CSV file
+ * with one request per line:
+ * <pre>
+ *   timestamp,pickup,dropoff,distance,ride_type
+ *   2024-01-01T08:00:15,747 Leonis Blvd,45 E Liberty St,3.25,STANDARD_PICK_UP
+ * </pre>
+ * The timestamp is a UTC date-time such as 2024-01-01T08:00:15 or 2024-01-01 08:00, or a number
+ * of seconds since the epoch; fractions of a second are dropped. Addresses may be quoted, the
+ * distance is in miles and the ride type is the name of a ride type or its priority. Fields after
+ * the ride type are ignored. A first line that does not start with a digit is a header and is
+ * skipped, as are blank lines. Requests must be sorted by timestamp. The log names no customer,
+ * so customer names are drawn from the names of the mock data, from the same random stream as
+ * generated arrivals.
+ *
+ * <p>A plain log is mapped in memory through a FileChannel, in windows of 256 MB mapped as the
+ * reader moves on, so logs of any size are read without being copied into the heap; a gzip log,
+ * recognized by its magic number, is decompressed through a 1 MB buffer instead. Fields are parsed
+ * straight from the bytes: numbers digit by digit, and addresses looked up in a hash table from
+ * their bytes to their dictionary ids, so reading a request allocates no string once its
+ * addresses have been seen. New addresses are encoded into the dictionary as they appear.
+ */
+public final class RequestLogReader implements ArrivalSource {
+
+  private static final int WINDOW_SIZE = 1 << 28;            // bytes of a mapped window
+  private static final int BUFFER_SIZE = 1 << 20;            // bytes of the gzip buffer
+  private static final int GZIP_MAGIC = 0x1F8B;
+  private static final int INITIAL_FIELD_SIZE = 256;
+  private static final int INITIAL_TABLE_SIZE = 1 << 12;     // slots of the address table
+  private static final int MAX_DISTANCE_DIGITS = 18;         // digits that fit in a long
+  private static final long SECONDS_IN_DAY = 86_400L;
+  private static final long SECONDS_IN_HOUR = 3_600L;
+  private static final long SECONDS_IN_MIN = 60L;
+  private static final byte SEPARATOR = ',';
+  private static final byte QUOTE = '"';
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final double[] POWERS_OF_TEN = powersOfTen();
+  private static final byte[][] RIDE_TYPE_NAMES = rideTypeNames();   // priority -> name
+
+  private final String fileName;
+  private final Integer maxRequests;
+  private final StringDictionary dictionary;
+  private final RandomGenerator nameStream;
+  private final int numOfNames;
+  private final FileChannel channel;    // plain log, or null
+  private final long fileSize;
+  private final InputStream input;      // gzip log, or null
+  private ByteBuffer buffer;
+  private long bufferOffset;            // offset in the log of the first byte of the buffer
+  private int position;                 // index in the buffer of the next line
+  private int lineEnd;                  // index in the buffer of the end of the next line
+  private boolean endOfInput;           // true if the buffer holds the end of the log
+  private byte[] field;                 // unquoted bytes of the field being parsed
+  private int fieldLength;
+  private byte[][] tableKeys;           // address table: bytes of the address
+  private int[] tableIds;               // address table: dictionary id of the address
+  private int tableSize;
+  private int numOfRead;
+  private long lineNumber;
+  private long lastTick;
+
+  /**
+   * Constructor for option1.control.factory.RequestLogReader class. The log is opened, and the
+   * first window of a plain log mapped.
+   *
+   * @param fileName      the name of the request log
+   * @param maxRequests   the largest number of requests read from the log
+   * @param dictionary    the dictionary the names and addresses are encoded in
+   * @param randomStreams the random streams of the simulation
+   * @param numOfNames    the number of names the customers are drawn from, whose dictionary
+   *                      ids are 0 to numOfNames - 1
+   */
+  public RequestLogReader(String fileName, Integer maxRequests, StringDictionary dictionary,
+      RandomStreamService randomStreams, int numOfNames) {
+    this.fileName = fileName;
+    this.maxRequests = maxRequests;
+    this.dictionary = dictionary;
+    this.nameStream = randomStreams.getStream(RandomStreamType.NAMES);
+    this.numOfNames = numOfNames;
+    try {
+      FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+      if (isGzip(channel)) {
+        channel.close();
+        this.channel = null;
+        this.fileSize = -1;
+        this.input = new GZIPInputStream(new FileInputStream(fileName), BUFFER_SIZE);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+      } else {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.input = null;
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.bufferOffset = 0;
+    this.position = 0;
+    this.lineEnd = -1;
+    this.endOfInput = false;
+    this.field = new byte[INITIAL_FIELD_SIZE];
+    this.fieldLength = 0;
+    this.tableKeys = new byte[INITIAL_TABLE_SIZE][];
+    this.tableIds = new int[INITIAL_TABLE_SIZE];
+    this.tableSize = 0;
+    this.numOfRead = 0;
+    this.lineNumber = 0;
+    this.lastTick = Long.MIN_VALUE;
+    refill();
+  }
+
+  /**
+   * Checks if there are requests left to read, skipping blank lines and the header.
+   *
+   * @return true if there are requests left to read, false otherwise
+   */
+  @Override
+  public boolean hasNext() {
+    return this.numOfRead < this.maxRequests && findRequest();
+  }
+
+  /**
+   * Reads the next request of the log. Its eventTick is not before the eventTick of any request
+   * read so far.
+   *
+   * @return the next ride requested event
+   */
+  @Override
+  public RideRequestEvent next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("Every request of the log has been read.");
+    }
+    int end = this.lineEnd;
+    if (end > this.position && this.buffer.get(end - 1) == CARRIAGE_RETURN) {
+      end--;
+    }
+    int from = readField(this.position, end, "timestamp");
+    long eventTick = parseTick();
+    if (eventTick < this.lastTick) {
+      throw new IllegalArgumentException("Request in line " + (this.lineNumber + 1)
+          + " of request log " + this.fileName + " is earlier than the previous request: the log"
+          + " must be sorted by timestamp.");
+    }
+    from = readField(from, end, "pickup");
+    int startingLocationId = lookUpAddress("pickup");
+    from = readField(from, end, "dropoff");
+    int desiredLocationId = lookUpAddress("dropoff");
+    from = readField(from, end, "distance");
+    Double distance = parseDistance();
+    readField(from, end, "ride type");
+    Integer priority = parsePriority();
+    int customerId = this.nameStream.nextInt(this.numOfNames);
+    skipLine();
+    this.lastTick = eventTick;
+    this.numOfRead++;
+    return new RideRequestEvent(eventTick, customerId, startingLocationId, desiredLocationId,
+        distance, priority);
+  }
+
+  /**
+   * Gets the number of requests read so far.
+   *
+   * @return the number of requests read so far
+   */
+  public Integer getNumOfRead() {
+    return numOfRead;
+  }
+
+  /**
+   * Writes the position of the reader in the log: the offset of the next line, counted in bytes
+   * of the decompressed log. The random stream the customers are drawn from is not written.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  public void writeState(DataOutput out) throws IOException {
+    out.writeInt(this.maxRequests);
+    out.writeInt(this.numOfRead);
+    out.writeLong(this.bufferOffset + this.position);
+    out.writeLong(this.lineNumber);
+    out.writeLong(this.lastTick);
+  }
+
+  /**
+   * Moves the reader to a position written by writeState, for a reader of the same log and the
+   * same largest number of requests. A gzip log is decompressed up to the position.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readState(DataInput in) throws IOException {
+    int savedMaxRequests = in.readInt();
+    if (savedMaxRequests != this.maxRequests) {
+      throw new IllegalArgumentException("The state was written for " + savedMaxRequests
+          + " requests, not " + this.maxRequests + ".");
+    }
+    this.numOfRead = in.readInt();
+    long offset = in.readLong();
+    this.lineNumber = in.readLong();
+    this.lastTick = in.readLong();
+    seek(offset);
+  }
+
+  /**
+   * Closes the log.
+   */
+  @Override
+  public void close() {
+    try {
+      if (this.channel != null) {
+        this.channel.close();
+      } else {
+        this.input.close();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Helper method. Moves to the next line that holds a request, skipping blank lines and the
+   * header, and makes sure the whole line is in the buffer.
+   *
+   * @return true if there is a line left, false at the end of the log
+   */
+  private boolean findRequest() {
+    while (true) {
+      if (this.position >= this.buffer.limit()) {
+        if (this.endOfInput) {
+          return false;
+        }
+        refill();
+        continue;
+      }
+      this.lineEnd = findLineEnd();
+      byte first = this.buffer.get(this.position);
+      boolean blank = this.position == this.lineEnd
+          || (first == CARRIAGE_RETURN && this.position + 1 == this.lineEnd);
+      boolean header = this.lineNumber == 0 && (first < '0' || first > '9');
+      if (!blank && !header) {
+        return true;
+      }
+      skipLine();
+    }
+  }
+
+  /**
+   * Helper method. Finds the end of the line at the current position, refilling the buffer if the
+   * line goes beyond it.
+   *
+   * @return the index of the line separator, or the limit of the buffer for a last line without one
+   */
+  private int findLineEnd() {
+    int end = indexOfLineSeparator(this.position);
+    if (end < 0 && !this.endOfInput) {
+      int scanned = this.buffer.limit() - this.position;
+      refill();
+      end = indexOfLineSeparator(scanned);
+      if (end < 0 && !this.endOfInput) {
+        throw new IllegalArgumentException("Line " + (this.lineNumber + 1) + " of request log "
+            + this.fileName + " is longer than " + this.buffer.capacity() + " bytes.");
+      }
+    }
+    return end < 0 ? this.buffer.limit() : end;
+  }
+
+  /**
+   * Helper method. Finds the first line separator of the buffer from the given index.
+   *
+   * @param from the index the search starts at
+   * @return the index of the line separator, or -1 if the buffer holds none
+   */
+  private int indexOfLineSeparator(int from) {
+    int limit = this.buffer.limit();
+    for (int i = from; i < limit; i++) {
+      if (this.buffer.get(i) == LINE_SEPARATOR) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Helper method. Moves past the line found by findRequest.
+   */
+  private void skipLine() {
+    this.position = Math.min(this.lineEnd + 1, this.buffer.limit());
+    this.lineNumber++;
+  }
+
+  /**
+   * Helper method. Moves the buffer forward so that it starts at the current position and holds
+   * as much of the log as it can: the next window of a plain log is mapped, and the buffer of a
+   * gzip log is compacted and filled with decompressed bytes.
+   */
+  private void refill() {
+    try {
+      if (this.channel != null) {
+        this.bufferOffset += this.position;
+        long size = Math.min(WINDOW_SIZE, this.fileSize - this.bufferOffset);
+        this.buffer = this.channel.map(MapMode.READ_ONLY, this.bufferOffset, size);
+        this.endOfInput = this.bufferOffset + size == this.fileSize;
+      } else {
+        this.buffer.position(this.position);
+        this.buffer.compact();
+        this.bufferOffset += this.position;
+        byte[] bytes = this.buffer.array();
+        while (this.buffer.hasRemaining()) {
+          int read = this.input.read(bytes, this.buffer.position(), this.buffer.remaining());
+          if (read < 0) {
+            this.endOfInput = true;
+            break;
+          }
+          this.buffer.position(this.buffer.position() + read);
+        }
+        this.buffer.flip();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.position = 0;
+  }
+
+  /**
+   * Helper method. Moves the reader to the given offset of the log.
+   *
+   * @param offset the offset in bytes of the decompressed log
+   */
+  private void seek(long offset) {
+    if (offset < this.bufferOffset + this.position) {
+      throw new IllegalStateException("Cannot move back in request log " + this.fileName + ".");
+    }
+    if (this.channel != null) {
+      this.bufferOffset = offset;
+      this.position = 0;
+      refill();
+      return;
+    }
+    while (this.bufferOffset + this.buffer.limit() < offset && !this.endOfInput) {
+      this.position = this.buffer.limit();
+      refill();
+    }
+    if (this.bufferOffset + this.buffer.limit() < offset) {
+      throw new IllegalArgumentException("Request log " + this.fileName + " ends before "
+          + offset + " bytes.");
+    }
+    this.position = (int) (offset - this.bufferOffset);
+  }
+
+  /**
+   * Helper method. Copies the field starting at the given index into the field bytes, unquoting
+   * it if it is quoted.
+   *
+   * @param from the index of the first byte of the field
+   * @param end  the index of the end of the line
+   * @param name the name of the field, for error messages
+   * @return the index of the first byte of the next field
+   */
+  private int readField(int from, int end, String name) {
+    if (from > end) {
+      throw malformed(name);
+    }
+    this.fieldLength = 0;
+    int i = from;
+    if (i < end && this.buffer.get(i) == QUOTE) {
+      i++;
+      while (i < end) {
+        byte b = this.buffer.get(i++);
+        if (b == QUOTE) {
+          if (i == end || this.buffer.get(i) != QUOTE) {
+            break;
+          }
+          i++;
+        }
+        appendToField(b);
+      }
+      while (i < end && this.buffer.get(i) != SEPARATOR) {
+        i++;
+      }
+      return i + 1;
+    }
+    while (i < end) {
+      byte b = this.buffer.get(i);
+      if (b == SEPARATOR) {
+        break;
+      }
+      appendToField(b);
+      i++;
+    }
+    return i + 1;
+  }
+
+  /**
+   * Helper method. Appends a byte to the field bytes, growing them if they are full.
+   *
+   * @param b the byte
+   */
+  private void appendToField(byte b) {
+    if (this.fieldLength == this.field.length) {
+      this.field = Arrays.copyOf(this.field, this.field.length * 2);
+    }
+    this.field[this.fieldLength++] = b;
+  }
+
+  /**
+   * Helper method. Parses the field as a timestamp: a date-time, or seconds since the epoch.
+   *
+   * @return the tick of the timestamp
+   */
+  private long parseTick() {
+    if (this.fieldLength >= 10 && this.field[4] == '-' && this.field[7] == '-') {
+      int month = parseDigits(5, 2, "timestamp");
+      int day = parseDigits(8, 2, "timestamp");
+      if (month < 1 || month > 12 || day < 1 || day > 31) {
+        throw malformed("timestamp");
+      }
+      long tick = daysFromCivil(parseDigits(0, 4, "timestamp"), month, day) * SECONDS_IN_DAY;
+      if (this.fieldLength >= 16 && (this.field[10] == 'T' || this.field[10] == ' ')
+          && this.field[13] == ':') {
+        tick += parseDigits(11, 2, "timestamp") * SECONDS_IN_HOUR
+            + parseDigits(14, 2, "timestamp") * SECONDS_IN_MIN;
+        if (this.fieldLength >= 19 && this.field[16] == ':') {
+          tick += parseDigits(17, 2, "timestamp");
+        }
+      } else if (this.fieldLength != 10) {
+        throw malformed("timestamp");
+      }
+      return tick;
+    }
+    if (this.fieldLength == 0) {
+      throw malformed("timestamp");
+    }
+    long tick = 0;
+    for (int i = 0; i < this.fieldLength && this.field[i] != '.'; i++) {
+      tick = tick * 10 + parseDigits(i, 1, "timestamp");
+    }
+    return tick;
+  }
+
+  /**
+   * Helper method. Parses the field as a distance, with at most 18 significant digits.
+   *
+   * @return the distance in miles
+   */
+  private Double parseDistance() {
+    long mantissa = 0;
+    int numOfDigits = 0;
+    int numOfDecimals = -1;
+    for (int i = 0; i < this.fieldLength; i++) {
+      if (this.field[i] == '.' && numOfDecimals < 0) {
+        numOfDecimals = 0;
+        continue;
+      }
+      int digit = parseDigits(i, 1, "distance");
+      if (numOfDigits < MAX_DISTANCE_DIGITS) {
+        mantissa = mantissa * 10 + digit;
+        numOfDigits++;
+        if (numOfDecimals >= 0) {
+          numOfDecimals++;
+        }
+      } else if (numOfDecimals < 0) {
+        throw malformed("distance");
+      }
+    }
+    if (numOfDigits == 0) {
+      throw malformed("distance");
+    }
+    return numOfDecimals > 0 ? mantissa / POWERS_OF_TEN[numOfDecimals] : (double) mantissa;
+  }
+
+  /**
+   * Helper method. Parses the field as a ride type: its priority, or its name in any case.
+   *
+   * @return the priority of the ride type
+   */
+  private Integer parsePriority() {
+    if (this.fieldLength == 1) {
+      int priority = parseDigits(0, 1, "ride type");
+      if (RideType.fromPriority(priority) == null) {
+        throw malformed("ride type");
+      }
+      return priority;
+    }
+    for (int priority = 0; priority < RIDE_TYPE_NAMES.length; priority++) {
+      byte[] name = RIDE_TYPE_NAMES[priority];
+      if (name != null && name.length == this.fieldLength && equalsIgnoreCase(name)) {
+        return priority;
+      }
+    }
+    throw malformed("ride type");
+  }
+
+  /**
+   * Helper method. Checks if the field holds the given ASCII name, ignoring case.
+   *
+   * @param name the name, in upper case
+   * @return true if the field holds the name, false otherwise
+   */
+  private boolean equalsIgnoreCase(byte[] name) {
+    for (int i = 0; i < name.length; i++) {
+      byte b = this.field[i];
+      if (b >= 'a' && b <= 'z') {
+        b -= 'a' - 'A';
+      }
+      if (b != name[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper method. Parses decimal digits of the field.
+   *
+   * @param from  the index of the first digit
+   * @param count the number of digits
+   * @param name  the name of the field, for error messages
+   * @return the number
+   */
+  private int parseDigits(int from, int count, String name) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      int digit = this.field[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw malformed(name);
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /**
+   * Helper method. Gets the dictionary id of the address held by the field, from the address
+   * table, or encodes the address if it has not been seen yet.
+   *
+   * @param name the name of the field, for error messages
+   * @return the dictionary id of the address
+   */
+  private int lookUpAddress(String name) {
+    if (this.fieldLength == 0) {
+      throw malformed(name);
+    }
+    int mask = this.tableKeys.length - 1;
+    int slot = hash(this.field, this.fieldLength) & mask;
+    for (byte[] key = this.tableKeys[slot]; key != null; key = this.tableKeys[slot]) {
+      if (Arrays.equals(key, 0, key.length, this.field, 0, this.fieldLength)) {
+        return this.tableIds[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    byte[] key = Arrays.copyOf(this.field, this.fieldLength);
+    int id = this.dictionary.encode(new String(key, StandardCharsets.UTF_8));
+    this.tableKeys[slot] = key;
+    this.tableIds[slot] = id;
+    this.tableSize++;
+    if (this.tableSize * 2 > this.tableKeys.length) {
+      growTable();
+    }
+    return id;
+  }
+
+  /**
+   * Helper method. Doubles the number of slots of the address table.
+   */
+  private void growTable() {
+    byte[][] oldKeys = this.tableKeys;
+    int[] oldIds = this.tableIds;
+    this.tableKeys = new byte[oldKeys.length * 2][];
+    this.tableIds = new int[oldKeys.length * 2];
+    int mask = this.tableKeys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = hash(oldKeys[i], oldKeys[i].length) & mask;
+        while (this.tableKeys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        this.tableKeys[slot] = oldKeys[i];
+        this.tableIds[slot] = oldIds[i];
+      }
+    }
+  }
+
+  /**
+   * Helper method. Hashes the first bytes of the given array.
+   *
+   * @param bytes  the array
+   * @param length the number of bytes hashed
+   * @return the hash
+   */
+  private static int hash(byte[] bytes, int length) {
+    int hash = 1;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + bytes[i];
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Helper method. Creates the exception thrown for a malformed field of the current line.
+   *
+   * @param name the name of the field
+   * @return the exception
+   */
+  private IllegalArgumentException malformed(String name) {
+    return new IllegalArgumentException("Missing or malformed " + name + " in line "
+        + (this.lineNumber + 1) + " of request log " + this.fileName + ".");
+  }
+
+  /**
+   * Helper method. Counts the days between the epoch and the given date of the proleptic
+   * Gregorian calendar.
+   *
+   * @param year  the year
+   * @param month the month, from 1 to 12
+   * @param day   the day of the month
+   * @return the number of days since 1970-01-01
+   */
+  private static long daysFromCivil(long year, int month, int day) {
+    year -= month <= 2 ? 1 : 0;
+    long era = Math.floorDiv(year, 400);
+    long yearOfEra = year - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146_097 + dayOfEra - 719_468;
+  }
+
+  /**
+   * Helper method. Checks if the given file starts with the magic number of gzip.
+   *
+   * @param channel the file
+   * @return true if the file is compressed with gzip, false otherwise
+   * @throws IOException if the file cannot be read
+   */
+  private static boolean isGzip(FileChannel channel) throws IOException {
+    ByteBuffer magic = ByteBuffer.allocate(Short.BYTES);
+    int read;
+    do {
+      read = channel.read(magic, magic.position());
+    } while (read > 0 && magic.hasRemaining());
+    return !magic.hasRemaining() && (magic.getShort(0) & 0xFFFF) == GZIP_MAGIC;
+  }
+
+  /**
+   * Helper method. Computes the powers of ten a distance may be divided by, each exact as a
+   * double.
+   *
+   * @return the powers of ten, from 10^0 to 10^18
+   */
+  private static double[] powersOfTen() {
+    double[] powers = new double[MAX_DISTANCE_DIGITS + 1];
+    powers[0] = 1.0;
+    for (int i = 1; i < powers.length; i++) {
+      powers[i] = powers[i - 1] * 10.0;
+    }
+    return powers;
+  }
+
+  /**
+   * Helper method. Encodes the names of the ride types, indexed by priority.
+   *
+   * @return the ASCII names of the ride types
+   */
+  private static byte[][] rideTypeNames() {
+    byte[][] names = new byte[RideType.values().length][];
+    for (RideType rideType : RideType.values()) {
+      names[rideType.getPriority()] = rideType.name().getBytes(StandardCharsets.US_ASCII);
+    }
+    return names;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestLogReader{" +
+        "fileName='" + fileName + '\'' +
+        ", numOfRead=" + numOfRead +
+        ", lineNumber=" + lineNumber +
+        '}';
+  }
+}
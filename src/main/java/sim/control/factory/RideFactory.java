@@ -1,7 +1,7 @@
 package sim.control.factory;
 
-import java.time.LocalDateTime;
 import sim.model.customer.Customer;
+import sim.model.data.StringDictionary;
 import sim.model.driver.Driver;
 import sim.model.ride.Ride;
 
@@ -11,10 +11,15 @@ import sim.model.ride.Ride;
  */
 public abstract class RideFactory implements RideGenerator {
 
+  protected final StringDictionary dictionary;
+
   /**
    * Constructor for option1.control.factory.RideFactory class.
+   *
+   * @param dictionary the dictionary the names and locations of the customers are encoded in
    */
-  public RideFactory() {
+  public RideFactory(StringDictionary dictionary) {
+    this.dictionary = dictionary;
   }
 
   /**
@@ -31,28 +36,28 @@ public abstract class RideFactory implements RideGenerator {
   /**
    * Creates a Customer object.
    *
-   * @param customerName     the name of the customer
-   * @param startingLocation the starting location of the customer
-   * @param desiredLocation  the desired location of the customer
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
    * @return a Customer object
    */
-  protected abstract Customer createCustomer(String customerName, String startingLocation,
-      String desiredLocation);
+  protected abstract Customer createCustomer(int customerId, int startingLocationId,
+      int desiredLocationId);
 
   /**
    * Creates a Ride object.
    *
    * @param customer      the customer who requested the ride
    * @param driver        the driver assigned to the ride
-   * @param requestTime   the time when the ride was requested
-   * @param departureTime the time when the ride started
-   * @param arrivalTime   the time when the ride ended
+   * @param requestTick   the tick when the ride was requested
+   * @param departureTick the tick when the ride started
+   * @param arrivalTick   the tick when the ride ended
    * @param rideDistance  the distance covered by the ride in miles
    * @param rideLength    the duration of the ride in seconds
    * @return a Ride object
    */
-  protected abstract Ride createRide(Customer customer, Driver driver, LocalDateTime requestTime,
-      LocalDateTime departureTime, LocalDateTime arrivalTime, Double rideDistance,
+  protected abstract Ride createRide(Customer customer, Driver driver, long requestTick,
+      long departureTick, long arrivalTick, Double rideDistance,
       Long rideLength);
 
   /**
@@ -61,12 +66,12 @@ public abstract class RideFactory implements RideGenerator {
    * @param driverName         the name of the driver
    * @param numOfRidesFinished the number of rides finished by the driver
    * @param driverSpeed        the driving speed of the driver
-   * @param customerName       the name of the customer
-   * @param startingLocation   the starting location of the customer
-   * @param desiredLocation    the desired location of the customer
-   * @param requestTime        the time when the ride was requested
-   * @param departureTime      the time when the ride started
-   * @param arrivalTime        the time when the ride ended
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param requestTick        the tick when the ride was requested
+   * @param departureTick      the tick when the ride started
+   * @param arrivalTick        the tick when the ride ended
    * @param rideDistance       the distance covered by the ride in miles
    * @param rideLength         the duration of the ride in seconds
    * @return a Ride object
@@ -76,17 +81,17 @@ public abstract class RideFactory implements RideGenerator {
       String driverName,
       Integer numOfRidesFinished,
       Double driverSpeed,
-      String customerName,
-      String startingLocation,
-      String desiredLocation,
-      LocalDateTime requestTime,
-      LocalDateTime departureTime,
-      LocalDateTime arrivalTime,
+      int customerId,
+      int startingLocationId,
+      int desiredLocationId,
+      long requestTick,
+      long departureTick,
+      long arrivalTick,
       Double rideDistance,
       Long rideLength) {
     Driver driver = createDriver(driverName, numOfRidesFinished, driverSpeed);
-    Customer customer = createCustomer(customerName, startingLocation, desiredLocation);
-    return createRide(customer, driver, requestTime, departureTime, arrivalTime, rideDistance,
+    Customer customer = createCustomer(customerId, startingLocationId, desiredLocationId);
+    return createRide(customer, driver, requestTick, departureTick, arrivalTick, rideDistance,
         rideLength);
   }
 
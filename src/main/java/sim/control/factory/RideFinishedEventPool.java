@@ -0,0 +1,114 @@
+package sim.control.factory;
+
+import java.util.ArrayDeque;
+import sim.model.event.RideFinishedEvent;
+
+/**
+ * RideFinishedEventPool class, hands out ride finished events to the visitor of one engine or
+ * zone. When pooling is enabled, events released once the visitor is done with them are recycled
+ * by later acquisitions instead of being left to the garbage collector, so the number of events
+ * ever allocated is bounded by the number of rides in flight at the same time. When pooling is
+ * disabled, every acquisition allocates a new event and releases are ignored.
+ *
+ * <p>A pool is not thread-safe and must only be used by one thread. An event acquired from one
+ * pool may be released into another, for example by the zone in which the ride finishes.
+ */
+public final class RideFinishedEventPool {
+
+  private final Boolean pooled;
+  private final ArrayDeque<RideFinishedEvent> freeEvents;
+  private long numOfAllocations;
+  private long numOfReuses;
+
+  /**
+   * Constructor for option1.control.factory.RideFinishedEventPool class.
+   *
+   * @param pooled true to recycle released events, false to allocate every event
+   */
+  public RideFinishedEventPool(Boolean pooled) {
+    this.pooled = pooled;
+    this.freeEvents = new ArrayDeque<>();
+    this.numOfAllocations = 0;
+    this.numOfReuses = 0;
+  }
+
+  /**
+   * Gets a ride finished event with the given attributes, recycling a released event if there is
+   * one.
+   *
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
+   * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
+   * @param priority           the priority (type) of a ride encapsulated in this event
+   * @param requestTick        the tick when the ride request was created
+   * @param departureTick      the tick of departure
+   * @param rideLength         the duration of the ride
+   * @param driverId           the id of the driver assigned to the ride in the driver registry
+   * @return a ride finished event with the given attributes
+   */
+  public RideFinishedEvent acquire(long eventTick, int customerId, int startingLocationId,
+      int desiredLocationId, Double rideDistance, Integer priority, long requestTick,
+      long departureTick, Long rideLength, int driverId) {
+    RideFinishedEvent event = this.freeEvents.poll();
+    if (event == null) {
+      this.numOfAllocations++;
+      return new RideFinishedEvent(eventTick, customerId, startingLocationId, desiredLocationId,
+          rideDistance, priority, requestTick, departureTick, rideLength, driverId);
+    }
+    this.numOfReuses++;
+    event.recycle(eventTick, customerId, startingLocationId, desiredLocationId, rideDistance,
+        priority, requestTick, departureTick, rideLength, driverId);
+    return event;
+  }
+
+  /**
+   * Returns an event the visitor is done with to the pool. The event must no longer be referenced
+   * by any queue, batch or message.
+   *
+   * @param event the event
+   */
+  public void release(RideFinishedEvent event) {
+    if (this.pooled) {
+      this.freeEvents.push(event);
+    }
+  }
+
+  /**
+   * Checks if released events are recycled.
+   *
+   * @return true if released events are recycled, false otherwise
+   */
+  public Boolean isPooled() {
+    return pooled;
+  }
+
+  /**
+   * Gets the number of events allocated by the pool.
+   *
+   * @return the number of events allocated
+   */
+  public long getNumOfAllocations() {
+    return numOfAllocations;
+  }
+
+  /**
+   * Gets the number of acquisitions served by a recycled event.
+   *
+   * @return the number of recycled events
+   */
+  public long getNumOfReuses() {
+    return numOfReuses;
+  }
+
+  @Override
+  public String toString() {
+    return "RideFinishedEventPool{" +
+        "pooled=" + pooled +
+        ", numOfFreeEvents=" + freeEvents.size() +
+        ", numOfAllocations=" + numOfAllocations +
+        ", numOfReuses=" + numOfReuses +
+        '}';
+  }
+}
@@ -1,6 +1,5 @@
 package sim.control.factory;
 
-import java.time.LocalDateTime;
 import sim.model.ride.Ride;
 
 /**
@@ -14,12 +13,12 @@ public interface RideGenerator {
    * @param driverName         the name of the driver
    * @param numOfRidesFinished the number of rides finished by the driver
    * @param driverSpeed        the driving speed of the driver
-   * @param customerName       the name of the customer
-   * @param startingLocation   the starting location of the customer
-   * @param desiredLocation    the desired location of the customer
-   * @param requestTime        the time when the ride was requested
-   * @param departureTime      the time when the ride started
-   * @param arrivalTime        the time when the ride ended
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param requestTick        the tick when the ride was requested
+   * @param departureTick      the tick when the ride started
+   * @param arrivalTick        the tick when the ride ended
    * @param rideDistance       the distance covered by the ride in miles
    * @param rideLength         the duration of the ride in seconds
    * @return a Ride object
@@ -28,12 +27,12 @@ public interface RideGenerator {
       String driverName,
       Integer numOfRidesFinished,
       Double driverSpeed,
-      String customerName,
-      String startingLocation,
-      String desiredLocation,
-      LocalDateTime requestTime,
-      LocalDateTime departureTime,
-      LocalDateTime arrivalTime,
+      int customerId,
+      int startingLocationId,
+      int desiredLocationId,
+      long requestTick,
+      long departureTick,
+      long arrivalTick,
       Double rideDistance,
       Long rideLength);
 }
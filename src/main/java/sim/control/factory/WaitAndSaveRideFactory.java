@@ -1,8 +1,8 @@
 package sim.control.factory;
 
-import java.time.LocalDateTime;
 import sim.model.customer.BasicCustomer;
 import sim.model.customer.Customer;
+import sim.model.data.StringDictionary;
 import sim.model.driver.BasicDriver;
 import sim.model.driver.Driver;
 import sim.model.ride.Ride;
@@ -16,8 +16,11 @@ public final class WaitAndSaveRideFactory extends RideFactory {
 
   /**
    * Constructor for option1.control.factory.WaitAndSaveRideFactory class.
+   *
+   * @param dictionary the dictionary the names and locations of the customers are encoded in
    */
-  public WaitAndSaveRideFactory() {
+  public WaitAndSaveRideFactory(StringDictionary dictionary) {
+    super(dictionary);
   }
 
   /**
@@ -36,15 +39,15 @@ public final class WaitAndSaveRideFactory extends RideFactory {
   /**
    * Creates a BasicCustomer object.
    *
-   * @param customerName     the name of the customer
-   * @param startingLocation the starting location of the customer
-   * @param desiredLocation  the desired location of the customer
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
    * @return a BasicCustomer object
    */
   @Override
-  protected Customer createCustomer(String customerName, String startingLocation,
-      String desiredLocation) {
-    return new BasicCustomer(customerName, startingLocation, desiredLocation);
+  protected Customer createCustomer(int customerId, int startingLocationId,
+      int desiredLocationId) {
+    return new BasicCustomer(customerId, startingLocationId, desiredLocationId, this.dictionary);
   }
 
   /**
@@ -52,18 +55,18 @@ public final class WaitAndSaveRideFactory extends RideFactory {
    *
    * @param customer      the customer who requested the ride
    * @param driver        the driver assigned to the ride
-   * @param requestTime   the time when the ride was requested
-   * @param departureTime the time when the ride started
-   * @param arrivalTime   the time when the ride ended
+   * @param requestTick   the tick when the ride was requested
+   * @param departureTick the tick when the ride started
+   * @param arrivalTick   the tick when the ride ended
    * @param rideDistance  the distance covered by the ride in miles
    * @param rideLength    the duration of the ride in seconds
    * @return a WaitAndSaveRide object
    */
   @Override
-  protected Ride createRide(Customer customer, Driver driver, LocalDateTime requestTime,
-      LocalDateTime departureTime, LocalDateTime arrivalTime, Double rideDistance,
+  protected Ride createRide(Customer customer, Driver driver, long requestTick,
+      long departureTick, long arrivalTick, Double rideDistance,
       Long rideLength) {
-    return new WaitAndSaveRide(customer, driver, requestTime, departureTime, arrivalTime,
+    return new WaitAndSaveRide(customer, driver, requestTick, departureTick, arrivalTick,
         rideDistance, rideLength);
   }
 
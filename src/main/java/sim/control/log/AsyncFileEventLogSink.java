@@ -0,0 +1,203 @@
+package sim.control.log;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import sim.model.data.StringDictionary;
+import sim.model.type.EventLogLevel;
+import sim.model.type.RideMessageType;
+
+/**
+ * AsyncFileEventLogSink class, writes the ride messages of the event log to a file from a writer
+ * thread of its own. The simulation threads only copy the fields of each message into a ring
+ * buffer of primitive arrays; the writer thread formats the messages and writes them through a
+ * large buffer, so that the file is written in large chunks.
+ *
+ * <p>Messages are never dropped: when the ring buffer is full, the logging thread waits for the
+ * writer thread to catch up. Several threads may log to the same sink, such as the zones of the
+ * conservative engine, and their messages are written in the order they were logged. An error
+ * while writing is reported when the sink is closed.
+ */
+public final class AsyncFileEventLogSink implements EventLogSink {
+
+  private static final int DEFAULT_CAPACITY = 1 << 16;       // messages in the ring buffer
+  private static final int WRITE_BUFFER_SIZE = 1 << 20;      // characters written per chunk
+  private static final long IDLE_WAIT_NANOS = 100_000;       // wait of an idle writer thread
+  private static final RideMessageType[] MESSAGE_TYPES = RideMessageType.values();
+
+  private final EventLogLevel level;
+  private final RideMessageFormatter formatter;
+  private final byte[] types;                // slot -> ordinal of the message type
+  private final long[] ticks;                // slot -> time of the message
+  private final int[] customerIds;           // slot -> dictionary id of the customer
+  private final int[] priorities;            // slot -> priority of the ride type
+  private final int[] startingLocationIds;   // slot -> dictionary id of the starting location
+  private final int[] desiredLocationIds;    // slot -> dictionary id of the desired location
+  private final int mask;
+  private final AtomicLong head;             // next message to write, advanced by the writer
+  private final AtomicLong tail;             // next free slot, advanced by the logging threads
+  private final Writer writer;
+  private final Thread writerThread;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  /**
+   * Constructor for option1.control.log.AsyncFileEventLogSink class. The file is created, or
+   * truncated if it exists, and the writer thread is started.
+   *
+   * @param fileName   the name of the file the messages are written to
+   * @param level      the level of the messages written
+   * @param dictionary the dictionary the names and locations of the messages are encoded in
+   */
+  public AsyncFileEventLogSink(String fileName, EventLogLevel level,
+      StringDictionary dictionary) {
+    this(fileName, level, dictionary, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructor for option1.control.log.AsyncFileEventLogSink class, with a ring buffer of the
+   * given capacity.
+   *
+   * @param fileName   the name of the file the messages are written to
+   * @param level      the level of the messages written
+   * @param dictionary the dictionary the names and locations of the messages are encoded in
+   * @param capacity   the number of messages the ring buffer holds, rounded up to a power of two
+   */
+  public AsyncFileEventLogSink(String fileName, EventLogLevel level, StringDictionary dictionary,
+      Integer capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be a positive number.");
+    }
+    int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    this.level = level;
+    this.formatter = new RideMessageFormatter(dictionary);
+    this.types = new byte[size];
+    this.ticks = new long[size];
+    this.customerIds = new int[size];
+    this.priorities = new int[size];
+    this.startingLocationIds = new int[size];
+    this.desiredLocationIds = new int[size];
+    this.mask = size - 1;
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+    try {
+      this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName),
+          StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.closed = false;
+    this.failure = null;
+    this.writerThread = new Thread(this::writeMessages, "event-log-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @Override
+  public boolean isEnabled(RideMessageType type) {
+    return this.level.includes(type.getLevel());
+  }
+
+  @Override
+  public synchronized void log(RideMessageType type, long tick, int customerId, int priority,
+      int startingLocationId, int desiredLocationId) {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot log to a closed event log.");
+    }
+    long slot = this.tail.get();
+    // Waits for the writer thread to free a slot when the ring buffer is full
+    while (slot - this.head.get() > this.mask) {
+      LockSupport.unpark(this.writerThread);
+      Thread.onSpinWait();
+    }
+    int index = (int) (slot & this.mask);
+    this.types[index] = (byte) type.ordinal();
+    this.ticks[index] = tick;
+    this.customerIds[index] = customerId;
+    this.priorities[index] = priority;
+    this.startingLocationIds[index] = startingLocationId;
+    this.desiredLocationIds[index] = desiredLocationId;
+    // Publishes the message: the writer thread reads the slot only after it reads the new tail
+    this.tail.set(slot + 1);
+  }
+
+  /**
+   * Writes every message logged so far, stops the writer thread and closes the file.
+   *
+   * @throws RuntimeException thrown when a message could not be written
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    LockSupport.unpark(this.writerThread);
+    try {
+      this.writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    try {
+      this.writer.close();
+    } catch (IOException e) {
+      if (this.failure == null) {
+        this.failure = e;
+      }
+    }
+    if (this.failure != null) {
+      throw new RuntimeException(this.failure);
+    }
+  }
+
+  /**
+   * Helper method. Runs the writer thread: formats and writes the published messages in batches
+   * until the sink is closed and every message has been written. After an error, messages are
+   * discarded so that the logging threads never wait forever.
+   */
+  private void writeMessages() {
+    StringBuilder builder = new StringBuilder();
+    while (true) {
+      long first = this.head.get();
+      long last = this.tail.get();
+      if (first == last) {
+        if (this.closed && this.tail.get() == first) {
+          return;
+        }
+        LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+        continue;
+      }
+      for (long slot = first; slot < last; slot++) {
+        int index = (int) (slot & this.mask);
+        builder.setLength(0);
+        this.formatter.format(builder, MESSAGE_TYPES[this.types[index]], this.ticks[index],
+            this.customerIds[index], this.priorities[index], this.startingLocationIds[index],
+            this.desiredLocationIds[index]);
+        builder.append(System.lineSeparator());
+        if (this.failure == null) {
+          try {
+            this.writer.append(builder);
+          } catch (IOException e) {
+            this.failure = e;
+          }
+        }
+      }
+      // Frees the slots of the written messages
+      this.head.set(last);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncFileEventLogSink{" +
+        "level=" + level +
+        ", capacity=" + (mask + 1) +
+        '}';
+  }
+}
@@ -0,0 +1,52 @@
+package sim.control.log;
+
+import sim.model.data.StringDictionary;
+import sim.model.type.EventLogLevel;
+import sim.model.type.RideMessageType;
+
+/**
+ * ConsoleEventLogSink class, prints the ride messages of the event log to the standard output as
+ * they are logged, on the simulation thread. At level OFF, nothing is printed.
+ */
+public final class ConsoleEventLogSink implements EventLogSink {
+
+  private final EventLogLevel level;
+  private final RideMessageFormatter formatter;
+
+  /**
+   * Constructor for option1.control.log.ConsoleEventLogSink class.
+   *
+   * @param level      the level of the messages printed
+   * @param dictionary the dictionary the names and locations of the messages are encoded in
+   */
+  public ConsoleEventLogSink(EventLogLevel level, StringDictionary dictionary) {
+    this.level = level;
+    this.formatter = new RideMessageFormatter(dictionary);
+  }
+
+  @Override
+  public boolean isEnabled(RideMessageType type) {
+    return this.level.includes(type.getLevel());
+  }
+
+  @Override
+  public void log(RideMessageType type, long tick, int customerId, int priority,
+      int startingLocationId, int desiredLocationId) {
+    StringBuilder builder = new StringBuilder();
+    this.formatter.format(builder, type, tick, customerId, priority, startingLocationId,
+        desiredLocationId);
+    System.out.println(builder);
+  }
+
+  @Override
+  public void close() {
+    System.out.flush();
+  }
+
+  @Override
+  public String toString() {
+    return "ConsoleEventLogSink{" +
+        "level=" + level +
+        '}';
+  }
+}
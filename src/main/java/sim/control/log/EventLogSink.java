@@ -0,0 +1,38 @@
+package sim.control.log;
+
+import sim.model.type.RideMessageType;
+
+/**
+ * EventLogSink interface, receives the ride messages of the simulation event log. Messages are
+ * passed as the primitive fields of the ride, so a sink may format them later, off the simulation
+ * thread, and a disabled sink costs a single check per event.
+ */
+public interface EventLogSink extends AutoCloseable {
+
+  /**
+   * Checks if messages of the given type are logged by this sink.
+   *
+   * @param type the type of the message
+   * @return true if the messages are logged, false otherwise
+   */
+  boolean isEnabled(RideMessageType type);
+
+  /**
+   * Logs a ride message. Only called for messages of a type enabled in this sink.
+   *
+   * @param type               the type of the message
+   * @param tick               the time of the message, in ticks since the epoch
+   * @param customerId         the dictionary id of the name of the customer
+   * @param priority           the priority of the ride type
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   */
+  void log(RideMessageType type, long tick, int customerId, int priority, int startingLocationId,
+      int desiredLocationId);
+
+  /**
+   * Writes every message logged so far and releases the resources of the sink.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,56 @@
+package sim.control.log;
+
+import sim.control.calculator.EpochTimeCalculator;
+import sim.model.data.StringDictionary;
+import sim.model.type.RideMessageType;
+import sim.model.type.RideType;
+
+/**
+ * RideMessageFormatter class, formats ride messages of the event log. Names and locations are
+ * resolved from the dictionary and times are converted to calendar times only when a message is
+ * formatted.
+ */
+public final class RideMessageFormatter {
+
+  private final StringDictionary dictionary;
+  private final EpochTimeCalculator epochTimeCalculator;
+
+  /**
+   * Constructor for option1.control.log.RideMessageFormatter class.
+   *
+   * @param dictionary the dictionary the names and locations of the messages are encoded in
+   */
+  public RideMessageFormatter(StringDictionary dictionary) {
+    this.dictionary = dictionary;
+    this.epochTimeCalculator = new EpochTimeCalculator();
+  }
+
+  /**
+   * Appends a ride message to the given builder, without a line separator.
+   *
+   * @param builder            the builder the message is appended to
+   * @param type               the type of the message
+   * @param tick               the time of the message, in ticks since the epoch
+   * @param customerId         the dictionary id of the name of the customer
+   * @param priority           the priority of the ride type
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   */
+  public void format(StringBuilder builder, RideMessageType type, long tick, int customerId,
+      int priority, int startingLocationId, int desiredLocationId) {
+    builder.append(type.getLabel())
+        .append(type.getTimeLabel()).append(this.epochTimeCalculator.toLocalDateTime(tick))
+        .append("] [Customer: ").append(this.dictionary.decode(customerId))
+        .append("] [Ride Type: ").append(RideType.getRideType(priority))
+        .append("] [From: ").append(this.dictionary.decode(startingLocationId))
+        .append("] [To: ").append(this.dictionary.decode(desiredLocationId))
+        .append(']');
+  }
+
+  @Override
+  public String toString() {
+    return "RideMessageFormatter{" +
+        "dictionary=" + dictionary +
+        '}';
+  }
+}
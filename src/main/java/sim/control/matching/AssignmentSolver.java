@@ -0,0 +1,317 @@
+package sim.control.matching;
+
+import java.util.Arrays;
+
+/**
+ * AssignmentSolver class, solves the minimum-cost assignment of rows to columns over a sparse
+ * bipartite graph: each row can only be assigned one of the columns it has an edge to, each
+ * column at most one row, and as many rows as possible are assigned, then at the least total cost.
+ *
+ * <p>It is the Hungarian method in its shortest augmenting path form. Rows are added one at a
+ * time, and each is assigned along the cheapest alternating path from it to a free column, found
+ * by Dijkstra's algorithm over the costs reduced by a potential of every row and column, which the
+ * path search keeps non-negative. Every row also has an edge to a dummy column of its own, whose
+ * cost exceeds the cost of assigning every row, so that a path always exists and a row is only
+ * left unassigned if assigning it would unassign another. Only the rows and columns an
+ * alternating path reaches are visited, so with a few edges per row a path is found in a handful
+ * of steps whenever free columns are near, instead of the cubic time of the dense method.
+ *
+ * <p>Costs are integers, so that the potentials are exact and the assignment is optimal, not
+ * optimal up to a rounding error. The arrays of the solver are reused from one solve to the next,
+ * and it is not synchronized.
+ */
+public final class AssignmentSolver {
+
+  public static final int UNASSIGNED = -1;
+  private static final long UNREACHED = Long.MAX_VALUE;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] rowPotentials;       // row -> potential
+  private int[] rowColumns;           // row -> column assigned
+  private long[] rowCosts;            // row -> cost of the edge to the column assigned
+  private long[] columnPotentials;    // column -> potential, dummy of row r at numOfColumns + r
+  private int[] columnRows;           // column -> row assigned, or UNASSIGNED
+  private long[] distances;           // column -> distance from the added row, or UNREACHED
+  private int[] predecessorRows;      // column -> row the column was reached from
+  private long[] predecessorCosts;    // column -> cost of the edge it was reached through
+  private boolean[] finalized;        // column -> true once its distance is final
+  private int[] reachedColumns;       // the columns reached by the current search
+  private int numOfReached;
+  private long[] heapKeys;            // binary heap of the reached columns, by distance
+  private int[] heapColumns;
+  private int heapSize;
+  private int numOfColumns;
+  private long unassignedCost;
+
+  /**
+   * Constructor for option1.control.matching.AssignmentSolver class.
+   */
+  public AssignmentSolver() {
+    this.rowPotentials = new long[INITIAL_CAPACITY];
+    this.rowColumns = new int[INITIAL_CAPACITY];
+    this.rowCosts = new long[INITIAL_CAPACITY];
+    this.columnPotentials = new long[INITIAL_CAPACITY];
+    this.columnRows = new int[INITIAL_CAPACITY];
+    this.distances = new long[INITIAL_CAPACITY];
+    this.predecessorRows = new int[INITIAL_CAPACITY];
+    this.predecessorCosts = new long[INITIAL_CAPACITY];
+    this.finalized = new boolean[INITIAL_CAPACITY];
+    this.reachedColumns = new int[INITIAL_CAPACITY];
+    this.heapKeys = new long[INITIAL_CAPACITY];
+    this.heapColumns = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Solves the assignment of the given rows to the given columns. The edges of row r are the
+   * entries rowStarts[r] to rowStarts[r + 1] - 1 of columns and costs.
+   *
+   * @param numOfRows    the number of rows
+   * @param numOfColumns the number of columns
+   * @param rowStarts    the index of the first edge of every row, then the number of edges
+   * @param columns      the column of every edge
+   * @param costs        the non-negative cost of every edge
+   * @param assignment   the array the column assigned to every row is written to, or UNASSIGNED
+   * @return the total cost of the edges assigned
+   * @throws IllegalArgumentException if an edge has a negative cost or an unknown column
+   */
+  public long solve(int numOfRows, int numOfColumns, int[] rowStarts, int[] columns,
+      long[] costs, int[] assignment) {
+    long maxCost = 0;
+    for (int edge = 0; edge < rowStarts[numOfRows]; edge++) {
+      if (costs[edge] < 0 || columns[edge] < 0 || columns[edge] >= numOfColumns) {
+        throw new IllegalArgumentException("Edge " + edge + " has a negative cost or an unknown "
+            + "column.");
+      }
+      maxCost = Math.max(maxCost, costs[edge]);
+    }
+    this.numOfColumns = numOfColumns;
+    // Leaving a row unassigned costs more than any assignment of the other rows
+    this.unassignedCost = numOfRows * maxCost + 1;
+    ensureCapacity(numOfRows, numOfColumns + numOfRows);
+    Arrays.fill(this.columnPotentials, 0, numOfColumns + numOfRows, 0);
+    Arrays.fill(this.columnRows, 0, numOfColumns + numOfRows, UNASSIGNED);
+    Arrays.fill(this.distances, 0, numOfColumns + numOfRows, UNREACHED);
+    for (int row = 0; row < numOfRows; row++) {
+      addRow(row, rowStarts, columns, costs);
+    }
+    long totalCost = 0;
+    for (int row = 0; row < numOfRows; row++) {
+      if (this.rowColumns[row] < numOfColumns) {
+        assignment[row] = this.rowColumns[row];
+        totalCost += this.rowCosts[row];
+      } else {
+        assignment[row] = UNASSIGNED;
+      }
+    }
+    return totalCost;
+  }
+
+  /**
+   * Helper method. Assigns the given row along the cheapest alternating path from it to a free
+   * column, then updates the potentials so that every reduced cost stays non-negative: a column
+   * whose distance became final at d, and the row assigned to it, move by the distance D of the
+   * path minus d.
+   *
+   * @param addedRow  the row
+   * @param rowStarts the index of the first edge of every row
+   * @param columns   the column of every edge
+   * @param costs     the cost of every edge
+   */
+  private void addRow(int addedRow, int[] rowStarts, int[] columns, long[] costs) {
+    // The potential of the row makes the cheapest of its edges a tight one
+    long rowPotential = this.unassignedCost - this.columnPotentials[dummyColumn(addedRow)];
+    for (int edge = rowStarts[addedRow]; edge < rowStarts[addedRow + 1]; edge++) {
+      rowPotential = Math.min(rowPotential, costs[edge] - this.columnPotentials[columns[edge]]);
+    }
+    this.rowPotentials[addedRow] = rowPotential;
+    this.numOfReached = 0;
+    this.heapSize = 0;
+    scanRow(addedRow, 0, rowStarts, columns, costs);
+    int freeColumn;
+    long pathDistance;
+    while (true) {
+      long distance = this.heapKeys[0];
+      int column = popColumn();
+      if (this.finalized[column] || distance > this.distances[column]) {
+        continue;
+      }
+      this.finalized[column] = true;
+      if (this.columnRows[column] == UNASSIGNED) {
+        freeColumn = column;
+        pathDistance = distance;
+        break;
+      }
+      scanRow(this.columnRows[column], distance, rowStarts, columns, costs);
+    }
+    for (int i = 0; i < this.numOfReached; i++) {
+      int column = this.reachedColumns[i];
+      if (this.finalized[column]) {
+        long shift = pathDistance - this.distances[column];
+        this.columnPotentials[column] -= shift;
+        if (column != freeColumn) {
+          this.rowPotentials[this.columnRows[column]] += shift;
+        }
+      }
+    }
+    this.rowPotentials[addedRow] += pathDistance;
+    // Flips the path: every row on it takes the column it reached next
+    int column = freeColumn;
+    while (true) {
+      int row = this.predecessorRows[column];
+      int previousColumn = this.rowColumns[row];
+      this.columnRows[column] = row;
+      this.rowColumns[row] = column;
+      this.rowCosts[row] = this.predecessorCosts[column];
+      if (row == addedRow) {
+        break;
+      }
+      column = previousColumn;
+    }
+    for (int i = 0; i < this.numOfReached; i++) {
+      this.distances[this.reachedColumns[i]] = UNREACHED;
+      this.finalized[this.reachedColumns[i]] = false;
+    }
+  }
+
+  /**
+   * Helper method. Relaxes the edges of the given row, reached at the given distance, and the
+   * edge to its dummy column.
+   *
+   * @param row         the row
+   * @param rowDistance the distance the row was reached at
+   * @param rowStarts   the index of the first edge of every row
+   * @param columns     the column of every edge
+   * @param costs       the cost of every edge
+   */
+  private void scanRow(int row, long rowDistance, int[] rowStarts, int[] columns, long[] costs) {
+    long base = rowDistance - this.rowPotentials[row];
+    for (int edge = rowStarts[row]; edge < rowStarts[row + 1]; edge++) {
+      relax(columns[edge], base + costs[edge] - this.columnPotentials[columns[edge]], row,
+          costs[edge]);
+    }
+    int dummyColumn = dummyColumn(row);
+    relax(dummyColumn, base + this.unassignedCost - this.columnPotentials[dummyColumn], row,
+        this.unassignedCost);
+  }
+
+  /**
+   * Helper method. Lowers the distance of the given column if it is reached at a lower distance
+   * through the given row.
+   *
+   * @param column   the column
+   * @param distance the distance of the column through the row
+   * @param row      the row
+   * @param cost     the cost of the edge from the row to the column
+   */
+  private void relax(int column, long distance, int row, long cost) {
+    if (this.finalized[column] || distance >= this.distances[column]) {
+      return;
+    }
+    if (this.distances[column] == UNREACHED) {
+      this.reachedColumns[this.numOfReached++] = column;
+    }
+    this.distances[column] = distance;
+    this.predecessorRows[column] = row;
+    this.predecessorCosts[column] = cost;
+    pushColumn(distance, column);
+  }
+
+  /**
+   * Helper method. Gets the dummy column of the given row.
+   *
+   * @param row the row
+   * @return the index of the dummy column
+   */
+  private int dummyColumn(int row) {
+    return this.numOfColumns + row;
+  }
+
+  /**
+   * Helper method. Adds a column to the heap. A column whose distance is lowered is added again,
+   * and its older entries are skipped when they are popped.
+   *
+   * @param key    the distance of the column
+   * @param column the column
+   */
+  private void pushColumn(long key, int column) {
+    if (this.heapSize == this.heapKeys.length) {
+      this.heapKeys = Arrays.copyOf(this.heapKeys, 2 * this.heapSize);
+      this.heapColumns = Arrays.copyOf(this.heapColumns, 2 * this.heapSize);
+    }
+    int i = this.heapSize++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (this.heapKeys[parent] <= key) {
+        break;
+      }
+      this.heapKeys[i] = this.heapKeys[parent];
+      this.heapColumns[i] = this.heapColumns[parent];
+      i = parent;
+    }
+    this.heapKeys[i] = key;
+    this.heapColumns[i] = column;
+  }
+
+  /**
+   * Helper method. Removes the column with the lowest distance from the heap.
+   *
+   * @return the column
+   */
+  private int popColumn() {
+    int column = this.heapColumns[0];
+    long key = this.heapKeys[--this.heapSize];
+    int last = this.heapColumns[this.heapSize];
+    int i = 0;
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= this.heapSize) {
+        break;
+      }
+      if (child + 1 < this.heapSize && this.heapKeys[child + 1] < this.heapKeys[child]) {
+        child++;
+      }
+      if (this.heapKeys[child] >= key) {
+        break;
+      }
+      this.heapKeys[i] = this.heapKeys[child];
+      this.heapColumns[i] = this.heapColumns[child];
+      i = child;
+    }
+    this.heapKeys[i] = key;
+    this.heapColumns[i] = last;
+    return column;
+  }
+
+  /**
+   * Helper method. Grows the arrays of the solver to hold the given numbers of rows and columns.
+   *
+   * @param numOfRows         the number of rows
+   * @param numOfTotalColumns the number of columns, dummy columns included
+   */
+  private void ensureCapacity(int numOfRows, int numOfTotalColumns) {
+    if (numOfRows > this.rowPotentials.length) {
+      int capacity = Math.max(numOfRows, 2 * this.rowPotentials.length);
+      this.rowPotentials = new long[capacity];
+      this.rowColumns = new int[capacity];
+      this.rowCosts = new long[capacity];
+    }
+    if (numOfTotalColumns > this.columnPotentials.length) {
+      int capacity = Math.max(numOfTotalColumns, 2 * this.columnPotentials.length);
+      this.columnPotentials = new long[capacity];
+      this.columnRows = new int[capacity];
+      this.distances = new long[capacity];
+      this.predecessorRows = new int[capacity];
+      this.predecessorCosts = new long[capacity];
+      this.finalized = new boolean[capacity];
+      this.reachedColumns = new int[capacity];
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AssignmentSolver{" +
+        "rowCapacity=" + rowPotentials.length +
+        ", columnCapacity=" + columnPotentials.length +
+        '}';
+  }
+}
@@ -0,0 +1,324 @@
+package sim.control.matching;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.SpatialDriverQueue;
+import sim.model.result.DispatchWindowStatistics;
+
+/**
+ * WindowMatcher class, matches the requests collected over a dispatch window to the available
+ * drivers so that the total pickup distance is the least. The candidates of a request are the
+ * few drivers nearest to its starting location, listed by the spatial driver queue, so the graph
+ * the AssignmentSolver works on has a few edges per request however many drivers are available.
+ * A request that no candidate is left for, when its candidates are all taken by nearer requests,
+ * is sent the nearest driver left, so that every request of the window is served.
+ *
+ * <p>Every window also computes the greedy matching of the same requests, each request taking the
+ * nearest driver still free in the order the requests were queued, the pickup distance the window
+ * would have driven with one dispatch at a time. A greedy request takes its nearest candidate
+ * still free, or the nearest driver left if none is, so both matchings serve every request and
+ * their pickup distances add up over the same requests. Windows are recorded in the statistics,
+ * and written to a CSV log, one line per window, if one is given.
+ */
+public final class WindowMatcher implements AutoCloseable {
+
+  private static final int MAX_CANDIDATES = 8;          // drivers listed per request
+  private static final double COST_SCALE = 10_000;      // costs in ten-thousandths of a mile
+  private static final long NANOS_PER_MICRO = 1_000;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final String HEADER = "window_tick,requests,drivers,candidates,matched,"
+      + "pickup_miles,greedy_matched,greedy_pickup_miles,fallbacks,candidate_micros,solve_micros";
+
+  private final SpatialDriverQueue driverQueue;
+  private final DispatchWindowStatistics statistics;
+  private final AssignmentSolver solver;
+  private final BufferedWriter log;
+  private final int[] candidateDrivers;
+  private final double[] candidateDistances;
+  private int[] rowStarts;            // request -> first edge of the request
+  private int[] edgeColumns;          // edge -> column of the driver
+  private long[] edgeCosts;           // edge -> pickup distance, scaled to an integer
+  private double[] edgeDistances;     // edge -> pickup distance, in miles
+  private int[] assignment;           // request -> column assigned, or UNASSIGNED
+  private int[] columnDrivers;        // column -> driver id
+  private int[] driverColumns;        // driver id -> column, valid if its stamp is the window
+  private int[] driverStamps;         // driver id -> window the driver was listed in
+  private int[] greedyStamps;         // driver id -> window the greedy matching took it in
+  private int[] nearestDrivers;       // the drivers nearest to a greedy request left without one
+  private double[] nearestDistances;  // their pickup distances, in miles
+  private int window;
+
+  /**
+   * Constructor for option1.control.matching.WindowMatcher class.
+   *
+   * @param driverQueue the queue of the available drivers
+   * @param statistics  the statistics the windows are recorded in
+   * @param logFile     the name of the CSV file the windows are written to, or null
+   */
+  public WindowMatcher(SpatialDriverQueue driverQueue, DispatchWindowStatistics statistics,
+      String logFile) {
+    this.driverQueue = driverQueue;
+    this.statistics = statistics;
+    this.solver = new AssignmentSolver();
+    this.candidateDrivers = new int[MAX_CANDIDATES];
+    this.candidateDistances = new double[MAX_CANDIDATES];
+    this.rowStarts = new int[INITIAL_CAPACITY + 1];
+    this.edgeColumns = new int[INITIAL_CAPACITY];
+    this.edgeCosts = new long[INITIAL_CAPACITY];
+    this.edgeDistances = new double[INITIAL_CAPACITY];
+    this.assignment = new int[INITIAL_CAPACITY];
+    this.columnDrivers = new int[INITIAL_CAPACITY];
+    this.driverColumns = new int[INITIAL_CAPACITY];
+    this.driverStamps = new int[INITIAL_CAPACITY];
+    this.greedyStamps = new int[INITIAL_CAPACITY];
+    this.nearestDrivers = new int[INITIAL_CAPACITY];
+    this.nearestDistances = new double[INITIAL_CAPACITY];
+    this.window = 0;
+    if (logFile == null) {
+      this.log = null;
+      return;
+    }
+    try {
+      this.log = new BufferedWriter(new FileWriter(logFile));
+      this.log.write(HEADER);
+      this.log.newLine();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Matches the given requests to available drivers, and takes the drivers out of the driver
+   * queue. The queue must hold at least as many drivers as there are requests.
+   *
+   * @param windowTick    the tick the window closes at
+   * @param requests      the requests, in the order they were dequeued
+   * @param numOfRequests the number of requests
+   * @param driverIds     the array the driver of every request is written to
+   * @throws EmptyQueueException throws EmptyQueueException when the queue runs out of drivers
+   */
+  public void match(long windowTick, RideRequestEvent[] requests, int numOfRequests,
+      int[] driverIds) throws EmptyQueueException {
+    long startNanos = System.nanoTime();
+    int numOfDrivers = this.driverQueue.size();
+    int maxCandidates = Math.min(MAX_CANDIDATES, numOfDrivers);
+    ensureCapacity(numOfRequests, numOfRequests * maxCandidates);
+    this.window++;
+    // Lists the candidates of every request, each driver listed once as a column
+    int numOfColumns = 0;
+    int numOfEdges = 0;
+    for (int request = 0; request < numOfRequests; request++) {
+      int numOfCandidates = this.driverQueue.findNearestDrivers(
+          requests[request].getStartingLocationId(), maxCandidates, this.candidateDrivers,
+          this.candidateDistances);
+      for (int i = 0; i < numOfCandidates; i++) {
+        int driverId = this.candidateDrivers[i];
+        if (driverId >= this.driverStamps.length) {
+          growDrivers(driverId + 1);
+        }
+        if (this.driverStamps[driverId] != this.window) {
+          this.driverStamps[driverId] = this.window;
+          this.driverColumns[driverId] = numOfColumns;
+          this.columnDrivers[numOfColumns++] = driverId;
+        }
+        this.edgeColumns[numOfEdges] = this.driverColumns[driverId];
+        this.edgeDistances[numOfEdges] = this.candidateDistances[i];
+        this.edgeCosts[numOfEdges] = Math.round(this.candidateDistances[i] * COST_SCALE);
+        numOfEdges++;
+      }
+      this.rowStarts[request + 1] = numOfEdges;
+    }
+    long listedNanos = System.nanoTime();
+    this.solver.solve(numOfRequests, numOfColumns, this.rowStarts, this.edgeColumns,
+        this.edgeCosts, this.assignment);
+    long solvedNanos = System.nanoTime();
+    // The greedy matching of the same requests, for comparison, before drivers leave the queue
+    int numOfGreedyMatched = 0;
+    double greedyPickupDistance = 0;
+    for (int request = 0; request < numOfRequests; request++) {
+      int edge = this.rowStarts[request];
+      while (edge < this.rowStarts[request + 1]
+          && this.greedyStamps[this.columnDrivers[this.edgeColumns[edge]]] == this.window) {
+        edge++;
+      }
+      if (edge < this.rowStarts[request + 1]) {
+        this.greedyStamps[this.columnDrivers[this.edgeColumns[edge]]] = this.window;
+        greedyPickupDistance += this.edgeDistances[edge];
+        numOfGreedyMatched++;
+      } else {
+        greedyPickupDistance += takeNearestFreeDriver(requests[request].getStartingLocationId(),
+            numOfDrivers);
+      }
+    }
+    // Takes the matched drivers out of the queue
+    int numOfMatched = 0;
+    double pickupDistance = 0;
+    for (int request = 0; request < numOfRequests; request++) {
+      int column = this.assignment[request];
+      if (column == AssignmentSolver.UNASSIGNED) {
+        continue;
+      }
+      for (int edge = this.rowStarts[request]; edge < this.rowStarts[request + 1]; edge++) {
+        if (this.edgeColumns[edge] == column) {
+          pickupDistance += this.edgeDistances[edge];
+          break;
+        }
+      }
+      driverIds[request] = this.columnDrivers[column];
+      this.driverQueue.remove(driverIds[request]);
+      numOfMatched++;
+    }
+    // Sends the nearest driver left to the requests left without a candidate
+    int numOfFallbacks = 0;
+    for (int request = 0; request < numOfRequests; request++) {
+      if (this.assignment[request] == AssignmentSolver.UNASSIGNED) {
+        if (this.driverQueue.findNearestDrivers(requests[request].getStartingLocationId(), 1,
+            this.candidateDrivers, this.candidateDistances) == 0) {
+          throw new EmptyQueueException("No driver is left for request " + request + ".");
+        }
+        driverIds[request] = this.candidateDrivers[0];
+        pickupDistance += this.candidateDistances[0];
+        this.driverQueue.remove(driverIds[request]);
+        numOfFallbacks++;
+      }
+    }
+    long candidateMicros = (listedNanos - startNanos) / NANOS_PER_MICRO;
+    long solveMicros = (solvedNanos - listedNanos) / NANOS_PER_MICRO;
+    this.statistics.record(numOfRequests, numOfDrivers, numOfEdges, numOfMatched,
+        pickupDistance, numOfGreedyMatched, greedyPickupDistance, numOfFallbacks,
+        candidateMicros, solveMicros);
+    if (this.log != null) {
+      writeLine(windowTick, numOfRequests, numOfDrivers, numOfEdges, numOfMatched,
+          pickupDistance, numOfGreedyMatched, greedyPickupDistance, numOfFallbacks,
+          candidateMicros, solveMicros);
+    }
+  }
+
+  /**
+   * Writes the buffered lines of the log and closes it.
+   */
+  @Override
+  public void close() {
+    if (this.log == null) {
+      return;
+    }
+    try {
+      this.log.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Helper method. Finds the nearest driver the greedy matching has not taken yet, and marks it
+   * taken. The nearest drivers are listed twice as many at a time until one of them is free, and
+   * one is once every driver is listed, since the greedy matching takes fewer drivers than there
+   * are.
+   *
+   * @param locationId   the dictionary id of the starting location of the request
+   * @param numOfDrivers the number of drivers in the queue
+   * @return the pickup distance of the driver, in miles
+   */
+  private double takeNearestFreeDriver(int locationId, int numOfDrivers) {
+    int maxDrivers = Math.min(numOfDrivers, 2 * MAX_CANDIDATES);
+    while (true) {
+      if (maxDrivers > this.nearestDrivers.length) {
+        int capacity = Math.max(maxDrivers, 2 * this.nearestDrivers.length);
+        this.nearestDrivers = new int[capacity];
+        this.nearestDistances = new double[capacity];
+      }
+      int numOfListed = this.driverQueue.findNearestDrivers(locationId, maxDrivers,
+          this.nearestDrivers, this.nearestDistances);
+      for (int i = 0; i < numOfListed; i++) {
+        int driverId = this.nearestDrivers[i];
+        if (driverId >= this.greedyStamps.length) {
+          growDrivers(driverId + 1);
+        }
+        if (this.greedyStamps[driverId] != this.window) {
+          this.greedyStamps[driverId] = this.window;
+          return this.nearestDistances[i];
+        }
+      }
+      if (maxDrivers >= numOfDrivers) {
+        throw new IllegalStateException("No free driver among the " + numOfListed + " nearest.");
+      }
+      maxDrivers = (int) Math.min(numOfDrivers, 2L * maxDrivers);
+    }
+  }
+
+  /**
+   * Helper method. Writes the line of a window to the log.
+   *
+   * @param windowTick            the tick the window closes at
+   * @param numOfRequests         the number of requests
+   * @param numOfDrivers          the number of available drivers
+   * @param numOfEdges            the number of candidate pairs
+   * @param numOfMatched          the number of requests matched to a candidate
+   * @param pickupDistance        the total pickup distance of the matching, in miles
+   * @param numOfGreedyMatched    the number of requests the greedy matching served a candidate
+   * @param greedyPickupDistance  the total pickup distance of the greedy matching, in miles
+   * @param numOfFallbacks        the number of requests sent the nearest driver left
+   * @param candidateMicros       the time taken to list the candidates, in microseconds
+   * @param solveMicros           the time taken to solve the matching, in microseconds
+   */
+  private void writeLine(long windowTick, int numOfRequests, int numOfDrivers, int numOfEdges,
+      int numOfMatched, double pickupDistance, int numOfGreedyMatched,
+      double greedyPickupDistance, int numOfFallbacks, long candidateMicros, long solveMicros) {
+    try {
+      this.log.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.4f,%d,%.4f,%d,%d,%d",
+          windowTick, numOfRequests, numOfDrivers, numOfEdges, numOfMatched,
+          pickupDistance, numOfGreedyMatched, greedyPickupDistance, numOfFallbacks,
+          candidateMicros, solveMicros));
+      this.log.newLine();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Helper method. Grows the arrays of a window to hold the given numbers of requests and edges.
+   * A window never has more columns than edges.
+   *
+   * @param numOfRequests the number of requests
+   * @param numOfEdges    the number of edges
+   */
+  private void ensureCapacity(int numOfRequests, int numOfEdges) {
+    if (numOfRequests > this.assignment.length) {
+      int capacity = Math.max(numOfRequests, 2 * this.assignment.length);
+      this.assignment = new int[capacity];
+      this.rowStarts = new int[capacity + 1];
+    }
+    if (numOfEdges > this.edgeColumns.length) {
+      int capacity = Math.max(numOfEdges, 2 * this.edgeColumns.length);
+      this.edgeColumns = new int[capacity];
+      this.edgeCosts = new long[capacity];
+      this.edgeDistances = new double[capacity];
+      this.columnDrivers = new int[capacity];
+    }
+  }
+
+  /**
+   * Helper method. Grows the arrays of the drivers to hold at least the given number of drivers.
+   *
+   * @param minCapacity the number of drivers
+   */
+  private void growDrivers(int minCapacity) {
+    int capacity = Math.max(minCapacity, 2 * this.driverStamps.length);
+    this.driverColumns = Arrays.copyOf(this.driverColumns, capacity);
+    this.driverStamps = Arrays.copyOf(this.driverStamps, capacity);
+    this.greedyStamps = Arrays.copyOf(this.greedyStamps, capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "WindowMatcher{" +
+        "window=" + window +
+        ", statistics=" + statistics +
+        '}';
+  }
+}
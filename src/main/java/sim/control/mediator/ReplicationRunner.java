@@ -0,0 +1,110 @@
+package sim.control.mediator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import sim.control.calculator.ConfidenceIntervalCalculator;
+import sim.control.exception.EmptyQueueException;
+import sim.control.random.RandomStreamService;
+import sim.model.data.MockDataGenerator;
+import sim.model.result.ConfidenceInterval;
+import sim.model.result.SimResult;
+
+/**
+ * ReplicationRunner class, runs independent replications of the simulation concurrently on a
+ * ForkJoinPool, one SimDirector per replication. The mock data is generated once and shared
+ * read-only by every replication: replications never read a request log, resume a checkpoint or
+ * export rides, so they only resolve strings that are already encoded. The dictionary is made
+ * read-only before the replications are forked, so a replication that tried to encode a string
+ * would fail rather than change the ids the others give.
+ */
+public final class ReplicationRunner {
+
+  private final SimConfig config;
+  private final MockDataGenerator mockDataGenerator;
+  private final ConfidenceIntervalCalculator confidenceIntervalCalculator;
+
+  /**
+   * Constructor for option1.control.mediator.ReplicationRunner class. Ride messages are never
+   * printed, event traces and rides are never written, checkpoints are neither written nor
+   * resumed, and arrivals are drawn from the random streams of each replication rather than
+   * replayed from a request log, whatever the options say.
+   *
+   * @param config            the options selected for the simulation
+   * @param mockDataGenerator the mock data shared by every replication, generated if needed
+   */
+  public ReplicationRunner(SimConfig config, MockDataGenerator mockDataGenerator) {
+    this.config = new SimConfig(config);
+    this.config.setPrintMessages(Boolean.FALSE);
+    this.config.setTraceFile(null);
+    this.config.setCsvExportFile(null);
+    this.config.setColumnarExportFile(null);
+    this.config.setCheckpointTime(null);
+    this.config.setResumeFile(null);
+    this.config.setRequestLogFile(null);
+    this.mockDataGenerator = mockDataGenerator;
+    if (!this.mockDataGenerator.isGenerated()) {
+      this.mockDataGenerator.generate();
+    }
+    this.mockDataGenerator.getDictionary().setReadOnly();
+    this.confidenceIntervalCalculator = new ConfidenceIntervalCalculator();
+  }
+
+  /**
+   * Runs the number of replications selected in the options with the given number of drivers and
+   * the given number of initial ride requested events.
+   *
+   * @param numOfDrivers         the given number of drivers
+   * @param numOfInitialRequests the given number of initial ride requested event
+   * @return the result of every replication, in replication order
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  public List<SimResult> run(Integer numOfDrivers, Integer numOfInitialRequests)
+      throws EmptyQueueException {
+    List<Callable<SimResult>> replications = new ArrayList<>();
+    for (int i = 0; i < this.config.getNumOfReplications(); i++) {
+      // Each replication draws from its own substream of the configured seed
+      RandomStreamService randomStreams = new RandomStreamService(this.config.getSeed(), i);
+      replications.add(() -> new SimDirector(this.config, this.mockDataGenerator, randomStreams)
+          .simulate(numOfDrivers, numOfInitialRequests));
+    }
+    ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    try {
+      List<SimResult> results = new ArrayList<>();
+      for (Future<SimResult> future : pool.invokeAll(replications)) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof EmptyQueueException) {
+        throw (EmptyQueueException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Summarizes a key performance indicator over the given results as a mean with its 95%
+   * confidence interval.
+   *
+   * @param results the results of the replications, at least two
+   * @param kpi     extracts the key performance indicator from a result
+   * @return the confidence interval of the mean of the key performance indicator
+   */
+  public ConfidenceInterval summarize(List<SimResult> results, Function<SimResult, Double> kpi) {
+    List<Double> samples = new ArrayList<>();
+    for (SimResult result : results) {
+      samples.add(kpi.apply(result));
+    }
+    return this.confidenceIntervalCalculator.calculate(samples);
+  }
+}
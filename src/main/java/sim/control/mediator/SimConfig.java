@@ -0,0 +1,1142 @@
+package sim.control.mediator;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.type.ArrivalProfileType;
+import sim.model.type.DispatchType;
+import sim.model.type.EngineType;
+import sim.model.type.EventLogLevel;
+import sim.model.type.EventQueueType;
+
+/**
+ * SimConfig class, holds the options selected at startup for a simulation run.
+ */
+public final class SimConfig {
+
+  private static final Integer DEFAULT_SIM_TIME_SPAN = 60;          // 60 minutes
+  private static final Double DEFAULT_DRIVER_SPEED = 60.0;          // 60 mph
+  private static final Double DEFAULT_DISTANCE_UPPER_BOUND = 120.0; // 120 miles
+  private static final LocalDateTime DEFAULT_TIME_ZERO = LocalDateTime.of(2024, 1, 1, 8, 0);
+  private static final String OPTION_PREFIX = "--";
+  private static final String OPTION_SEPARATOR = "=";
+  private static final String EVENT_QUEUE_OPTION = "event-queue";
+  private static final String BATCH_DISPATCH_OPTION = "batch-dispatch";
+  private static final String DISPATCH_OPTION = "dispatch";
+  private static final String DISPATCH_WINDOW_OPTION = "dispatch-window";
+  private static final String DISPATCH_WINDOW_LOG_OPTION = "dispatch-window-log";
+  private static final String ENGINE_OPTION = "engine";
+  private static final String ZONES_OPTION = "zones";
+  private static final String PRINT_MESSAGES_OPTION = "print-messages";
+  private static final String REPLICATIONS_OPTION = "replications";
+  private static final String TIME_SPAN_OPTION = "time-span";
+  private static final String DRIVER_SPEED_OPTION = "driver-speed";
+  private static final String DISTANCE_UPPER_BOUND_OPTION = "distance-upper-bound";
+  private static final String EXPRESS_QUANTUM_OPTION = "express-quantum";
+  private static final String STANDARD_QUANTUM_OPTION = "standard-quantum";
+  private static final String WAIT_AND_SAVE_QUANTUM_OPTION = "wait-and-save-quantum";
+  private static final String ENVIRONMENTALLY_CONSCIOUS_QUANTUM_OPTION =
+      "environmentally-conscious-quantum";
+  private static final String SWEEP_OPTION = "sweep";
+  private static final String SWEEP_OUTPUT_OPTION = "sweep-output";
+  private static final String DEFAULT_SWEEP_OUTPUT = "sweep-results.csv";
+  private static final String SEED_OPTION = "seed";
+  private static final String TIME_ZERO_OPTION = "time-zero";
+  private static final String ARRIVAL_PROFILE_OPTION = "arrival-profile";
+  private static final String POOLED_EVENTS_OPTION = "pooled-events";
+  private static final String RETAIN_RIDES_OPTION = "retain-rides";
+  private static final String EVENT_LOG_LEVEL_OPTION = "event-log-level";
+  private static final String EVENT_LOG_FILE_OPTION = "event-log-file";
+  private static final String TRACE_FILE_OPTION = "trace-file";
+  private static final String CSV_EXPORT_FILE_OPTION = "csv-export-file";
+  private static final String COLUMNAR_EXPORT_FILE_OPTION = "columnar-export-file";
+  private static final String CHECKPOINT_TIME_OPTION = "checkpoint-time";
+  private static final String CHECKPOINT_FILE_OPTION = "checkpoint-file";
+  private static final String DEFAULT_CHECKPOINT_FILE = "checkpoint.bin";
+  private static final String RESUME_FILE_OPTION = "resume-file";
+  private static final String REQUEST_LOG_FILE_OPTION = "request-log-file";
+  private static final String MOCK_DATA_FILE_OPTION = "mock-data-file";
+  private static final String MOCK_DATA_CACHE_OPTION = "mock-data-cache";
+
+  private EventQueueType eventQueueType;
+  private Boolean batchDispatch;
+  private DispatchType dispatchType;
+  private Integer dispatchWindow;
+  private String dispatchWindowLog;
+  private EngineType engineType;
+  private Integer numOfZones;
+  private Boolean printMessages;
+  private Integer numOfReplications;
+  private Integer simTimeSpan;
+  private Double driverSpeed;
+  private Double distanceUpperBound;
+  private Integer expressQuantum;
+  private Integer standardQuantum;
+  private Integer waitAndSaveQuantum;
+  private Integer environmentallyConsciousQuantum;
+  private String sweepFile;
+  private String sweepOutputFile;
+  private Long seed;
+  private LocalDateTime timeZero;
+  private ArrivalProfileType arrivalProfileType;
+  private Boolean pooledEvents;
+  private Boolean retainRides;
+  private EventLogLevel eventLogLevel;
+  private String eventLogFile;
+  private String traceFile;
+  private String csvExportFile;
+  private String columnarExportFile;
+  private Integer checkpointTime;
+  private String checkpointFile;
+  private String resumeFile;
+  private String requestLogFile;
+  private String mockDataFile;
+  private String mockDataCache;
+
+  /**
+   * Constructor for option1.control.mediator.SimConfig class. All options are initialized to their
+   * default values.
+   */
+  public SimConfig() {
+    this.eventQueueType = EventQueueType.BINARY_HEAP;
+    this.batchDispatch = Boolean.FALSE;
+    this.dispatchType = DispatchType.FIFO;
+    this.dispatchWindow = 5;
+    this.dispatchWindowLog = null;
+    this.engineType = EngineType.SEQUENTIAL;
+    this.numOfZones = Runtime.getRuntime().availableProcessors();
+    this.printMessages = Boolean.TRUE;
+    this.numOfReplications = 1;
+    this.simTimeSpan = DEFAULT_SIM_TIME_SPAN;
+    this.driverSpeed = DEFAULT_DRIVER_SPEED;
+    this.distanceUpperBound = DEFAULT_DISTANCE_UPPER_BOUND;
+    this.expressQuantum = RequestPriorityQueue.EXPRESS_QUANTUM;
+    this.standardQuantum = RequestPriorityQueue.STANDARD_QUANTUM;
+    this.waitAndSaveQuantum = RequestPriorityQueue.WAIT_AND_SAVE_QUANTUM;
+    this.environmentallyConsciousQuantum = RequestPriorityQueue.ENVIRONMENTALLY_CONSCIOUS_QUANTUM;
+    this.sweepFile = null;
+    this.sweepOutputFile = DEFAULT_SWEEP_OUTPUT;
+    this.seed = ThreadLocalRandom.current().nextLong(); // reported so the run can be reproduced
+    this.timeZero = DEFAULT_TIME_ZERO;
+    this.arrivalProfileType = ArrivalProfileType.UNIFORM;
+    this.pooledEvents = Boolean.FALSE;
+    this.retainRides = Boolean.TRUE;
+    this.eventLogLevel = EventLogLevel.ALL;
+    this.eventLogFile = null;
+    this.traceFile = null;
+    this.csvExportFile = null;
+    this.columnarExportFile = null;
+    this.checkpointTime = null;
+    this.checkpointFile = DEFAULT_CHECKPOINT_FILE;
+    this.resumeFile = null;
+    this.requestLogFile = null;
+    this.mockDataFile = null;
+    this.mockDataCache = null;
+  }
+
+  /**
+   * Constructor for option1.control.mediator.SimConfig class. Creates a copy of the given options.
+   *
+   * @param other the options to copy
+   */
+  public SimConfig(SimConfig other) {
+    this.eventQueueType = other.eventQueueType;
+    this.batchDispatch = other.batchDispatch;
+    this.dispatchType = other.dispatchType;
+    this.dispatchWindow = other.dispatchWindow;
+    this.dispatchWindowLog = other.dispatchWindowLog;
+    this.engineType = other.engineType;
+    this.numOfZones = other.numOfZones;
+    this.printMessages = other.printMessages;
+    this.numOfReplications = other.numOfReplications;
+    this.simTimeSpan = other.simTimeSpan;
+    this.driverSpeed = other.driverSpeed;
+    this.distanceUpperBound = other.distanceUpperBound;
+    this.expressQuantum = other.expressQuantum;
+    this.standardQuantum = other.standardQuantum;
+    this.waitAndSaveQuantum = other.waitAndSaveQuantum;
+    this.environmentallyConsciousQuantum = other.environmentallyConsciousQuantum;
+    this.sweepFile = other.sweepFile;
+    this.sweepOutputFile = other.sweepOutputFile;
+    this.seed = other.seed;
+    this.timeZero = other.timeZero;
+    this.arrivalProfileType = other.arrivalProfileType;
+    this.pooledEvents = other.pooledEvents;
+    this.retainRides = other.retainRides;
+    this.eventLogLevel = other.eventLogLevel;
+    this.eventLogFile = other.eventLogFile;
+    this.traceFile = other.traceFile;
+    this.csvExportFile = other.csvExportFile;
+    this.columnarExportFile = other.columnarExportFile;
+    this.checkpointTime = other.checkpointTime;
+    this.checkpointFile = other.checkpointFile;
+    this.resumeFile = other.resumeFile;
+    this.requestLogFile = other.requestLogFile;
+    this.mockDataFile = other.mockDataFile;
+    this.mockDataCache = other.mockDataCache;
+  }
+
+  /**
+   * Creates a SimConfig from command line arguments. Each argument has the form
+   * {@code --option=value}, for example {@code --event-queue=calendar}.
+   *
+   * @param args the command line arguments
+   * @return the SimConfig described by the arguments
+   */
+  public static SimConfig fromArgs(String[] args) {
+    SimConfig config = new SimConfig();
+    for (String arg : args) {
+      int separator = arg.indexOf(OPTION_SEPARATOR);
+      if (!arg.startsWith(OPTION_PREFIX) || separator < 0) {
+        throw new IllegalArgumentException("Options must have the form --option=value: " + arg);
+      }
+      String option = arg.substring(OPTION_PREFIX.length(), separator);
+      String value = arg.substring(separator + 1);
+      config.setOption(option, value);
+    }
+    return config;
+  }
+
+  /**
+   * Sets the option with the given name, as it would be written on the command line without the
+   * leading dashes.
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   */
+  public void setOption(String option, String value) {
+    switch (option) {
+      case EVENT_QUEUE_OPTION:
+        setEventQueueType(EventQueueType.fromName(value));
+        break;
+      case BATCH_DISPATCH_OPTION:
+        setBatchDispatch(parseBoolean(option, value));
+        break;
+      case DISPATCH_OPTION:
+        setDispatchType(DispatchType.fromName(value));
+        break;
+      case DISPATCH_WINDOW_OPTION:
+        setDispatchWindow(parsePositiveInteger(option, value));
+        break;
+      case DISPATCH_WINDOW_LOG_OPTION:
+        setDispatchWindowLog(value);
+        break;
+      case ENGINE_OPTION:
+        setEngineType(EngineType.fromName(value));
+        break;
+      case ZONES_OPTION:
+        setNumOfZones(parsePositiveInteger(option, value));
+        break;
+      case PRINT_MESSAGES_OPTION:
+        setPrintMessages(parseBoolean(option, value));
+        break;
+      case REPLICATIONS_OPTION:
+        setNumOfReplications(parsePositiveInteger(option, value));
+        break;
+      case TIME_SPAN_OPTION:
+        setSimTimeSpan(parsePositiveInteger(option, value));
+        break;
+      case DRIVER_SPEED_OPTION:
+        setDriverSpeed(parsePositiveDouble(option, value));
+        break;
+      case DISTANCE_UPPER_BOUND_OPTION:
+        setDistanceUpperBound(parsePositiveDouble(option, value));
+        break;
+      case EXPRESS_QUANTUM_OPTION:
+        setExpressQuantum(parsePositiveInteger(option, value));
+        break;
+      case STANDARD_QUANTUM_OPTION:
+        setStandardQuantum(parsePositiveInteger(option, value));
+        break;
+      case WAIT_AND_SAVE_QUANTUM_OPTION:
+        setWaitAndSaveQuantum(parsePositiveInteger(option, value));
+        break;
+      case ENVIRONMENTALLY_CONSCIOUS_QUANTUM_OPTION:
+        setEnvironmentallyConsciousQuantum(parsePositiveInteger(option, value));
+        break;
+      case SWEEP_OPTION:
+        setSweepFile(value);
+        break;
+      case SWEEP_OUTPUT_OPTION:
+        setSweepOutputFile(value);
+        break;
+      case SEED_OPTION:
+        setSeed(parseLong(option, value));
+        break;
+      case TIME_ZERO_OPTION:
+        setTimeZero(parseDateTime(option, value));
+        break;
+      case ARRIVAL_PROFILE_OPTION:
+        setArrivalProfileType(ArrivalProfileType.fromName(value));
+        break;
+      case POOLED_EVENTS_OPTION:
+        setPooledEvents(parseBoolean(option, value));
+        break;
+      case RETAIN_RIDES_OPTION:
+        setRetainRides(parseBoolean(option, value));
+        break;
+      case EVENT_LOG_LEVEL_OPTION:
+        setEventLogLevel(EventLogLevel.fromName(value));
+        break;
+      case EVENT_LOG_FILE_OPTION:
+        setEventLogFile(value);
+        break;
+      case TRACE_FILE_OPTION:
+        setTraceFile(value);
+        break;
+      case CSV_EXPORT_FILE_OPTION:
+        setCsvExportFile(value);
+        break;
+      case COLUMNAR_EXPORT_FILE_OPTION:
+        setColumnarExportFile(value);
+        break;
+      case CHECKPOINT_TIME_OPTION:
+        setCheckpointTime(parsePositiveInteger(option, value));
+        break;
+      case CHECKPOINT_FILE_OPTION:
+        setCheckpointFile(value);
+        break;
+      case RESUME_FILE_OPTION:
+        setResumeFile(value);
+        break;
+      case REQUEST_LOG_FILE_OPTION:
+        setRequestLogFile(value);
+        break;
+      case MOCK_DATA_FILE_OPTION:
+        setMockDataFile(value);
+        break;
+      case MOCK_DATA_CACHE_OPTION:
+        setMockDataCache(value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown option: " + option);
+    }
+  }
+
+  /**
+   * Helper method. Parses a boolean option value, accepting only "true" and "false".
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   * @return the parsed value
+   */
+  private static Boolean parseBoolean(String option, String value) {
+    if (!value.equalsIgnoreCase(Boolean.TRUE.toString())
+        && !value.equalsIgnoreCase(Boolean.FALSE.toString())) {
+      throw new IllegalArgumentException("Option " + option + " must be true or false.");
+    }
+    return Boolean.valueOf(value);
+  }
+
+  /**
+   * Helper method. Parses a positive integer option value.
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   * @return the parsed value
+   */
+  private static Integer parsePositiveInteger(String option, String value) {
+    try {
+      int parsed = Integer.parseInt(value);
+      if (parsed > 0) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // Falls through to the error below
+    }
+    throw new IllegalArgumentException("Option " + option + " must be a positive integer.");
+  }
+
+  /**
+   * Helper method. Parses a positive decimal option value.
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   * @return the parsed value
+   */
+  private static Double parsePositiveDouble(String option, String value) {
+    try {
+      double parsed = Double.parseDouble(value);
+      if (parsed > 0 && Double.isFinite(parsed)) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // Falls through to the error below
+    }
+    throw new IllegalArgumentException("Option " + option + " must be a positive number.");
+  }
+
+  /**
+   * Helper method. Parses a long option value.
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   * @return the parsed value
+   */
+  private static Long parseLong(String option, String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Option " + option + " must be an integer.");
+    }
+  }
+
+  /**
+   * Helper method. Parses an ISO-8601 local date-time option value, such as 2024-01-01T08:00.
+   *
+   * @param option the name of the option
+   * @param value  the value of the option
+   * @return the parsed value
+   */
+  private static LocalDateTime parseDateTime(String option, String value) {
+    try {
+      return LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Option " + option + " must be a date-time such as "
+          + DEFAULT_TIME_ZERO + ".");
+    }
+  }
+
+  /**
+   * Creates an empty request queue with the service quanta selected in the options.
+   *
+   * @return an empty request queue
+   */
+  public RequestPriorityQueue<RideRequestEvent> createRequestQueue() {
+    return new RequestPriorityQueue<>(this.expressQuantum, this.standardQuantum,
+        this.waitAndSaveQuantum, this.environmentallyConsciousQuantum);
+  }
+
+  /**
+   * Gets the implementation of the event queue.
+   *
+   * @return the implementation of the event queue
+   */
+  public EventQueueType getEventQueueType() {
+    return eventQueueType;
+  }
+
+  /**
+   * Sets the implementation of the event queue.
+   *
+   * @param eventQueueType the implementation of the event queue
+   */
+  public void setEventQueueType(EventQueueType eventQueueType) {
+    this.eventQueueType = eventQueueType;
+  }
+
+  /**
+   * Checks if events that occur at the same instant are processed as a batch, with a single
+   * dispatch round per instant.
+   *
+   * @return true if events are processed in batches, false otherwise
+   */
+  public Boolean isBatchDispatch() {
+    return batchDispatch;
+  }
+
+  /**
+   * Sets whether events that occur at the same instant are processed as a batch.
+   *
+   * @param batchDispatch true to process events in batches, false otherwise
+   */
+  public void setBatchDispatch(Boolean batchDispatch) {
+    this.batchDispatch = batchDispatch;
+  }
+
+  /**
+   * Gets how an available driver is picked for a waiting request.
+   *
+   * @return the dispatch type
+   */
+  public DispatchType getDispatchType() {
+    return dispatchType;
+  }
+
+  /**
+   * Sets how an available driver is picked for a waiting request.
+   *
+   * @param dispatchType the dispatch type
+   */
+  public void setDispatchType(DispatchType dispatchType) {
+    this.dispatchType = dispatchType;
+  }
+
+  /**
+   * Gets the length of the window over which matched dispatch collects requests and drivers.
+   *
+   * @return the length of the dispatch window, in seconds
+   */
+  public Integer getDispatchWindow() {
+    return dispatchWindow;
+  }
+
+  /**
+   * Sets the length of the window over which matched dispatch collects requests and drivers.
+   *
+   * @param dispatchWindow the length of the dispatch window, in seconds
+   */
+  public void setDispatchWindow(Integer dispatchWindow) {
+    this.dispatchWindow = dispatchWindow;
+  }
+
+  /**
+   * Gets the csv file a line is written to for every window of matched dispatch.
+   *
+   * @return the name of the file, or null if the windows are not logged
+   */
+  public String getDispatchWindowLog() {
+    return dispatchWindowLog;
+  }
+
+  /**
+   * Sets the csv file a line is written to for every window of matched dispatch.
+   *
+   * @param dispatchWindowLog the name of the file, or null not to log the windows
+   */
+  public void setDispatchWindowLog(String dispatchWindowLog) {
+    this.dispatchWindowLog = dispatchWindowLog;
+  }
+
+  /**
+   * Gets the engine that runs the simulation main loop.
+   *
+   * @return the engine that runs the simulation main loop
+   */
+  public EngineType getEngineType() {
+    return engineType;
+  }
+
+  /**
+   * Sets the engine that runs the simulation main loop.
+   *
+   * @param engineType the engine that runs the simulation main loop
+   */
+  public void setEngineType(EngineType engineType) {
+    this.engineType = engineType;
+  }
+
+  /**
+   * Gets the number of zones used by the parallel engines.
+   *
+   * @return the number of zones
+   */
+  public Integer getNumOfZones() {
+    return numOfZones;
+  }
+
+  /**
+   * Sets the number of zones used by the parallel engines.
+   *
+   * @param numOfZones the number of zones
+   */
+  public void setNumOfZones(Integer numOfZones) {
+    this.numOfZones = numOfZones;
+  }
+
+  /**
+   * Checks if ride messages are printed as events are processed.
+   *
+   * @return true if ride messages are printed, false otherwise
+   */
+  public Boolean isPrintMessages() {
+    return printMessages;
+  }
+
+  /**
+   * Sets whether ride messages are printed as events are processed.
+   *
+   * @param printMessages true to print ride messages, false otherwise
+   */
+  public void setPrintMessages(Boolean printMessages) {
+    this.printMessages = printMessages;
+  }
+
+  /**
+   * Gets the number of independent replications of the simulation.
+   *
+   * @return the number of replications
+   */
+  public Integer getNumOfReplications() {
+    return numOfReplications;
+  }
+
+  /**
+   * Sets the number of independent replications of the simulation.
+   *
+   * @param numOfReplications the number of replications
+   */
+  public void setNumOfReplications(Integer numOfReplications) {
+    this.numOfReplications = numOfReplications;
+  }
+
+  /**
+   * Gets the time span, in minutes, over which ride requests are generated.
+   *
+   * @return the time span in minutes
+   */
+  public Integer getSimTimeSpan() {
+    return simTimeSpan;
+  }
+
+  /**
+   * Sets the time span, in minutes, over which ride requests are generated.
+   *
+   * @param simTimeSpan the time span in minutes
+   */
+  public void setSimTimeSpan(Integer simTimeSpan) {
+    this.simTimeSpan = simTimeSpan;
+  }
+
+  /**
+   * Gets the driving speed of every driver, in mph.
+   *
+   * @return the driving speed in mph
+   */
+  public Double getDriverSpeed() {
+    return driverSpeed;
+  }
+
+  /**
+   * Sets the driving speed of every driver, in mph.
+   *
+   * @param driverSpeed the driving speed in mph
+   */
+  public void setDriverSpeed(Double driverSpeed) {
+    this.driverSpeed = driverSpeed;
+  }
+
+  /**
+   * Gets the upper bound of the randomly generated ride distances, in miles.
+   *
+   * @return the upper bound of the ride distances
+   */
+  public Double getDistanceUpperBound() {
+    return distanceUpperBound;
+  }
+
+  /**
+   * Sets the upper bound of the randomly generated ride distances, in miles.
+   *
+   * @param distanceUpperBound the upper bound of the ride distances
+   */
+  public void setDistanceUpperBound(Double distanceUpperBound) {
+    this.distanceUpperBound = distanceUpperBound;
+  }
+
+  /**
+   * Gets the service quantum of the express ride queue.
+   *
+   * @return the service quantum of express rides
+   */
+  public Integer getExpressQuantum() {
+    return expressQuantum;
+  }
+
+  /**
+   * Sets the service quantum of the express ride queue.
+   *
+   * @param expressQuantum the service quantum of express rides
+   */
+  public void setExpressQuantum(Integer expressQuantum) {
+    this.expressQuantum = expressQuantum;
+  }
+
+  /**
+   * Gets the service quantum of the standard ride queue.
+   *
+   * @return the service quantum of standard rides
+   */
+  public Integer getStandardQuantum() {
+    return standardQuantum;
+  }
+
+  /**
+   * Sets the service quantum of the standard ride queue.
+   *
+   * @param standardQuantum the service quantum of standard rides
+   */
+  public void setStandardQuantum(Integer standardQuantum) {
+    this.standardQuantum = standardQuantum;
+  }
+
+  /**
+   * Gets the service quantum of the wait and save ride queue.
+   *
+   * @return the service quantum of wait and save rides
+   */
+  public Integer getWaitAndSaveQuantum() {
+    return waitAndSaveQuantum;
+  }
+
+  /**
+   * Sets the service quantum of the wait and save ride queue.
+   *
+   * @param waitAndSaveQuantum the service quantum of wait and save rides
+   */
+  public void setWaitAndSaveQuantum(Integer waitAndSaveQuantum) {
+    this.waitAndSaveQuantum = waitAndSaveQuantum;
+  }
+
+  /**
+   * Gets the service quantum of the environmentally conscious ride queue.
+   *
+   * @return the service quantum of environmentally conscious rides
+   */
+  public Integer getEnvironmentallyConsciousQuantum() {
+    return environmentallyConsciousQuantum;
+  }
+
+  /**
+   * Sets the service quantum of the environmentally conscious ride queue.
+   *
+   * @param environmentallyConsciousQuantum the service quantum of environmentally conscious rides
+   */
+  public void setEnvironmentallyConsciousQuantum(Integer environmentallyConsciousQuantum) {
+    this.environmentallyConsciousQuantum = environmentallyConsciousQuantum;
+  }
+
+  /**
+   * Gets the file that defines a parameter sweep, or null to run a single simulation.
+   *
+   * @return the parameter sweep definition file
+   */
+  public String getSweepFile() {
+    return sweepFile;
+  }
+
+  /**
+   * Sets the file that defines a parameter sweep, or null to run a single simulation.
+   *
+   * @param sweepFile the parameter sweep definition file
+   */
+  public void setSweepFile(String sweepFile) {
+    this.sweepFile = sweepFile;
+  }
+
+  /**
+   * Gets the CSV file the parameter sweep writes its results to.
+   *
+   * @return the parameter sweep output file
+   */
+  public String getSweepOutputFile() {
+    return sweepOutputFile;
+  }
+
+  /**
+   * Sets the CSV file the parameter sweep writes its results to.
+   *
+   * @param sweepOutputFile the parameter sweep output file
+   */
+  public void setSweepOutputFile(String sweepOutputFile) {
+    this.sweepOutputFile = sweepOutputFile;
+  }
+
+  /**
+   * Gets the seed of the random streams.
+   *
+   * @return the seed of the random streams
+   */
+  public Long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Sets the seed of the random streams.
+   *
+   * @param seed the seed of the random streams
+   */
+  public void setSeed(Long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Gets the time the simulation starts at.
+   *
+   * @return the time the simulation starts at
+   */
+  public LocalDateTime getTimeZero() {
+    return timeZero;
+  }
+
+  /**
+   * Sets the time the simulation starts at.
+   *
+   * @param timeZero the time the simulation starts at
+   */
+  public void setTimeZero(LocalDateTime timeZero) {
+    this.timeZero = timeZero;
+  }
+
+  /**
+   * Gets the time-of-day profile of the customer arrival rate.
+   *
+   * @return the time-of-day profile of the customer arrival rate
+   */
+  public ArrivalProfileType getArrivalProfileType() {
+    return arrivalProfileType;
+  }
+
+  /**
+   * Sets the time-of-day profile of the customer arrival rate.
+   *
+   * @param arrivalProfileType the time-of-day profile of the customer arrival rate
+   */
+  public void setArrivalProfileType(ArrivalProfileType arrivalProfileType) {
+    this.arrivalProfileType = arrivalProfileType;
+  }
+
+  /**
+   * Checks if ride finished events are recycled through a pool instead of being allocated for
+   * every ride.
+   *
+   * @return true if ride finished events are pooled, false otherwise
+   */
+  public Boolean isPooledEvents() {
+    return pooledEvents;
+  }
+
+  /**
+   * Sets whether ride finished events are recycled through a pool instead of being allocated for
+   * every ride.
+   *
+   * @param pooledEvents true if ride finished events are pooled, false otherwise
+   */
+  public void setPooledEvents(Boolean pooledEvents) {
+    this.pooledEvents = pooledEvents;
+  }
+
+  /**
+   * Checks if finished rides are kept in memory. When they are not, the results are only
+   * accumulated as the rides finish, and the memory used no longer grows with the number of rides.
+   *
+   * @return true if finished rides are kept, false otherwise
+   */
+  public Boolean isRetainRides() {
+    return retainRides;
+  }
+
+  /**
+   * Sets whether finished rides are kept in memory.
+   *
+   * @param retainRides true if finished rides are kept, false otherwise
+   */
+  public void setRetainRides(Boolean retainRides) {
+    this.retainRides = retainRides;
+  }
+
+  /**
+   * Gets the level of the ride messages logged as events are processed. No message is logged
+   * when ride messages are not printed.
+   *
+   * @return the level of the event log
+   */
+  public EventLogLevel getEventLogLevel() {
+    return this.printMessages ? this.eventLogLevel : EventLogLevel.OFF;
+  }
+
+  /**
+   * Sets the level of the ride messages logged as events are processed.
+   *
+   * @param eventLogLevel the level of the event log
+   */
+  public void setEventLogLevel(EventLogLevel eventLogLevel) {
+    this.eventLogLevel = eventLogLevel;
+  }
+
+  /**
+   * Gets the file ride messages are written to, or null if they are printed to the standard
+   * output.
+   *
+   * @return the event log file
+   */
+  public String getEventLogFile() {
+    return eventLogFile;
+  }
+
+  /**
+   * Sets the file ride messages are written to by a writer thread, or null to print them to the
+   * standard output.
+   *
+   * @param eventLogFile the event log file
+   */
+  public void setEventLogFile(String eventLogFile) {
+    this.eventLogFile = eventLogFile;
+  }
+
+  /**
+   * Gets the name of the binary event trace the rides are written to, or null if no trace is
+   * written.
+   *
+   * @return the name of the event trace
+   */
+  public String getTraceFile() {
+    return traceFile;
+  }
+
+  /**
+   * Sets the name of the binary event trace every ride requested, started and ended is written
+   * to, or null to write no trace.
+   *
+   * @param traceFile the name of the event trace
+   */
+  public void setTraceFile(String traceFile) {
+    this.traceFile = traceFile;
+  }
+
+  /**
+   * Gets the CSV file the finished rides are exported to, or null if they are not exported to CSV.
+   *
+   * @return the CSV export file
+   */
+  public String getCsvExportFile() {
+    return csvExportFile;
+  }
+
+  /**
+   * Sets the CSV file every finished ride is exported to as it finishes, or null to export no
+   * CSV file.
+   *
+   * @param csvExportFile the CSV export file
+   */
+  public void setCsvExportFile(String csvExportFile) {
+    this.csvExportFile = csvExportFile;
+  }
+
+  /**
+   * Gets the compressed columnar file the finished rides are exported to, or null if they are not
+   * exported to a columnar file.
+   *
+   * @return the columnar export file
+   */
+  public String getColumnarExportFile() {
+    return columnarExportFile;
+  }
+
+  /**
+   * Sets the compressed columnar file every finished ride is exported to as it finishes, or null
+   * to export no columnar file.
+   *
+   * @param columnarExportFile the columnar export file
+   */
+  public void setColumnarExportFile(String columnarExportFile) {
+    this.columnarExportFile = columnarExportFile;
+  }
+
+  /**
+   * Gets the simulation time at which a checkpoint is written, in minutes after timeZero, or null
+   * if no checkpoint is written.
+   *
+   * @return the checkpoint time in minutes
+   */
+  public Integer getCheckpointTime() {
+    return checkpointTime;
+  }
+
+  /**
+   * Sets the simulation time at which a checkpoint is written, in minutes after timeZero, or null
+   * to write no checkpoint. The checkpoint is written once the clock reaches that time, before the
+   * events of that time are processed.
+   *
+   * @param checkpointTime the checkpoint time in minutes
+   */
+  public void setCheckpointTime(Integer checkpointTime) {
+    this.checkpointTime = checkpointTime;
+  }
+
+  /**
+   * Gets the file the checkpoint is written to.
+   *
+   * @return the checkpoint file
+   */
+  public String getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /**
+   * Sets the file the checkpoint is written to.
+   *
+   * @param checkpointFile the checkpoint file
+   */
+  public void setCheckpointFile(String checkpointFile) {
+    this.checkpointFile = checkpointFile;
+  }
+
+  /**
+   * Gets the checkpoint the simulation resumes from, or null if it starts from the beginning.
+   *
+   * @return the checkpoint file the simulation resumes from
+   */
+  public String getResumeFile() {
+    return resumeFile;
+  }
+
+  /**
+   * Sets the checkpoint the simulation resumes from, or null to start from the beginning.
+   *
+   * @param resumeFile the checkpoint file the simulation resumes from
+   */
+  public void setResumeFile(String resumeFile) {
+    this.resumeFile = resumeFile;
+  }
+
+  /**
+   * Gets the log of ride requests the arrivals are read from, or null if they are generated.
+   *
+   * @return the request log file
+   */
+  public String getRequestLogFile() {
+    return requestLogFile;
+  }
+
+  /**
+   * Sets the log of ride requests the arrivals are read from, or null to generate them.
+   *
+   * @param requestLogFile the request log file
+   */
+  public void setRequestLogFile(String requestLogFile) {
+    this.requestLogFile = requestLogFile;
+  }
+
+  /**
+   * Gets the csv file the names and addresses of the mock data are read from, or null if they are
+   * read from the default raw data.
+   *
+   * @return the mock data file
+   */
+  public String getMockDataFile() {
+    return mockDataFile;
+  }
+
+  /**
+   * Sets the csv file the names and addresses of the mock data are read from, or null to read
+   * them from the default raw data.
+   *
+   * @param mockDataFile the mock data file
+   */
+  public void setMockDataFile(String mockDataFile) {
+    this.mockDataFile = mockDataFile;
+  }
+
+  /**
+   * Gets the binary cache the mock data is read from, and written to when it is missing or was
+   * written for other raw data, or null if the raw data is always parsed.
+   *
+   * @return the mock data cache file
+   */
+  public String getMockDataCache() {
+    return mockDataCache;
+  }
+
+  /**
+   * Sets the binary cache the mock data is read from and written to, or null to always parse the
+   * raw data.
+   *
+   * @param mockDataCache the mock data cache file
+   */
+  public void setMockDataCache(String mockDataCache) {
+    this.mockDataCache = mockDataCache;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SimConfig simConfig = (SimConfig) o;
+    return getEventQueueType() == simConfig.getEventQueueType()
+        && Objects.equals(isBatchDispatch(), simConfig.isBatchDispatch())
+        && getDispatchType() == simConfig.getDispatchType()
+        && Objects.equals(getDispatchWindow(), simConfig.getDispatchWindow())
+        && Objects.equals(getDispatchWindowLog(), simConfig.getDispatchWindowLog())
+        && getEngineType() == simConfig.getEngineType()
+        && Objects.equals(getNumOfZones(), simConfig.getNumOfZones())
+        && Objects.equals(isPrintMessages(), simConfig.isPrintMessages())
+        && Objects.equals(getNumOfReplications(), simConfig.getNumOfReplications())
+        && Objects.equals(getSimTimeSpan(), simConfig.getSimTimeSpan())
+        && Objects.equals(getDriverSpeed(), simConfig.getDriverSpeed())
+        && Objects.equals(getDistanceUpperBound(), simConfig.getDistanceUpperBound())
+        && Objects.equals(getExpressQuantum(), simConfig.getExpressQuantum())
+        && Objects.equals(getStandardQuantum(), simConfig.getStandardQuantum())
+        && Objects.equals(getWaitAndSaveQuantum(), simConfig.getWaitAndSaveQuantum())
+        && Objects.equals(getEnvironmentallyConsciousQuantum(),
+        simConfig.getEnvironmentallyConsciousQuantum())
+        && Objects.equals(getSweepFile(), simConfig.getSweepFile())
+        && Objects.equals(getSweepOutputFile(), simConfig.getSweepOutputFile())
+        && Objects.equals(getSeed(), simConfig.getSeed())
+        && Objects.equals(getTimeZero(), simConfig.getTimeZero())
+        && getArrivalProfileType() == simConfig.getArrivalProfileType()
+        && Objects.equals(isPooledEvents(), simConfig.isPooledEvents())
+        && Objects.equals(isRetainRides(), simConfig.isRetainRides())
+        && this.eventLogLevel == simConfig.eventLogLevel
+        && Objects.equals(getEventLogFile(), simConfig.getEventLogFile())
+        && Objects.equals(getTraceFile(), simConfig.getTraceFile())
+        && Objects.equals(getCsvExportFile(), simConfig.getCsvExportFile())
+        && Objects.equals(getColumnarExportFile(), simConfig.getColumnarExportFile())
+        && Objects.equals(getCheckpointTime(), simConfig.getCheckpointTime())
+        && Objects.equals(getCheckpointFile(), simConfig.getCheckpointFile())
+        && Objects.equals(getResumeFile(), simConfig.getResumeFile())
+        && Objects.equals(getRequestLogFile(), simConfig.getRequestLogFile())
+        && Objects.equals(getMockDataFile(), simConfig.getMockDataFile())
+        && Objects.equals(getMockDataCache(), simConfig.getMockDataCache());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getEventQueueType(), isBatchDispatch(), getDispatchType(),
+        getDispatchWindow(), getDispatchWindowLog(), getEngineType(), getNumOfZones(),
+        isPrintMessages(), getNumOfReplications(), getSimTimeSpan(), getDriverSpeed(),
+        getDistanceUpperBound(), getExpressQuantum(), getStandardQuantum(), getWaitAndSaveQuantum(),
+        getEnvironmentallyConsciousQuantum(), getSweepFile(), getSweepOutputFile(), getSeed(),
+        getTimeZero(), getArrivalProfileType(), isPooledEvents(), isRetainRides(),
+        this.eventLogLevel, getEventLogFile(), getTraceFile(), getCsvExportFile(),
+        getColumnarExportFile(), getCheckpointTime(), getCheckpointFile(), getResumeFile(),
+        getRequestLogFile(), getMockDataFile(), getMockDataCache());
+  }
+
+  @Override
+  public String toString() {
+    return "SimConfig{" +
+        "eventQueueType=" + eventQueueType +
+        ", batchDispatch=" + batchDispatch +
+        ", dispatchType=" + dispatchType +
+        ", dispatchWindow=" + dispatchWindow +
+        ", dispatchWindowLog='" + dispatchWindowLog + '\'' +
+        ", engineType=" + engineType +
+        ", numOfZones=" + numOfZones +
+        ", printMessages=" + printMessages +
+        ", numOfReplications=" + numOfReplications +
+        ", simTimeSpan=" + simTimeSpan +
+        ", driverSpeed=" + driverSpeed +
+        ", distanceUpperBound=" + distanceUpperBound +
+        ", expressQuantum=" + expressQuantum +
+        ", standardQuantum=" + standardQuantum +
+        ", waitAndSaveQuantum=" + waitAndSaveQuantum +
+        ", environmentallyConsciousQuantum=" + environmentallyConsciousQuantum +
+        ", sweepFile='" + sweepFile + '\'' +
+        ", sweepOutputFile='" + sweepOutputFile + '\'' +
+        ", seed=" + seed +
+        ", timeZero=" + timeZero +
+        ", arrivalProfileType=" + arrivalProfileType +
+        ", pooledEvents=" + pooledEvents +
+        ", retainRides=" + retainRides +
+        ", eventLogLevel=" + eventLogLevel +
+        ", eventLogFile='" + eventLogFile + '\'' +
+        ", traceFile='" + traceFile + '\'' +
+        ", csvExportFile='" + csvExportFile + '\'' +
+        ", columnarExportFile='" + columnarExportFile + '\'' +
+        ", checkpointTime=" + checkpointTime +
+        ", checkpointFile='" + checkpointFile + '\'' +
+        ", resumeFile='" + resumeFile + '\'' +
+        ", requestLogFile='" + requestLogFile + '\'' +
+        ", mockDataFile='" + mockDataFile + '\'' +
+        ", mockDataCache='" + mockDataCache + '\'' +
+        '}';
+  }
+}
@@ -1,31 +1,67 @@
 package sim.control.mediator;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Random;
+import java.util.List;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
+import sim.control.calculator.AllocationCalculator;
+import sim.control.calculator.ArrivalTimeCalculator;
 import sim.control.calculator.DistanceCalculator;
+import sim.control.calculator.EpochTimeCalculator;
+import sim.control.checkpoint.SimCheckpoint;
 import sim.control.exception.EmptyQueueException;
+import sim.control.export.ColumnarRideExporter;
+import sim.control.export.CompositeRideExporter;
+import sim.control.export.CsvRideExporter;
+import sim.control.export.RideExporter;
+import sim.control.factory.ArrivalGenerator;
+import sim.control.factory.ArrivalSource;
 import sim.control.factory.EnvironmentallyConsciousRideFactory;
 import sim.control.factory.ExpressRideFactory;
 import sim.control.factory.RideFactory;
+import sim.control.factory.RequestLogReader;
+import sim.control.factory.RideFinishedEventPool;
 import sim.control.factory.StandardRideFactory;
 import sim.control.factory.WaitAndSaveRideFactory;
+import sim.control.log.AsyncFileEventLogSink;
+import sim.control.log.ConsoleEventLogSink;
+import sim.control.log.EventLogSink;
+import sim.control.matching.WindowMatcher;
+import sim.control.trace.EventTraceWriter;
+import sim.control.parallel.ConservativeParallelEngine;
+import sim.control.parallel.ParallelEngine;
+import sim.control.parallel.TimeWarpEngine;
+import sim.control.random.RandomStreamService;
 import sim.control.visitor.EventVisitor;
 import sim.control.visitor.RideEventVisitor;
+import sim.model.data.Geocoder;
 import sim.model.data.MockDataGenerator;
-import sim.model.driver.BasicDriver;
-import sim.model.driver.Driver;
+import sim.model.data.NameSpace;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
 import sim.model.event.Event;
 import sim.model.event.RideRequestEvent;
+import sim.model.queue.ArrivalMergingEventQueue;
+import sim.model.queue.CalendarEventQueue;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventPriorityQueue;
 import sim.model.queue.EventQueue;
+import sim.model.queue.IndexedDaryEventQueue;
 import sim.model.queue.RequestPriorityQueue;
-import sim.model.ride.Ride;
+import sim.model.queue.SpatialDriverQueue;
+import sim.model.result.ConfidenceInterval;
+import sim.model.result.DispatchWindowStatistics;
+import sim.model.result.LogHistogram;
+import sim.model.result.RideStatistics;
+import sim.model.result.RunningStatistics;
+import sim.model.result.SimResult;
+import sim.model.ride.RideStore;
+import sim.model.type.DispatchType;
+import sim.model.type.EngineType;
+import sim.model.type.EventLogLevel;
+import sim.model.type.EventQueueType;
+import sim.model.type.RandomStreamType;
 import sim.model.type.RideType;
 
 /**
@@ -36,37 +72,107 @@ public class SimDirector {
 
   private static final Integer MINUTES_IN_HOUR = 60;
   private static final Integer SECONDS_IN_MIN = 60;
-  private static final Integer NUM_OF_PRIORITIES = 4;       // number of priorities levels (ride types)
   private static final Integer NUM_OF_FACTORIES = 4;        // number of ride factories
-  private static final Integer SIM_TIME_SPAN = 60;          // 120 minutes
-  private static final Double DRIVER_SPEED = 60.0;          // 60 mph
-  private static final Double DISTANCE_UPPER_BOUND = 120.0; // 25 miles
   private static final Double INVALID_AVERAGE = -1.0;       // invalid average time
   private static final String USER_INPUT_REGEX = "\\d+";    // regEx for input matching
 
+  private final SimConfig config;
+  private final RandomStreamService randomStreams;
   private final DistanceCalculator distanceCalculator;
   private final MockDataGenerator mockDataGenerator;
   private final HashMap<Integer, RideFactory> rideFactories;
   private final EventQueue<Event> eventQueue;
-  private final EventQueue<RideRequestEvent> requestQueue;
-  private final Queue<Driver> driverQueue;
-  private final ArrayList<Ride> rideList;
+  private final RequestPriorityQueue<RideRequestEvent> requestQueue;
+  private final DriverRegistry driverRegistry;
+  private DriverQueue driverQueue;
+  private final RideStore rideStore;
+  private final RideStatistics rideStatistics;
+  private final DispatchWindowStatistics windowStatistics;
+  private Geocoder geocoder;
+  private String parallelEngineSummary;
+  private String allocationSummary;
+  private SimCheckpoint checkpoint;
+  private String checkpointSummary;
 
   /**
-   * Constructor for option1.control.mediator.SimDirector class.
+   * Constructor for option1.control.mediator.SimDirector class. All options are initialized to
+   * their default values.
    */
   public SimDirector() {
-    this.distanceCalculator = new DistanceCalculator();
-    this.mockDataGenerator = new MockDataGenerator();
+    this(new SimConfig());
+  }
+
+  /**
+   * Constructor for option1.control.mediator.SimDirector class.
+   *
+   * @param config the options selected for the simulation
+   */
+  public SimDirector(SimConfig config) {
+    this(config, new MockDataGenerator(config.getMockDataFile(), config.getMockDataCache()));
+  }
+
+  /**
+   * Constructor for option1.control.mediator.SimDirector class. The given mock data generator may
+   * be shared with other directors: it is only read once it has generated its data.
+   *
+   * @param config            the options selected for the simulation
+   * @param mockDataGenerator the mock data generator, generated on first use
+   */
+  public SimDirector(SimConfig config, MockDataGenerator mockDataGenerator) {
+    this(config, mockDataGenerator, new RandomStreamService(config.getSeed(), 0));
+  }
+
+  /**
+   * Constructor for option1.control.mediator.SimDirector class. Every stochastic input of the
+   * simulation is drawn from the given random streams, so two directors with streams of the same
+   * seed and substream produce the same simulation.
+   *
+   * @param config            the options selected for the simulation
+   * @param mockDataGenerator the mock data generator, generated on first use
+   * @param randomStreams     the random streams of the simulation
+   */
+  public SimDirector(SimConfig config, MockDataGenerator mockDataGenerator,
+      RandomStreamService randomStreams) {
+    this.config = config;
+    this.randomStreams = randomStreams;
+    this.distanceCalculator = new DistanceCalculator(
+        randomStreams.getStream(RandomStreamType.DISTANCE));
+    this.mockDataGenerator = mockDataGenerator;
     this.rideFactories = new HashMap<>();
-    this.eventQueue = new EventPriorityQueue<>();
-    this.requestQueue = new RequestPriorityQueue<>();
-    this.driverQueue = new LinkedList<>();
-    this.rideList = new ArrayList<>();
+    this.eventQueue = createEventQueue(config.getEventQueueType());
+    this.requestQueue = config.createRequestQueue();
+    this.driverRegistry = new DriverRegistry();
+    this.driverQueue = new DriverQueue();
+    this.rideStore = new RideStore(config.isRetainRides());
+    this.rideStatistics = new RideStatistics();
+    this.windowStatistics = new DispatchWindowStatistics();
+    this.geocoder = null;
+    this.parallelEngineSummary = null;
+    this.allocationSummary = null;
+    this.checkpoint = null;
+    this.checkpointSummary = null;
+  }
+
+  /**
+   * Creates the event queue of the given type.
+   *
+   * @param eventQueueType the type of the event queue
+   * @return an empty event queue
+   */
+  private static EventQueue<Event> createEventQueue(EventQueueType eventQueueType) {
+    switch (eventQueueType) {
+      case CALENDAR:
+        return new CalendarEventQueue<>();
+      case INDEXED_DARY:
+        return new IndexedDaryEventQueue<>();
+      case BINARY_HEAP:
+      default:
+        return new EventPriorityQueue<>();
+    }
   }
 
   /**
-   * Runs the simulation.
+   * Runs the simulation, or the number of independent replications selected in the options.
    *
    * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
    */
@@ -95,23 +201,207 @@ public class SimDirector {
         break;
       }
     }
+    if (this.config.getNumOfReplications() > 1) {
+      runReplications(numOfDrivers, numOfCustomers);
+      return;
+    }
     // Runs the simulation
-    this.runSimMainLoop(numOfDrivers, numOfCustomers);
+    SimResult result = this.simulate(numOfDrivers, numOfCustomers);
     // Prints result
     System.out.println("-----------------------------------------------------------------");
     System.out.println("Simulation completed.");
+    printConfig();
+    if (this.parallelEngineSummary != null) {
+      System.out.println(this.parallelEngineSummary);
+    }
+    if (this.allocationSummary != null) {
+      System.out.println(this.allocationSummary);
+    }
+    if (this.checkpointSummary != null) {
+      System.out.println(this.checkpointSummary);
+    }
     System.out.printf(
-        "Total number of rides served: %d\n", this.calculateTotalNumberOfRidesServed());
+        "Total number of rides served: %d\n", result.getTotalNumOfRidesServed());
     System.out.printf(
         "Average wait time for a ride: %02dh%02dm%02ds\n",
-        convertSecondsToHMS(this.calculateAverageWaitingTime()).get(0),
-        convertSecondsToHMS(this.calculateAverageWaitingTime()).get(1),
-        convertSecondsToHMS(this.calculateAverageWaitingTime()).get(2));
+        convertSecondsToHMS(result.getAverageWaitingTime()).get(0),
+        convertSecondsToHMS(result.getAverageWaitingTime()).get(1),
+        convertSecondsToHMS(result.getAverageWaitingTime()).get(2));
     System.out.printf(
         "Average number of rides handled per driver: %.2f\n",
+        result.getAverageNumOfRidesPerDriver());
+    printRideStatistics();
+    printPickupDistances();
+    printDispatchWindows();
+  }
+
+  /**
+   * Prints the count, mean, standard deviation and maximum of the distances driven to pick the
+   * customers up, if locations are geocoded.
+   */
+  private void printPickupDistances() {
+    RunningStatistics pickupDistances = this.rideStatistics.getPickupDistances();
+    if (this.geocoder == null || pickupDistances.getCount() == 0) {
+      return;
+    }
+    System.out.printf("%-34s %8s %10s %10s %8s\n", "Pickup distance (mi)", "rides", "mean", "sd",
+        "max");
+    System.out.printf("%-34s %8d %10.2f %10.2f %8.2f\n", "ALL", pickupDistances.getCount(),
+        pickupDistances.getMean(), pickupDistances.getStandardDeviation(),
+        pickupDistances.getMax());
+  }
+
+  /**
+   * Prints the time taken to solve the matching of the dispatch windows, and the mean pickup
+   * distance of the matched rides next to the mean of the greedy matching of the same requests,
+   * with the number of requests each sent the nearest driver left, if requests are matched over
+   * dispatch windows.
+   */
+  private void printDispatchWindows() {
+    RunningStatistics solveTimes = this.windowStatistics.getSolveTimes();
+    if (solveTimes.getCount() == 0) {
+      return;
+    }
+    LogHistogram solveTimeHistogram = this.windowStatistics.getSolveTimeHistogram();
+    System.out.printf("%-34s %8s %10s %10s %8s %8s %8s\n", "Window solve time (us)", "windows",
+        "mean", "sd", "p50", "p99", "max");
+    System.out.printf("%-34s %8d %10.1f %10.1f %8d %8d %8.0f\n", "ALL", solveTimes.getCount(),
+        solveTimes.getMean(), solveTimes.getStandardDeviation(),
+        solveTimeHistogram.getPercentile(50), solveTimeHistogram.getPercentile(99),
+        solveTimes.getMax());
+    // Both matchings serve every request, so both means are over the same rides
+    long numOfRequests = this.windowStatistics.getNumOfRequests();
+    double mean = numOfRequests == 0 ? 0
+        : this.windowStatistics.getPickupDistance() / numOfRequests;
+    double greedyMean = numOfRequests == 0 ? 0
+        : this.windowStatistics.getGreedyPickupDistance() / numOfRequests;
+    System.out.printf("%-34s %8s %10s %10s %8s %8s\n", "Window pickup distance (mi)", "rides",
+        "mean", "greedy", "nearest", "greedy");
+    System.out.printf("%-34s %8d %10.3f %10.3f %8d %8d\n", "ALL", numOfRequests, mean,
+        greedyMean, this.windowStatistics.getNumOfFallbacks(),
+        this.windowStatistics.getNumOfGreedyFallbacks());
+  }
+
+  /**
+   * Prints the count, mean, standard deviation and percentiles of the waiting time and the trip
+   * time of the finished rides, overall and per ride type.
+   */
+  private void printRideStatistics() {
+    printRideStatistics(this.rideStatistics);
+  }
+
+  /**
+   * Prints the count, mean, standard deviation and percentiles of the waiting time and the trip
+   * time of the rides recorded in the given statistics, overall and per ride type.
+   *
+   * @param rideStatistics the ride statistics
+   */
+  public static void printRideStatistics(RideStatistics rideStatistics) {
+    System.out.printf("%-34s %8s %10s %10s %8s %8s %8s %8s\n", "Wait time (s)", "rides", "mean",
+        "sd", "p50", "p90", "p99", "p99.9");
+    printKpiRow("ALL", rideStatistics.getWaitingTimes(),
+        rideStatistics.getWaitingTimeHistogram());
+    for (RideType rideType : RideType.values()) {
+      printKpiRow(rideType.toString(), rideStatistics.getWaitingTimes(rideType),
+          rideStatistics.getWaitingTimeHistogram(rideType));
+    }
+    System.out.printf("%-34s %8s %10s %10s %8s %8s %8s %8s\n", "Trip time (s)", "rides", "mean",
+        "sd", "p50", "p90", "p99", "p99.9");
+    printKpiRow("ALL", rideStatistics.getTripTimes(),
+        rideStatistics.getTripTimeHistogram());
+    for (RideType rideType : RideType.values()) {
+      printKpiRow(rideType.toString(), rideStatistics.getTripTimes(rideType),
+          rideStatistics.getTripTimeHistogram(rideType));
+    }
+  }
+
+  /**
+   * Prints one row of the ride statistics.
+   *
+   * @param label      the label of the row
+   * @param statistics the running statistics of the row
+   * @param histogram  the histogram of the row
+   */
+  private static void printKpiRow(String label, RunningStatistics statistics,
+      LogHistogram histogram) {
+    if (statistics.getCount() == 0) {
+      System.out.printf("%-34s %8d\n", label, 0);
+      return;
+    }
+    System.out.printf("%-34s %8d %10.1f %10.1f %8d %8d %8d %8d\n", label, statistics.getCount(),
+        statistics.getMean(), statistics.getStandardDeviation(), histogram.getPercentile(50),
+        histogram.getPercentile(90), histogram.getPercentile(99), histogram.getPercentile(99.9));
+  }
+
+  /**
+   * Runs the simulation with the given number of drivers and the given number of initial ride
+   * requested events, and returns its key performance indicators. A SimDirector runs a single
+   * simulation.
+   *
+   * @param numOfDrivers         the given number of drivers
+   * @param numOfInitialRequests the given number of initial ride requested event
+   * @return the key performance indicators of the simulation
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  public SimResult simulate(Integer numOfDrivers, Integer numOfInitialRequests)
+      throws EmptyQueueException {
+    this.runSimMainLoop(numOfDrivers, numOfInitialRequests);
+    return new SimResult(
+        this.calculateTotalNumberOfRidesServed(),
+        this.calculateAverageWaitingTime(),
         this.calculateAverageNumberOfRidesPerDriver());
   }
 
+  /**
+   * Runs independent replications of the simulation concurrently, and prints each key performance
+   * indicator as a mean with its 95% confidence interval. The mock data is generated once and
+   * shared by every replication.
+   *
+   * @param numOfDrivers         the given number of drivers
+   * @param numOfInitialRequests the given number of initial ride requested event
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void runReplications(Integer numOfDrivers, Integer numOfInitialRequests)
+      throws EmptyQueueException {
+    initializeMockDataGenerator();
+    ReplicationRunner runner = new ReplicationRunner(this.config, this.mockDataGenerator);
+    List<SimResult> results = runner.run(numOfDrivers, numOfInitialRequests);
+    ConfidenceInterval ridesServed = runner.summarize(results,
+        r -> r.getTotalNumOfRidesServed().doubleValue());
+    ConfidenceInterval waitingTime = runner.summarize(results, SimResult::getAverageWaitingTime);
+    ConfidenceInterval ridesPerDriver = runner.summarize(results,
+        SimResult::getAverageNumOfRidesPerDriver);
+    System.out.println("-----------------------------------------------------------------");
+    System.out.printf("Replications completed: %d\n", results.size());
+    printConfig();
+    System.out.printf(
+        "Total number of rides served: %.2f +/- %.2f (95%% CI)\n",
+        ridesServed.getMean(), ridesServed.getHalfWidth());
+    System.out.printf(
+        "Average wait time for a ride: %02dh%02dm%02ds +/- %.0fs (95%% CI)\n",
+        convertSecondsToHMS(waitingTime.getMean()).get(0),
+        convertSecondsToHMS(waitingTime.getMean()).get(1),
+        convertSecondsToHMS(waitingTime.getMean()).get(2),
+        waitingTime.getHalfWidth());
+    System.out.printf(
+        "Average number of rides handled per driver: %.2f +/- %.2f (95%% CI)\n",
+        ridesPerDriver.getMean(), ridesPerDriver.getHalfWidth());
+  }
+
+  /**
+   * Prints the options selected for the simulation.
+   */
+  private void printConfig() {
+    System.out.printf("Event queue: %s\n", this.config.getEventQueueType());
+    System.out.printf("Batch dispatch: %s\n", this.config.isBatchDispatch());
+    System.out.printf("Dispatch: %s\n", this.config.getDispatchType());
+    if (this.config.getDispatchType() == DispatchType.MATCHED) {
+      System.out.printf("Dispatch window: %d s\n", this.config.getDispatchWindow());
+    }
+    System.out.printf("Engine: %s\n", this.config.getEngineType());
+    System.out.printf("Seed: %d\n", this.config.getSeed());
+  }
+
   /**
    * Scans the user input. It uses scanner to scan user input.
    *
@@ -146,80 +436,192 @@ public class SimDirector {
    *
    * @param numOfDrivers         the given number of drivers
    * @param numOfInitialRequests the given number of initial ride requested events
+   * @return the source of the initial ride requested events, in eventTime order
    */
-  private void initializeSim(Integer numOfDrivers, Integer numOfInitialRequests) {
+  private ArrivalSource initializeSim(Integer numOfDrivers, Integer numOfInitialRequests) {
     initializeMockDataGenerator();
+    initializeDispatch();
     populateRideFactories();
-    populateEventQueue(numOfInitialRequests);
     populateDriverQueue(numOfDrivers);
+    return createArrivalSource(numOfInitialRequests);
+  }
+
+  /**
+   * Restores the simulation from the checkpoint selected in the options, written by a simulation
+   * with the same number of drivers, the same number of initial ride requested events and the
+   * same options. The drivers, the queues, the finished rides and their statistics are restored,
+   * and the random streams and the source of the initial ride requested events resume where they
+   * were when the checkpoint was written.
+   *
+   * @param numOfDrivers         the given number of drivers
+   * @param numOfInitialRequests the given number of initial ride requested events
+   * @return the source of the initial ride requested events not supplied yet
+   */
+  private ArrivalSource resumeSim(Integer numOfDrivers, Integer numOfInitialRequests) {
+    initializeMockDataGenerator();
+    initializeDispatch();
+    populateRideFactories();
+    ArrivalSource arrivals = createArrivalSource(numOfInitialRequests);
+    long startNanos = System.nanoTime();
+    getCheckpoint().read(this.config.getResumeFile(), arrivals);
+    long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    if (this.driverRegistry.getNumOfDrivers() != numOfDrivers) {
+      throw new IllegalArgumentException("Checkpoint " + this.config.getResumeFile() + " holds "
+          + this.driverRegistry.getNumOfDrivers() + " drivers, not " + numOfDrivers + ".");
+    }
+    this.checkpointSummary = String.format("Resumed from checkpoint at %s, read from %s in %d ms",
+        new EpochTimeCalculator().toLocalDateTime(getCheckpoint().getTick()),
+        this.config.getResumeFile(), elapsedMillis);
+    return arrivals;
   }
 
   /**
-   * Initializes mock data generator.
+   * Gets the checkpoint of the simulation, created on first use, once the mock data is generated.
+   *
+   * @return the checkpoint of the simulation
+   */
+  private SimCheckpoint getCheckpoint() {
+    if (this.checkpoint == null) {
+      this.checkpoint = new SimCheckpoint(this.randomStreams,
+          this.mockDataGenerator.getDictionary(), this.driverRegistry, this.driverQueue,
+          this.eventQueue, this.requestQueue, this.rideStore, this.rideStatistics,
+          this.windowStatistics);
+    }
+    return checkpoint;
+  }
+
+  /**
+   * Calculates the tick the checkpoint selected in the options is written at. No checkpoint is
+   * written if none is selected, or if the simulation is resumed from a later checkpoint.
+   *
+   * @return the tick of the checkpoint, or Long.MAX_VALUE if no checkpoint is written
+   */
+  private long calculateCheckpointTick() {
+    if (this.config.getCheckpointTime() == null) {
+      return Long.MAX_VALUE;
+    }
+    long checkpointTick = new EpochTimeCalculator().toTick(this.config.getTimeZero())
+        + (long) this.config.getCheckpointTime() * SECONDS_IN_MIN;
+    if (this.config.getResumeFile() != null && checkpointTick <= getCheckpoint().getTick()) {
+      return Long.MAX_VALUE;
+    }
+    return checkpointTick;
+  }
+
+  /**
+   * Writes a checkpoint of the simulation to the checkpoint file selected in the options.
+   *
+   * @param checkpointTick the tick of the checkpoint
+   * @param arrivals       the source of the initial ride requested events not pulled yet
+   * @param nextArrival    the next arrival, pulled from the source but not dequeued yet
+   */
+  private void writeCheckpoint(long checkpointTick, ArrivalSource arrivals,
+      Event nextArrival) {
+    long startNanos = System.nanoTime();
+    getCheckpoint().write(this.config.getCheckpointFile(), checkpointTick, arrivals, nextArrival);
+    long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    this.checkpointSummary = String.format("Checkpoint written at %s to %s in %d ms",
+        new EpochTimeCalculator().toLocalDateTime(checkpointTick),
+        this.config.getCheckpointFile(), elapsedMillis);
+  }
+
+  /**
+   * Initializes mock data generator, unless it has already generated its data.
    */
   private void initializeMockDataGenerator() {
-    this.mockDataGenerator.generate();
+    if (!this.mockDataGenerator.isGenerated()) {
+      this.mockDataGenerator.generate();
+    }
+  }
+
+  /**
+   * Initializes the dispatch selected in the options, once the mock data is generated. If
+   * locations are geocoded, a geocoder of the dictionary is created, and the nearest and matched
+   * dispatches keep the available drivers in a spatial driver queue over the addresses of the mock
+   * data.
+   */
+  private void initializeDispatch() {
+    DispatchType dispatchType = this.config.getDispatchType();
+    if (!dispatchType.isGeocoded()) {
+      return;
+    }
+    this.geocoder = new Geocoder(this.mockDataGenerator.getDictionary());
+    if (dispatchType.isSpatial()) {
+      this.driverQueue = new SpatialDriverQueue(this.driverRegistry, this.geocoder,
+          this.mockDataGenerator.getAddressIds().length);
+    }
   }
 
   /**
    * Creates the ride factories used to create different rides.
    */
   private void populateRideFactories() {
+    StringDictionary dictionary = this.mockDataGenerator.getDictionary();
     for (int i = 0; i < NUM_OF_FACTORIES; i++) {
       if (i == RideType.EXPRESS_PICK_UP.getPriority()) {
-        this.rideFactories.put(i, new ExpressRideFactory());
+        this.rideFactories.put(i, new ExpressRideFactory(dictionary));
       }
       if (i == RideType.STANDARD_PICK_UP.getPriority()) {
-        this.rideFactories.put(i, new StandardRideFactory());
+        this.rideFactories.put(i, new StandardRideFactory(dictionary));
       }
       if (i == RideType.WAIT_AND_SAVE_PICK_UP.getPriority()) {
-        this.rideFactories.put(i, new WaitAndSaveRideFactory());
+        this.rideFactories.put(i, new WaitAndSaveRideFactory(dictionary));
       }
       if (i == RideType.ENVIRONMENTALLY_CONSCIOUS_PICK_UP.getPriority()) {
-        this.rideFactories.put(i, new EnvironmentallyConsciousRideFactory());
+        this.rideFactories.put(i, new EnvironmentallyConsciousRideFactory(dictionary));
       }
     }
   }
 
   /**
-   * Populates the event queue with the given number of initial ride requested event.
+   * Creates the source of the given number of initial ride requested events: the request log
+   * selected in the options, read up to that number of requests, or else a generator.
    *
    * @param numOfInitialRequests the given number of initial ride requested event
+   * @return the source of the initial ride requested events
    */
-  private void populateEventQueue(Integer numOfInitialRequests) {
-    Random rnd = new Random();
-    ArrayList<String> names = this.mockDataGenerator.getNames();
-    ArrayList<String> addresses = this.mockDataGenerator.getAddresses();
-    LocalDateTime timeZero = LocalDateTime.now();
-    for (int i = 0; i < numOfInitialRequests; i++) {
-      LocalDateTime eventTime = timeZero.plusMinutes(rnd.nextInt(SIM_TIME_SPAN));
-      String name = names.get(rnd.nextInt(names.size()));
-      String startingLocation = addresses.get(rnd.nextInt(addresses.size()));
-      String desiredLocation = addresses.get(rnd.nextInt(addresses.size()));
-      Double distance = this.distanceCalculator.calculateDistance(DISTANCE_UPPER_BOUND);
-      Integer priority = rnd.nextInt(NUM_OF_PRIORITIES);
-      Event rideRequestEvent = new RideRequestEvent(
-          eventTime,
-          name,
-          startingLocation,
-          desiredLocation,
-          distance,
-          priority);
-      this.eventQueue.enqueue(rideRequestEvent);
+  private ArrivalSource createArrivalSource(Integer numOfInitialRequests) {
+    if (this.config.getRequestLogFile() != null) {
+      return new RequestLogReader(
+          this.config.getRequestLogFile(),
+          numOfInitialRequests,
+          this.mockDataGenerator.getDictionary(),
+          this.randomStreams,
+          this.mockDataGenerator.getNames().size());
     }
+    return new ArrivalGenerator(
+        numOfInitialRequests,
+        this.config.getTimeZero(),
+        this.config.getSimTimeSpan(),
+        this.config.getArrivalProfileType(),
+        this.randomStreams,
+        this.mockDataGenerator.getNames().size(),
+        this.mockDataGenerator.getAddressIds(),
+        this.distanceCalculator,
+        this.config.getDistanceUpperBound());
   }
 
   /**
-   * Populates the number of drivers with the given number of drivers.
+   * Populates the number of drivers with the given number of drivers. Every driver is registered
+   * in the driver registry, and the driver queue holds their ids. If locations are geocoded, each
+   * driver starts at an address of the mock data drawn at random.
    *
    * @param numOfDrivers the given number of drivers
    */
   private void populateDriverQueue(Integer numOfDrivers) {
-    Random rnd = new Random();
-    ArrayList<String> names = this.mockDataGenerator.getNames();
+    RandomGenerator drivers = this.randomStreams.getStream(RandomStreamType.DRIVERS);
+    RandomGenerator driverLocations = this.randomStreams.getStream(
+        RandomStreamType.DRIVER_LOCATIONS);
+    NameSpace names = this.mockDataGenerator.getNames();
+    int[] addressIds = this.mockDataGenerator.getAddressIds();
     for (int i = 0; i < numOfDrivers; i++) {
-      String name = names.get(rnd.nextInt(names.size()));
-      this.driverQueue.add(new BasicDriver(name, DRIVER_SPEED));
+      String name = names.getName(drivers.nextInt(names.size()));
+      int driverId = this.driverRegistry.register(name, this.config.getDriverSpeed());
+      if (this.geocoder != null) {
+        this.driverRegistry.setLocationId(driverId,
+            addressIds[driverLocations.nextInt(addressIds.length)]);
+      }
+      this.driverQueue.enqueue(driverId);
     }
   }
 
@@ -233,35 +635,307 @@ public class SimDirector {
    */
   private void runSimMainLoop(Integer numOfDrivers, Integer numOfInitialRequests)
       throws EmptyQueueException {
-    // Initializes simulation
-    initializeSim(numOfDrivers, numOfInitialRequests);
-    // Creates visitor for simulation
-    EventVisitor eventVisitor = new RideEventVisitor();
-    // Begin sim main loop
-    while (!this.eventQueue.isQueueEmpty() || !this.requestQueue.isQueueEmpty()) {
-      // Gets next event
-      Event nextEvent = this.eventQueue.dequeue();
-      // Visitor handles the event based on event type
-      nextEvent.accept(
-          eventVisitor,
-          this.rideFactories,
-          this.eventQueue,
-          this.requestQueue,
-          this.driverQueue,
-          this.rideList);
+    if (this.config.getEngineType() != EngineType.SEQUENTIAL
+        && (this.config.getCheckpointTime() != null || this.config.getResumeFile() != null)) {
+      throw new IllegalArgumentException(
+          "Checkpoints are only written and resumed by the sequential engine.");
+    }
+    if (this.config.getEngineType() != EngineType.SEQUENTIAL
+        && this.config.getDispatchType().isGeocoded()) {
+      throw new IllegalArgumentException(
+          "Geocoded dispatch is only run by the sequential engine.");
+    }
+    if (this.config.getEngineType() == EngineType.OPTIMISTIC
+        && (this.config.isBatchDispatch() || this.config.isPooledEvents()
+        || this.config.getEventLogFile() != null || this.config.getTraceFile() != null)) {
+      throw new IllegalArgumentException("The optimistic engine processes events one at a time"
+          + " and may undo them, so it supports no batch dispatch, pooled events, event log file"
+          + " or event trace.");
+    }
+    if (this.config.isBatchDispatch() && this.config.getDispatchType() == DispatchType.MATCHED) {
+      throw new IllegalArgumentException(
+          "Matched dispatch collects its own batches, it cannot be combined with batch dispatch.");
+    }
+    // Initializes simulation, or restores it from a checkpoint
+    ArrivalSource arrivals = this.config.getResumeFile() == null
+        ? initializeSim(numOfDrivers, numOfInitialRequests)
+        : resumeSim(numOfDrivers, numOfInitialRequests);
+    // Every message logged, record traced and ride exported is written before the results
+    try (arrivals; EventLogSink eventLog = createEventLog(); EventTraceWriter trace = createTrace();
+        RideExporter exporter = createExporter()) {
+      if (this.config.getEngineType() != EngineType.SEQUENTIAL) {
+        // Zones are assigned their initial events up front
+        ArrayList<Event> initialEvents = new ArrayList<>();
+        arrivals.forEachRemaining(initialEvents::add);
+        runParallelEngine(createParallelEngine(initialEvents, eventLog, trace, exporter),
+            initialEvents);
+        return;
+      }
+      runSequentialMainLoop(arrivals, eventLog, trace, exporter);
+    }
+  }
+
+  /**
+   * Creates the exporter of the finished rides selected in the options: a CSV exporter, a
+   * columnar exporter, or both.
+   *
+   * @return the ride exporter, or null if the rides are not exported
+   */
+  private RideExporter createExporter() {
+    ArrayList<RideExporter> exporters = new ArrayList<>();
+    if (this.config.getCsvExportFile() != null) {
+      exporters.add(new CsvRideExporter(this.config.getCsvExportFile(),
+          this.mockDataGenerator.getDictionary(), this.driverRegistry));
+    }
+    if (this.config.getColumnarExportFile() != null) {
+      exporters.add(new ColumnarRideExporter(this.config.getColumnarExportFile(),
+          this.mockDataGenerator.getDictionary(), this.driverRegistry));
+    }
+    if (exporters.isEmpty()) {
+      return null;
+    }
+    return exporters.size() == 1 ? exporters.get(0) : new CompositeRideExporter(exporters);
+  }
+
+  /**
+   * Creates the binary event trace selected in the options.
+   *
+   * @return the event trace, or null if no trace is written
+   */
+  private EventTraceWriter createTrace() {
+    if (this.config.getTraceFile() == null) {
+      return null;
+    }
+    return new EventTraceWriter(this.config.getTraceFile(),
+        this.mockDataGenerator.getDictionary(), this.driverRegistry);
+  }
+
+  /**
+   * Creates the event log selected in the options: a console sink, or an asynchronous file sink
+   * if an event log file is selected.
+   *
+   * @return the event log
+   */
+  private EventLogSink createEventLog() {
+    if (this.config.getEventLogFile() != null
+        && this.config.getEventLogLevel() != EventLogLevel.OFF) {
+      return new AsyncFileEventLogSink(this.config.getEventLogFile(),
+          this.config.getEventLogLevel(), this.mockDataGenerator.getDictionary());
+    }
+    return new ConsoleEventLogSink(this.config.getEventLogLevel(),
+        this.mockDataGenerator.getDictionary());
+  }
+
+  /**
+   * Runs the sequential main loop of the simulation, merging the given arrivals into the event
+   * queue as the clock reaches them. The checkpoint selected in the options is written before the
+   * first event at or after its tick is handled, and the simulation goes on.
+   *
+   * <p>With matched dispatch, the requests and drivers are matched at the end of every dispatch
+   * window in which requests are left waiting while drivers are available. Windows are aligned on
+   * the start of the simulation, and the window ending at a tick is matched before the events of
+   * that tick are handled.
+   *
+   * @param arrivals the source of the initial ride requested events, in eventTime order
+   * @param eventLog the sink ride messages are logged to
+   * @param trace    the event trace rides are written to, or null
+   * @param exporter the exporter finished rides are exported to, or null
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void runSequentialMainLoop(ArrivalSource arrivals, EventLogSink eventLog,
+      EventTraceWriter trace, RideExporter exporter) throws EmptyQueueException {
+    // Arrivals are generated when the clock reaches them, the event queue only holds rides
+    ArrivalMergingEventQueue eventQueue = this.config.getResumeFile() == null
+        ? new ArrivalMergingEventQueue(this.eventQueue, arrivals)
+        : new ArrivalMergingEventQueue(this.eventQueue, arrivals, getCheckpoint().getNextArrival());
+    long checkpointTick = calculateCheckpointTick();
+    long windowZeroTick = new EpochTimeCalculator().toTick(this.config.getTimeZero());
+    // Every window before the checkpoint was matched before it was written
+    long lastTick = this.config.getResumeFile() == null ? windowZeroTick - 1
+        : getCheckpoint().getTick() - 1;
+    try (WindowMatcher windowMatcher = createWindowMatcher()) {
+      // Creates visitor for simulation
+      RideFinishedEventPool eventPool = new RideFinishedEventPool(this.config.isPooledEvents());
+      EventVisitor eventVisitor = new RideEventVisitor(this.driverRegistry, eventLog, eventPool,
+          this.rideStatistics, Boolean.TRUE, trace, exporter, this.geocoder, windowMatcher);
+      AllocationCalculator allocationCalculator = new AllocationCalculator();
+      long numOfEvents = 0;
+      long startBytes = allocationCalculator.getAllocatedBytes();
+      // Begin sim main loop
+      ArrayList<Event> batch = new ArrayList<>();
+      while (!eventQueue.isQueueEmpty() || !this.requestQueue.isQueueEmpty()) {
+        long eventTick = eventQueue.isQueueEmpty() ? Long.MAX_VALUE
+            : eventQueue.peek().getEventTick();
+        long windowTick = windowMatcher == null || this.requestQueue.isQueueEmpty()
+            || this.driverQueue.isQueueEmpty() ? Long.MAX_VALUE
+            : calculateWindowEndTick(windowZeroTick, lastTick);
+        long nextTick = Math.min(eventTick, windowTick);
+        if (nextTick != Long.MAX_VALUE && nextTick >= checkpointTick) {
+          writeCheckpoint(checkpointTick, arrivals, eventQueue.getNextArrival());
+          checkpointTick = Long.MAX_VALUE;
+        }
+        if (windowTick != Long.MAX_VALUE && windowTick <= eventTick) {
+          // Matches the requests left waiting when the window ends
+          eventVisitor.dispatchWindow(windowTick, eventQueue, this.requestQueue,
+              this.driverQueue);
+          lastTick = windowTick;
+          continue;
+        }
+        if (this.config.isBatchDispatch()) {
+          // Gets every event that occurs at the same instant as the next event
+          eventQueue.drainUntil(eventTick, batch::add);
+          // Visitor handles the whole batch with a single dispatch round
+          eventVisitor.visitBatch(
+              batch,
+              this.rideFactories,
+              eventQueue,
+              this.requestQueue,
+              this.driverQueue,
+              this.rideStore);
+          numOfEvents += batch.size();
+          batch.clear();
+          continue;
+        }
+        // Gets next event
+        Event nextEvent = eventQueue.dequeue();
+        lastTick = eventTick;
+        // Visitor handles the event based on event type
+        nextEvent.accept(
+            eventVisitor,
+            this.rideFactories,
+            eventQueue,
+            this.requestQueue,
+            this.driverQueue,
+            this.rideStore);
+        numOfEvents++;
+      }
+      Double bytesPerEvent = allocationCalculator.calculateBytesPerEvent(startBytes,
+          allocationCalculator.getAllocatedBytes(), numOfEvents);
+      this.allocationSummary = String.format("Allocated bytes per event: %.1f, ride finished "
+              + "events allocated: %d, recycled: %d", bytesPerEvent,
+          eventPool.getNumOfAllocations(), eventPool.getNumOfReuses());
+    }
+  }
+
+  /**
+   * Creates the matcher of the dispatch windows, if requests are matched over windows.
+   *
+   * @return the window matcher, or null if requests are dispatched as events are handled
+   */
+  private WindowMatcher createWindowMatcher() {
+    if (this.config.getDispatchType() != DispatchType.MATCHED) {
+      return null;
+    }
+    return new WindowMatcher((SpatialDriverQueue) this.driverQueue, this.windowStatistics,
+        this.config.getDispatchWindowLog());
+  }
+
+  /**
+   * Calculates the tick the first dispatch window ending after the given tick ends at. Windows
+   * are aligned on the given tick of the start of the simulation.
+   *
+   * @param windowZeroTick the tick of the start of the simulation
+   * @param lastTick       the tick of the last event handled or window matched
+   * @return the tick the next window ends at
+   */
+  private long calculateWindowEndTick(long windowZeroTick, long lastTick) {
+    long windowTicks = this.config.getDispatchWindow();
+    return windowZeroTick + (Math.floorDiv(lastTick - windowZeroTick, windowTicks) + 1)
+        * windowTicks;
+  }
+
+  /**
+   * Creates the parallel engine selected in the options.
+   *
+   * @param initialEvents the initial ride requested events
+   * @param eventLog      the sink ride messages are logged to
+   * @param trace         the event trace rides are written to, or null
+   * @param exporter      the exporter finished rides are exported to, or null
+   * @return the parallel engine
+   */
+  private ParallelEngine createParallelEngine(List<Event> initialEvents, EventLogSink eventLog,
+      EventTraceWriter trace, RideExporter exporter) {
+    if (this.config.getEngineType() == EngineType.OPTIMISTIC) {
+      return new TimeWarpEngine(this.config.getNumOfZones(), this.rideFactories,
+          this.mockDataGenerator.getDictionary(), this.config::createRequestQueue,
+          this.config.isRetainRides(), exporter);
+    }
+    EventQueueType eventQueueType = this.config.getEventQueueType();
+    return new ConservativeParallelEngine(
+        this.config.getNumOfZones(),
+        this.rideFactories,
+        this.mockDataGenerator.getDictionary(),
+        () -> createEventQueue(eventQueueType),
+        this.config::createRequestQueue,
+        calculateLookahead(initialEvents),
+        this.config.isBatchDispatch(),
+        eventLog,
+        trace,
+        this.config.isPooledEvents(),
+        this.config.isRetainRides(),
+        exporter);
+  }
+
+  /**
+   * Runs the simulation in parallel, one zone per thread, with the given initial ride requested
+   * events. The finished rides and the drivers of every zone are collected once all zones are
+   * done.
+   *
+   * @param engine        the parallel engine
+   * @param initialEvents the initial ride requested events
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   * @throws IllegalStateException if requests were left waiting in a zone no driver reached
+   */
+  private void runParallelEngine(ParallelEngine engine, List<Event> initialEvents)
+      throws EmptyQueueException {
+    engine.run(initialEvents, this.driverRegistry, this.driverQueue);
+    int numOfWaitingRequests = engine.getNumOfWaitingRequests();
+    if (numOfWaitingRequests > 0) {
+      // The sequential main loop serves every request, so the results could not be compared
+      throw new IllegalStateException(String.format("%d requests were left waiting in zones that"
+          + " no driver reached. Run with fewer zones or more drivers.", numOfWaitingRequests));
+    }
+    this.driverQueue.clear();
+    this.driverQueue.enqueueAll(engine.getDriverQueue());
+    this.rideStore.addAll(engine.getRideStore());
+    this.rideStatistics.merge(engine.getStatistics());
+    this.parallelEngineSummary = engine.getSummary();
+  }
+
+  /**
+   * Calculates the lookahead of the parallel engine: the time needed to drive the shortest ride,
+   * which bounds the travel time between any two zones from below. Generated rides are never
+   * shorter than the minimum distance of the distance calculator, but rides replayed from a
+   * request log can be, so the shortest ride of the initial events is taken if it is shorter.
+   *
+   * @param initialEvents the initial ride requested events
+   * @return the lookahead in ticks
+   * @throws IllegalArgumentException if the shortest ride takes no time to drive
+   */
+  private long calculateLookahead(List<Event> initialEvents) {
+    double minimumDistance = this.distanceCalculator.getMinimumDistance();
+    for (Event event : initialEvents) {
+      minimumDistance = Math.min(minimumDistance, event.getRideDistance());
+    }
+    long lookahead = minimumDistance > 0 ? new ArrivalTimeCalculator().calculate(
+        minimumDistance, this.config.getDriverSpeed(), 0L) : 0L;
+    if (lookahead <= 0) {
+      throw new IllegalArgumentException("The shortest ride, of " + minimumDistance
+          + " miles, takes no time to drive, so the conservative engine has no lookahead."
+          + " Run it with the sequential or optimistic engine.");
     }
+    return lookahead;
   }
 
   /**
-   * Calculates the average waiting time in seconds for the customers.
+   * Calculates the average waiting time in seconds for the customers, from the statistics
+   * accumulated as the rides finished.
    *
    * @return the average waiting time
    */
   private Double calculateAverageWaitingTime() {
-    return this.rideList.stream()
-        .mapToDouble(r -> Duration.between(r.getRequestTime(), r.getDepartureTime()).toSeconds())
-        .average()
-        .orElse(INVALID_AVERAGE);
+    RunningStatistics waitingTimes = this.rideStatistics.getWaitingTimes();
+    return waitingTimes.getCount() == 0 ? INVALID_AVERAGE : waitingTimes.getMean();
   }
 
   /**
@@ -272,8 +946,8 @@ public class SimDirector {
   private Double calculateAverageNumberOfRidesPerDriver() {
     int size = this.driverQueue.size();
     int runningSum = 0;
-    while (!this.driverQueue.isEmpty()) {
-      runningSum += driverQueue.poll().getNumOfRidesFinished();
+    for (int i = 0; i < size; i++) {
+      runningSum += this.driverRegistry.getNumOfRidesFinished(this.driverQueue.get(i));
     }
     return (double) runningSum / size;
   }
@@ -284,6 +958,6 @@ public class SimDirector {
    * @return the total number of rides served
    */
   private Integer calculateTotalNumberOfRidesServed() {
-    return this.rideList.size();
+    return this.rideStore.size();
   }
 }
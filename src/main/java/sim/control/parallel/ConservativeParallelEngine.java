@@ -0,0 +1,334 @@
+package sim.control.parallel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import sim.control.exception.EmptyQueueException;
+import sim.control.export.RideExporter;
+import sim.control.factory.RideFactory;
+import sim.control.log.EventLogSink;
+import sim.control.trace.EventTraceWriter;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.DriverQueue;
+import sim.model.queue.EventQueue;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+
+/**
+ * ConservativeParallelEngine class, runs the simulation in parallel by partitioning customers and
+ * drivers into geographic zones. Each zone is simulated by a LogicalProcess on its own thread, and
+ * zones are synchronized with Chandy-Misra null messages using the minimum travel time between two
+ * zones as lookahead.
+ *
+ * <p>A ride request is handled by the zone of its starting location, and the ride finishes in the
+ * zone of its desired location, where its driver joins the driver queue. Requests are only served
+ * by drivers that are in the same zone, so requests of a zone that no driver ever reaches are left
+ * waiting when the simulation ends. With a single zone, the engine processes the same events in
+ * the same order as the sequential main loop and produces the same results.
+ */
+public final class ConservativeParallelEngine implements ParallelEngine, EventRouter {
+
+  private final ZonePartitioner partitioner;
+  private final HashMap<Integer, RideFactory> rideFactories;
+  private final Supplier<EventQueue<Event>> eventQueueFactory;
+  private final Supplier<RequestPriorityQueue<RideRequestEvent>> requestQueueFactory;
+  private final long lookahead;
+  private final Boolean batchDispatch;
+  private final EventLogSink eventLog;
+  private final EventTraceWriter trace;
+  private final RideExporter exporter;
+  private final Boolean pooledEvents;
+  private final Boolean retainRides;
+  private final AtomicLong pendingEvents;
+  private LogicalProcess[] zones;
+  private volatile boolean finished;
+  private long numOfNullMessages;
+  private long numOfEvents;
+  private long numOfBytesAllocated;
+  private long elapsedNanos;
+
+  /**
+   * Constructor for option1.control.parallel.ConservativeParallelEngine class.
+   *
+   * @param numOfZones          the number of zones
+   * @param rideFactories       the ride factories, shared read-only between zones
+   * @param dictionary          the dictionary of the locations the zones are assigned by
+   * @param eventQueueFactory   creates the event queue of each zone
+   * @param requestQueueFactory creates the request queue of each zone
+   * @param lookahead           the minimum travel time between two zones, in ticks
+   * @param batchDispatch       true to process same-instant events as a batch
+   * @param eventLog            the sink ride messages are logged to, shared between zones
+   * @param trace               the event trace rides are written to, shared between zones, or
+   *                            null
+   * @param pooledEvents        true to recycle ride finished events through a pool in each zone
+   * @param retainRides         true to keep the finished rides, false to only count them
+   * @param exporter            the exporter finished rides are exported to, shared between
+   *                            zones, or null
+   */
+  public ConservativeParallelEngine(Integer numOfZones,
+      HashMap<Integer, RideFactory> rideFactories, StringDictionary dictionary,
+      Supplier<EventQueue<Event>> eventQueueFactory,
+      Supplier<RequestPriorityQueue<RideRequestEvent>> requestQueueFactory, long lookahead,
+      Boolean batchDispatch, EventLogSink eventLog, EventTraceWriter trace, Boolean pooledEvents,
+      Boolean retainRides, RideExporter exporter) {
+    if (lookahead <= 0) {
+      throw new IllegalArgumentException("Lookahead must be a positive number.");
+    }
+    this.partitioner = new ZonePartitioner(numOfZones, dictionary);
+    this.rideFactories = rideFactories;
+    this.eventQueueFactory = eventQueueFactory;
+    this.requestQueueFactory = requestQueueFactory;
+    this.lookahead = lookahead;
+    this.batchDispatch = batchDispatch;
+    this.eventLog = eventLog;
+    this.trace = trace;
+    this.exporter = exporter;
+    this.pooledEvents = pooledEvents;
+    this.retainRides = retainRides;
+    this.zones = new LogicalProcess[0];
+    this.pendingEvents = new AtomicLong();
+    this.finished = false;
+    this.numOfNullMessages = 0;
+    this.numOfEvents = 0;
+    this.numOfBytesAllocated = 0;
+    this.elapsedNanos = 0;
+  }
+
+  /**
+   * Runs the simulation with the given initial events and drivers. Each initial event is assigned
+   * to the zone of its starting location and the drivers are spread over the zones in round-robin
+   * order. Both are handed to the zones in the given order. The zones share the driver registry: a
+   * driver is only updated by the zone that processes the events of its current ride, and events
+   * are handed over between zones through their inboxes.
+   *
+   * @param initialEvents  the initial ride requested events
+   * @param driverRegistry the registry of every driver
+   * @param drivers        the drivers available at the start of the simulation
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  @Override
+  public void run(List<Event> initialEvents, DriverRegistry driverRegistry, DriverQueue drivers)
+      throws EmptyQueueException {
+    long startTime = Long.MAX_VALUE;
+    for (Event event : initialEvents) {
+      startTime = Math.min(startTime,
+          event.getEventTick());
+    }
+    int numOfZones = this.partitioner.getNumOfZones();
+    this.zones = new LogicalProcess[numOfZones];
+    for (int i = 0; i < numOfZones; i++) {
+      this.zones[i] = new LogicalProcess(this, i, numOfZones, this.rideFactories, driverRegistry,
+          this.eventQueueFactory.get(), this.requestQueueFactory.get(), startTime, this.lookahead,
+          this.batchDispatch, this.eventLog, this.trace, this.pooledEvents, this.retainRides,
+          this.exporter);
+    }
+    for (Event event : initialEvents) {
+      this.zones[this.partitioner.zoneOfLocation(event.getStartingLocationId())]
+          .addInitialEvent(event);
+    }
+    this.pendingEvents.set(initialEvents.size());
+    for (int i = 0; i < drivers.size(); i++) {
+      this.zones[this.partitioner.zoneOfDriver(i)].addInitialDriver(drivers.get(i));
+    }
+    if (initialEvents.isEmpty()) {
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(this.zones.length);
+    long start = System.nanoTime();
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (LogicalProcess zone : this.zones) {
+        futures.add(executor.submit(zone));
+      }
+      for (Future<Long> future : futures) {
+        this.numOfNullMessages += future.get();
+      }
+      this.elapsedNanos = System.nanoTime() - start;
+      for (LogicalProcess zone : this.zones) {
+        this.numOfEvents += zone.getNumOfEventsProcessed();
+        this.numOfBytesAllocated += zone.getNumOfBytesAllocated();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof EmptyQueueException) {
+        throw (EmptyQueueException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Routes an event enqueued by the visitor of a zone to the zone of its desired location.
+   *
+   * @param sender the index of the zone that enqueued the event
+   * @param event  the event
+   */
+  @Override
+  public void route(Integer sender, Event event) {
+    this.pendingEvents.incrementAndGet();
+    int receiver = this.partitioner.zoneOfLocation(event.getDesiredLocationId());
+    if (receiver == sender) {
+      this.zones[receiver].enqueueLocal(event);
+    } else {
+      this.zones[receiver].post(ZoneMessage.ofEvent(sender, event));
+    }
+  }
+
+  /**
+   * Sends a null message from the given zone to every other zone.
+   *
+   * @param sender  the index of the sending zone
+   * @param promise the promise of the sending zone, in ticks since the epoch
+   * @return the number of null messages sent
+   */
+  int broadcastPromise(Integer sender, long promise) {
+    ZoneMessage message = ZoneMessage.ofPromise(sender, promise);
+    for (int i = 0; i < this.zones.length; i++) {
+      if (i != sender) {
+        this.zones[i].post(message);
+      }
+    }
+    return this.zones.length - 1;
+  }
+
+  /**
+   * Records that a zone has processed the given number of events. When no event is left in any
+   * zone or in transit, the simulation is finished and every zone is woken up.
+   *
+   * @param numOfEvents the number of processed events
+   */
+  void completeEvents(int numOfEvents) {
+    if (this.pendingEvents.addAndGet(-numOfEvents) == 0) {
+      this.finished = true;
+      for (int i = 0; i < this.zones.length; i++) {
+        this.zones[i].post(ZoneMessage.ofPromise(i, Long.MAX_VALUE));
+      }
+    }
+  }
+
+  /**
+   * Checks if the simulation is finished.
+   *
+   * @return true if no event is left in any zone or in transit, false otherwise
+   */
+  boolean isFinished() {
+    return this.finished;
+  }
+
+  /**
+   * Gets the rides finished in every zone, zone by zone.
+   *
+   * @return the rides finished in every zone
+   */
+  @Override
+  public RideStore getRideStore() {
+    RideStore rideStore = new RideStore(this.retainRides);
+    for (LogicalProcess zone : this.zones) {
+      rideStore.addAll(zone.getRideStore());
+    }
+    return rideStore;
+  }
+
+  /**
+   * Gets the statistics of the rides finished in every zone, merged zone by zone.
+   *
+   * @return the statistics of the rides finished in every zone
+   */
+  @Override
+  public RideStatistics getStatistics() {
+    RideStatistics statistics = new RideStatistics();
+    for (LogicalProcess zone : this.zones) {
+      statistics.merge(zone.getStatistics());
+    }
+    return statistics;
+  }
+
+  /**
+   * Gets the drivers waiting in every zone, zone by zone.
+   *
+   * @return the drivers waiting in every zone
+   */
+  @Override
+  public DriverQueue getDriverQueue() {
+    DriverQueue driverQueue = new DriverQueue();
+    for (LogicalProcess zone : this.zones) {
+      driverQueue.enqueueAll(zone.getDriverQueue());
+    }
+    return driverQueue;
+  }
+
+  /**
+   * Gets the number of requests left waiting because no driver reached their zone.
+   *
+   * @return the number of requests left waiting
+   */
+  @Override
+  public Integer getNumOfWaitingRequests() {
+    int count = 0;
+    for (LogicalProcess zone : this.zones) {
+      count += zone.getNumOfWaitingRequests();
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of null messages exchanged between zones.
+   *
+   * @return the number of null messages
+   */
+  public long getNumOfNullMessages() {
+    return numOfNullMessages;
+  }
+
+  /**
+   * Gets the number of events processed by every zone per second of wall-clock time.
+   *
+   * @return the number of events processed per second
+   */
+  public Double getEventsPerSecond() {
+    return this.elapsedNanos == 0 ? 0.0 : this.numOfEvents * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Gets the number of bytes allocated by the zones' threads per processed event.
+   *
+   * @return the number of bytes allocated per event
+   */
+  public Double getBytesPerEvent() {
+    return this.numOfEvents == 0 ? 0.0 : (double) this.numOfBytesAllocated / this.numOfEvents;
+  }
+
+  /**
+   * Gets a one-line summary of the synchronization statistics of the last run.
+   *
+   * @return the summary of the last run
+   */
+  @Override
+  public String getSummary() {
+    return String.format("Zones: %d, null messages: %d, events/sec: %.0f, bytes/event: %.1f",
+        getNumOfZones(), getNumOfNullMessages(), getEventsPerSecond(), getBytesPerEvent());
+  }
+
+  /**
+   * Gets the number of zones.
+   *
+   * @return the number of zones
+   */
+  public Integer getNumOfZones() {
+    return this.partitioner.getNumOfZones();
+  }
+}
@@ -0,0 +1,18 @@
+package sim.control.parallel;
+
+import sim.model.event.Event;
+
+/**
+ * EventRouter interface, delivers the events enqueued by the visitor of a zone to the zone where
+ * they take effect.
+ */
+public interface EventRouter {
+
+  /**
+   * Routes an event enqueued by the visitor of a zone to the zone of its desired location.
+   *
+   * @param sender the index of the zone that enqueued the event
+   * @param event  the event
+   */
+  void route(Integer sender, Event event);
+}
@@ -0,0 +1,314 @@
+package sim.control.parallel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import sim.control.calculator.AllocationCalculator;
+import sim.control.exception.EmptyQueueException;
+import sim.control.export.RideExporter;
+import sim.control.factory.RideFactory;
+import sim.control.factory.RideFinishedEventPool;
+import sim.control.log.EventLogSink;
+import sim.control.trace.EventTraceWriter;
+import sim.control.visitor.EventVisitor;
+import sim.control.visitor.RideEventVisitor;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.ArrivalMergingEventQueue;
+import sim.model.queue.DriverQueue;
+import sim.model.queue.EventQueue;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+
+/**
+ * LogicalProcess class, runs the simulation of one zone on its own thread. Each zone owns an event
+ * queue, a request queue, a driver queue, a store of finished rides and their statistics, and runs
+ * the same visitor as the sequential main loop.
+ *
+ * <p>Zones are synchronized conservatively with Chandy-Misra null messages. Every zone promises
+ * the others that it will not send them an event earlier than its own lower bound plus the
+ * lookahead, where the lower bound is the earlier of its next event and the earliest event it may
+ * still receive. A zone only processes events that are not after the smallest promise received
+ * from the other zones, so an event is never received after a later event has been processed.
+ */
+public final class LogicalProcess implements Callable<Long> {
+
+  private final ConservativeParallelEngine engine;
+  private final Integer zone;
+  private final HashMap<Integer, RideFactory> rideFactories;
+  private final DriverRegistry driverRegistry;
+  private final EventQueue<Event> eventQueue;
+  private final ArrayList<Event> initialEvents;
+  private final ZoneRoutingEventQueue routingQueue;
+  private final RequestPriorityQueue<RideRequestEvent> requestQueue;
+  private final DriverQueue driverQueue;
+  private final RideStore rideStore;
+  private final LinkedBlockingQueue<ZoneMessage> inbox;
+  private final long[] channelPromises;
+  private final long lookahead;
+  private final Boolean batchDispatch;
+  private final EventLogSink eventLog;
+  private final EventTraceWriter trace;
+  private final RideExporter exporter;
+  private final Boolean pooledEvents;
+  private final RideStatistics statistics;
+  private long lastSentPromise;
+  private long numOfNullMessagesSent;
+  private long numOfEventsProcessed;
+  private long numOfBytesAllocated;
+
+  /**
+   * Constructor for option1.control.parallel.LogicalProcess class.
+   *
+   * @param engine         the engine that routes messages between zones
+   * @param zone           the index of the zone simulated by this process
+   * @param numOfZones     the total number of zones
+   * @param rideFactories  the ride factories, shared read-only between zones
+   * @param driverRegistry the registry of every driver, shared between zones
+   * @param eventQueue     the zone's own event queue
+   * @param requestQueue   the zone's own request queue
+   * @param startTime      the time the simulation starts, in ticks since the epoch
+   * @param lookahead      the minimum travel time between two zones, in ticks
+   * @param batchDispatch  true to process same-instant events as a batch
+   * @param eventLog       the sink ride messages are logged to, shared between zones
+   * @param trace          the event trace rides are written to, shared between zones, or null
+   * @param pooledEvents   true to recycle ride finished events through a pool
+   * @param retainRides    true to keep the finished rides, false to only count them
+   * @param exporter       the exporter finished rides are exported to, shared between zones, or
+   *                       null
+   */
+  public LogicalProcess(ConservativeParallelEngine engine, Integer zone, Integer numOfZones,
+      HashMap<Integer, RideFactory> rideFactories, DriverRegistry driverRegistry,
+      EventQueue<Event> eventQueue, RequestPriorityQueue<RideRequestEvent> requestQueue,
+      long startTime, long lookahead, Boolean batchDispatch, EventLogSink eventLog,
+      EventTraceWriter trace, Boolean pooledEvents, Boolean retainRides,
+      RideExporter exporter) {
+    this.engine = engine;
+    this.zone = zone;
+    this.rideFactories = rideFactories;
+    this.driverRegistry = driverRegistry;
+    this.eventQueue = eventQueue;
+    this.initialEvents = new ArrayList<>();
+    this.routingQueue = new ZoneRoutingEventQueue(engine, zone, eventQueue);
+    this.requestQueue = requestQueue;
+    this.driverQueue = new DriverQueue();
+    this.rideStore = new RideStore(retainRides);
+    this.inbox = new LinkedBlockingQueue<>();
+    this.channelPromises = new long[numOfZones];
+    // No zone can send an event before the start of the simulation plus the lookahead
+    Arrays.fill(this.channelPromises, startTime + lookahead);
+    this.channelPromises[zone] = Long.MAX_VALUE; // a zone never waits on itself
+    this.lookahead = lookahead;
+    this.batchDispatch = batchDispatch;
+    this.eventLog = eventLog;
+    this.trace = trace;
+    this.exporter = exporter;
+    this.pooledEvents = pooledEvents;
+    this.statistics = new RideStatistics();
+    this.lastSentPromise = Long.MIN_VALUE;
+    this.numOfNullMessagesSent = 0;
+    this.numOfEventsProcessed = 0;
+    this.numOfBytesAllocated = 0;
+  }
+
+  /**
+   * Adds an event to the zone's initial events before the simulation starts. Initial events must
+   * be added in eventTime order, and are merged into the event queue as the zone runs, the same way
+   * the sequential main loop merges arrivals.
+   *
+   * @param event the event
+   */
+  public void addInitialEvent(Event event) {
+    this.initialEvents.add(event);
+  }
+
+  /**
+   * Adds a driver to the zone's driver queue before the simulation starts.
+   *
+   * @param driverId the id of the driver
+   */
+  public void addInitialDriver(int driverId) {
+    this.driverQueue.enqueue(driverId);
+  }
+
+  /**
+   * Enqueues an event sent by this zone to itself. Only called from this zone's thread.
+   *
+   * @param event the event
+   */
+  public void enqueueLocal(Event event) {
+    this.eventQueue.enqueue(event);
+  }
+
+  /**
+   * Delivers a message from another zone. Safe to call from any thread.
+   *
+   * @param message the message
+   */
+  public void post(ZoneMessage message) {
+    this.inbox.add(message);
+  }
+
+  /**
+   * Runs the zone until every zone has run out of events.
+   *
+   * @return the number of null messages sent by this zone
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   * @throws InterruptedException thrown when the thread is interrupted while waiting for messages
+   */
+  @Override
+  public Long call() throws EmptyQueueException, InterruptedException {
+    // Events received from other zones are released into this zone's pool once processed
+    EventVisitor eventVisitor = new RideEventVisitor(this.driverRegistry, this.eventLog,
+        new RideFinishedEventPool(this.pooledEvents), this.statistics, Boolean.TRUE, this.trace,
+        this.exporter, null, null);
+    AllocationCalculator allocationCalculator = new AllocationCalculator();
+    long startBytes = allocationCalculator.getAllocatedBytes();
+    // Enqueued and received events go to the inner queue, initial events are merged on the fly
+    EventQueue<Event> eventQueue = new ArrivalMergingEventQueue(this.eventQueue,
+        this.initialEvents.iterator());
+    ArrayList<Event> batch = new ArrayList<>();
+    ZoneMessage message = null;
+    while (true) {
+      // Receives every message already delivered, so no event is missed behind a null message
+      if (message == null) {
+        message = this.inbox.poll();
+      }
+      while (message != null) {
+        receive(message);
+        message = this.inbox.poll();
+      }
+      if (this.engine.isFinished()) {
+        this.numOfBytesAllocated = allocationCalculator.getAllocatedBytes() - startBytes;
+        return this.numOfNullMessagesSent;
+      }
+      long safeTime = minPromise();
+      boolean processed = false;
+      Event next = eventQueue.peek();
+      while (next != null && next.getEventTick() <= safeTime) {
+        if (this.batchDispatch) {
+          eventQueue.drainUntil(next.getEventTick(), batch::add);
+          eventVisitor.visitBatch(batch, this.rideFactories, this.routingQueue,
+              this.requestQueue, this.driverQueue, this.rideStore);
+          this.engine.completeEvents(batch.size());
+          this.numOfEventsProcessed += batch.size();
+          batch.clear();
+        } else {
+          Event event = eventQueue.dequeue();
+          event.accept(eventVisitor, this.rideFactories, this.routingQueue, this.requestQueue,
+              this.driverQueue, this.rideStore);
+          this.engine.completeEvents(1);
+          this.numOfEventsProcessed++;
+        }
+        processed = true;
+        next = eventQueue.peek();
+      }
+      sendPromise(next, safeTime);
+      if (!processed) {
+        message = this.inbox.take();
+      }
+    }
+  }
+
+  /**
+   * Helper method. Receives a message: updates the sender's channel promise and enqueues the
+   * carried event, if any.
+   *
+   * @param message the message
+   */
+  private void receive(ZoneMessage message) {
+    int sender = message.getSender();
+    this.channelPromises[sender] = Math.max(this.channelPromises[sender], message.getPromise());
+    if (!message.isNullMessage()) {
+      this.eventQueue.enqueue(message.getEvent());
+    }
+  }
+
+  /**
+   * Helper method. Sends a null message to the other zones when this zone's promise has advanced.
+   *
+   * @param next     the next event of this zone, or null if there is none
+   * @param safeTime the smallest promise received from the other zones
+   */
+  private void sendPromise(Event next, long safeTime) {
+    long lowerBound = next == null ? safeTime : Math.min(next.getEventTick(), safeTime);
+    long promise = lowerBound > Long.MAX_VALUE - this.lookahead
+        ? Long.MAX_VALUE : lowerBound + this.lookahead;
+    if (promise > this.lastSentPromise) {
+      this.lastSentPromise = promise;
+      this.numOfNullMessagesSent += this.engine.broadcastPromise(this.zone, promise);
+    }
+  }
+
+  /**
+   * Helper method. Gets the smallest promise received from the other zones.
+   *
+   * @return the smallest promise, in ticks since the epoch
+   */
+  private long minPromise() {
+    long min = Long.MAX_VALUE;
+    for (long promise : this.channelPromises) {
+      min = Math.min(min, promise);
+    }
+    return min;
+  }
+
+
+  /**
+   * Gets the number of events processed by this zone.
+   *
+   * @return the number of events processed by this zone
+   */
+  public long getNumOfEventsProcessed() {
+    return numOfEventsProcessed;
+  }
+
+  /**
+   * Gets the number of bytes allocated by this zone's thread while it ran.
+   *
+   * @return the number of bytes allocated by this zone's thread
+   */
+  public long getNumOfBytesAllocated() {
+    return numOfBytesAllocated;
+  }
+
+  /**
+   * Gets the rides finished in this zone.
+   *
+   * @return the rides finished in this zone
+   */
+  public RideStore getRideStore() {
+    return rideStore;
+  }
+
+  /**
+   * Gets the statistics of the rides finished in this zone.
+   *
+   * @return the statistics of the rides finished in this zone
+   */
+  public RideStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Gets the drivers waiting in this zone.
+   *
+   * @return the drivers waiting in this zone
+   */
+  public DriverQueue getDriverQueue() {
+    return driverQueue;
+  }
+
+  /**
+   * Gets the number of requests still waiting for a driver in this zone.
+   *
+   * @return the number of requests still waiting for a driver
+   */
+  public Integer getNumOfWaitingRequests() {
+    return this.requestQueue.getNumOfRequests();
+  }
+}
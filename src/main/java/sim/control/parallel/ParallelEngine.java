@@ -0,0 +1,63 @@
+package sim.control.parallel;
+
+import java.util.List;
+import sim.control.exception.EmptyQueueException;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.queue.DriverQueue;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+
+/**
+ * ParallelEngine interface, runs the simulation with the customers and drivers partitioned into
+ * zones, each zone simulated on its own thread.
+ */
+public interface ParallelEngine {
+
+  /**
+   * Runs the simulation with the given initial events and drivers. The drivers are updated in the
+   * given registry as they finish rides.
+   *
+   * @param initialEvents  the initial ride requested events
+   * @param driverRegistry the registry of every driver
+   * @param drivers        the drivers available at the start of the simulation
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  void run(List<Event> initialEvents, DriverRegistry driverRegistry, DriverQueue drivers)
+      throws EmptyQueueException;
+
+  /**
+   * Gets the rides finished in every zone, zone by zone.
+   *
+   * @return the rides finished in every zone
+   */
+  RideStore getRideStore();
+
+  /**
+   * Gets the statistics of the rides finished in every zone, merged zone by zone.
+   *
+   * @return the statistics of the rides finished in every zone
+   */
+  RideStatistics getStatistics();
+
+  /**
+   * Gets the drivers waiting in every zone, zone by zone.
+   *
+   * @return the drivers waiting in every zone
+   */
+  DriverQueue getDriverQueue();
+
+  /**
+   * Gets the number of requests left waiting because no driver reached their zone.
+   *
+   * @return the number of requests left waiting
+   */
+  Integer getNumOfWaitingRequests();
+
+  /**
+   * Gets a one-line summary of the synchronization statistics of the last run.
+   *
+   * @return the summary of the last run
+   */
+  String getSummary();
+}
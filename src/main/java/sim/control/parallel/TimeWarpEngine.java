@@ -0,0 +1,335 @@
+package sim.control.parallel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import sim.control.exception.EmptyQueueException;
+import sim.control.export.RideExporter;
+import sim.control.factory.RideFactory;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.queue.DriverQueue;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+
+/**
+ * TimeWarpEngine class, runs the simulation in parallel by partitioning customers and drivers into
+ * geographic zones, in the same way as the conservative engine. Zones are synchronized
+ * optimistically with Time Warp: each zone is simulated by a TimeWarpProcess that processes its
+ * events without waiting for the other zones and rolls back when it receives an event in its past.
+ * Unlike the conservative engine, it does not depend on the lookahead between zones.
+ *
+ * <p>The global virtual time (GVT), the time before which no zone can be rolled back, is computed
+ * asynchronously with the shared-memory algorithm of Fujimoto and Hybinette. A zone requests a
+ * computation by starting a new epoch; every zone then reports once the earliest of its pending
+ * events and of the events it sent to other zones during the epoch, and the last zone to report
+ * publishes the smallest value as the new GVT. The simulation ends when the GVT reaches the end of
+ * time.
+ *
+ * <p>Events are processed one at a time and may be undone, so batch dispatch, pooled events, the
+ * event log file and the event trace are rejected by the SimDirector for this engine.
+ */
+public final class TimeWarpEngine implements ParallelEngine {
+
+  private final ZonePartitioner partitioner;
+  private final HashMap<Integer, RideFactory> rideFactories;
+  private final StringDictionary dictionary;
+  private final Supplier<RequestPriorityQueue<RideRequestEvent>> requestQueueFactory;
+  private final Boolean retainRides;
+  private final RideExporter exporter;
+  private final AtomicInteger gvtEpoch;   // odd while a GVT computation is in progress
+  private final AtomicInteger numOfReports;
+  private final AtomicLongArray localMinimums;
+  private volatile long gvt;
+  private TimeWarpProcess[] zones;
+  private long elapsedNanos;
+
+  /**
+   * Constructor for option1.control.parallel.TimeWarpEngine class.
+   *
+   * @param numOfZones          the number of zones
+   * @param rideFactories       the ride factories, shared read-only between zones
+   * @param dictionary          the dictionary of names and locations, shared read-only
+   * @param requestQueueFactory creates the request queue of each zone
+   * @param retainRides         true to keep the finished rides, false to only count them
+   * @param exporter            the exporter committed rides are exported to, shared between
+   *                            zones, or null
+   */
+  public TimeWarpEngine(Integer numOfZones, HashMap<Integer, RideFactory> rideFactories,
+      StringDictionary dictionary,
+      Supplier<RequestPriorityQueue<RideRequestEvent>> requestQueueFactory,
+      Boolean retainRides, RideExporter exporter) {
+    this.partitioner = new ZonePartitioner(numOfZones, dictionary);
+    this.rideFactories = rideFactories;
+    this.dictionary = dictionary;
+    this.requestQueueFactory = requestQueueFactory;
+    this.retainRides = retainRides;
+    this.exporter = exporter;
+    this.gvtEpoch = new AtomicInteger();
+    this.numOfReports = new AtomicInteger();
+    this.localMinimums = new AtomicLongArray(numOfZones);
+    this.gvt = Long.MIN_VALUE;
+    this.zones = new TimeWarpProcess[0];
+    this.elapsedNanos = 0;
+  }
+
+  /**
+   * Runs the simulation with the given initial events and drivers. Each initial event is assigned
+   * to the zone of its starting location and the drivers are spread over the zones in round-robin
+   * order. The drivers are only updated in the registry once the events of their rides are
+   * committed.
+   *
+   * @param initialEvents  the initial ride requested events
+   * @param driverRegistry the registry of every driver
+   * @param drivers        the drivers available at the start of the simulation
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  @Override
+  public void run(List<Event> initialEvents, DriverRegistry driverRegistry, DriverQueue drivers)
+      throws EmptyQueueException {
+    int numOfZones = this.partitioner.getNumOfZones();
+    this.zones = new TimeWarpProcess[numOfZones];
+    for (int i = 0; i < numOfZones; i++) {
+      this.zones[i] = new TimeWarpProcess(this, i, this.rideFactories, driverRegistry,
+          this.dictionary, this.requestQueueFactory.get(), this.retainRides, this.exporter);
+    }
+    for (Event event : initialEvents) {
+      this.zones[this.partitioner.zoneOfLocation(event.getStartingLocationId())]
+          .addInitialEvent(event);
+    }
+    for (int i = 0; i < drivers.size(); i++) {
+      this.zones[this.partitioner.zoneOfDriver(i)].addInitialDriver(drivers.get(i));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(numOfZones);
+    long start = System.nanoTime();
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (TimeWarpProcess zone : this.zones) {
+        futures.add(executor.submit(zone));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+      this.elapsedNanos = System.nanoTime() - start;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof EmptyQueueException) {
+        throw (EmptyQueueException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Gets the zone where the given event takes effect: the zone of its desired location.
+   *
+   * @param event the event
+   * @return the index of the zone
+   */
+  int zoneOf(Event event) {
+    return this.partitioner.zoneOfLocation(event.getDesiredLocationId());
+  }
+
+  /**
+   * Delivers a message to the given zone.
+   *
+   * @param receiver the index of the receiving zone
+   * @param message  the message
+   */
+  void post(int receiver, TimeWarpMessage message) {
+    this.zones[receiver].post(message);
+  }
+
+  /**
+   * Starts a GVT computation, unless one is already in progress.
+   */
+  void requestGvt() {
+    int epoch = this.gvtEpoch.get();
+    if (!isGvtInProgress(epoch)) {
+      this.gvtEpoch.compareAndSet(epoch, epoch + 1);
+    }
+  }
+
+  /**
+   * Records the local minimum reported by a zone for the GVT computation in progress. The last zone
+   * to report publishes the new GVT and ends the computation.
+   *
+   * @param zone     the index of the reporting zone
+   * @param localMin the earliest time the zone may still process or cause, in ticks since
+   *                 the epoch
+   */
+  void reportLocalMinimum(int zone, long localMin) {
+    this.localMinimums.set(zone, localMin);
+    if (this.numOfReports.incrementAndGet() < this.localMinimums.length()) {
+      return;
+    }
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < this.localMinimums.length(); i++) {
+      min = Math.min(min, this.localMinimums.get(i));
+    }
+    this.gvt = Math.max(this.gvt, min);
+    this.numOfReports.set(0);
+    this.gvtEpoch.incrementAndGet();
+  }
+
+  /**
+   * Gets the current GVT epoch.
+   *
+   * @return the current GVT epoch, odd while a GVT computation is in progress
+   */
+  int getGvtEpoch() {
+    return this.gvtEpoch.get();
+  }
+
+  /**
+   * Checks if the given GVT epoch is a GVT computation in progress.
+   *
+   * @param epoch the GVT epoch
+   * @return true if a GVT computation is in progress, false otherwise
+   */
+  static boolean isGvtInProgress(int epoch) {
+    return (epoch & 1) == 1;
+  }
+
+  /**
+   * Gets the last published GVT.
+   *
+   * @return the GVT, in ticks since the epoch
+   */
+  long getGvt() {
+    return this.gvt;
+  }
+
+  /**
+   * Gets the rides finished in every zone, zone by zone.
+   *
+   * @return the rides finished in every zone
+   */
+  @Override
+  public RideStore getRideStore() {
+    RideStore rideStore = new RideStore(this.retainRides);
+    for (TimeWarpProcess zone : this.zones) {
+      rideStore.addAll(zone.getRideStore());
+    }
+    return rideStore;
+  }
+
+  /**
+   * Gets the statistics of the rides finished in every zone, merged zone by zone.
+   *
+   * @return the statistics of the rides finished in every zone
+   */
+  @Override
+  public RideStatistics getStatistics() {
+    RideStatistics statistics = new RideStatistics();
+    for (TimeWarpProcess zone : this.zones) {
+      statistics.merge(zone.getStatistics());
+    }
+    return statistics;
+  }
+
+  /**
+   * Gets the drivers waiting in every zone, zone by zone.
+   *
+   * @return the drivers waiting in every zone
+   */
+  @Override
+  public DriverQueue getDriverQueue() {
+    DriverQueue driverQueue = new DriverQueue();
+    for (TimeWarpProcess zone : this.zones) {
+      driverQueue.enqueueAll(zone.getDriverQueue());
+    }
+    return driverQueue;
+  }
+
+  /**
+   * Gets the number of requests left waiting because no driver reached their zone.
+   *
+   * @return the number of requests left waiting
+   */
+  @Override
+  public Integer getNumOfWaitingRequests() {
+    int count = 0;
+    for (TimeWarpProcess zone : this.zones) {
+      count += zone.getNumOfWaitingRequests();
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of rollbacks in every zone.
+   *
+   * @return the number of rollbacks
+   */
+  public long getNumOfRollbacks() {
+    long count = 0;
+    for (TimeWarpProcess zone : this.zones) {
+      count += zone.getNumOfRollbacks();
+    }
+    return count;
+  }
+
+  /**
+   * Gets the fraction of processed events that were undone by a rollback.
+   *
+   * @return the rollback rate, between 0 and 1
+   */
+  public Double getRollbackRate() {
+    long executed = 0;
+    long rolledBack = 0;
+    for (TimeWarpProcess zone : this.zones) {
+      executed += zone.getNumOfEventsExecuted();
+      rolledBack += zone.getNumOfEventsRolledBack();
+    }
+    return executed == 0 ? 0.0 : (double) rolledBack / executed;
+  }
+
+  /**
+   * Gets the number of events committed by every zone per second of wall-clock time.
+   *
+   * @return the number of committed events per second
+   */
+  public Double getCommittedEventsPerSecond() {
+    long committed = 0;
+    for (TimeWarpProcess zone : this.zones) {
+      committed += zone.getNumOfEventsCommitted();
+    }
+    return this.elapsedNanos == 0 ? 0.0 : committed * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Gets a one-line summary of the synchronization statistics of the last run.
+   *
+   * @return the summary of the last run
+   */
+  @Override
+  public String getSummary() {
+    return String.format("Zones: %d, rollbacks: %d, rollback rate: %.2f%%, "
+            + "committed events/sec: %.0f, GVT computations: %d",
+        getNumOfZones(), getNumOfRollbacks(), getRollbackRate() * 100,
+        getCommittedEventsPerSecond(), this.gvtEpoch.get() / 2);
+  }
+
+  /**
+   * Gets the number of zones.
+   *
+   * @return the number of zones
+   */
+  public Integer getNumOfZones() {
+    return this.partitioner.getNumOfZones();
+  }
+}
@@ -0,0 +1,103 @@
+package sim.control.parallel;
+
+import sim.model.event.Event;
+
+/**
+ * TimeWarpMessage class, representing a message sent from one zone to another by the optimistic
+ * engine. A positive message carries an event that takes effect in the receiving zone. An
+ * anti-message carries only the id of a positive message previously sent, and annihilates it: the
+ * event is removed from the receiver's pending events, and undone if the receiver has already
+ * processed it.
+ */
+public final class TimeWarpMessage {
+
+  private final long id;
+  private final Integer sender;
+  private final long eventKey;
+  private final Event event;
+
+  /**
+   * Constructor for option1.control.parallel.TimeWarpMessage class.
+   *
+   * @param id       the id of the positive message, shared with its anti-message
+   * @param sender   the index of the sending zone
+   * @param eventKey the eventTime of the carried event, in ticks since the epoch
+   * @param event    the event carried by the message, null for an anti-message
+   */
+  private TimeWarpMessage(long id, Integer sender, long eventKey, Event event) {
+    this.id = id;
+    this.sender = sender;
+    this.eventKey = eventKey;
+    this.event = event;
+  }
+
+  /**
+   * Creates a positive message that carries an event.
+   *
+   * @param id       the id of the message
+   * @param sender   the index of the sending zone
+   * @param eventKey the eventTime of the event, in ticks since the epoch
+   * @param event    the event carried by the message
+   * @return a positive message
+   */
+  public static TimeWarpMessage positive(long id, Integer sender, long eventKey, Event event) {
+    return new TimeWarpMessage(id, sender, eventKey, event);
+  }
+
+  /**
+   * Creates an anti-message that annihilates the positive message with the same id.
+   *
+   * @param id       the id of the positive message
+   * @param sender   the index of the sending zone
+   * @param eventKey the eventTime of the cancelled event, in ticks since the epoch
+   * @return an anti-message
+   */
+  public static TimeWarpMessage anti(long id, Integer sender, long eventKey) {
+    return new TimeWarpMessage(id, sender, eventKey, null);
+  }
+
+  /**
+   * Gets the id of the message.
+   *
+   * @return the id of the message
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the index of the sending zone.
+   *
+   * @return the index of the sending zone
+   */
+  public Integer getSender() {
+    return sender;
+  }
+
+  /**
+   * Gets the eventTime of the carried or cancelled event, in ticks since the epoch.
+   *
+   * @return the eventTime of the event
+   */
+  public long getEventKey() {
+    return eventKey;
+  }
+
+  /**
+   * Gets the event carried by the message.
+   *
+   * @return the event carried by the message, null for an anti-message
+   */
+  public Event getEvent() {
+    return event;
+  }
+
+  /**
+   * Checks if this message is an anti-message.
+   *
+   * @return true if this message cancels a positive message, false otherwise
+   */
+  public Boolean isAntiMessage() {
+    return this.event == null;
+  }
+}
@@ -0,0 +1,683 @@
+package sim.control.parallel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import sim.control.exception.EmptyQueueException;
+import sim.control.export.RideExporter;
+import sim.control.factory.RideFactory;
+import sim.control.factory.RideFinishedEventPool;
+import sim.control.log.ConsoleEventLogSink;
+import sim.control.visitor.EventVisitor;
+import sim.control.visitor.RideEventVisitor;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.Event;
+import sim.model.event.RideFinishedEvent;
+import sim.model.event.RideRequestEvent;
+import sim.model.queue.DriverQueue;
+import sim.model.queue.IndexedDaryEventQueue;
+import sim.model.queue.RequestPriorityQueue;
+import sim.model.result.RideStatistics;
+import sim.model.type.EventLogLevel;
+import sim.model.ride.RideStore;
+
+/**
+ * TimeWarpProcess class, runs the simulation of one zone optimistically on its own thread. A zone
+ * processes its pending events in eventTime order without waiting for the other zones, and saves
+ * its state (the driver queue, the request queue and the number of finished rides) every few
+ * events so that it can go back in time.
+ *
+ * <p>When a straggler arrives, that is an event earlier than an event already processed, the zone
+ * rolls back: it restores the last state saved before the straggler, puts the undone events back
+ * into its pending events, re-processes the events between the saved state and the straggler
+ * without sending anything (coasting forward), and sends an anti-message for every event sent by
+ * the undone events. An anti-message for an event that was already processed rolls the receiver
+ * back in the same way. Pending events with the same eventTime are processed in an order that does
+ * not depend on when their messages arrived, and a straggler undoes every event processed at its
+ * own eventTime, so runs with the same seed give the same results.
+ *
+ * <p>Saved states and sent messages older than the global virtual time (GVT) can no longer be
+ * rolled back to, and are fossil collected. The zone takes part in the GVT computation of the
+ * engine by reporting the earliest of its pending events and of the events it sent since the
+ * computation started.
+ *
+ * <p>The driver registry is shared by every zone and cannot be rolled back, so speculative events
+ * only read it. The rides finished by committed events are recorded in the registry and in the
+ * zone's statistics, and exported, when the events are fossil collected. The number of rides
+ * finished stored with a ride is therefore the number committed when the ride was processed,
+ * which may lag behind the sequential simulation.
+ */
+public final class TimeWarpProcess implements Callable<Void>, EventRouter {
+
+  private static final int STATE_SAVING_INTERVAL = 16; // events processed between saved states
+  private static final int GVT_INTERVAL = 512;         // events processed between GVT requests
+  private static final long IDLE_WAIT_MICROS = 200;    // wait for messages when idle
+  private static final int ID_ZONE_SHIFT = 40;         // message id = zone | sequence number
+  private static final long FINISHED_RIDE_ORDER = 1L << 62; // finished rides tie after requests
+
+  private final TimeWarpEngine engine;
+  private final Integer zone;
+  private final HashMap<Integer, RideFactory> rideFactories;
+  private final DriverRegistry driverRegistry;
+  private final EventVisitor eventVisitor;
+  private final IndexedDaryEventQueue<Event> pendingEvents;
+  private final HashMap<Long, Long> pendingHandles;         // message id -> handle
+  private final HashMap<Long, Long> pendingIds;             // handle -> message id
+  private final ArrayList<ProcessedEvent> processedEvents;  // in eventTime order
+  private final ArrayList<SentMessage> sentMessages;        // in send time order
+  private final ZoneRoutingEventQueue routingQueue;
+  private final LinkedBlockingQueue<TimeWarpMessage> inbox;
+  private final RideStore rideStore;
+  private final RideStatistics statistics;
+  private final RideExporter exporter;
+  private RequestPriorityQueue<RideRequestEvent> requestQueue;
+  private DriverQueue driverQueue;
+  private long currentKey;
+  private boolean coasting;
+  private long nextMessageId;
+  private int eventsSinceSavedState;
+  private int eventsSinceGvtRequest;
+  private int reportedGvtEpoch;
+  private long sendMin;
+  private long fossilCollectedGvt;
+  private long numOfEventsExecuted;
+  private long numOfEventsRolledBack;
+  private long numOfRollbacks;
+  private long numOfEventsCommitted;
+
+  /**
+   * Constructor for option1.control.parallel.TimeWarpProcess class.
+   *
+   * @param engine         the engine that delivers messages and computes the GVT
+   * @param zone           the index of the zone simulated by this process
+   * @param rideFactories  the ride factories, shared read-only between zones
+   * @param driverRegistry the registry of every driver, shared between zones
+   * @param dictionary     the dictionary of names and locations, shared read-only between zones
+   * @param requestQueue   the zone's own request queue
+   * @param retainRides    true to keep the finished rides, false to only count them
+   * @param exporter       the exporter committed rides are exported to, shared between zones, or
+   *                       null
+   */
+  public TimeWarpProcess(TimeWarpEngine engine, Integer zone,
+      HashMap<Integer, RideFactory> rideFactories, DriverRegistry driverRegistry,
+      StringDictionary dictionary, RequestPriorityQueue<RideRequestEvent> requestQueue,
+      Boolean retainRides, RideExporter exporter) {
+    this.engine = engine;
+    this.zone = zone;
+    this.rideFactories = rideFactories;
+    this.driverRegistry = driverRegistry;
+    // Speculative events may be undone, so nothing is printed while processing them
+    // Events are never pooled: processed events are kept for rollback and may be re-processed
+    // Drivers and statistics are only updated once their events are committed
+    this.statistics = new RideStatistics();
+    this.eventVisitor = new RideEventVisitor(driverRegistry,
+        new ConsoleEventLogSink(EventLogLevel.OFF, dictionary),
+        new RideFinishedEventPool(Boolean.FALSE), this.statistics, Boolean.FALSE, null, null,
+        null, null);
+    this.pendingEvents = new IndexedDaryEventQueue<>();
+    this.pendingHandles = new HashMap<>();
+    this.pendingIds = new HashMap<>();
+    this.processedEvents = new ArrayList<>();
+    this.sentMessages = new ArrayList<>();
+    this.routingQueue = new ZoneRoutingEventQueue(this, zone, this.pendingEvents);
+    this.inbox = new LinkedBlockingQueue<>();
+    this.rideStore = new RideStore(retainRides);
+    this.exporter = exporter;
+    this.requestQueue = requestQueue;
+    this.driverQueue = new DriverQueue();
+    this.currentKey = Long.MIN_VALUE;
+    this.coasting = false;
+    this.nextMessageId = 0;
+    this.eventsSinceSavedState = 0;
+    this.eventsSinceGvtRequest = 0;
+    this.reportedGvtEpoch = 0;
+    this.sendMin = Long.MAX_VALUE;
+    this.fossilCollectedGvt = Long.MIN_VALUE;
+    this.numOfEventsExecuted = 0;
+    this.numOfEventsRolledBack = 0;
+    this.numOfRollbacks = 0;
+    this.numOfEventsCommitted = 0;
+  }
+
+  /**
+   * Adds an event to the zone's pending events before the simulation starts.
+   *
+   * @param event the event
+   */
+  public void addInitialEvent(Event event) {
+    insertPending(nextMessageId(), event);
+  }
+
+  /**
+   * Adds a driver to the zone's driver queue before the simulation starts.
+   *
+   * @param driverId the id of the driver
+   */
+  public void addInitialDriver(int driverId) {
+    this.driverQueue.enqueue(driverId);
+  }
+
+  /**
+   * Delivers a message from another zone. Safe to call from any thread.
+   *
+   * @param message the message
+   */
+  public void post(TimeWarpMessage message) {
+    this.inbox.add(message);
+  }
+
+  /**
+   * Runs the zone until the GVT reaches the end of time, that is until no event is left in any
+   * zone or in transit.
+   *
+   * @return nothing
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   * @throws InterruptedException thrown when the thread is interrupted while waiting for messages
+   */
+  @Override
+  public Void call() throws EmptyQueueException, InterruptedException {
+    TimeWarpMessage message = null;
+    while (true) {
+      if (message != null) {
+        receive(message);
+      }
+      receiveAll();
+      reportLocalMinimum();
+      long gvt = this.engine.getGvt();
+      if (gvt == Long.MAX_VALUE) {
+        commitRides(this.processedEvents.size());
+        this.numOfEventsCommitted += this.processedEvents.size();
+        this.processedEvents.clear();
+        this.sentMessages.clear();
+        return null;
+      }
+      if (gvt > this.fossilCollectedGvt) {
+        fossilCollect(gvt);
+      }
+      if (this.pendingEvents.isQueueEmpty()) {
+        // Nothing to do until a message arrives, asks for a GVT so termination is detected
+        this.engine.requestGvt();
+        message = this.inbox.poll(IDLE_WAIT_MICROS, TimeUnit.MICROSECONDS);
+        continue;
+      }
+      message = null;
+      processNextEvent();
+      if (++this.eventsSinceGvtRequest >= GVT_INTERVAL) {
+        this.eventsSinceGvtRequest = 0;
+        this.engine.requestGvt();
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedException();
+      }
+    }
+  }
+
+  /**
+   * Routes an event enqueued by the visitor of this zone. Events that take effect in this zone are
+   * added to its pending events, the others are sent to their zone. Nothing is sent while coasting
+   * forward, since the events were already sent when they were first processed.
+   *
+   * @param sender the index of the zone that enqueued the event
+   * @param event  the event
+   */
+  @Override
+  public void route(Integer sender, Event event) {
+    if (this.coasting) {
+      return;
+    }
+    long id = nextMessageId();
+    long eventKey = event.getEventTick();
+    int receiver = this.engine.zoneOf(event);
+    this.sentMessages.add(new SentMessage(id, this.currentKey, receiver, eventKey));
+    if (receiver == this.zone) {
+      insertPending(id, event);
+    } else {
+      this.engine.post(receiver, TimeWarpMessage.positive(id, this.zone, eventKey, event));
+      recordSend(eventKey);
+    }
+  }
+
+  /**
+   * Helper method. Receives every message already delivered.
+   *
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void receiveAll() throws EmptyQueueException {
+    TimeWarpMessage message = this.inbox.poll();
+    while (message != null) {
+      receive(message);
+      message = this.inbox.poll();
+    }
+  }
+
+  /**
+   * Helper method. Receives a message. A straggler rolls the zone back to its eventTime before it
+   * is added to the pending events. An anti-message removes its positive message from the pending
+   * events, rolling the zone back first if the event was already processed.
+   *
+   * @param message the message
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void receive(TimeWarpMessage message) throws EmptyQueueException {
+    long eventKey = message.getEventKey();
+    if (message.isAntiMessage()) {
+      if (!this.pendingHandles.containsKey(message.getId())) {
+        rollback(eventKey);
+      }
+      cancelPending(message.getId());
+      return;
+    }
+    if (!this.processedEvents.isEmpty()
+        && this.processedEvents.get(this.processedEvents.size() - 1).key >= eventKey) {
+      // Events at the same instant as the straggler may be ordered after it, so they are undone
+      rollback(eventKey);
+    }
+    insertPending(message.getId(), message.getEvent());
+  }
+
+  /**
+   * Helper method. Processes the earliest pending event, saving the state of the zone beforehand
+   * if enough events were processed since the last saved state.
+   *
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void processNextEvent() throws EmptyQueueException {
+    long id = this.pendingIds.remove(this.pendingEvents.peekHandle());
+    this.pendingHandles.remove(id);
+    Event event = this.pendingEvents.dequeue();
+    StateSnapshot state = null;
+    // The first processed event always has a saved state, so any rollback can be restored
+    if (this.processedEvents.isEmpty() || this.eventsSinceSavedState >= STATE_SAVING_INTERVAL) {
+      state = new StateSnapshot(this.driverQueue, this.requestQueue, this.rideStore.size());
+      this.eventsSinceSavedState = 0;
+    }
+    long key = event.getEventTick();
+    this.processedEvents.add(new ProcessedEvent(id, key, event, state));
+    this.eventsSinceSavedState++;
+    execute(event, key);
+    this.numOfEventsExecuted++;
+  }
+
+  /**
+   * Helper method. Runs the visitor on the given event.
+   *
+   * @param event the event
+   * @param key   the eventTime of the event, in ticks since the epoch
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void execute(Event event, long key) throws EmptyQueueException {
+    this.currentKey = key;
+    event.accept(this.eventVisitor, this.rideFactories, this.routingQueue, this.requestQueue,
+        this.driverQueue, this.rideStore);
+  }
+
+  /**
+   * Helper method. Undoes every processed event at or after the given time. The last state saved
+   * at or before the first undone event is restored, the events processed between that state and
+   * the first undone event are re-processed without sending anything, and the events sent by the
+   * undone events are cancelled.
+   *
+   * @param time the time to roll back to, in ticks since the epoch
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void rollback(long time) throws EmptyQueueException {
+    int end = this.processedEvents.size();
+    int first = end;
+    while (first > 0 && this.processedEvents.get(first - 1).key >= time) {
+      first--;
+    }
+    if (first == end) {
+      return;
+    }
+    this.numOfRollbacks++;
+    this.numOfEventsRolledBack += end - first;
+    int saved = first;
+    while (this.processedEvents.get(saved).state == null) {
+      saved--;
+    }
+    restoreState(this.processedEvents.get(saved).state);
+    for (int i = end - 1; i >= first; i--) {
+      ProcessedEvent undone = this.processedEvents.remove(i);
+      insertPending(undone.id, undone.event);
+    }
+    // Coasts forward from the saved state to the first undone event
+    this.coasting = true;
+    try {
+      for (int i = saved; i < first; i++) {
+        execute(this.processedEvents.get(i).event, this.processedEvents.get(i).key);
+      }
+    } finally {
+      this.coasting = false;
+    }
+    this.eventsSinceSavedState = first - saved;
+    // Cancels the events sent by the undone events
+    int kept = this.sentMessages.size();
+    while (kept > 0 && this.sentMessages.get(kept - 1).sendKey >= time) {
+      kept--;
+    }
+    for (int i = kept; i < this.sentMessages.size(); i++) {
+      SentMessage sent = this.sentMessages.get(i);
+      if (sent.receiver == this.zone) {
+        cancelPending(sent.id);
+      } else {
+        this.engine.post(sent.receiver, TimeWarpMessage.anti(sent.id, this.zone, sent.eventKey));
+        recordSend(sent.eventKey);
+      }
+    }
+    this.sentMessages.subList(kept, this.sentMessages.size()).clear();
+  }
+
+  /**
+   * Helper method. Replaces the state of the zone with a copy of the given saved state, so that
+   * the saved state can be restored again later.
+   *
+   * @param state the saved state
+   */
+  private void restoreState(StateSnapshot state) {
+    this.driverQueue = new DriverQueue(state.drivers);
+    this.requestQueue = new RequestPriorityQueue<>(state.requests);
+    this.rideStore.truncate(state.numOfRides);
+  }
+
+  /**
+   * Helper method. Commits the processed events that can no longer be rolled back: those before
+   * the given GVT, up to the last saved state before the GVT. Messages sent before the GVT can no
+   * longer be cancelled and are forgotten.
+   *
+   * @param gvt the global virtual time, in ticks since the epoch
+   */
+  private void fossilCollect(long gvt) {
+    int committed = 0;
+    for (int i = 1; i <= this.processedEvents.size()
+        && this.processedEvents.get(i - 1).key < gvt; i++) {
+      if (i == this.processedEvents.size() || this.processedEvents.get(i).state != null) {
+        committed = i;
+      }
+    }
+    commitRides(committed);
+    this.processedEvents.subList(0, committed).clear();
+    this.numOfEventsCommitted += committed;
+    int forgotten = 0;
+    while (forgotten < this.sentMessages.size()
+        && this.sentMessages.get(forgotten).sendKey < gvt) {
+      forgotten++;
+    }
+    this.sentMessages.subList(0, forgotten).clear();
+    this.fossilCollectedGvt = gvt;
+  }
+
+  /**
+   * Helper method. Records the rides finished by the given number of committed events, the first
+   * processed events, in the driver registry and the zone's statistics, and exports them. Zones
+   * commit concurrently and a driver may finish rides in several zones, so the registry is locked
+   * while the rides are recorded.
+   *
+   * @param numOfCommitted the number of committed events
+   */
+  private void commitRides(int numOfCommitted) {
+    synchronized (this.driverRegistry) {
+      for (int i = 0; i < numOfCommitted; i++) {
+        Event event = this.processedEvents.get(i).event;
+        if (event instanceof RideFinishedEvent) {
+          RideFinishedEvent ride = (RideFinishedEvent) event;
+          if (this.exporter != null) {
+            this.exporter.export(ride.getDriverId(),
+                this.driverRegistry.getNumOfRidesFinished(ride.getDriverId()),
+                ride.getCustomerId(), ride.getStartingLocationId(), ride.getDesiredLocationId(),
+                ride.getRequestTick(), ride.getDepartureTick(), ride.getEventTick(),
+                ride.getRideDistance(), ride.getPriority());
+          }
+          this.driverRegistry.startRide(ride.getDriverId(), ride.getEventTick());
+          this.driverRegistry.finishRide(ride.getDriverId(), ride.getRideLength());
+          this.statistics.record(ride.getPriority(),
+              ride.getDepartureTick() - ride.getRequestTick(), ride.getRideLength());
+        }
+      }
+    }
+  }
+
+  /**
+   * Helper method. Reports the local minimum of this zone to the engine if a GVT computation is in
+   * progress and this zone has not reported yet. Messages are received before the epoch is read
+   * again, so every message sent before the computation started is accounted for either here or
+   * by its sender.
+   *
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private void reportLocalMinimum() throws EmptyQueueException {
+    int epoch = this.engine.getGvtEpoch();
+    if (!TimeWarpEngine.isGvtInProgress(epoch) || epoch == this.reportedGvtEpoch) {
+      return;
+    }
+    receiveAll();
+    long localMin = this.sendMin;
+    Event next = this.pendingEvents.peek();
+    if (next != null) {
+      localMin = Math.min(localMin, next.getEventTick());
+    }
+    this.reportedGvtEpoch = epoch;
+    this.sendMin = Long.MAX_VALUE;
+    this.engine.reportLocalMinimum(this.zone, localMin);
+  }
+
+  /**
+   * Helper method. Records a message sent to another zone while a GVT computation is in progress
+   * and this zone has not reported yet, since the receiver may have reported already. Called after
+   * the message is delivered.
+   *
+   * @param eventKey the eventTime of the sent or cancelled event, in ticks since the epoch
+   */
+  private void recordSend(long eventKey) {
+    int epoch = this.engine.getGvtEpoch();
+    if (TimeWarpEngine.isGvtInProgress(epoch) && epoch != this.reportedGvtEpoch) {
+      this.sendMin = Math.min(this.sendMin, eventKey);
+    }
+  }
+
+  /**
+   * Helper method. Adds an event to the pending events under the id of its message.
+   *
+   * @param id    the id of the message
+   * @param event the event
+   */
+  private void insertPending(long id, Event event) {
+    long handle = this.pendingEvents.schedule(event, tieOrder(id, event));
+    this.pendingHandles.put(id, handle);
+    this.pendingIds.put(handle, id);
+  }
+
+  /**
+   * Helper method. Gets the order of an event among the pending events with the same eventTime.
+   * Messages arrive in an order that depends on thread timing, and the ids of routed events depend
+   * on how often their sender rolled back, so neither can break ties reproducibly. Requests are
+   * only added before the simulation starts, and are ordered by their id, that is the order they
+   * were added in. Finished rides are ordered after them by driver id, since a driver finishes at
+   * most one ride at a time.
+   *
+   * @param id    the id of the message
+   * @param event the event
+   * @return the tie-break order of the event
+   */
+  private static long tieOrder(long id, Event event) {
+    if (event instanceof RideFinishedEvent) {
+      return FINISHED_RIDE_ORDER | ((RideFinishedEvent) event).getDriverId();
+    }
+    return id;
+  }
+
+  /**
+   * Helper method. Removes the event of the message with the given id from the pending events.
+   *
+   * @param id the id of the message
+   */
+  private void cancelPending(long id) {
+    Long handle = this.pendingHandles.remove(id);
+    this.pendingIds.remove(handle);
+    this.pendingEvents.cancel(handle);
+  }
+
+  /**
+   * Helper method. Gets a message id that is unique across zones.
+   *
+   * @return a new message id
+   */
+  private long nextMessageId() {
+    return ((long) this.zone << ID_ZONE_SHIFT) | this.nextMessageId++;
+  }
+
+
+  /**
+   * Gets the rides finished in this zone.
+   *
+   * @return the rides finished in this zone
+   */
+  public RideStore getRideStore() {
+    return rideStore;
+  }
+
+  /**
+   * Gets the statistics of the rides committed in this zone.
+   *
+   * @return the statistics of the rides committed in this zone
+   */
+  public RideStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Gets the drivers waiting in this zone.
+   *
+   * @return the drivers waiting in this zone
+   */
+  public DriverQueue getDriverQueue() {
+    return driverQueue;
+  }
+
+  /**
+   * Gets the number of requests still waiting for a driver in this zone.
+   *
+   * @return the number of requests still waiting for a driver
+   */
+  public Integer getNumOfWaitingRequests() {
+    return this.requestQueue.getNumOfRequests();
+  }
+
+  /**
+   * Gets the number of events processed by this zone, including the events later rolled back but
+   * not the events re-processed while coasting forward.
+   *
+   * @return the number of events processed by this zone
+   */
+  public long getNumOfEventsExecuted() {
+    return numOfEventsExecuted;
+  }
+
+  /**
+   * Gets the number of events undone by rollbacks in this zone.
+   *
+   * @return the number of events undone by rollbacks
+   */
+  public long getNumOfEventsRolledBack() {
+    return numOfEventsRolledBack;
+  }
+
+  /**
+   * Gets the number of rollbacks in this zone.
+   *
+   * @return the number of rollbacks
+   */
+  public long getNumOfRollbacks() {
+    return numOfRollbacks;
+  }
+
+  /**
+   * Gets the number of events committed by this zone.
+   *
+   * @return the number of events committed
+   */
+  public long getNumOfEventsCommitted() {
+    return numOfEventsCommitted;
+  }
+
+  /**
+   * ProcessedEvent class, representing an event processed by the zone that may still be rolled
+   * back.
+   */
+  private static final class ProcessedEvent {
+
+    private final long id;
+    private final long key;
+    private final Event event;
+    private final StateSnapshot state;
+
+    /**
+     * Constructor for ProcessedEvent class.
+     *
+     * @param id    the id of the message that carried the event
+     * @param key   the eventTime of the event, in ticks since the epoch
+     * @param event the event
+     * @param state the state of the zone before the event was processed, or null if not saved
+     */
+    private ProcessedEvent(long id, long key, Event event, StateSnapshot state) {
+      this.id = id;
+      this.key = key;
+      this.event = event;
+      this.state = state;
+    }
+  }
+
+  /**
+   * SentMessage class, representing an event sent by the zone that may still be cancelled.
+   */
+  private static final class SentMessage {
+
+    private final long id;
+    private final long sendKey;
+    private final int receiver;
+    private final long eventKey;
+
+    /**
+     * Constructor for SentMessage class.
+     *
+     * @param id       the id of the message
+     * @param sendKey  the eventTime of the event that sent it, in ticks since the epoch
+     * @param receiver the index of the receiving zone
+     * @param eventKey the eventTime of the sent event, in ticks since the epoch
+     */
+    private SentMessage(long id, long sendKey, int receiver, long eventKey) {
+      this.id = id;
+      this.sendKey = sendKey;
+      this.receiver = receiver;
+      this.eventKey = eventKey;
+    }
+  }
+
+  /**
+   * StateSnapshot class, representing a copy of the state of the zone. Requests are never modified
+   * once created and drivers are not updated by speculative events, so copying the queues is
+   * enough.
+   */
+  private static final class StateSnapshot {
+
+    private final DriverQueue drivers;
+    private final RequestPriorityQueue<RideRequestEvent> requests;
+    private final int numOfRides;
+
+    /**
+     * Constructor for StateSnapshot class.
+     *
+     * @param drivers    the driver queue to copy
+     * @param requests   the request queue to copy
+     * @param numOfRides the number of finished rides
+     */
+    private StateSnapshot(DriverQueue drivers, RequestPriorityQueue<RideRequestEvent> requests,
+        int numOfRides) {
+      this.drivers = new DriverQueue(drivers);
+      this.requests = new RequestPriorityQueue<>(requests);
+      this.numOfRides = numOfRides;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package sim.control.parallel;
+
+import sim.model.event.Event;
+
+/**
+ * ZoneMessage class, representing a message sent from one zone to another. A message either
+ * carries an event that takes effect in the receiving zone, or is a null message that only carries
+ * the sender's promise: the sender will not send any event earlier than the promised time.
+ */
+public final class ZoneMessage {
+
+  private static final long NO_PROMISE = Long.MIN_VALUE;
+
+  private final Integer sender;
+  private final long promise;
+  private final Event event;
+
+  /**
+   * Constructor for option1.control.parallel.ZoneMessage class.
+   *
+   * @param sender  the index of the sending zone
+   * @param promise the earliest time, in ticks since the epoch, of any future event sent by
+   *                the sender
+   * @param event   the event carried by the message, null for a null message
+   */
+  private ZoneMessage(Integer sender, long promise, Event event) {
+    this.sender = sender;
+    this.promise = promise;
+    this.event = event;
+  }
+
+  /**
+   * Creates a message that carries an event.
+   *
+   * @param sender the index of the sending zone
+   * @param event  the event carried by the message
+   * @return a message that carries the event
+   */
+  public static ZoneMessage ofEvent(Integer sender, Event event) {
+    return new ZoneMessage(sender, NO_PROMISE, event);
+  }
+
+  /**
+   * Creates a null message.
+   *
+   * @param sender  the index of the sending zone
+   * @param promise the earliest time, in ticks since the epoch, of any future event sent by
+   *                the sender
+   * @return a null message
+   */
+  public static ZoneMessage ofPromise(Integer sender, long promise) {
+    return new ZoneMessage(sender, promise, null);
+  }
+
+  /**
+   * Gets the index of the sending zone.
+   *
+   * @return the index of the sending zone
+   */
+  public Integer getSender() {
+    return sender;
+  }
+
+  /**
+   * Gets the promise of the sender, in ticks since the epoch.
+   *
+   * @return the promise of the sender
+   */
+  public long getPromise() {
+    return promise;
+  }
+
+  /**
+   * Gets the event carried by the message.
+   *
+   * @return the event carried by the message, null for a null message
+   */
+  public Event getEvent() {
+    return event;
+  }
+
+  /**
+   * Checks if the message is a null message.
+   *
+   * @return true if the message carries no event, false otherwise
+   */
+  public Boolean isNullMessage() {
+    return event == null;
+  }
+
+  @Override
+  public String toString() {
+    return "ZoneMessage{" +
+        "sender=" + sender +
+        ", promise=" + promise +
+        ", event=" + event +
+        '}';
+  }
+}
@@ -0,0 +1,67 @@
+package sim.control.parallel;
+
+import sim.model.data.StringDictionary;
+
+/**
+ * ZonePartitioner class, assigns customers and drivers to the geographic zones of a parallel
+ * simulation. A location always belongs to the same zone, so a ride request is handled by the zone
+ * of its starting location and a finished ride leaves its driver in the zone of its desired
+ * location. Locations are assigned to zones by the hash of their address, so the partition does not
+ * depend on the order the addresses were encoded in. Drivers are never handed over between zones,
+ * so a zone may be left with requests that no driver reaches; the SimDirector fails such a run.
+ */
+public final class ZonePartitioner {
+
+  private final Integer numOfZones;
+  private final StringDictionary dictionary;
+
+  /**
+   * Constructor for option1.control.parallel.ZonePartitioner class.
+   *
+   * @param numOfZones the number of zones
+   * @param dictionary the dictionary the locations are encoded in
+   */
+  public ZonePartitioner(Integer numOfZones, StringDictionary dictionary) {
+    if (numOfZones <= 0) {
+      throw new IllegalArgumentException("Number of zones must be a positive number.");
+    }
+    this.numOfZones = numOfZones;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Gets the number of zones.
+   *
+   * @return the number of zones
+   */
+  public Integer getNumOfZones() {
+    return numOfZones;
+  }
+
+  /**
+   * Gets the zone that contains the given location.
+   *
+   * @param locationId the dictionary id of the given location
+   * @return the index of the zone
+   */
+  public int zoneOfLocation(int locationId) {
+    return Math.floorMod(this.dictionary.decode(locationId).hashCode(), this.numOfZones);
+  }
+
+  /**
+   * Gets the zone a driver starts in. Drivers are spread over the zones in round-robin order.
+   *
+   * @param driverIndex the position of the driver in the initial driver queue
+   * @return the index of the zone
+   */
+  public int zoneOfDriver(int driverIndex) {
+    return driverIndex % this.numOfZones;
+  }
+
+  @Override
+  public String toString() {
+    return "ZonePartitioner{" +
+        "numOfZones=" + numOfZones +
+        '}';
+  }
+}
@@ -0,0 +1,86 @@
+package sim.control.parallel;
+
+import java.util.function.Consumer;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+import sim.model.queue.EventQueue;
+
+/**
+ * ZoneRoutingEventQueue class, representing the event queue seen by the visitor of a zone. Events
+ * are dequeued from the zone's own event queue, while every enqueued event is routed by the router
+ * to the zone where it takes effect: the zone of its desired location. A finished ride therefore
+ * hands its driver over to the zone where the ride ends.
+ */
+public final class ZoneRoutingEventQueue implements EventQueue<Event> {
+
+  private final EventRouter router;
+  private final Integer zone;
+  private final EventQueue<Event> localQueue;
+
+  /**
+   * Constructor for option1.control.parallel.ZoneRoutingEventQueue class.
+   *
+   * @param router     the router that delivers the enqueued events
+   * @param zone       the index of the zone that owns this queue
+   * @param localQueue the zone's own event queue
+   */
+  public ZoneRoutingEventQueue(EventRouter router, Integer zone,
+      EventQueue<Event> localQueue) {
+    this.router = router;
+    this.zone = zone;
+    this.localQueue = localQueue;
+  }
+
+  /**
+   * Routes the given event to the zone of its desired location.
+   *
+   * @param event the given event.
+   */
+  @Override
+  public void enqueue(Event event) {
+    this.router.route(this.zone, event);
+  }
+
+  /**
+   * Passes every event of the zone's own event queue to the given sink, in the order of that
+   * queue. Arrivals are placed in the zone of their starting location rather than routed, so the
+   * zone is rebuilt by enqueuing the events into its own event queue, not into this one.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  @Override
+  public void forEachQueued(Consumer<? super Event> sink) {
+    this.localQueue.forEachQueued(sink);
+  }
+
+  /**
+   * Dequeues the event with the highest priority from the zone's own event queue.
+   *
+   * @return the event with the highest priority.
+   * @throws EmptyQueueException throws EmptyQueueException when the zone's queue is empty
+   */
+  @Override
+  public Event dequeue() throws EmptyQueueException {
+    return this.localQueue.dequeue();
+  }
+
+  /**
+   * Gets the event with the highest priority in the zone's own event queue without removing it.
+   *
+   * @return the event with the highest priority, or null if the zone's queue is empty
+   */
+  @Override
+  public Event peek() {
+    return this.localQueue.peek();
+  }
+
+  /**
+   * Checks if the zone's own event queue is empty.
+   *
+   * @return true if the zone's queue is empty, false otherwise
+   */
+  @Override
+  public Boolean isQueueEmpty() {
+    return this.localQueue.isQueueEmpty();
+  }
+}
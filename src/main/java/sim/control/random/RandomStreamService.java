@@ -0,0 +1,101 @@
+package sim.control.random;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import sim.model.type.RandomStreamType;
+
+/**
+ * RandomStreamService class, hands out one independent random stream per purpose. The streams are
+ * cut from a single xoroshiro128++ sequence seeded by the user: each substream, for example one
+ * replication, starts 2^96 steps after the previous one, and within a substream each purpose
+ * starts 2^64 steps after the previous one. Streams therefore never overlap, and a run is fully
+ * determined by the seed and its substream index.
+ */
+public final class RandomStreamService {
+
+  private final Long seed;
+  private final Integer substream;
+  private final EnumMap<RandomStreamType, Xoroshiro128PlusPlus> streams;
+
+  /**
+   * Constructor for option1.control.random.RandomStreamService class.
+   *
+   * @param seed      the seed shared by every substream
+   * @param substream the index of the substream, for example the index of a replication
+   */
+  public RandomStreamService(Long seed, Integer substream) {
+    if (substream < 0) {
+      throw new IllegalArgumentException("Substream must not be negative.");
+    }
+    this.seed = seed;
+    this.substream = substream;
+    this.streams = new EnumMap<>(RandomStreamType.class);
+    Xoroshiro128PlusPlus generator = new Xoroshiro128PlusPlus(seed);
+    for (int i = 0; i < substream; i++) {
+      generator.leap();
+    }
+    for (RandomStreamType type : RandomStreamType.values()) {
+      this.streams.put(type, generator.copy());
+      generator.jump();
+    }
+  }
+
+  /**
+   * Gets the random stream of the given purpose.
+   *
+   * @param type the purpose
+   * @return the random stream of the purpose
+   */
+  public Xoroshiro128PlusPlus getStream(RandomStreamType type) {
+    return this.streams.get(type);
+  }
+
+  /**
+   * Writes the state of every stream, in the order of the purposes, so that the streams can be
+   * restored with readState.
+   *
+   * @param out the output the states are written to
+   * @throws IOException if the states cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    for (RandomStreamType type : RandomStreamType.values()) {
+      long[] state = this.streams.get(type).getState();
+      out.writeLong(state[0]);
+      out.writeLong(state[1]);
+    }
+  }
+
+  /**
+   * Replaces the state of every stream with a state written by writeState. The streams are
+   * restored in place, so that the code already holding them draws the numbers that follow the
+   * restored states.
+   *
+   * @param in the input the states are read from
+   * @throws IOException if the states cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    for (RandomStreamType type : RandomStreamType.values()) {
+      this.streams.get(type).setState(new long[]{in.readLong(), in.readLong()});
+    }
+  }
+
+  /**
+   * Gets the seed shared by every substream.
+   *
+   * @return the seed
+   */
+  public Long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the index of the substream.
+   *
+   * @return the index of the substream
+   */
+  public Integer getSubstream() {
+    return substream;
+  }
+}
@@ -0,0 +1,186 @@
+package sim.control.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Xoroshiro128PlusPlus class, the xoroshiro128++ pseudo-random number generator of Blackman and
+ * Vigna. It has a period of 2^128 - 1 and only two longs of state, which can be read and restored
+ * so that a simulation can be checkpointed and resumed with the same random numbers.
+ *
+ * <p>The generator can jump ahead by 2^64 steps and leap ahead by 2^96 steps, which splits its
+ * period into streams that are guaranteed not to overlap.
+ */
+public final class Xoroshiro128PlusPlus implements RandomGenerator.LeapableGenerator {
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final long[] JUMP = {0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L};
+  private static final long[] LONG_JUMP = {0x360fd5f2cf8d5d99L, 0x9c6e6877736c46e3L};
+  private static final double JUMP_DISTANCE = 0x1.0p64;
+  private static final double LEAP_DISTANCE = 0x1.0p96;
+
+  private long s0;
+  private long s1;
+
+  /**
+   * Constructor for option1.control.random.Xoroshiro128PlusPlus class. The state is initialized
+   * from the given seed with SplitMix64, so that close seeds give unrelated states.
+   *
+   * @param seed the seed
+   */
+  public Xoroshiro128PlusPlus(long seed) {
+    this.s0 = mix(seed + GOLDEN_GAMMA);
+    this.s1 = mix(seed + 2 * GOLDEN_GAMMA);
+    if ((this.s0 | this.s1) == 0) {
+      this.s0 = GOLDEN_GAMMA; // the all-zero state is a fixed point
+    }
+  }
+
+  /**
+   * Constructor for option1.control.random.Xoroshiro128PlusPlus class, with the given state.
+   *
+   * @param s0 the first long of the state
+   * @param s1 the second long of the state
+   */
+  private Xoroshiro128PlusPlus(long s0, long s1) {
+    this.s0 = s0;
+    this.s1 = s1;
+  }
+
+  /**
+   * Creates a generator with the given state, as returned by {@link #getState()}.
+   *
+   * @param state the state, two longs not both zero
+   * @return a generator with the given state
+   */
+  public static Xoroshiro128PlusPlus fromState(long[] state) {
+    checkState(state);
+    return new Xoroshiro128PlusPlus(state[0], state[1]);
+  }
+
+  /**
+   * Replaces the state of the generator with the given state, as returned by {@link #getState()},
+   * so that code holding the generator draws the numbers that follow that state.
+   *
+   * @param state the state, two longs not both zero
+   */
+  public void setState(long[] state) {
+    checkState(state);
+    this.s0 = state[0];
+    this.s1 = state[1];
+  }
+
+  /**
+   * Gets a copy of the state of the generator.
+   *
+   * @return the state of the generator
+   */
+  public long[] getState() {
+    return new long[]{this.s0, this.s1};
+  }
+
+  /**
+   * Gets the next pseudo-random long.
+   *
+   * @return the next pseudo-random long
+   */
+  @Override
+  public long nextLong() {
+    long first = this.s0;
+    long second = this.s1;
+    long result = Long.rotateLeft(first + second, 17) + first;
+    second ^= first;
+    this.s0 = Long.rotateLeft(first, 49) ^ second ^ (second << 21);
+    this.s1 = Long.rotateLeft(second, 28);
+    return result;
+  }
+
+  /**
+   * Creates a generator with the same state as this one.
+   *
+   * @return a copy of this generator
+   */
+  @Override
+  public Xoroshiro128PlusPlus copy() {
+    return new Xoroshiro128PlusPlus(this.s0, this.s1);
+  }
+
+  /**
+   * Advances the generator by 2^64 steps.
+   */
+  @Override
+  public void jump() {
+    advance(JUMP);
+  }
+
+  /**
+   * Advances the generator by 2^96 steps.
+   */
+  @Override
+  public void leap() {
+    advance(LONG_JUMP);
+  }
+
+  /**
+   * Gets the number of steps of a jump.
+   *
+   * @return 2^64
+   */
+  @Override
+  public double jumpDistance() {
+    return JUMP_DISTANCE;
+  }
+
+  /**
+   * Gets the number of steps of a leap.
+   *
+   * @return 2^96
+   */
+  @Override
+  public double leapDistance() {
+    return LEAP_DISTANCE;
+  }
+
+  /**
+   * Helper method. Advances the generator by the distance encoded in the given polynomial.
+   *
+   * @param polynomial the jump polynomial
+   */
+  private void advance(long[] polynomial) {
+    long next0 = 0;
+    long next1 = 0;
+    for (long word : polynomial) {
+      for (int bit = 0; bit < Long.SIZE; bit++) {
+        if ((word & (1L << bit)) != 0) {
+          next0 ^= this.s0;
+          next1 ^= this.s1;
+        }
+        nextLong();
+      }
+    }
+    this.s0 = next0;
+    this.s1 = next1;
+  }
+
+  /**
+   * Helper method. Checks that the given state is a valid state of the generator.
+   *
+   * @param state the state
+   */
+  private static void checkState(long[] state) {
+    if (state.length != 2 || (state[0] | state[1]) == 0) {
+      throw new IllegalArgumentException("State must be two longs, not both zero.");
+    }
+  }
+
+  /**
+   * Helper method. The SplitMix64 finalizer.
+   *
+   * @param z the value to mix
+   * @return the mixed value
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,149 @@
+package sim.control.sweep;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import sim.control.exception.EmptyQueueException;
+import sim.control.mediator.SimConfig;
+import sim.control.mediator.SimDirector;
+import sim.model.data.MockDataGenerator;
+import sim.model.result.SimResult;
+import sim.model.type.SweepParameterType;
+
+/**
+ * ParameterSweepRunner class, runs the cells of a parameter sweep in parallel, one SimDirector per
+ * cell, and writes one CSV row per cell as soon as the cell finishes. Cells are started from the
+ * most to the least expensive, so that a long cell does not start last and leave the other cores
+ * idle at the end of the sweep. The mock data is generated once and shared read-only by every
+ * cell. Only the addresses of a request log are encoded while a cell runs, so when one is given
+ * every cell is handed its own copy of the mock data instead, and the addresses get the same ids
+ * whichever cells run beside it.
+ */
+public final class ParameterSweepRunner {
+
+  private static final String CSV_SEPARATOR = ",";
+
+  private final SimConfig baseConfig;
+  private final MockDataGenerator mockDataGenerator;
+  private final Integer numOfThreads;
+
+  /**
+   * Constructor for option1.control.sweep.ParameterSweepRunner class. Ride messages are never
+   * printed, event traces and rides are never written, and checkpoints are neither written nor
+   * resumed by the cells, whatever the options say.
+   *
+   * @param baseConfig   the options shared by every cell
+   * @param numOfThreads the number of cells run at the same time
+   */
+  public ParameterSweepRunner(SimConfig baseConfig, Integer numOfThreads) {
+    this.baseConfig = new SimConfig(baseConfig);
+    this.baseConfig.setPrintMessages(Boolean.FALSE);
+    this.baseConfig.setTraceFile(null);
+    this.baseConfig.setCsvExportFile(null);
+    this.baseConfig.setColumnarExportFile(null);
+    this.baseConfig.setCheckpointTime(null);
+    this.baseConfig.setResumeFile(null);
+    this.mockDataGenerator = new MockDataGenerator(this.baseConfig.getMockDataFile(),
+        this.baseConfig.getMockDataCache());
+    this.mockDataGenerator.generate();
+    if (this.baseConfig.getRequestLogFile() == null) {
+      this.mockDataGenerator.getDictionary().setReadOnly();
+    }
+    this.numOfThreads = numOfThreads;
+  }
+
+  /**
+   * Runs the given cells and writes their results to the given CSV file, one row per cell in the
+   * order the cells finish.
+   *
+   * @param cells      the cells of the sweep
+   * @param outputPath the path of the CSV file
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  public void run(List<SweepCell> cells, String outputPath) throws EmptyQueueException {
+    List<SweepCell> schedule = new ArrayList<>(cells);
+    schedule.sort(Comparator.comparing(SweepCell::estimateCost).reversed());
+    ExecutorService executor = Executors.newFixedThreadPool(this.numOfThreads);
+    CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
+      writer.write(header());
+      writer.newLine();
+      writer.flush();
+      for (SweepCell cell : schedule) {
+        completionService.submit(() -> runCell(cell));
+      }
+      for (int i = 0; i < schedule.size(); i++) {
+        writer.write(completionService.take().get());
+        writer.newLine();
+        writer.flush();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof EmptyQueueException) {
+        throw (EmptyQueueException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Helper method. Runs one cell and formats its CSV row.
+   *
+   * @param cell the cell
+   * @return the CSV row of the cell
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private String runCell(SweepCell cell) throws EmptyQueueException {
+    long start = System.nanoTime();
+    // Every cell shares the seed of the base options: cells are compared on common random numbers
+    MockDataGenerator mockData = this.mockDataGenerator.getDictionary().isReadOnly()
+        ? this.mockDataGenerator : new MockDataGenerator(this.mockDataGenerator);
+    SimResult result = new SimDirector(cell.createConfig(this.baseConfig), mockData)
+        .simulate(cell.getNumOfDrivers(), cell.getNumOfCustomers());
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    StringBuilder row = new StringBuilder();
+    row.append(cell.getIndex());
+    for (SweepParameterType type : SweepParameterType.values()) {
+      row.append(CSV_SEPARATOR).append(cell.formatValue(type));
+    }
+    row.append(CSV_SEPARATOR).append(result.getTotalNumOfRidesServed())
+        .append(CSV_SEPARATOR).append(String.format(Locale.ROOT, "%.2f",
+            result.getAverageWaitingTime()))
+        .append(CSV_SEPARATOR).append(String.format(Locale.ROOT, "%.4f",
+            result.getAverageNumOfRidesPerDriver()))
+        .append(CSV_SEPARATOR).append(elapsedMillis);
+    return row.toString();
+  }
+
+  /**
+   * Helper method. Gets the header row of the CSV file.
+   *
+   * @return the header row
+   */
+  private static String header() {
+    StringBuilder header = new StringBuilder("cell");
+    for (SweepParameterType type : SweepParameterType.values()) {
+      header.append(CSV_SEPARATOR).append(type.getOptionName());
+    }
+    return header.append(CSV_SEPARATOR).append("rides-served")
+        .append(CSV_SEPARATOR).append("average-wait-seconds")
+        .append(CSV_SEPARATOR).append("average-rides-per-driver")
+        .append(CSV_SEPARATOR).append("elapsed-millis")
+        .toString();
+  }
+}
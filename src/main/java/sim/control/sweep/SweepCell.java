@@ -0,0 +1,134 @@
+package sim.control.sweep;
+
+import java.util.EnumMap;
+import java.util.Objects;
+import sim.control.mediator.SimConfig;
+import sim.model.type.SweepParameterType;
+
+/**
+ * SweepCell class, representing one simulation run of a parameter sweep: a value for every sweep
+ * parameter.
+ */
+public final class SweepCell {
+
+  private final Integer index;
+  private final EnumMap<SweepParameterType, Double> values;
+
+  /**
+   * Constructor for option1.control.sweep.SweepCell class.
+   *
+   * @param index  the index of the cell in the sweep definition
+   * @param values the value of every sweep parameter
+   */
+  public SweepCell(Integer index, EnumMap<SweepParameterType, Double> values) {
+    for (SweepParameterType type : SweepParameterType.values()) {
+      if (!values.containsKey(type)) {
+        throw new IllegalArgumentException("Missing value for " + type.getOptionName());
+      }
+    }
+    this.index = index;
+    this.values = new EnumMap<>(values);
+  }
+
+  /**
+   * Gets the index of the cell in the sweep definition.
+   *
+   * @return the index of the cell
+   */
+  public Integer getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the value of the given sweep parameter.
+   *
+   * @param type the sweep parameter
+   * @return the value of the parameter
+   */
+  public Double getValue(SweepParameterType type) {
+    return this.values.get(type);
+  }
+
+  /**
+   * Gets the value of the given sweep parameter as written on the command line: without decimals
+   * for integer parameters.
+   *
+   * @param type the sweep parameter
+   * @return the formatted value of the parameter
+   */
+  public String formatValue(SweepParameterType type) {
+    double value = this.values.get(type);
+    return type.isInteger() ? Long.toString(Math.round(value)) : Double.toString(value);
+  }
+
+  /**
+   * Gets the number of drivers of the cell.
+   *
+   * @return the number of drivers
+   */
+  public Integer getNumOfDrivers() {
+    return (int) Math.round(this.values.get(SweepParameterType.DRIVERS));
+  }
+
+  /**
+   * Gets the number of customers of the cell.
+   *
+   * @return the number of customers
+   */
+  public Integer getNumOfCustomers() {
+    return (int) Math.round(this.values.get(SweepParameterType.CUSTOMERS));
+  }
+
+  /**
+   * Creates the options of the cell: a copy of the given options with the cell's parameter values.
+   *
+   * @param baseConfig the options shared by every cell
+   * @return the options of the cell
+   */
+  public SimConfig createConfig(SimConfig baseConfig) {
+    SimConfig config = new SimConfig(baseConfig);
+    for (SweepParameterType type : SweepParameterType.values()) {
+      if (type != SweepParameterType.DRIVERS && type != SweepParameterType.CUSTOMERS) {
+        config.setOption(type.getOptionName(), formatValue(type));
+      }
+    }
+    return config;
+  }
+
+  /**
+   * Estimates the relative cost of running the cell. Every customer makes two events, each of
+   * which costs a logarithmic number of priority queue operations.
+   *
+   * @return the estimated cost of the cell
+   */
+  public Double estimateCost() {
+    double numOfEvents = 2.0 * getNumOfCustomers();
+    return numOfEvents * Math.log(numOfEvents + 1) + getNumOfDrivers();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SweepCell sweepCell = (SweepCell) o;
+    return Objects.equals(getIndex(), sweepCell.getIndex())
+        && Objects.equals(this.values, sweepCell.values);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getIndex(), this.values);
+  }
+
+  @Override
+  public String toString() {
+    return "SweepCell{" +
+        "index=" + index +
+        ", values=" + values +
+        '}';
+  }
+}
@@ -0,0 +1,310 @@
+package sim.control.sweep;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+import sim.control.mediator.SimConfig;
+import sim.model.type.SweepDesignType;
+import sim.model.type.SweepParameterType;
+
+/**
+ * SweepDefinition class, describes the cells of a parameter sweep. A definition is read from a
+ * text file with one {@code key=value} line per setting, where lines starting with # are comments:
+ *
+ * <pre>
+ * design=latin-hypercube
+ * samples=20
+ * seed=42
+ * drivers=10..200
+ * customers=1000,5000,20000
+ * driver-speed=30..60
+ * </pre>
+ *
+ * <p>A parameter is either a comma separated list of values or a range {@code min..max}. A grid
+ * design runs every combination of the listed values and does not accept ranges. A Latin
+ * hypercube design runs the given number of samples: the range of every parameter is split into
+ * as many strata as samples, and every stratum is used by exactly one cell. A list is treated as
+ * equally likely levels. The number of drivers and customers must be given; the other parameters
+ * default to the options selected on the command line.
+ */
+public final class SweepDefinition {
+
+  private static final String COMMENT_PREFIX = "#";
+  private static final String KEY_SEPARATOR = "=";
+  private static final String LIST_SEPARATOR = ",";
+  private static final String RANGE_SEPARATOR = "..";
+  private static final String DESIGN_KEY = "design";
+  private static final String SAMPLES_KEY = "samples";
+  private static final String SEED_KEY = "seed";
+
+  private final EnumMap<SweepParameterType, List<Double>> levels;
+  private final EnumMap<SweepParameterType, double[]> ranges;
+  private SweepDesignType designType;
+  private Integer numOfSamples;
+  private Long seed;
+
+  /**
+   * Constructor for option1.control.sweep.SweepDefinition class. The definition starts as an empty
+   * grid.
+   */
+  public SweepDefinition() {
+    this.levels = new EnumMap<>(SweepParameterType.class);
+    this.ranges = new EnumMap<>(SweepParameterType.class);
+    this.designType = SweepDesignType.GRID;
+    this.numOfSamples = null;
+    this.seed = null;
+  }
+
+  /**
+   * Reads a sweep definition from the given file.
+   *
+   * @param path the path of the file
+   * @return the sweep definition
+   */
+  public static SweepDefinition fromFile(String path) {
+    SweepDefinition definition = new SweepDefinition();
+    try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+          continue;
+        }
+        int separator = line.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+          throw new IllegalArgumentException("Sweep lines must have the form key=value: " + line);
+        }
+        definition.set(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return definition;
+  }
+
+  /**
+   * Sets a setting of the definition.
+   *
+   * @param key   the name of the setting or of the sweep parameter
+   * @param value the value of the setting
+   */
+  public void set(String key, String value) {
+    switch (key) {
+      case DESIGN_KEY:
+        this.designType = SweepDesignType.fromName(value);
+        break;
+      case SAMPLES_KEY:
+        this.numOfSamples = Integer.parseInt(value);
+        break;
+      case SEED_KEY:
+        this.seed = Long.parseLong(value);
+        break;
+      default:
+        setParameter(SweepParameterType.fromOptionName(key), value);
+    }
+  }
+
+  /**
+   * Helper method. Sets the values of a sweep parameter, either a list or a range.
+   *
+   * @param type  the sweep parameter
+   * @param value the list of values or the range
+   */
+  private void setParameter(SweepParameterType type, String value) {
+    this.levels.remove(type);
+    this.ranges.remove(type);
+    int rangeSeparator = value.indexOf(RANGE_SEPARATOR);
+    if (rangeSeparator >= 0) {
+      double min = parseValue(type, value.substring(0, rangeSeparator));
+      double max = parseValue(type, value.substring(rangeSeparator + RANGE_SEPARATOR.length()));
+      if (min > max) {
+        throw new IllegalArgumentException("Empty range for " + type.getOptionName());
+      }
+      this.ranges.put(type, new double[]{min, max});
+      return;
+    }
+    List<Double> values = new ArrayList<>();
+    for (String item : value.split(LIST_SEPARATOR)) {
+      values.add(parseValue(type, item));
+    }
+    this.levels.put(type, values);
+  }
+
+  /**
+   * Helper method. Parses one positive value of a sweep parameter.
+   *
+   * @param type  the sweep parameter
+   * @param value the value
+   * @return the parsed value
+   */
+  private static double parseValue(SweepParameterType type, String value) {
+    double parsed = Double.parseDouble(value.trim());
+    if (!(parsed > 0) || (type.isInteger() && parsed != Math.rint(parsed))) {
+      throw new IllegalArgumentException("Invalid value for " + type.getOptionName() + ": "
+          + value);
+    }
+    return parsed;
+  }
+
+  /**
+   * Creates the cells of the sweep. Parameters missing from the definition take their value from
+   * the given options.
+   *
+   * @param baseConfig the options shared by every cell
+   * @return the cells of the sweep, in definition order
+   */
+  public List<SweepCell> createCells(SimConfig baseConfig) {
+    EnumMap<SweepParameterType, List<Double>> fixed = new EnumMap<>(SweepParameterType.class);
+    for (SweepParameterType type : SweepParameterType.values()) {
+      if (!this.levels.containsKey(type) && !this.ranges.containsKey(type)) {
+        fixed.put(type, List.of(baseValue(baseConfig, type)));
+      }
+    }
+    if (this.designType == SweepDesignType.LATIN_HYPERCUBE) {
+      return createLatinHypercubeCells(fixed);
+    }
+    return createGridCells(fixed);
+  }
+
+  /**
+   * Helper method. Creates every combination of the listed values, the last parameter varying
+   * fastest.
+   *
+   * @param fixed the values of the parameters missing from the definition
+   * @return the cells of the grid
+   */
+  private List<SweepCell> createGridCells(EnumMap<SweepParameterType, List<Double>> fixed) {
+    if (!this.ranges.isEmpty()) {
+      throw new IllegalArgumentException("A grid sweep only accepts lists of values.");
+    }
+    EnumMap<SweepParameterType, List<Double>> axes = new EnumMap<>(fixed);
+    axes.putAll(this.levels);
+    SweepParameterType[] types = SweepParameterType.values();
+    int[] positions = new int[types.length];
+    List<SweepCell> cells = new ArrayList<>();
+    while (true) {
+      EnumMap<SweepParameterType, Double> values = new EnumMap<>(SweepParameterType.class);
+      for (int i = 0; i < types.length; i++) {
+        values.put(types[i], axes.get(types[i]).get(positions[i]));
+      }
+      cells.add(new SweepCell(cells.size(), values));
+      // Advances the positions like an odometer
+      int i = types.length - 1;
+      while (i >= 0 && ++positions[i] == axes.get(types[i]).size()) {
+        positions[i] = 0;
+        i--;
+      }
+      if (i < 0) {
+        return cells;
+      }
+    }
+  }
+
+  /**
+   * Helper method. Creates the cells of a Latin hypercube: for every parameter, each of the
+   * equal-probability strata of its range or levels is used by exactly one cell, in a random
+   * order.
+   *
+   * @param fixed the values of the parameters missing from the definition
+   * @return the cells of the Latin hypercube
+   */
+  private List<SweepCell> createLatinHypercubeCells(
+      EnumMap<SweepParameterType, List<Double>> fixed) {
+    if (this.numOfSamples == null || this.numOfSamples <= 0) {
+      throw new IllegalArgumentException("A Latin hypercube sweep needs a positive samples count.");
+    }
+    Random rnd = this.seed == null ? new Random() : new Random(this.seed);
+    int n = this.numOfSamples;
+    List<EnumMap<SweepParameterType, Double>> samples = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      samples.add(new EnumMap<>(SweepParameterType.class));
+    }
+    for (SweepParameterType type : SweepParameterType.values()) {
+      int[] strata = shuffledStrata(n, rnd);
+      for (int i = 0; i < n; i++) {
+        double u = (strata[i] + rnd.nextDouble()) / n;
+        samples.get(i).put(type, sampleValue(type, u, fixed));
+      }
+    }
+    List<SweepCell> cells = new ArrayList<>();
+    for (EnumMap<SweepParameterType, Double> values : samples) {
+      cells.add(new SweepCell(cells.size(), values));
+    }
+    return cells;
+  }
+
+  /**
+   * Helper method. Gets the value of a parameter at the given quantile of its range or levels.
+   *
+   * @param type  the sweep parameter
+   * @param u     the quantile, between 0 inclusive and 1 exclusive
+   * @param fixed the values of the parameters missing from the definition
+   * @return the value of the parameter
+   */
+  private double sampleValue(SweepParameterType type, double u,
+      EnumMap<SweepParameterType, List<Double>> fixed) {
+    double[] range = this.ranges.get(type);
+    if (range == null) {
+      List<Double> values = this.levels.containsKey(type) ? this.levels.get(type) : fixed.get(type);
+      return values.get((int) (u * values.size()));
+    }
+    if (type.isInteger()) {
+      // Every integer of the range is equally likely
+      return Math.min(range[1], Math.floor(range[0] + u * (range[1] - range[0] + 1)));
+    }
+    return range[0] + u * (range[1] - range[0]);
+  }
+
+  /**
+   * Helper method. Gets the numbers 0 to n - 1 in a random order.
+   *
+   * @param n   the number of strata
+   * @param rnd the random number generator
+   * @return the shuffled strata
+   */
+  private static int[] shuffledStrata(int n, Random rnd) {
+    int[] strata = new int[n];
+    for (int i = 0; i < n; i++) {
+      strata[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = rnd.nextInt(i + 1);
+      int swap = strata[i];
+      strata[i] = strata[j];
+      strata[j] = swap;
+    }
+    return strata;
+  }
+
+  /**
+   * Helper method. Gets the value of a parameter in the given options.
+   *
+   * @param baseConfig the options shared by every cell
+   * @param type       the sweep parameter
+   * @return the value of the parameter in the options
+   */
+  private static Double baseValue(SimConfig baseConfig, SweepParameterType type) {
+    switch (type) {
+      case TIME_SPAN:
+        return baseConfig.getSimTimeSpan().doubleValue();
+      case DRIVER_SPEED:
+        return baseConfig.getDriverSpeed();
+      case DISTANCE_UPPER_BOUND:
+        return baseConfig.getDistanceUpperBound();
+      case EXPRESS_QUANTUM:
+        return baseConfig.getExpressQuantum().doubleValue();
+      case STANDARD_QUANTUM:
+        return baseConfig.getStandardQuantum().doubleValue();
+      case WAIT_AND_SAVE_QUANTUM:
+        return baseConfig.getWaitAndSaveQuantum().doubleValue();
+      case ENVIRONMENTALLY_CONSCIOUS_QUANTUM:
+        return baseConfig.getEnvironmentallyConsciousQuantum().doubleValue();
+      default:
+        throw new IllegalArgumentException("The sweep must define " + type.getOptionName());
+    }
+  }
+}
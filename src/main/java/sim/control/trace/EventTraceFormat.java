@@ -0,0 +1,91 @@
+package sim.control.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * EventTraceFormat class, describes the binary event trace written by EventTraceWriter and read by
+ * EventTraceReader. A trace named {@code <name>} is made of segment files {@code <name>.00000},
+ * {@code <name>.00001}, ... and of a metadata file {@code <name>.meta} holding the number of
+ * segments and records, the names and strings of the dictionary and the names and speeds of the
+ * drivers, so that a trace can be replayed on its own.
+ *
+ * <p>A segment starts with a header of 24 bytes: the magic number, the version, the size of a
+ * record, the index of the segment, the number of records and the base tick of the segment. It is
+ * followed by records of 48 bytes, one per ride requested, started or ended message:
+ * <pre>
+ *   offset  size  field
+ *        0     4  tick delta: tick of the message minus the tick of the previous record of the
+ *                 segment, or minus the base tick for the first record
+ *        4     4  dictionary id of the name of the customer
+ *        8     4  dictionary id of the starting location
+ *       12     4  dictionary id of the desired location
+ *       16     4  driver id, -1 for a requested ride
+ *       20     4  rides the driver had finished before the ride, for an ended ride
+ *       24     4  waiting time: departure tick minus request tick, for a started or ended ride
+ *       28     4  trip time: arrival tick minus departure tick, for a started or ended ride
+ *       32     8  distance of the ride, in miles
+ *       40     1  type of the message, the ordinal of its RideMessageType
+ *       41     1  priority of the ride type
+ *       42     6  padding, so that every record stays 8-byte aligned
+ * </pre>
+ * Every value is little-endian. The tick of a requested message is the request tick, of a started
+ * message the departure tick and of an ended message the arrival tick.
+ */
+final class EventTraceFormat {
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  static final int MAGIC = 0x52545243;          // "RTRC"
+  static final int METADATA_MAGIC = 0x52544D44; // "RTMD"
+  static final short VERSION = 2;
+
+  static final int HEADER_SIZE = 24;
+  static final int MAGIC_OFFSET = 0;
+  static final int VERSION_OFFSET = 4;
+  static final int RECORD_SIZE_OFFSET = 6;
+  static final int SEGMENT_INDEX_OFFSET = 8;
+  static final int NUM_OF_RECORDS_OFFSET = 12;
+  static final int BASE_TICK_OFFSET = 16;
+
+  static final int RECORD_SIZE = 48;
+  static final int TICK_DELTA_OFFSET = 0;
+  static final int CUSTOMER_ID_OFFSET = 4;
+  static final int STARTING_LOCATION_ID_OFFSET = 8;
+  static final int DESIRED_LOCATION_ID_OFFSET = 12;
+  static final int DRIVER_ID_OFFSET = 16;
+  static final int NUM_OF_RIDES_FINISHED_OFFSET = 20;
+  static final int WAITING_TIME_OFFSET = 24;
+  static final int TRIP_TIME_OFFSET = 28;
+  static final int RIDE_DISTANCE_OFFSET = 32;
+  static final int TYPE_OFFSET = 40;
+  static final int PRIORITY_OFFSET = 41;
+
+  static final int NO_DRIVER = -1;
+  static final int MAX_RECORDS_PER_SEGMENT = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+  /**
+   * Constructor for option1.control.trace.EventTraceFormat class. Not instantiable.
+   */
+  private EventTraceFormat() {
+  }
+
+  /**
+   * Gets the name of the file of the given segment of a trace.
+   *
+   * @param fileName     the name of the trace
+   * @param segmentIndex the index of the segment
+   * @return the name of the segment file
+   */
+  static String getSegmentFileName(String fileName, int segmentIndex) {
+    return String.format("%s.%05d", fileName, segmentIndex);
+  }
+
+  /**
+   * Gets the name of the metadata file of a trace.
+   *
+   * @param fileName the name of the trace
+   * @return the name of the metadata file
+   */
+  static String getMetadataFileName(String fileName) {
+    return fileName + ".meta";
+  }
+}
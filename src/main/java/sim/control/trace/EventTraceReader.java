@@ -0,0 +1,292 @@
+package sim.control.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.type.RideMessageType;
+
+/**
+ * EventTraceReader class, reads the records of a binary event trace written by EventTraceWriter,
+ * in the order they were written. The metadata of the trace is read when the reader is created,
+ * and every segment is mapped in memory read-only when the reader reaches it. The reader is a
+ * cursor: {@link #next()} moves it to the next record, whose fields are then read with the
+ * getters.
+ */
+public final class EventTraceReader {
+
+  private static final RideMessageType[] MESSAGE_TYPES = RideMessageType.values();
+
+  private final String fileName;
+  private final int numOfSegments;
+  private final long numOfRecords;
+  private final StringDictionary dictionary;
+  private final String[] driverNames;
+  private final double[] driverSpeeds;
+  private MappedByteBuffer segment;
+  private int segmentIndex;
+  private int numOfSegmentRecords;   // records of the current segment
+  private int recordIndex;           // index of the current record in the current segment
+  private int position;              // position of the current record in the current segment
+  private long tick;                 // tick of the current record
+
+  /**
+   * Constructor for option1.control.trace.EventTraceReader class. Reads the metadata of the trace.
+   *
+   * @param fileName the name of the trace
+   */
+  public EventTraceReader(String fileName) {
+    this.fileName = fileName;
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(EventTraceFormat.getMetadataFileName(fileName))))) {
+      if (input.readInt() != EventTraceFormat.METADATA_MAGIC
+          || input.readShort() != EventTraceFormat.VERSION) {
+        throw new IllegalArgumentException("Not the metadata of an event trace: " + fileName);
+      }
+      this.numOfSegments = input.readInt();
+      this.numOfRecords = input.readLong();
+      this.dictionary = new StringDictionary();
+      this.dictionary.readState(input);
+      int numOfDrivers = input.readInt();
+      this.driverNames = new String[numOfDrivers];
+      this.driverSpeeds = new double[numOfDrivers];
+      for (int i = 0; i < numOfDrivers; i++) {
+        this.driverNames[i] = input.readUTF();
+        this.driverSpeeds[i] = input.readDouble();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.segment = null;
+    this.segmentIndex = -1;
+    this.numOfSegmentRecords = 0;
+    this.recordIndex = -1;
+    this.position = 0;
+    this.tick = 0;
+  }
+
+  /**
+   * Gets the number of records of the trace.
+   *
+   * @return the number of records
+   */
+  public long getNumOfRecords() {
+    return numOfRecords;
+  }
+
+  /**
+   * Gets the dictionary the names and locations of the trace are encoded in.
+   *
+   * @return the dictionary of the trace
+   */
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Creates a driver registry holding the drivers of the trace, with the ids they had in the
+   * simulation and no finished ride.
+   *
+   * @return the driver registry
+   */
+  public DriverRegistry createDriverRegistry() {
+    DriverRegistry driverRegistry = new DriverRegistry(this.driverNames.length);
+    for (int i = 0; i < this.driverNames.length; i++) {
+      driverRegistry.register(this.driverNames[i], this.driverSpeeds[i]);
+    }
+    return driverRegistry;
+  }
+
+  /**
+   * Moves to the next record of the trace.
+   *
+   * @return true if there is a next record, false if every record has been read
+   */
+  public boolean next() {
+    while (this.recordIndex + 1 >= this.numOfSegmentRecords) {
+      if (this.segmentIndex + 1 >= this.numOfSegments) {
+        return false;
+      }
+      openSegment(this.segmentIndex + 1);
+    }
+    this.recordIndex++;
+    this.position = EventTraceFormat.HEADER_SIZE + this.recordIndex * EventTraceFormat.RECORD_SIZE;
+    this.tick += this.segment.getInt(this.position + EventTraceFormat.TICK_DELTA_OFFSET);
+    return true;
+  }
+
+  /**
+   * Gets the type of the current record.
+   *
+   * @return the type of the message
+   */
+  public RideMessageType getType() {
+    return MESSAGE_TYPES[this.segment.get(this.position + EventTraceFormat.TYPE_OFFSET)];
+  }
+
+  /**
+   * Gets the tick of the current record: the request tick of a requested ride, the departure tick
+   * of a started ride or the arrival tick of an ended ride.
+   *
+   * @return the tick of the message
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  /**
+   * Gets the dictionary id of the name of the customer of the current record.
+   *
+   * @return the dictionary id of the name of the customer
+   */
+  public int getCustomerId() {
+    return this.segment.getInt(this.position + EventTraceFormat.CUSTOMER_ID_OFFSET);
+  }
+
+  /**
+   * Gets the dictionary id of the starting location of the current record.
+   *
+   * @return the dictionary id of the starting location
+   */
+  public int getStartingLocationId() {
+    return this.segment.getInt(this.position + EventTraceFormat.STARTING_LOCATION_ID_OFFSET);
+  }
+
+  /**
+   * Gets the dictionary id of the desired location of the current record.
+   *
+   * @return the dictionary id of the desired location
+   */
+  public int getDesiredLocationId() {
+    return this.segment.getInt(this.position + EventTraceFormat.DESIRED_LOCATION_ID_OFFSET);
+  }
+
+  /**
+   * Gets the id of the driver of the current record.
+   *
+   * @return the id of the driver, or -1 for a requested ride
+   */
+  public int getDriverId() {
+    return this.segment.getInt(this.position + EventTraceFormat.DRIVER_ID_OFFSET);
+  }
+
+  /**
+   * Gets the number of rides the driver had finished before the ride of the current record.
+   *
+   * @return the number of rides finished, or 0 for a requested or started ride
+   */
+  public int getNumOfRidesFinished() {
+    return this.segment.getInt(this.position + EventTraceFormat.NUM_OF_RIDES_FINISHED_OFFSET);
+  }
+
+  /**
+   * Gets the waiting time of the ride of the current record.
+   *
+   * @return the departure tick minus the request tick, or 0 for a requested ride
+   */
+  public long getWaitingTime() {
+    return this.segment.getInt(this.position + EventTraceFormat.WAITING_TIME_OFFSET);
+  }
+
+  /**
+   * Gets the trip time of the ride of the current record.
+   *
+   * @return the arrival tick minus the departure tick, or 0 for a requested ride
+   */
+  public long getTripTime() {
+    return this.segment.getInt(this.position + EventTraceFormat.TRIP_TIME_OFFSET);
+  }
+
+  /**
+   * Gets the tick when the ride of the current record departed.
+   *
+   * @return the departure tick, or the request tick for a requested ride
+   */
+  public long getDepartureTick() {
+    return getType() == RideMessageType.ENDED ? this.tick - getTripTime() : this.tick;
+  }
+
+  /**
+   * Gets the tick when the ride of the current record was requested.
+   *
+   * @return the request tick
+   */
+  public long getRequestTick() {
+    return getDepartureTick() - getWaitingTime();
+  }
+
+  /**
+   * Gets the tick when the ride of the current record arrived.
+   *
+   * @return the arrival tick, or the request tick for a requested ride
+   */
+  public long getArrivalTick() {
+    return getDepartureTick() + getTripTime();
+  }
+
+  /**
+   * Gets the distance of the ride of the current record.
+   *
+   * @return the distance of the ride in miles
+   */
+  public double getRideDistance() {
+    return this.segment.getDouble(this.position + EventTraceFormat.RIDE_DISTANCE_OFFSET);
+  }
+
+  /**
+   * Gets the priority of the ride type of the current record.
+   *
+   * @return the priority of the ride type
+   */
+  public int getPriority() {
+    return this.segment.get(this.position + EventTraceFormat.PRIORITY_OFFSET);
+  }
+
+  /**
+   * Helper method. Maps the given segment in memory and checks its header.
+   *
+   * @param index the index of the segment
+   */
+  private void openSegment(int index) {
+    String segmentFileName = EventTraceFormat.getSegmentFileName(this.fileName, index);
+    try (FileChannel channel = FileChannel.open(Paths.get(segmentFileName),
+        StandardOpenOption.READ)) {
+      this.segment = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.segment.order(EventTraceFormat.BYTE_ORDER);
+    if (this.segment.capacity() < EventTraceFormat.HEADER_SIZE
+        || this.segment.getInt(EventTraceFormat.MAGIC_OFFSET) != EventTraceFormat.MAGIC
+        || this.segment.getShort(EventTraceFormat.VERSION_OFFSET) != EventTraceFormat.VERSION
+        || this.segment.getShort(EventTraceFormat.RECORD_SIZE_OFFSET)
+        != EventTraceFormat.RECORD_SIZE
+        || this.segment.getInt(EventTraceFormat.SEGMENT_INDEX_OFFSET) != index) {
+      throw new IllegalArgumentException("Not a segment of an event trace: " + segmentFileName);
+    }
+    this.numOfSegmentRecords = this.segment.getInt(EventTraceFormat.NUM_OF_RECORDS_OFFSET);
+    if (this.segment.capacity() < EventTraceFormat.HEADER_SIZE
+        + (long) this.numOfSegmentRecords * EventTraceFormat.RECORD_SIZE) {
+      throw new IllegalArgumentException("Truncated event trace segment: " + segmentFileName);
+    }
+    this.segmentIndex = index;
+    this.recordIndex = -1;
+    this.tick = this.segment.getLong(EventTraceFormat.BASE_TICK_OFFSET);
+  }
+
+  @Override
+  public String toString() {
+    return "EventTraceReader{" +
+        "fileName='" + fileName + '\'' +
+        ", numOfSegments=" + numOfSegments +
+        ", numOfRecords=" + numOfRecords +
+        '}';
+  }
+}
@@ -0,0 +1,269 @@
+package sim.control.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.event.RideFinishedEvent;
+import sim.model.event.RideRequestEvent;
+import sim.model.type.RideMessageType;
+
+/**
+ * EventTraceWriter class, writes every ride requested, started and ended message of a simulation
+ * to a binary event trace, in the format described by EventTraceFormat. Records are written into a
+ * segment file mapped in memory, so writing a record only stores its fields; once a segment is
+ * full, it is truncated to its records and the next segment is mapped. The metadata of the trace
+ * is written when the writer is closed.
+ *
+ * <p>Writing is synchronized, so the zones of the conservative engine may share a writer. Their
+ * records are interleaved in the order they were written, so the ticks of a trace only increase
+ * within a zone.
+ */
+public final class EventTraceWriter implements AutoCloseable {
+
+  private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+
+  private final String fileName;
+  private final int recordsPerSegment;
+  private final StringDictionary dictionary;
+  private final DriverRegistry driverRegistry;
+  private FileChannel channel;
+  private MappedByteBuffer segment;
+  private int segmentIndex;
+  private int numOfRecords;          // records written in the current segment
+  private long previousTick;         // tick of the last record written in the current segment
+  private long numOfRecordsWritten;  // records written in every segment
+  private boolean closed;
+
+  /**
+   * Constructor for option1.control.trace.EventTraceWriter class. The first segment is created,
+   * or truncated if it exists.
+   *
+   * @param fileName       the name of the trace
+   * @param dictionary     the dictionary the names and locations of the rides are encoded in
+   * @param driverRegistry the registry of the drivers of the rides
+   */
+  public EventTraceWriter(String fileName, StringDictionary dictionary,
+      DriverRegistry driverRegistry) {
+    this(fileName, dictionary, driverRegistry, DEFAULT_RECORDS_PER_SEGMENT);
+  }
+
+  /**
+   * Constructor for option1.control.trace.EventTraceWriter class, with segments of the given
+   * number of records.
+   *
+   * @param fileName          the name of the trace
+   * @param dictionary        the dictionary the names and locations of the rides are encoded in
+   * @param driverRegistry    the registry of the drivers of the rides
+   * @param recordsPerSegment the number of records of a segment
+   */
+  public EventTraceWriter(String fileName, StringDictionary dictionary,
+      DriverRegistry driverRegistry, Integer recordsPerSegment) {
+    if (recordsPerSegment <= 0 || recordsPerSegment > EventTraceFormat.MAX_RECORDS_PER_SEGMENT) {
+      throw new IllegalArgumentException("Records per segment must be in [1, "
+          + EventTraceFormat.MAX_RECORDS_PER_SEGMENT + "]: " + recordsPerSegment);
+    }
+    this.fileName = fileName;
+    this.recordsPerSegment = recordsPerSegment;
+    this.dictionary = dictionary;
+    this.driverRegistry = driverRegistry;
+    this.segmentIndex = 0;
+    this.numOfRecordsWritten = 0;
+    this.closed = false;
+    openSegment();
+  }
+
+  /**
+   * Writes the record of a requested ride.
+   *
+   * @param event the ride request event
+   */
+  public synchronized void writeRideRequested(RideRequestEvent event) {
+    write(RideMessageType.REQUESTED, event.getEventTick(), event.getCustomerId(),
+        event.getStartingLocationId(), event.getDesiredLocationId(), EventTraceFormat.NO_DRIVER,
+        0, 0, 0, event.getRideDistance(), event.getPriority());
+  }
+
+  /**
+   * Writes the record of a started ride.
+   *
+   * @param event the ride finished event of the ride
+   */
+  public synchronized void writeRideStarted(RideFinishedEvent event) {
+    write(RideMessageType.STARTED, event.getDepartureTick(), event.getCustomerId(),
+        event.getStartingLocationId(), event.getDesiredLocationId(), event.getDriverId(), 0,
+        event.getDepartureTick() - event.getRequestTick(), event.getRideLength(),
+        event.getRideDistance(), event.getPriority());
+  }
+
+  /**
+   * Writes the record of an ended ride.
+   *
+   * @param event              the ride finished event of the ride
+   * @param numOfRidesFinished the number of rides the driver had finished before the ride
+   */
+  public synchronized void writeRideEnded(RideFinishedEvent event, int numOfRidesFinished) {
+    write(RideMessageType.ENDED, event.getEventTick(), event.getCustomerId(),
+        event.getStartingLocationId(), event.getDesiredLocationId(), event.getDriverId(),
+        numOfRidesFinished, event.getDepartureTick() - event.getRequestTick(),
+        event.getRideLength(), event.getRideDistance(), event.getPriority());
+  }
+
+  /**
+   * Gets the number of records written so far.
+   *
+   * @return the number of records written
+   */
+  public synchronized long getNumOfRecordsWritten() {
+    return numOfRecordsWritten;
+  }
+
+  /**
+   * Closes the last segment and writes the metadata of the trace.
+   */
+  @Override
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    closeSegment();
+    writeMetadata();
+  }
+
+  /**
+   * Helper method. Writes a record into the current segment, rolling over to the next segment if
+   * the current segment is full.
+   *
+   * @param type               the type of the message
+   * @param tick               the tick of the message
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location
+   * @param desiredLocationId  the dictionary id of the desired location
+   * @param driverId           the id of the driver
+   * @param numOfRidesFinished the number of rides the driver had finished before the ride
+   * @param waitingTime        the departure tick minus the request tick
+   * @param tripTime           the arrival tick minus the departure tick
+   * @param rideDistance       the distance of the ride in miles
+   * @param priority           the priority of the ride type
+   */
+  private void write(RideMessageType type, long tick, int customerId, int startingLocationId,
+      int desiredLocationId, int driverId, int numOfRidesFinished, long waitingTime,
+      long tripTime, double rideDistance, int priority) {
+    if (this.closed) {
+      throw new IllegalStateException("Cannot write to a closed event trace.");
+    }
+    if (this.numOfRecords == this.recordsPerSegment) {
+      closeSegment();
+      this.segmentIndex++;
+      openSegment();
+    }
+    if (this.numOfRecords == 0) {
+      this.previousTick = tick;
+      this.segment.putLong(EventTraceFormat.BASE_TICK_OFFSET, tick);
+    }
+    int position = EventTraceFormat.HEADER_SIZE + this.numOfRecords * EventTraceFormat.RECORD_SIZE;
+    MappedByteBuffer buffer = this.segment;
+    buffer.putInt(position + EventTraceFormat.TICK_DELTA_OFFSET,
+        Math.toIntExact(tick - this.previousTick));
+    buffer.putInt(position + EventTraceFormat.CUSTOMER_ID_OFFSET, customerId);
+    buffer.putInt(position + EventTraceFormat.STARTING_LOCATION_ID_OFFSET, startingLocationId);
+    buffer.putInt(position + EventTraceFormat.DESIRED_LOCATION_ID_OFFSET, desiredLocationId);
+    buffer.putInt(position + EventTraceFormat.DRIVER_ID_OFFSET, driverId);
+    buffer.putInt(position + EventTraceFormat.NUM_OF_RIDES_FINISHED_OFFSET, numOfRidesFinished);
+    buffer.putInt(position + EventTraceFormat.WAITING_TIME_OFFSET, Math.toIntExact(waitingTime));
+    buffer.putInt(position + EventTraceFormat.TRIP_TIME_OFFSET, Math.toIntExact(tripTime));
+    buffer.putDouble(position + EventTraceFormat.RIDE_DISTANCE_OFFSET, rideDistance);
+    buffer.put(position + EventTraceFormat.TYPE_OFFSET, (byte) type.ordinal());
+    buffer.put(position + EventTraceFormat.PRIORITY_OFFSET, (byte) priority);
+    this.previousTick = tick;
+    this.numOfRecords++;
+    this.numOfRecordsWritten++;
+  }
+
+  /**
+   * Helper method. Creates the current segment file, maps it in memory for the largest number of
+   * records of a segment and writes its header.
+   */
+  private void openSegment() {
+    String segmentFileName = EventTraceFormat.getSegmentFileName(this.fileName,
+        this.segmentIndex);
+    try {
+      this.channel = FileChannel.open(Paths.get(segmentFileName), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      this.segment = this.channel.map(MapMode.READ_WRITE, 0,
+          EventTraceFormat.HEADER_SIZE
+              + (long) this.recordsPerSegment * EventTraceFormat.RECORD_SIZE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    this.segment.order(EventTraceFormat.BYTE_ORDER);
+    this.segment.putInt(EventTraceFormat.MAGIC_OFFSET, EventTraceFormat.MAGIC);
+    this.segment.putShort(EventTraceFormat.VERSION_OFFSET, EventTraceFormat.VERSION);
+    this.segment.putShort(EventTraceFormat.RECORD_SIZE_OFFSET,
+        (short) EventTraceFormat.RECORD_SIZE);
+    this.segment.putInt(EventTraceFormat.SEGMENT_INDEX_OFFSET, this.segmentIndex);
+    this.segment.putInt(EventTraceFormat.NUM_OF_RECORDS_OFFSET, 0);
+    this.segment.putLong(EventTraceFormat.BASE_TICK_OFFSET, 0);
+    this.numOfRecords = 0;
+  }
+
+  /**
+   * Helper method. Writes the number of records of the current segment into its header, and
+   * truncates the segment file to its records.
+   */
+  private void closeSegment() {
+    this.segment.putInt(EventTraceFormat.NUM_OF_RECORDS_OFFSET, this.numOfRecords);
+    this.segment.force();
+    try {
+      this.channel.truncate(
+          EventTraceFormat.HEADER_SIZE + (long) this.numOfRecords * EventTraceFormat.RECORD_SIZE);
+      this.channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    // The mapping is released once the buffer is no longer referenced
+    this.segment = null;
+    this.channel = null;
+  }
+
+  /**
+   * Helper method. Writes the metadata file of the trace: the names and strings of the dictionary,
+   * then the name and speed of every driver in id order.
+   */
+  private void writeMetadata() {
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(EventTraceFormat.getMetadataFileName(this.fileName))))) {
+      output.writeInt(EventTraceFormat.METADATA_MAGIC);
+      output.writeShort(EventTraceFormat.VERSION);
+      output.writeInt(this.segmentIndex + 1);
+      output.writeLong(this.numOfRecordsWritten);
+      this.dictionary.writeState(output);
+      output.writeInt(this.driverRegistry.getNumOfDrivers());
+      for (int i = 0; i < this.driverRegistry.getNumOfDrivers(); i++) {
+        output.writeUTF(this.driverRegistry.getDriverName(i));
+        output.writeDouble(this.driverRegistry.getDriverSpeed(i));
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EventTraceWriter{" +
+        "fileName='" + fileName + '\'' +
+        ", recordsPerSegment=" + recordsPerSegment +
+        ", segmentIndex=" + segmentIndex +
+        ", numOfRecordsWritten=" + numOfRecordsWritten +
+        '}';
+  }
+}
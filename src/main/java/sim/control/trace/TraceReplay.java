@@ -0,0 +1,176 @@
+package sim.control.trace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import sim.control.factory.EnvironmentallyConsciousRideFactory;
+import sim.control.factory.ExpressRideFactory;
+import sim.control.factory.RideFactory;
+import sim.control.factory.StandardRideFactory;
+import sim.control.factory.WaitAndSaveRideFactory;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+import sim.model.result.RideStatistics;
+import sim.model.result.SimResult;
+import sim.model.ride.Ride;
+import sim.model.ride.RideStore;
+import sim.model.type.RideMessageType;
+import sim.model.type.RideType;
+
+/**
+ * TraceReplay class, rebuilds the results of a simulation from its binary event trace without
+ * running it again. Every ended ride of the trace is appended to a ride store, recorded in the
+ * ride statistics and counted as a finished ride of its driver, as the visitor did when the ride
+ * finished, so the key performance indicators are the same as those of the traced simulation.
+ */
+public final class TraceReplay {
+
+  private final EventTraceReader reader;
+  private final DriverRegistry driverRegistry;
+  private final RideStore rideStore;
+  private final RideStatistics rideStatistics;
+  private final long[] numOfRecordsByType;   // message type ordinal -> number of records
+
+  /**
+   * Constructor for option1.control.trace.TraceReplay class. Reads the metadata of the trace; the
+   * records are read by {@link #replay()}.
+   *
+   * @param fileName the name of the trace
+   */
+  public TraceReplay(String fileName) {
+    this.reader = new EventTraceReader(fileName);
+    this.driverRegistry = this.reader.createDriverRegistry();
+    this.rideStore = new RideStore(Boolean.TRUE);
+    this.rideStatistics = new RideStatistics();
+    this.numOfRecordsByType = new long[RideMessageType.values().length];
+  }
+
+  /**
+   * Reads every record of the trace and rebuilds the finished rides, the ride statistics and the
+   * number of rides finished by each driver.
+   *
+   * @return the key performance indicators of the traced simulation
+   */
+  public SimResult replay() {
+    EventTraceReader reader = this.reader;
+    while (reader.next()) {
+      RideMessageType type = reader.getType();
+      this.numOfRecordsByType[type.ordinal()]++;
+      if (type != RideMessageType.ENDED) {
+        continue;
+      }
+      int driverId = reader.getDriverId();
+      this.rideStore.add(driverId, reader.getNumOfRidesFinished(), reader.getCustomerId(),
+          reader.getStartingLocationId(), reader.getDesiredLocationId(), reader.getRequestTick(),
+          reader.getDepartureTick(), reader.getTick(), reader.getRideDistance(),
+          reader.getPriority());
+      this.driverRegistry.finishRide(driverId, reader.getTripTime());
+      this.rideStatistics.record(reader.getPriority(), reader.getWaitingTime(),
+          reader.getTripTime());
+    }
+    return new SimResult(
+        this.rideStore.size(),
+        this.rideStatistics.getNumOfRides() == 0
+            ? -1.0 : this.rideStatistics.getWaitingTimes().getMean(),
+        calculateAverageNumberOfRidesPerDriver());
+  }
+
+  /**
+   * Gets the number of records of the given type read so far.
+   *
+   * @param type the type of the records
+   * @return the number of records of the type
+   */
+  public long getNumOfRecords(RideMessageType type) {
+    return this.numOfRecordsByType[type.ordinal()];
+  }
+
+  /**
+   * Gets the dictionary the names and locations of the trace are encoded in.
+   *
+   * @return the dictionary of the trace
+   */
+  public StringDictionary getDictionary() {
+    return this.reader.getDictionary();
+  }
+
+  /**
+   * Gets the drivers of the trace, with the number of rides they finished.
+   *
+   * @return the driver registry
+   */
+  public DriverRegistry getDriverRegistry() {
+    return driverRegistry;
+  }
+
+  /**
+   * Gets the finished rides of the trace, in the order they ended.
+   *
+   * @return the store of finished rides
+   */
+  public RideStore getRideStore() {
+    return rideStore;
+  }
+
+  /**
+   * Gets the statistics of the waiting times and trip times of the finished rides.
+   *
+   * @return the ride statistics
+   */
+  public RideStatistics getRideStatistics() {
+    return rideStatistics;
+  }
+
+  /**
+   * Creates a Ride object for every finished ride of the trace, through the factory of its ride
+   * type.
+   *
+   * @return the list of finished rides, in the order they ended
+   */
+  public ArrayList<Ride> getRides() {
+    HashMap<Integer, RideFactory> rideFactories = createRideFactories(getDictionary());
+    ArrayList<Ride> rides = new ArrayList<>(this.rideStore.size());
+    for (int i = 0; i < this.rideStore.size(); i++) {
+      rides.add(this.rideStore.getRide(i, rideFactories, this.driverRegistry));
+    }
+    return rides;
+  }
+
+  /**
+   * Helper method. Creates the ride factory of every ride type.
+   *
+   * @param dictionary the dictionary the names and locations of the customers are encoded in
+   * @return the ride factories, by priority of their ride type
+   */
+  private static HashMap<Integer, RideFactory> createRideFactories(StringDictionary dictionary) {
+    HashMap<Integer, RideFactory> rideFactories = new HashMap<>();
+    rideFactories.put(RideType.EXPRESS_PICK_UP.getPriority(), new ExpressRideFactory(dictionary));
+    rideFactories.put(RideType.STANDARD_PICK_UP.getPriority(),
+        new StandardRideFactory(dictionary));
+    rideFactories.put(RideType.WAIT_AND_SAVE_PICK_UP.getPriority(),
+        new WaitAndSaveRideFactory(dictionary));
+    rideFactories.put(RideType.ENVIRONMENTALLY_CONSCIOUS_PICK_UP.getPriority(),
+        new EnvironmentallyConsciousRideFactory(dictionary));
+    return rideFactories;
+  }
+
+  /**
+   * Helper method. Calculates the average number of rides handled per driver.
+   *
+   * @return the average number of rides handled per driver
+   */
+  private Double calculateAverageNumberOfRidesPerDriver() {
+    int runningSum = 0;
+    for (int i = 0; i < this.driverRegistry.getNumOfDrivers(); i++) {
+      runningSum += this.driverRegistry.getNumOfRidesFinished(i);
+    }
+    return (double) runningSum / this.driverRegistry.getNumOfDrivers();
+  }
+
+  @Override
+  public String toString() {
+    return "TraceReplay{" +
+        "reader=" + reader +
+        ", rideStore=" + rideStore +
+        '}';
+  }
+}
@@ -1,16 +1,15 @@
 package sim.control.visitor;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Queue;
+import java.util.List;
 import sim.control.exception.EmptyQueueException;
 import sim.control.factory.RideFactory;
-import sim.model.driver.Driver;
 import sim.model.event.Event;
 import sim.model.event.RideFinishedEvent;
 import sim.model.event.RideRequestEvent;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventQueue;
-import sim.model.ride.Ride;
+import sim.model.ride.RideStore;
 
 /**
  * Interface for Visitor. Because the event queue contains objects of subtypes of Event,
@@ -27,12 +26,12 @@ public interface EventVisitor {
    * @param eventQueue    the event queue used to process the Event
    * @param requestQueue  the request queue used to process the Event
    * @param driverQueue   the driver queue used to process the Event
-   * @param rideList      the list of finished rides used to process the Event
+   * @param rideStore     the store of finished rides used to process the Event
    * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
    */
   void visit(RideRequestEvent event, HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue, EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue, ArrayList<Ride> rideList) throws EmptyQueueException;
+      DriverQueue driverQueue, RideStore rideStore) throws EmptyQueueException;
 
   /**
    * Visit and process an RideFinishedEvent.
@@ -42,10 +41,41 @@ public interface EventVisitor {
    * @param eventQueue    the event queue used to process the Event
    * @param requestQueue  the request queue used to process the Event
    * @param driverQueue   the driver queue used to process the Event
-   * @param rideList      the list of finished rides used to process the Event
+   * @param rideStore     the store of finished rides used to process the Event
    * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
    */
   void visit(RideFinishedEvent event, HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue, EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue, ArrayList<Ride> rideList) throws EmptyQueueException;
+      DriverQueue driverQueue, RideStore rideStore) throws EmptyQueueException;
+
+  /**
+   * Visit and process a batch of Events that occur at the same instant. Every Event in the batch
+   * is processed before any request is dispatched, so the drivers and requests released by the
+   * whole batch are matched in a single dispatch round.
+   *
+   * @param batch         the Events that need to be processed, in the order they were dequeued
+   * @param rideFactories the ride factories used to process the Events
+   * @param eventQueue    the event queue used to process the Events
+   * @param requestQueue  the request queue used to process the Events
+   * @param driverQueue   the driver queue used to process the Events
+   * @param rideStore     the store of finished rides used to process the Events
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  void visitBatch(List<Event> batch, HashMap<Integer, RideFactory> rideFactories,
+      EventQueue<Event> eventQueue, EventQueue<RideRequestEvent> requestQueue,
+      DriverQueue driverQueue, RideStore rideStore) throws EmptyQueueException;
+
+  /**
+   * Dispatches the requests waiting at the end of a dispatch window to the available drivers, all
+   * at once, with every ride dispatched at the tick the window closes at.
+   *
+   * @param dispatchTick the tick the window closes at
+   * @param eventQueue   the event queue the ride finished events are added to
+   * @param requestQueue the request queue the requests are dequeued from
+   * @param driverQueue  the driver queue the drivers are taken from
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  void dispatchWindow(long dispatchTick, EventQueue<Event> eventQueue,
+      EventQueue<RideRequestEvent> requestQueue, DriverQueue driverQueue)
+      throws EmptyQueueException;
 }
@@ -1,21 +1,25 @@
 package sim.control.visitor;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Queue;
+import java.util.List;
 import sim.control.calculator.ArrivalTimeCalculator;
 import sim.control.exception.EmptyQueueException;
+import sim.control.export.RideExporter;
 import sim.control.factory.RideFactory;
-import sim.model.driver.BasicDriver;
-import sim.model.driver.Driver;
+import sim.control.factory.RideFinishedEventPool;
+import sim.control.log.EventLogSink;
+import sim.control.matching.WindowMatcher;
+import sim.control.trace.EventTraceWriter;
+import sim.model.data.Geocoder;
+import sim.model.driver.DriverRegistry;
 import sim.model.event.Event;
 import sim.model.event.RideFinishedEvent;
 import sim.model.event.RideRequestEvent;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventQueue;
-import sim.model.ride.Ride;
-import sim.model.type.RideType;
+import sim.model.result.RideStatistics;
+import sim.model.ride.RideStore;
+import sim.model.type.RideMessageType;
 
 /**
  * EventVisitor class, process event dequeued form the event queue.
@@ -23,96 +27,158 @@ import sim.model.type.RideType;
 public final class RideEventVisitor implements EventVisitor {
 
   private final ArrivalTimeCalculator arrivalTimeCalculator;
+  private final DriverRegistry driverRegistry;
+  private final EventLogSink eventLog;
+  private final RideFinishedEventPool eventPool;
+  private final RideStatistics statistics;
+  private final Boolean recordRides;
+  private final EventTraceWriter trace;
+  private final RideExporter exporter;
+  private final Geocoder geocoder;
+  private final WindowMatcher windowMatcher;
+  private boolean dispatchDeferred;
+  private RideRequestEvent[] windowRequests;
+  private int[] windowDrivers;
 
   /**
    * Constructor for option1.control.visitor.RideEventVisitor class.
-   */
-  public RideEventVisitor() {
-    this.arrivalTimeCalculator = new ArrivalTimeCalculator();
-  }
-
-  /**
-   * Creates a Ride object using factory and the information encapsulated in the given event.
    *
-   * @param event         the given ride finished event
-   * @param rideFactories the ride factories
-   * @return a Ride object
+   * <p>Ride finished events are acquired from the given pool and released into it once they have
+   * been processed, so a pooled visitor must only be used where no event is referenced after it
+   * has been processed. A visitor that does not record rides only reads the names and speeds of
+   * the drivers from the registry, and leaves it to the caller to record the rides that started
+   * and finished in the registry and the statistics. Every ride requested, started and ended is
+   * also written to the event trace, and every ride finished is exported as it finishes, unless
+   * they are null; nothing is exported by a visitor that does not record rides.
+   *
+   * <p>If a geocoder is given, every driver stands at the location recorded in the driver
+   * registry: a dispatched driver first drives to the starting location of the ride, which departs
+   * once it gets there, and a driver whose ride finished stands at the desired location of the
+   * ride. Each driver is picked by the driver queue for the starting location of the ride, the
+   * nearest driver for a spatial queue. If a window matcher is given, no request is dispatched as
+   * events are processed: requests wait in the request queue until dispatchWindow matches them to
+   * the available drivers at the end of a dispatch window.
+   *
+   * @param driverRegistry the registry of the drivers referred to by the events and driver queues
+   * @param eventLog       the sink ride messages are logged to as events are processed
+   * @param eventPool      the pool the ride finished events are acquired from
+   * @param statistics     the statistics the finished rides are recorded in
+   * @param recordRides    true to update the driver registry and the statistics as rides start
+   *                       and finish
+   * @param trace          the event trace the rides are written to, or null
+   * @param exporter       the exporter the finished rides are exported to, or null
+   * @param geocoder       the geocoder of the locations, or null if drivers have no location
+   * @param windowMatcher  the matcher of the dispatch windows, or null to dispatch per event
    */
-  private Ride makeRide(RideFinishedEvent event, HashMap<Integer, RideFactory> rideFactories) {
-    return rideFactories
-        .get(event.getPriority())
-        .generateRide(
-            event.getDriverName(),
-            event.getNumOfRidesFinished(),
-            event.getDriverSpeed(),
-            event.getCustomerName(),
-            event.getStartingLocation(),
-            event.getDesiredLocation(),
-            event.getRequestTime(),
-            event.getDepartureTime(),
-            event.getEventTime(),
-            event.getRideDistance(),
-            event.getRideLength()
-        );
+  public RideEventVisitor(DriverRegistry driverRegistry, EventLogSink eventLog,
+      RideFinishedEventPool eventPool, RideStatistics statistics, Boolean recordRides,
+      EventTraceWriter trace, RideExporter exporter, Geocoder geocoder,
+      WindowMatcher windowMatcher) {
+    this.arrivalTimeCalculator = new ArrivalTimeCalculator();
+    this.driverRegistry = driverRegistry;
+    this.eventLog = eventLog;
+    this.eventPool = eventPool;
+    this.statistics = statistics;
+    this.recordRides = recordRides;
+    this.trace = trace;
+    this.exporter = exporter;
+    this.geocoder = geocoder;
+    this.windowMatcher = windowMatcher;
+    this.dispatchDeferred = windowMatcher != null;
+    this.windowRequests = new RideRequestEvent[0];
+    this.windowDrivers = new int[0];
   }
 
   /**
    * Creates a ride finished event with information encapsulated in the ride request event and a
-   * given Driver object.
+   * given driver.
    *
    * @param rideRequestEvent the given ride requested event
-   * @param driver           the given driver object
+   * @param driverId         the id of the given driver
    * @return a ride finished event
    */
   private RideFinishedEvent createRideFinishedEvent(RideRequestEvent rideRequestEvent,
-      Driver driver) {
-    LocalDateTime arrivalTime = this.arrivalTimeCalculator.calculate(
-        rideRequestEvent.getRideDistance(),
-        driver.getDriverSpeed(),
-        rideRequestEvent.getEventTime());
-    return new RideFinishedEvent(
-        arrivalTime,
-        rideRequestEvent.getCustomerName(),
-        rideRequestEvent.getStartingLocation(),
-        rideRequestEvent.getDesiredLocation(),
-        rideRequestEvent.getRideDistance(),
-        rideRequestEvent.getPriority(),
-        rideRequestEvent.getEventTime(),
-        rideRequestEvent.getEventTime(),
-        Duration.between(rideRequestEvent.getEventTime(), arrivalTime).toSeconds(),
-        driver.getDriverName(),
-        driver.getNumOfRidesFinished(),
-        driver.getDriverSpeed());
+      int driverId) {
+    return createRideFinishedEvent(rideRequestEvent, driverId, rideRequestEvent.getEventTick());
   }
 
   /**
    * Creates a ride finished event with information encapsulated in the ride finished event, the
-   * ride requested event and a given Driver object.
+   * ride requested event and a given driver.
    *
    * @param rideFinishedEvent the given ride finished event
    * @param rideRequestEvent  the given ride requested event
-   * @param driver            the given driver object
+   * @param driverId          the id of the given driver
    * @return a ride finished event
    */
   private RideFinishedEvent createRideFinishedEvent(RideFinishedEvent rideFinishedEvent,
-      RideRequestEvent rideRequestEvent, Driver driver) {
-    LocalDateTime arrivalTime = this.arrivalTimeCalculator.calculate(
-        rideRequestEvent.getRideDistance(),
-        driver.getDriverSpeed(),
-        rideFinishedEvent.getEventTime());
-    return new RideFinishedEvent(
-        arrivalTime,
-        rideRequestEvent.getCustomerName(),
-        rideRequestEvent.getStartingLocation(),
-        rideRequestEvent.getDesiredLocation(),
-        rideRequestEvent.getRideDistance(),
+      RideRequestEvent rideRequestEvent, int driverId) {
+    return createRideFinishedEvent(rideRequestEvent, driverId, rideFinishedEvent.getEventTick());
+  }
+
+  /**
+   * Creates a ride finished event with information encapsulated in the ride requested event and a
+   * given driver, for a ride dispatched at the given tick. The ride departs at that tick, or once
+   * the driver has driven to its starting location if locations are geocoded. If they are, the
+   * ride covers the straight-line distance between its geocoded locations rather than the distance
+   * of the request, since the driver ends up at the geocoded desired location. The driver is
+   * recorded as busy until the ride ends.
+   *
+   * @param rideRequestEvent the given ride requested event
+   * @param driverId         the id of the given driver
+   * @param dispatchTick     the tick when the driver is dispatched
+   * @return a ride finished event
+   */
+  private RideFinishedEvent createRideFinishedEvent(RideRequestEvent rideRequestEvent,
+      int driverId, long dispatchTick) {
+    long departureTick = this.geocoder == null ? dispatchTick
+        : calculatePickupTick(rideRequestEvent, driverId, dispatchTick);
+    Double rideDistance = this.geocoder == null ? rideRequestEvent.getRideDistance()
+        : this.geocoder.getDistance(rideRequestEvent.getStartingLocationId(),
+            rideRequestEvent.getDesiredLocationId());
+    // A ride to the location it starts from ends as it departs
+    long arrivalTick = rideDistance == 0 ? departureTick : this.arrivalTimeCalculator.calculate(
+        rideDistance,
+        this.driverRegistry.getDriverSpeed(driverId),
+        departureTick);
+    if (this.recordRides) {
+      this.driverRegistry.startRide(driverId, arrivalTick);
+    }
+    return this.eventPool.acquire(
+        arrivalTick,
+        rideRequestEvent.getCustomerId(),
+        rideRequestEvent.getStartingLocationId(),
+        rideRequestEvent.getDesiredLocationId(),
+        rideDistance,
         rideRequestEvent.getPriority(),
-        rideRequestEvent.getEventTime(),
-        rideFinishedEvent.getEventTime(),
-        Duration.between(rideFinishedEvent.getEventTime(), arrivalTime).toSeconds(),
-        driver.getDriverName(),
-        driver.getNumOfRidesFinished(),
-        driver.getDriverSpeed());
+        rideRequestEvent.getEventTick(),
+        departureTick,
+        arrivalTick - departureTick,
+        driverId);
+  }
+
+  /**
+   * Helper method. Calculates when the given driver, dispatched at the given tick, gets to the
+   * starting location of the given ride, driving in a straight line from where it stands. The
+   * distance it drives is recorded in the statistics.
+   *
+   * @param rideRequestEvent the given ride requested event
+   * @param driverId         the id of the given driver
+   * @param dispatchTick     the tick when the driver is dispatched
+   * @return the tick when the driver picks the customer up
+   */
+  private long calculatePickupTick(RideRequestEvent rideRequestEvent, int driverId,
+      long dispatchTick) {
+    double pickupDistance = this.geocoder.getDistance(this.driverRegistry.getLocationId(driverId),
+        rideRequestEvent.getStartingLocationId());
+    if (this.recordRides) {
+      this.statistics.recordPickup(pickupDistance);
+    }
+    if (pickupDistance == 0) {
+      return dispatchTick;
+    }
+    return this.arrivalTimeCalculator.calculate(pickupDistance,
+        this.driverRegistry.getDriverSpeed(driverId), dispatchTick);
   }
 
   /**
@@ -127,7 +193,7 @@ public final class RideEventVisitor implements EventVisitor {
    * @param eventQueue    the event queue used to process the Event
    * @param requestQueue  the request queue used to process the Event
    * @param driverQueue   the driver queue used to process the Event
-   * @param rideList      the list of finished rides used to process the Event
+   * @param rideStore     the store of finished rides used to process the Event
    * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
    */
   @Override
@@ -136,42 +202,44 @@ public final class RideEventVisitor implements EventVisitor {
       HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue,
       EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue,
-      ArrayList<Ride> rideList) throws EmptyQueueException {
-    // Prints ride requested message
-    printRideRequestedMessage(event);
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException {
+    // Logs ride requested message
+    logRideRequestedMessage(event);
     // Adds requestEvent to the request queue
     requestQueue.enqueue(event);
     // If there are available drivers and the request queue is not empty, process request
-    if (!requestQueue.isQueueEmpty() && !driverQueue.isEmpty()) {
-      // Gets next driver
-      Driver driver = driverQueue.poll();
+    if (!this.dispatchDeferred && !requestQueue.isQueueEmpty() && !driverQueue.isQueueEmpty()) {
       // Gets next request
       RideRequestEvent rideRequestEvent = requestQueue.dequeue();
+      // Gets the driver picked for its starting location
+      int driverId = driverQueue.dequeueNearest(rideRequestEvent.getStartingLocationId());
       // Creates rideFinishedEvent
-      RideFinishedEvent rideFinishedEvent = createRideFinishedEvent(rideRequestEvent, driver);
+      RideFinishedEvent rideFinishedEvent = createRideFinishedEvent(rideRequestEvent, driverId);
       // Adds rideFinishedEvent back to the event queue
       eventQueue.enqueue(rideFinishedEvent);
-      // Prints ride started message
-      printRideStartedMessage(rideFinishedEvent);
+      // Logs ride started message
+      logRideStartedMessage(rideFinishedEvent);
     }
   }
 
   /**
    * Visit and process an RideFinishedEvent. When a ride finished event is dequeued from the event
-   * queue, a Ride object is created based on information encapsulated in the finished event and
-   * stored into the list of finished rides. The driver assigned to the finished event is then added
-   * back to the driver queue, with the numberOfRidesFinished attribute incremented by one. Then, if
-   * there are request in the request queue and  available drivers in the driver queue, a new ride
-   * finished event is created using a request is dequeued from the request queue and a driver is
-   * dequeued from a driver queue. The ride finished event is then added back to the event queue.
+   * queue, the ride is appended to the store of finished rides with the information encapsulated
+   * in the finished event. The number of rides finished by the driver assigned to the finished
+   * event is incremented in the driver registry, the waiting time and trip time of the ride are
+   * recorded in the statistics, the ride is exported, and the driver is added back to the driver
+   * queue. Then, if there are request in the request queue and available drivers in the driver
+   * queue, a new ride finished event is created using a request is dequeued from the request queue
+   * and a driver is dequeued from a driver queue. The ride finished event is then added back to the
+   * event queue. Finally, the processed event is released into the event pool.
    *
    * @param event         the Event that needs to be processed
    * @param rideFactories the ride factories used to process the Event
    * @param eventQueue    the event queue used to process the Event
    * @param requestQueue  the request queue used to process the Event
    * @param driverQueue   the driver queue used to process the Event
-   * @param rideList      the list of finished rides used to process the Event
+   * @param rideStore     the store of finished rides used to process the Event
    * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
    */
   @Override
@@ -180,71 +248,208 @@ public final class RideEventVisitor implements EventVisitor {
       HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue,
       EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue,
-      ArrayList<Ride> rideList) throws EmptyQueueException {
-    // Creates completed Ride
-    Ride completedRide = makeRide(event, rideFactories);
-    // Store completed Ride
-    rideList.add(completedRide);
-    // Prints ride ended message
-    printRideEndedMessage(event);
-    // Adds the current driver back to the driver queue
-    driverQueue.add(new BasicDriver(event.getDriverName(), event.getNumOfRidesFinished() + 1,
-        event.getDriverSpeed()));
-    if (!requestQueue.isQueueEmpty() && !driverQueue.isEmpty()) {
-      // Gets next driver
-      Driver driver = driverQueue.poll();
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException {
+    // Stores completed ride, with the number of rides its driver finished before it
+    int numOfRidesFinished = this.driverRegistry.getNumOfRidesFinished(event.getDriverId());
+    rideStore.add(
+        event.getDriverId(),
+        numOfRidesFinished,
+        event.getCustomerId(),
+        event.getStartingLocationId(),
+        event.getDesiredLocationId(),
+        event.getRequestTick(),
+        event.getDepartureTick(),
+        event.getEventTick(),
+        event.getRideDistance(),
+        event.getPriority());
+    // Logs ride ended message
+    logRideEndedMessage(event);
+    // Records the finished ride in place and adds the current driver back to the driver queue
+    if (this.recordRides) {
+      this.driverRegistry.finishRide(event.getDriverId(), event.getRideLength());
+      this.statistics.record(event.getPriority(), event.getDepartureTick() - event.getRequestTick(),
+          event.getRideLength());
+      if (this.exporter != null) {
+        this.exporter.export(event.getDriverId(), numOfRidesFinished, event.getCustomerId(),
+            event.getStartingLocationId(), event.getDesiredLocationId(), event.getRequestTick(),
+            event.getDepartureTick(), event.getEventTick(), event.getRideDistance(),
+            event.getPriority());
+      }
+    }
+    if (this.geocoder != null) {
+      // The driver waits where it dropped the customer off
+      this.driverRegistry.setLocationId(event.getDriverId(), event.getDesiredLocationId());
+    }
+    driverQueue.enqueue(event.getDriverId());
+    if (!this.dispatchDeferred && !requestQueue.isQueueEmpty() && !driverQueue.isQueueEmpty()) {
       // Gets next request
       RideRequestEvent rideRequestEvent = requestQueue.dequeue();
+      // Gets the driver picked for its starting location
+      int driverId = driverQueue.dequeueNearest(rideRequestEvent.getStartingLocationId());
       // Creates rideFinishedEvent
       RideFinishedEvent rideFinishedEvent = createRideFinishedEvent(event, rideRequestEvent,
-          driver);
+          driverId);
+      // Adds rideFinishedEvent back to the event queue
+      eventQueue.enqueue(rideFinishedEvent);
+      // Logs ride started message
+      logRideStartedMessage(rideFinishedEvent);
+    }
+    // The event is no longer needed and can be recycled
+    this.eventPool.release(event);
+  }
+
+  /**
+   * Visit and process a batch of Events that occur at the same instant. Each Event is processed as
+   * in the single-event visits, except that no request is dispatched while the batch is being
+   * processed: ride requests are added to the request queue and finished drivers are added back to
+   * the driver queue. Once the whole batch is processed, requests and drivers are matched in a
+   * single dispatch round, with every ride departing at the eventTime of the last Event in the
+   * batch.
+   *
+   * @param batch         the Events that need to be processed, in the order they were dequeued
+   * @param rideFactories the ride factories used to process the Events
+   * @param eventQueue    the event queue used to process the Events
+   * @param requestQueue  the request queue used to process the Events
+   * @param driverQueue   the driver queue used to process the Events
+   * @param rideStore     the store of finished rides used to process the Events
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  @Override
+  public void visitBatch(
+      List<Event> batch,
+      HashMap<Integer, RideFactory> rideFactories,
+      EventQueue<Event> eventQueue,
+      EventQueue<RideRequestEvent> requestQueue,
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    // Read before the batch is processed, since processed events may be recycled
+    long departureTick = batch.get(batch.size() - 1).getEventTick();
+    this.dispatchDeferred = true;
+    try {
+      for (Event event : batch) {
+        event.accept(this, rideFactories, eventQueue, requestQueue, driverQueue, rideStore);
+      }
+    } finally {
+      this.dispatchDeferred = this.windowMatcher != null;
+    }
+    while (!requestQueue.isQueueEmpty() && !driverQueue.isQueueEmpty()) {
+      // Gets next request
+      RideRequestEvent rideRequestEvent = requestQueue.dequeue();
+      // Gets the driver picked for its starting location
+      int driverId = driverQueue.dequeueNearest(rideRequestEvent.getStartingLocationId());
+      // Creates rideFinishedEvent departing at the batch instant
+      RideFinishedEvent rideFinishedEvent = createRideFinishedEvent(rideRequestEvent, driverId,
+          departureTick);
       // Adds rideFinishedEvent back to the event queue
       eventQueue.enqueue(rideFinishedEvent);
-      // Prints ride started message
-      printRideStartedMessage(rideFinishedEvent);
+      // Logs ride started message
+      logRideStartedMessage(rideFinishedEvent);
     }
   }
 
   /**
-   * Prints ride requested message using information encapsulated in the given ride request event.
+   * Dispatches the requests waiting at the end of a dispatch window. The requests are dequeued in
+   * the order of the request queue, as many as there are available drivers, and the window
+   * matcher matches them to the drivers for the least total pickup distance. Every ride is
+   * dispatched at the tick the window closes at.
+   *
+   * @param dispatchTick the tick the window closes at
+   * @param eventQueue   the event queue the ride finished events are added to
+   * @param requestQueue the request queue the requests are dequeued from
+   * @param driverQueue  the driver queue the drivers are taken from
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  @Override
+  public void dispatchWindow(
+      long dispatchTick,
+      EventQueue<Event> eventQueue,
+      EventQueue<RideRequestEvent> requestQueue,
+      DriverQueue driverQueue) throws EmptyQueueException {
+    if (this.windowMatcher == null) {
+      throw new IllegalStateException("Dispatch windows need a window matcher.");
+    }
+    int numOfDrivers = driverQueue.size();
+    if (this.windowRequests.length < numOfDrivers) {
+      this.windowRequests = new RideRequestEvent[Math.max(numOfDrivers,
+          2 * this.windowRequests.length)];
+      this.windowDrivers = new int[this.windowRequests.length];
+    }
+    // Gets the requests of the window, at most one per available driver
+    int numOfRequests = 0;
+    while (numOfRequests < numOfDrivers && !requestQueue.isQueueEmpty()) {
+      this.windowRequests[numOfRequests++] = requestQueue.dequeue();
+    }
+    this.windowMatcher.match(dispatchTick, this.windowRequests, numOfRequests,
+        this.windowDrivers);
+    for (int i = 0; i < numOfRequests; i++) {
+      // Creates rideFinishedEvent departing once the driver gets to the starting location
+      RideFinishedEvent rideFinishedEvent = createRideFinishedEvent(this.windowRequests[i],
+          this.windowDrivers[i], dispatchTick);
+      this.windowRequests[i] = null;
+      // Adds rideFinishedEvent back to the event queue
+      eventQueue.enqueue(rideFinishedEvent);
+      // Logs ride started message
+      logRideStartedMessage(rideFinishedEvent);
+    }
+  }
+
+  /**
+   * Logs ride requested message using information encapsulated in the given ride request event,
+   * and writes it to the event trace. The message is only formatted by the sink, if its level
+   * includes it.
    *
    * @param rideRequestEvent the given ride request event
    */
-  private void printRideRequestedMessage(RideRequestEvent rideRequestEvent) {
-    System.out.println(
-        "[RIDE REQUESTED]" + " [Request Time:   " + rideRequestEvent.getEventTime() + "]"
-            + " [Customer: " + rideRequestEvent.getCustomerName() + "]"
-            + " [Ride Type: " + RideType.getRideType(rideRequestEvent.getPriority()) + "]"
-            + " [From: " + rideRequestEvent.getStartingLocation() + "]"
-            + " [To: " + rideRequestEvent.getDesiredLocation() + "]");
+  private void logRideRequestedMessage(RideRequestEvent rideRequestEvent) {
+    if (this.trace != null) {
+      this.trace.writeRideRequested(rideRequestEvent);
+    }
+    if (!this.eventLog.isEnabled(RideMessageType.REQUESTED)) {
+      return;
+    }
+    this.eventLog.log(RideMessageType.REQUESTED, rideRequestEvent.getEventTick(),
+        rideRequestEvent.getCustomerId(), rideRequestEvent.getPriority(),
+        rideRequestEvent.getStartingLocationId(), rideRequestEvent.getDesiredLocationId());
   }
 
   /**
-   * Prints ride started message using information encapsulated in the given ride finished event.
+   * Logs ride started message using information encapsulated in the given ride finished event,
+   * and writes it to the event trace.
    *
    * @param rideFinishedEvent the given ride finished event
    */
-  private void printRideStartedMessage(RideFinishedEvent rideFinishedEvent) {
-    System.out.println(
-        "[RIDE STARTED]  " + " [Departure Time: " + rideFinishedEvent.getDepartureTime() + "]"
-            + " [Customer: " + rideFinishedEvent.getCustomerName() + "]"
-            + " [Ride Type: " + RideType.getRideType(rideFinishedEvent.getPriority()) + "]"
-            + " [From: " + rideFinishedEvent.getStartingLocation() + "]"
-            + " [To: " + rideFinishedEvent.getDesiredLocation() + "]");
+  private void logRideStartedMessage(RideFinishedEvent rideFinishedEvent) {
+    if (this.trace != null) {
+      this.trace.writeRideStarted(rideFinishedEvent);
+    }
+    if (!this.eventLog.isEnabled(RideMessageType.STARTED)) {
+      return;
+    }
+    this.eventLog.log(RideMessageType.STARTED, rideFinishedEvent.getDepartureTick(),
+        rideFinishedEvent.getCustomerId(), rideFinishedEvent.getPriority(),
+        rideFinishedEvent.getStartingLocationId(), rideFinishedEvent.getDesiredLocationId());
   }
 
   /**
-   * Prints ride ended message using information encapsulated in the given ride finished event.
+   * Logs ride ended message using information encapsulated in the given ride finished event, and
+   * writes it to the event trace. Called before the finished ride is recorded in the registry.
    *
    * @param rideFinishedEvent the given ride finished event
    */
-  private void printRideEndedMessage(RideFinishedEvent rideFinishedEvent) {
-    System.out.println(
-        "[RIDE ENDED]    " + " [Arrival Time:   " + rideFinishedEvent.getEventTime() + "]"
-            + " [Customer: " + rideFinishedEvent.getCustomerName() + "]"
-            + " [Ride Type: " + RideType.getRideType(rideFinishedEvent.getPriority()) + "]"
-            + " [From: " + rideFinishedEvent.getStartingLocation() + "]"
-            + " [To: " + rideFinishedEvent.getDesiredLocation() + "]");
+  private void logRideEndedMessage(RideFinishedEvent rideFinishedEvent) {
+    if (this.trace != null) {
+      this.trace.writeRideEnded(rideFinishedEvent,
+          this.driverRegistry.getNumOfRidesFinished(rideFinishedEvent.getDriverId()));
+    }
+    if (!this.eventLog.isEnabled(RideMessageType.ENDED)) {
+      return;
+    }
+    this.eventLog.log(RideMessageType.ENDED, rideFinishedEvent.getEventTick(),
+        rideFinishedEvent.getCustomerId(), rideFinishedEvent.getPriority(),
+        rideFinishedEvent.getStartingLocationId(), rideFinishedEvent.getDesiredLocationId());
   }
 }
@@ -1,5 +1,7 @@
 package sim.model.customer;
 
+import sim.model.data.StringDictionary;
+
 /**
  * BasicCustomer class, representing a basic customer.
  */
@@ -8,12 +10,14 @@ public final class BasicCustomer extends Customer {
   /**
    * Constructor for option1.model.customer.Customer class.
    *
-   * @param customerName     the name of the customer
-   * @param startingLocation the starting location of the customer
-   * @param desiredLocation  the desired location of the customer
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param dictionary         the dictionary the name and locations are encoded in
    */
-  public BasicCustomer(String customerName, String startingLocation, String desiredLocation) {
-    super(customerName, startingLocation, desiredLocation);
+  public BasicCustomer(int customerId, int startingLocationId, int desiredLocationId,
+      StringDictionary dictionary) {
+    super(customerId, startingLocationId, desiredLocationId, dictionary);
   }
 
   @Override
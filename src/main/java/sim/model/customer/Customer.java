@@ -1,27 +1,61 @@
 package sim.model.customer;
 
 import java.util.Objects;
+import sim.model.data.StringDictionary;
 
 /**
- * Abstract Customer class, representing a customer.
+ * Abstract Customer class, representing a customer. The name and locations of the customer are
+ * kept as ids in a string dictionary, and are only resolved when they are asked for. Customers are
+ * compared by id, so only customers encoded in the same dictionary should be compared.
  */
 public abstract class Customer {
 
-  protected final String customerName;
-  protected final String startingLocation;
-  protected final String desiredLocation;
+  protected final int customerId;
+  protected final int startingLocationId;
+  protected final int desiredLocationId;
+  protected final StringDictionary dictionary;
 
   /**
    * Constructor for option1.model.customer.Customer class.
    *
-   * @param customerName     the name of the customer
-   * @param startingLocation the starting location of the customer
-   * @param desiredLocation  the desired location of the customer
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param dictionary         the dictionary the name and locations are encoded in
    */
-  public Customer(String customerName, String startingLocation, String desiredLocation) {
-    this.customerName = customerName;
-    this.startingLocation = startingLocation;
-    this.desiredLocation = desiredLocation;
+  public Customer(int customerId, int startingLocationId, int desiredLocationId,
+      StringDictionary dictionary) {
+    this.customerId = customerId;
+    this.startingLocationId = startingLocationId;
+    this.desiredLocationId = desiredLocationId;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Gets the dictionary id of the name of the customer.
+   *
+   * @return the id of the name of the customer
+   */
+  public int getCustomerId() {
+    return customerId;
+  }
+
+  /**
+   * Gets the dictionary id of the starting location of the customer.
+   *
+   * @return the id of the starting location of the customer
+   */
+  public int getStartingLocationId() {
+    return startingLocationId;
+  }
+
+  /**
+   * Gets the dictionary id of the desired location of the customer.
+   *
+   * @return the id of the desired location of the customer
+   */
+  public int getDesiredLocationId() {
+    return desiredLocationId;
   }
 
   /**
@@ -30,7 +64,7 @@ public abstract class Customer {
    * @return the name of the customer
    */
   public String getCustomerName() {
-    return customerName;
+    return this.dictionary.decode(this.customerId);
   }
 
   /**
@@ -39,7 +73,7 @@ public abstract class Customer {
    * @return the starting location of the customer
    */
   public String getStartingLocation() {
-    return startingLocation;
+    return this.dictionary.decode(this.startingLocationId);
   }
 
   /**
@@ -48,7 +82,7 @@ public abstract class Customer {
    * @return the desired location of the customer
    */
   public String getDesiredLocation() {
-    return desiredLocation;
+    return this.dictionary.decode(this.desiredLocationId);
   }
 
   @Override
@@ -60,22 +94,22 @@ public abstract class Customer {
       return false;
     }
     Customer customer = (Customer) o;
-    return Objects.equals(getCustomerName(), customer.getCustomerName())
-        && Objects.equals(getStartingLocation(), customer.getStartingLocation())
-        && Objects.equals(getDesiredLocation(), customer.getDesiredLocation());
+    return getCustomerId() == customer.getCustomerId()
+        && getStartingLocationId() == customer.getStartingLocationId()
+        && getDesiredLocationId() == customer.getDesiredLocationId();
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getCustomerName(), getStartingLocation(), getDesiredLocation());
+    return Objects.hash(getCustomerId(), getStartingLocationId(), getDesiredLocationId());
   }
 
   @Override
   public String toString() {
     return "Customer{" +
-        "customerName='" + customerName + '\'' +
-        ", startingLocation='" + startingLocation + '\'' +
-        ", desiredLocation='" + desiredLocation + '\'' +
+        "customerName='" + getCustomerName() + '\'' +
+        ", startingLocation='" + getStartingLocation() + '\'' +
+        ", desiredLocation='" + getDesiredLocation() + '\'' +
         '}';
   }
 }
@@ -0,0 +1,428 @@
+package sim.model.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * CsvColumnReader class, reads some columns of a CSV file without regular expressions and without
+ * creating a string for the fields that are not kept. A file of the file system, or a classpath
+ * resource stored as a file, is mapped in memory through a FileChannel, in windows of 256 MB
+ * mapped as the reader moves on, so files of any size are read without being copied into the
+ * heap; a resource stored in a jar is read into a heap buffer instead.
+ *
+ * <p>Records are scanned eight bytes at a time, with the bytes of a long compared to a quote or to
+ * a delimiter at once: every field up to the last requested column is located,
+ * quoted fields included, which may hold separators, line separators and doubled quotes, and the
+ * rest of the record is skipped. Only once the whole record has been scanned are the requested
+ * fields decoded from UTF-8 into strings. The first record is a header and is skipped, as are
+ * blank lines, and a UTF-8 byte order mark is ignored.
+ */
+public final class CsvColumnReader {
+
+  private static final int WINDOW_SIZE = 1 << 28;            // bytes of a mapped window
+  private static final int INITIAL_FIELD_SIZE = 256;
+  private static final byte SEPARATOR = ',';
+  private static final byte QUOTE = '"';
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final long LOW_BITS = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final long QUOTES = QUOTE * LOW_BITS;                // a quote in every byte
+  private static final long SEPARATORS = SEPARATOR * LOW_BITS;
+  private static final long LINE_SEPARATORS = LINE_SEPARATOR * LOW_BITS;
+  private static final long CARRIAGE_RETURNS = CARRIAGE_RETURN * LOW_BITS;
+  private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private final String name;
+  private final Path path;              // file of the file system, or null
+  private final URL resource;           // resource stored in a jar, or null
+  private FileChannel channel;
+  private long fileSize;
+  private ByteBuffer buffer;
+  private long bufferOffset;            // offset in the file of the first byte of the buffer
+  private int[] fieldStarts;            // index in the buffer of the fields of the record
+  private int[] fieldEnds;
+  private boolean[] fieldQuoted;
+  private byte[] field;                 // bytes of the field being decoded
+  private long recordNumber;
+
+  /**
+   * Constructor for option1.model.data.CsvColumnReader class, over a file of the file system.
+   *
+   * @param fileName the name of the CSV file
+   */
+  public CsvColumnReader(String fileName) {
+    this.name = fileName;
+    this.path = Paths.get(fileName);
+    this.resource = null;
+  }
+
+  /**
+   * Constructor for option1.model.data.CsvColumnReader class, over a classpath resource. The
+   * resource is mapped if it is stored as a file, and read into the heap otherwise.
+   *
+   * @param resource the URL of the resource
+   */
+  public CsvColumnReader(URL resource) {
+    this.name = resource.toString();
+    Path resourcePath = null;
+    if ("file".equals(resource.getProtocol())) {
+      try {
+        resourcePath = Paths.get(resource.toURI());
+      } catch (URISyntaxException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    this.path = resourcePath;
+    this.resource = resourcePath == null ? resource : null;
+  }
+
+  /**
+   * Reads the given columns of every record but the header. The value of column columns[i] of
+   * each record is appended to values.get(i). Every record must have every requested column.
+   *
+   * @param columns the numbers of the columns read, starting from 0
+   * @param values  the lists the values of each column are appended to, in the order of columns
+   */
+  public void readColumns(int[] columns, List<? extends List<String>> values) {
+    if (columns.length != values.size()) {
+      throw new IllegalArgumentException("Expected " + columns.length + " lists of values, got "
+          + values.size() + ".");
+    }
+    int lastColumn = -1;
+    for (int column : columns) {
+      if (column < 0) {
+        throw new IllegalArgumentException("Invalid column: " + column);
+      }
+      lastColumn = Math.max(lastColumn, column);
+    }
+    this.fieldStarts = new int[lastColumn + 1];
+    this.fieldEnds = new int[lastColumn + 1];
+    this.fieldQuoted = new boolean[lastColumn + 1];
+    this.field = new byte[INITIAL_FIELD_SIZE];
+    this.recordNumber = 0;
+    try {
+      open();
+      int position = skipByteOrderMark();
+      while (position < this.buffer.limit() || hasMoreInput()) {
+        int end = scanRecord(position, lastColumn);
+        if (end < 0) {
+          if (position == 0) {
+            throw new IllegalArgumentException("Record " + (this.recordNumber + 1) + " of "
+                + this.name + " is longer than " + WINDOW_SIZE + " bytes.");
+          }
+          map(this.bufferOffset + position);
+          position = 0;
+          continue;
+        }
+        if (!isBlank(position) && this.recordNumber++ > 0) {
+          for (int i = 0; i < columns.length; i++) {
+            values.get(i).add(decodeField(columns[i]));
+          }
+        }
+        position = end;
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Computes the CRC32C checksum of the bytes of the file, window after window.
+   *
+   * @return the checksum of the file
+   */
+  public long checksum() {
+    CRC32C crc = new CRC32C();
+    try {
+      open();
+      while (true) {
+        crc.update(this.buffer);
+        if (!hasMoreInput()) {
+          break;
+        }
+        map(this.bufferOffset + this.buffer.limit());
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      close();
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * Helper method. Maps the first window of the file, or reads the resource into a heap buffer.
+   *
+   * @throws IOException if the file or the resource cannot be read
+   */
+  private void open() throws IOException {
+    this.bufferOffset = 0;
+    if (this.path != null) {
+      this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+      this.fileSize = this.channel.size();
+      map(0);
+    } else {
+      try (InputStream input = this.resource.openStream()) {
+        this.buffer = ByteBuffer.wrap(input.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      this.fileSize = this.buffer.limit();
+    }
+  }
+
+  /**
+   * Helper method. Maps the window of the file starting at the given offset.
+   *
+   * @param offset the offset in the file of the first byte of the window
+   * @throws IOException if the file cannot be mapped
+   */
+  private void map(long offset) throws IOException {
+    long size = Math.min(WINDOW_SIZE, this.fileSize - offset);
+    this.buffer = this.channel.map(MapMode.READ_ONLY, offset, size)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    this.bufferOffset = offset;
+  }
+
+  /**
+   * Helper method. Closes the file, if it was mapped, and releases the buffer.
+   */
+  private void close() {
+    this.buffer = null;
+    if (this.channel != null) {
+      try {
+        this.channel.close();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      this.channel = null;
+    }
+  }
+
+  /**
+   * Helper method. Checks if the file goes on after the buffer.
+   *
+   * @return true if there are bytes left after the buffer, false otherwise
+   */
+  private boolean hasMoreInput() {
+    return this.bufferOffset + this.buffer.limit() < this.fileSize;
+  }
+
+  /**
+   * Helper method. Skips the byte order mark at the start of the buffer, if there is one.
+   *
+   * @return the index of the first byte after the byte order mark
+   */
+  private int skipByteOrderMark() {
+    if (this.buffer.limit() < BYTE_ORDER_MARK.length) {
+      return 0;
+    }
+    for (int i = 0; i < BYTE_ORDER_MARK.length; i++) {
+      if (this.buffer.get(i) != BYTE_ORDER_MARK[i]) {
+        return 0;
+      }
+    }
+    return BYTE_ORDER_MARK.length;
+  }
+
+  /**
+   * Helper method. Checks if the record at the given index is a blank line.
+   *
+   * @param position the index of the first byte of the record
+   * @return true if the record is empty, false otherwise
+   */
+  private boolean isBlank(int position) {
+    int limit = this.buffer.limit();
+    byte first = position < limit ? this.buffer.get(position) : LINE_SEPARATOR;
+    if (first == CARRIAGE_RETURN && position + 1 < limit) {
+      first = this.buffer.get(position + 1);
+    }
+    return first == LINE_SEPARATOR || first == CARRIAGE_RETURN;
+  }
+
+  /**
+   * Helper method. Scans the record starting at the given index, locating its fields up to the
+   * given column.
+   *
+   * @param position   the index of the first byte of the record
+   * @param lastColumn the last column located
+   * @return the index of the first byte of the next record, or -1 if the record goes on after the
+   *         buffer
+   */
+  private int scanRecord(int position, int lastColumn) {
+    int limit = this.buffer.limit();
+    boolean more = hasMoreInput();
+    int column = 0;
+    int i = position;
+    while (true) {
+      int start = i;
+      int end = start;
+      boolean quoted = i < limit && this.buffer.get(i) == QUOTE;
+      if (quoted) {
+        start = ++i;
+        while (true) {
+          if (i >= limit) {
+            if (more) {
+              return -1;
+            }
+            throw new IllegalArgumentException("Unterminated quoted field in record "
+                + (this.recordNumber + 1) + " of " + this.name + ".");
+          }
+          i = indexOfQuote(i, limit);
+          if (i < limit) {
+            if (i + 1 < limit && this.buffer.get(i + 1) == QUOTE) {
+              i += 2;
+              continue;
+            }
+            if (i + 1 == limit && more) {
+              return -1;
+            }
+            break;
+          }
+        }
+        end = i++;
+      }
+      i = indexOfDelimiter(i, limit);
+      if (!quoted) {
+        end = i;
+      }
+      if (column <= lastColumn) {
+        this.fieldStarts[column] = start;
+        this.fieldEnds[column] = end;
+        this.fieldQuoted[column] = quoted;
+      }
+      column++;
+      while (i < limit && this.buffer.get(i) == CARRIAGE_RETURN) {
+        i++;
+      }
+      if (i >= limit) {
+        if (more) {
+          return -1;
+        }
+        break;
+      }
+      byte b = this.buffer.get(i);
+      if (b != SEPARATOR) {
+        if (b == LINE_SEPARATOR) {
+          i++;
+        }
+        break;
+      }
+      i++;
+    }
+    if (column <= lastColumn && !isBlank(position) && this.recordNumber > 0) {
+      throw new IllegalArgumentException("Record " + (this.recordNumber + 1) + " of " + this.name
+          + " has " + column + " columns, expected at least " + (lastColumn + 1) + ".");
+    }
+    return i;
+  }
+
+  /**
+   * Helper method. Finds the first quote of the buffer from the given index, eight bytes at a time.
+   *
+   * @param from  the index the search starts at
+   * @param limit the index the search stops at
+   * @return the index of the quote, or limit if there is none
+   */
+  private int indexOfQuote(int from, int limit) {
+    int i = from;
+    for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+      long mask = zeroBytes(this.buffer.getLong(i) ^ QUOTES);
+      if (mask != 0) {
+        return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+      }
+    }
+    while (i < limit && this.buffer.get(i) != QUOTE) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Helper method. Finds the first separator, line separator or carriage return of the buffer
+   * from the given index, eight bytes at a time.
+   *
+   * @param from  the index the search starts at
+   * @param limit the index the search stops at
+   * @return the index of the delimiter, or limit if there is none
+   */
+  private int indexOfDelimiter(int from, int limit) {
+    int i = from;
+    for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+      long word = this.buffer.getLong(i);
+      long mask = zeroBytes(word ^ SEPARATORS) | zeroBytes(word ^ LINE_SEPARATORS)
+          | zeroBytes(word ^ CARRIAGE_RETURNS);
+      if (mask != 0) {
+        return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+      }
+    }
+    while (i < limit) {
+      byte b = this.buffer.get(i);
+      if (b == SEPARATOR || b == LINE_SEPARATOR || b == CARRIAGE_RETURN) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Helper method. Marks the zero bytes of a word: the high bit of the first zero byte is set, and
+   * so are the high bits of some of the bytes after it, while the bytes before it are left clear.
+   *
+   * @param word the word, read in little-endian order
+   * @return the mask of the zero bytes, 0 if the word has none
+   */
+  private static long zeroBytes(long word) {
+    return (word - LOW_BITS) & ~word & HIGH_BITS;
+  }
+
+  /**
+   * Helper method. Decodes the given field of the record just scanned, unquoting it if it is
+   * quoted.
+   *
+   * @param column the column of the field
+   * @return the value of the field
+   */
+  private String decodeField(int column) {
+    int start = this.fieldStarts[column];
+    int length = this.fieldEnds[column] - start;
+    if (length > this.field.length) {
+      this.field = Arrays.copyOf(this.field, Math.max(length, this.field.length * 2));
+    }
+    this.buffer.get(start, this.field, 0, length);
+    if (this.fieldQuoted[column]) {
+      int unquoted = 0;
+      for (int i = 0; i < length; i++) {
+        byte b = this.field[i];
+        this.field[unquoted++] = b;
+        if (b == QUOTE) {
+          i++;
+        }
+      }
+      length = unquoted;
+    }
+    return new String(this.field, 0, length, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "CsvColumnReader{" +
+        "name='" + name + '\'' +
+        '}';
+  }
+}
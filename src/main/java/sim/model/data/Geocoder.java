@@ -0,0 +1,211 @@
+package sim.model.data;
+
+import java.util.Arrays;
+
+/**
+ * Geocoder class, gives every location of the dictionary a latitude and a longitude within a square
+ * area. The raw data only holds address strings, so the position of an address is derived from a
+ * 64-bit hash of the string: the same address is always found at the same place, whatever the id
+ * it was encoded with and whichever run encodes it. Positions are kept as miles east and north of
+ * the center of the area, the plane the area is projected on, which is accurate to a fraction of a
+ * percent at the scale of a city, and distances are measured on that plane.
+ *
+ * <p>A location is geocoded the first time it is asked for, so addresses encoded while the
+ * simulation runs, such as the addresses of a request log, are geocoded too. The geocoder is not
+ * synchronized.
+ */
+public final class Geocoder {
+
+  private static final double CENTER_LATITUDE = 29.9511;      // New Orleans
+  private static final double CENTER_LONGITUDE = -90.0715;
+  private static final double DEFAULT_AREA_WIDTH = 40.0;      // 40 miles
+  private static final double MILES_PER_DEGREE = 69.09;       // of latitude, or of longitude at 0
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int COORDINATE_BITS = 26;
+  private static final double COORDINATE_SCALE = 1.0 / (1 << COORDINATE_BITS);
+  private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+
+  private final StringDictionary dictionary;
+  private final int firstLocationId;
+  private final double areaWidth;
+  private final double milesPerDegreeOfLongitude;
+  private double[] eastings;    // location id - first location id -> miles east, or NaN
+  private double[] northings;   // location id - first location id -> miles north, or NaN
+
+  /**
+   * Constructor for option1.model.data.Geocoder class, over an area 40 miles wide. The names of
+   * the dictionary must already be set: every id after them is a location.
+   *
+   * @param dictionary the dictionary the locations are encoded in
+   */
+  public Geocoder(StringDictionary dictionary) {
+    this(dictionary, DEFAULT_AREA_WIDTH);
+  }
+
+  /**
+   * Constructor for option1.model.data.Geocoder class. The names of the dictionary must already
+   * be set: every id after them is a location.
+   *
+   * @param dictionary the dictionary the locations are encoded in
+   * @param areaWidth  the width of the square area, in miles
+   */
+  public Geocoder(StringDictionary dictionary, Double areaWidth) {
+    if (!(areaWidth > 0)) {
+      throw new IllegalArgumentException("Area width must be a positive number.");
+    }
+    this.dictionary = dictionary;
+    this.firstLocationId = dictionary.getNames().size();
+    this.areaWidth = areaWidth;
+    this.milesPerDegreeOfLongitude = MILES_PER_DEGREE * Math.cos(Math.toRadians(CENTER_LATITUDE));
+    this.eastings = new double[INITIAL_CAPACITY];
+    this.northings = new double[INITIAL_CAPACITY];
+    Arrays.fill(this.eastings, Double.NaN);
+  }
+
+  /**
+   * Gets the distance in miles east of the center of the area of the given location.
+   *
+   * @param locationId the dictionary id of the location
+   * @return the easting of the location, between minus and plus half the width of the area
+   */
+  public double getEasting(int locationId) {
+    int index = geocode(locationId);
+    return this.eastings[index];
+  }
+
+  /**
+   * Gets the distance in miles north of the center of the area of the given location.
+   *
+   * @param locationId the dictionary id of the location
+   * @return the northing of the location, between minus and plus half the width of the area
+   */
+  public double getNorthing(int locationId) {
+    int index = geocode(locationId);
+    return this.northings[index];
+  }
+
+  /**
+   * Gets the latitude of the given location.
+   *
+   * @param locationId the dictionary id of the location
+   * @return the latitude of the location, in degrees
+   */
+  public double getLatitude(int locationId) {
+    return CENTER_LATITUDE + getNorthing(locationId) / MILES_PER_DEGREE;
+  }
+
+  /**
+   * Gets the longitude of the given location.
+   *
+   * @param locationId the dictionary id of the location
+   * @return the longitude of the location, in degrees
+   */
+  public double getLongitude(int locationId) {
+    return CENTER_LONGITUDE + getEasting(locationId) / this.milesPerDegreeOfLongitude;
+  }
+
+  /**
+   * Gets the straight-line distance between two locations.
+   *
+   * @param fromLocationId the dictionary id of the first location
+   * @param toLocationId   the dictionary id of the second location
+   * @return the distance between the locations, in miles
+   */
+  public double getDistance(int fromLocationId, int toLocationId) {
+    int from = geocode(fromLocationId);
+    int to = geocode(toLocationId);
+    return Math.hypot(this.eastings[to] - this.eastings[from],
+        this.northings[to] - this.northings[from]);
+  }
+
+  /**
+   * Gets the width of the square area the locations are found in.
+   *
+   * @return the width of the area, in miles
+   */
+  public double getAreaWidth() {
+    return areaWidth;
+  }
+
+  /**
+   * Gets the dictionary id of the first location: the ids before it are names.
+   *
+   * @return the id of the first location
+   */
+  public int getFirstLocationId() {
+    return firstLocationId;
+  }
+
+  /**
+   * Helper method. Geocodes the given location, unless it already was.
+   *
+   * @param locationId the dictionary id of the location
+   * @return the index of the location in the arrays of coordinates
+   */
+  private int geocode(int locationId) {
+    int index = locationId - this.firstLocationId;
+    if (index < 0) {
+      throw new IllegalArgumentException("Id " + locationId + " is a name, not a location.");
+    }
+    if (index >= this.eastings.length) {
+      grow(index + 1);
+    }
+    if (Double.isNaN(this.eastings[index])) {
+      long hash = hash(this.dictionary.decode(locationId));
+      this.eastings[index] = toCoordinate(hash >>> (Long.SIZE - COORDINATE_BITS));
+      this.northings[index] = toCoordinate(hash >>> (Long.SIZE - 2 * COORDINATE_BITS));
+    }
+    return index;
+  }
+
+  /**
+   * Helper method. Converts the lowest bits of the given hash to a coordinate within the area.
+   *
+   * @param bits the hash, shifted so that the bits of the coordinate are the lowest
+   * @return the coordinate, in miles from the center of the area
+   */
+  private double toCoordinate(long bits) {
+    long fraction = bits & ((1L << COORDINATE_BITS) - 1);
+    return (fraction * COORDINATE_SCALE - 0.5) * this.areaWidth;
+  }
+
+  /**
+   * Helper method. Hashes the given string with 64-bit FNV-1a, whose bits are then mixed by the
+   * finalizer of SplitMix64 so that addresses that differ by one character land far apart.
+   *
+   * @param string the given string
+   * @return the hash of the string
+   */
+  private static long hash(String string) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < string.length(); i++) {
+      hash = (hash ^ string.charAt(i)) * FNV_PRIME;
+    }
+    hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    return hash ^ (hash >>> 31);
+  }
+
+  /**
+   * Helper method. Grows the arrays of coordinates to hold at least the given number of
+   * locations.
+   *
+   * @param minCapacity the number of locations
+   */
+  private void grow(int minCapacity) {
+    int capacity = Math.max(minCapacity, 2 * this.eastings.length);
+    int oldCapacity = this.eastings.length;
+    this.eastings = Arrays.copyOf(this.eastings, capacity);
+    this.northings = Arrays.copyOf(this.northings, capacity);
+    Arrays.fill(this.eastings, oldCapacity, capacity, Double.NaN);
+  }
+
+  @Override
+  public String toString() {
+    return "Geocoder{" +
+        "firstLocationId=" + firstLocationId +
+        ", areaWidth=" + areaWidth +
+        '}';
+  }
+}
@@ -0,0 +1,181 @@
+package sim.model.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * MockDataCache class, a binary cache of the columns read from the raw data, so that later
+ * launches read them without parsing the csv. The cache is a string table with an array of
+ * offsets, keyed by the checksum of the csv and the columns read:
+ * <pre>
+ *   header         magic number "RMDC", version, checksum of the csv, number of columns, number
+ *                  of rows, then the number of each column read
+ *   offsets        numOfColumns * numOfRows + 1 ints, the offset in the table of each value,
+ *                  column after column, then the size of the table
+ *   string table   the UTF-8 bytes of every value
+ * </pre>
+ * The cache is mapped in memory read-only while it is read, and a value is decoded straight from
+ * its offsets without scanning or unescaping the csv. Every value is still copied into a String on
+ * the heap, since the name space and the dictionary of the mock data hold Strings: the cache makes
+ * loading faster, but processes that read it only share its pages while they load, not the values
+ * they keep. A cache is written under a temporary name of
+ * the process and then renamed, so processes that start at the same time never read a partial
+ * cache. Data whose string table does not fit in 2 GB is not cached.
+ */
+public final class MockDataCache {
+
+  private static final int MAGIC = 0x524D4443;    // "RMDC"
+  private static final short VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES
+      + 2 * Integer.BYTES;
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final String fileName;
+
+  /**
+   * Constructor for option1.model.data.MockDataCache class.
+   *
+   * @param fileName the name of the cache file
+   */
+  public MockDataCache(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * Reads the given columns from the cache, if it was written for a csv with the given checksum
+   * and for the same columns. The values of column columns[i] are appended to values.get(i).
+   *
+   * @param checksum the checksum of the csv
+   * @param columns  the numbers of the columns read
+   * @param values   the lists the values of each column are appended to, in the order of columns
+   * @return true if the values were read from the cache, false if there is no valid cache
+   */
+  public boolean read(long checksum, int[] columns, List<? extends List<String>> values) {
+    Path path = Paths.get(this.fileName);
+    if (!Files.isRegularFile(path)) {
+      return false;
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (fileSize < HEADER_SIZE + columns.length * Integer.BYTES
+          || fileSize > Integer.MAX_VALUE) {
+        return false;
+      }
+      ByteBuffer cache = channel.map(MapMode.READ_ONLY, 0, fileSize);
+      if (cache.getInt() != MAGIC || cache.getShort() != VERSION || cache.getLong() != checksum
+          || cache.getInt() != columns.length) {
+        return false;
+      }
+      int numOfRows = cache.getInt();
+      for (int column : columns) {
+        if (cache.getInt() != column) {
+          return false;
+        }
+      }
+      long numOfOffsets = (long) columns.length * numOfRows + 1;
+      int offsetsPosition = cache.position();
+      long tableEnd = offsetsPosition + numOfOffsets * Integer.BYTES;
+      if (numOfRows < 0 || tableEnd > fileSize
+          || tableEnd + cache.getInt((int) tableEnd - Integer.BYTES) != fileSize) {
+        return false;
+      }
+      int tablePosition = (int) tableEnd;
+      byte[] bytes = new byte[0];
+      for (int i = 0; i < columns.length; i++) {
+        List<String> columnValues = values.get(i);
+        int offsetIndex = offsetsPosition + i * numOfRows * Integer.BYTES;
+        int start = cache.getInt(offsetIndex);
+        for (int row = 0; row < numOfRows; row++) {
+          offsetIndex += Integer.BYTES;
+          int end = cache.getInt(offsetIndex);
+          int length = end - start;
+          if (length > bytes.length) {
+            bytes = new byte[Math.max(length, 2 * bytes.length)];
+          }
+          cache.get(tablePosition + start, bytes, 0, length);
+          columnValues.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+          start = end;
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Writes the given columns to the cache, for a csv with the given checksum, replacing any cache
+   * of the file. Every column must hold the same number of values.
+   *
+   * @param checksum the checksum of the csv
+   * @param columns  the numbers of the columns read
+   * @param values   the values of each column, in the order of columns
+   */
+  public void write(long checksum, int[] columns, List<? extends List<String>> values) {
+    int numOfRows = values.isEmpty() ? 0 : values.get(0).size();
+    byte[][] encoded = new byte[columns.length * numOfRows][];
+    long tableSize = 0;
+    for (int i = 0; i < columns.length; i++) {
+      List<String> columnValues = values.get(i);
+      if (columnValues.size() != numOfRows) {
+        throw new IllegalArgumentException("Every column must hold " + numOfRows + " values.");
+      }
+      for (int row = 0; row < numOfRows; row++) {
+        encoded[i * numOfRows + row] = columnValues.get(row).getBytes(StandardCharsets.UTF_8);
+        tableSize += encoded[i * numOfRows + row].length;
+      }
+    }
+    long fileSize = HEADER_SIZE + (long) columns.length * Integer.BYTES
+        + (encoded.length + 1L) * Integer.BYTES + tableSize;
+    if (fileSize > Integer.MAX_VALUE) {
+      return;
+    }
+    Path path = Paths.get(this.fileName);
+    try {
+      Path temporaryPath = Paths.get(path + "." + ProcessHandle.current().pid()
+          + TEMPORARY_SUFFIX);
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(temporaryPath)))) {
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeLong(checksum);
+        output.writeInt(columns.length);
+        output.writeInt(numOfRows);
+        for (int column : columns) {
+          output.writeInt(column);
+        }
+        int offset = 0;
+        for (byte[] value : encoded) {
+          output.writeInt(offset);
+          offset += value.length;
+        }
+        output.writeInt(offset);
+        for (byte[] value : encoded) {
+          output.write(value);
+        }
+      }
+      Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MockDataCache{" +
+        "fileName='" + fileName + '\'' +
+        '}';
+  }
+}
@@ -1,31 +1,70 @@
 package sim.model.data;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
- * MockDataGenerator class, generates mock data based on the raw data.
+ * MockDataGenerator class, generates mock data based on the raw data. Every name and address is
+ * encoded in a string dictionary, so that the simulation can refer to them by id. The names are
+ * every first name followed by every last name, held by a NameSpace that builds a name only when
+ * it is resolved, so generating them takes the time and memory of the first and last names.
  */
 public final class MockDataGenerator {
 
-  private final ArrayList<String> names;
+  private final String mockDataFile;
+  private final String mockDataCache;
   private final ArrayList<String> addresses;
+  private final StringDictionary dictionary;
+  private NameSpace names;
+  private int[] addressIds;
 
   /**
    * Constructor for option1.model.data.MockDataGenerator. It generates mock data used in the
-   * simulation. The mock data generated are names and addresses.
+   * simulation. The mock data generated are names and addresses, from the default raw data.
    */
   public MockDataGenerator() {
-    this.names = new ArrayList<>();
+    this(null, null);
+  }
+
+  /**
+   * Constructor for option1.model.data.MockDataGenerator. It generates mock data used in the
+   * simulation from the given raw data file.
+   *
+   * @param mockDataFile  the csv file of raw data, or null for the default raw data
+   * @param mockDataCache the binary cache of the raw data, or null to parse the csv
+   */
+  public MockDataGenerator(String mockDataFile, String mockDataCache) {
+    this.mockDataFile = mockDataFile;
+    this.mockDataCache = mockDataCache;
     this.addresses = new ArrayList<>();
+    this.dictionary = new StringDictionary();
+    this.names = new NameSpace(List.of(), List.of());
+    this.addressIds = new int[0];
   }
 
   /**
-   * Gets the name data.
+   * Constructor for option1.model.data.MockDataGenerator. Creates a copy of the given mock data
+   * with a copy of its dictionary, so that strings encoded while a simulation runs, such as the
+   * addresses of a request log, do not change the ids another simulation gives.
+   *
+   * @param other the mock data to copy
+   */
+  public MockDataGenerator(MockDataGenerator other) {
+    this.mockDataFile = other.mockDataFile;
+    this.mockDataCache = other.mockDataCache;
+    this.addresses = new ArrayList<>(other.addresses);
+    this.dictionary = new StringDictionary(other.dictionary);
+    this.names = other.names;
+    this.addressIds = other.addressIds.clone();
+  }
+
+  /**
+   * Gets the name data. The name with index i has the dictionary id i.
    *
    * @return the name data.
    */
-  public ArrayList<String> getNames() {
+  public NameSpace getNames() {
     return names;
   }
 
@@ -39,19 +78,58 @@ public final class MockDataGenerator {
   }
 
   /**
-   * Generates name and address data. The names are generated with different permutations of first
-   * name and last name.
+   * Gets the dictionary the names and addresses are encoded in.
+   *
+   * @return the dictionary of names and addresses
+   */
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Gets the dictionary ids of the address data, in the same order as the addresses.
+   *
+   * @return the ids of the addresses
+   */
+  public int[] getAddressIds() {
+    return addressIds;
+  }
+
+  /**
+   * Checks if the name and address data have been generated.
+   *
+   * @return true if the data have been generated, false otherwise
+   */
+  public Boolean isGenerated() {
+    return this.names.size() > 0 || !this.addresses.isEmpty();
+  }
+
+  /**
+   * Generates name and address data. The names are the permutations of first name and last name,
+   * given the first ids of the dictionary without being built. Addresses are then encoded in the
+   * dictionary.
    */
   public void generate() {
-    MockDataReader reader = new MockDataReader();
+    MockDataReader reader = new MockDataReader(this.mockDataFile, this.mockDataCache);
     reader.readMockData(0, 1, 3);
-    for (String firstName : reader.getFirstNames()) {
-      for (String lastName : reader.getLastNames()) {
-        String stringBuilder = firstName + " " + lastName;
-        this.names.add(stringBuilder);
-      }
-    }
+    this.names = new NameSpace(reader.getFirstNames(), reader.getLastNames());
+    this.dictionary.setNames(this.names);
     this.addresses.addAll(reader.getAddresses());
+    this.addressIds = encode(this.addresses);
+  }
+
+  /**
+   * Helper method. Encodes the given strings in the dictionary.
+   *
+   * @param strings the given strings
+   * @return the ids of the strings, in the same order
+   */
+  private int[] encode(ArrayList<String> strings) {
+    int[] ids = new int[strings.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = this.dictionary.encode(strings.get(i));
+    }
+    return ids;
   }
 
   @Override
@@ -75,7 +153,9 @@ public final class MockDataGenerator {
   @Override
   public String toString() {
     return "MockDataGenerator{" +
-        "names=" + names +
+        "mockDataFile='" + mockDataFile + '\'' +
+        ", mockDataCache='" + mockDataCache + '\'' +
+        ", names=" + names +
         ", addresses=" + addresses +
         '}';
   }
@@ -1,31 +1,48 @@
 package sim.model.data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * MockDataReader class, reads the csv that contains raw data.
+ * MockDataReader class, reads the csv that contains raw data. The csv is read with a
+ * CsvColumnReader, which maps the file in memory and only creates strings for the columns kept.
+ * Unless another file is given, the raw data is the mock_data.csv resource of the classpath, or
+ * the copy in the source tree when the resources are not on the classpath. The columns read may be
+ * kept in a MockDataCache, so that later launches skip the csv.
  */
 public final class MockDataReader {
 
-  private static final String CSV_FILE_REGEX = "\"([^\"]*)\"";
+  private static final String MOCK_DATA_RESOURCE = "/mock/mock_data.csv";
   private static final String MOCK_DATA_FILE_PATH =
       "./src/main/resources/mock/mock_data.csv";
 
+  private final String fileName;
+  private final String cacheFile;
   private final ArrayList<String> firstNames;
   private final ArrayList<String> lastNames;
   private final ArrayList<String> addresses;
 
   /**
-   * Constructor for option1.model.data.MockDataReader class. It uses buffer reader to read the csv
-   * file and extract data used in the simulation.
+   * Constructor for option1.model.data.MockDataReader class. It reads the default raw data.
    */
   public MockDataReader() {
+    this(null, null);
+  }
+
+  /**
+   * Constructor for option1.model.data.MockDataReader class. It reads the given csv file to
+   * extract data used in the simulation.
+   *
+   * @param fileName  the name of the csv file, or null for the default raw data
+   * @param cacheFile the name of the binary cache of the data read, or null to parse the csv
+   */
+  public MockDataReader(String fileName, String cacheFile) {
+    this.fileName = fileName;
+    this.cacheFile = cacheFile;
     this.firstNames = new ArrayList<>();
     this.lastNames = new ArrayList<>();
     this.addresses = new ArrayList<>();
@@ -43,36 +60,46 @@ public final class MockDataReader {
   }
 
   /**
-   * Reads the csv file then extracts first name, last name and address.
+   * Reads the csv file then extracts first name, last name and address. With a cache, they are
+   * read from the cache instead if it was written for the same csv and columns, and the cache is
+   * written otherwise.
    *
    * @param firstNameColumn the number of the column that contains first name
    * @param lastNameColumn  the number of the column that contains last name
    * @param addressColumn   the number of the column that contains address information
    */
   private void csvReader(Integer firstNameColumn, Integer lastNameColumn, Integer addressColumn) {
-    try (BufferedReader br = new BufferedReader(new FileReader(MOCK_DATA_FILE_PATH))) {
-      br.readLine();
-      Pattern pattern = Pattern.compile(CSV_FILE_REGEX);
-      String line;
-      while ((line = br.readLine()) != null) {
-        Matcher matcher = pattern.matcher(line);
-        int i = 0;
-        while (matcher.find()) {
-          if (i == firstNameColumn) {
-            this.firstNames.add(matcher.group(1));
-          } else if (i == lastNameColumn) {
-            this.lastNames.add(matcher.group(1));
-          } else if (i == addressColumn) {
-            this.addresses.add(matcher.group(1));
-          } else if (i > addressColumn) {
-            break;
-          }
-          i++;
-        }
+    CsvColumnReader reader = createCsvReader();
+    int[] columns = {firstNameColumn, lastNameColumn, addressColumn};
+    List<ArrayList<String>> values = List.of(this.firstNames, this.lastNames, this.addresses);
+    if (this.cacheFile == null) {
+      reader.readColumns(columns, values);
+      return;
+    }
+    MockDataCache cache = new MockDataCache(this.cacheFile);
+    long checksum = reader.checksum();
+    if (!cache.read(checksum, columns, values)) {
+      reader.readColumns(columns, values);
+      cache.write(checksum, columns, values);
+    }
+  }
+
+  /**
+   * Helper method. Creates the reader of the raw data: the given file, else the resource of the
+   * classpath, else the copy in the source tree.
+   *
+   * @return the reader of the raw data
+   */
+  private CsvColumnReader createCsvReader() {
+    if (this.fileName != null) {
+      if (!Files.isRegularFile(Paths.get(this.fileName))) {
+        throw new IllegalArgumentException("Mock data file not found: " + this.fileName);
       }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+      return new CsvColumnReader(this.fileName);
     }
+    URL resource = MockDataReader.class.getResource(MOCK_DATA_RESOURCE);
+    return resource != null ? new CsvColumnReader(resource)
+        : new CsvColumnReader(MOCK_DATA_FILE_PATH);
   }
 
   /**
@@ -124,7 +151,9 @@ public final class MockDataReader {
   @Override
   public String toString() {
     return "MockDataReader{" +
-        "firstNames=" + firstNames +
+        "fileName='" + fileName + '\'' +
+        ", cacheFile='" + cacheFile + '\'' +
+        ", firstNames=" + firstNames +
         ", lastNames=" + lastNames +
         ", addresses=" + addresses +
         '}';
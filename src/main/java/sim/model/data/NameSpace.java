@@ -0,0 +1,106 @@
+package sim.model.data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NameSpace class, the names made of every first name followed by every last name, without
+ * building them. The name with index i is the first name i / L followed by the last name i % L,
+ * where L is the number of last names, which is the order the names were listed in when every
+ * combination was built up front. A name is only built when it is asked for, so the space takes
+ * the memory of its first and last names, however many combinations they make.
+ */
+public final class NameSpace {
+
+  private static final int MAX_SIZE = 1 << 30;    // half of the ids, the rest for other strings
+
+  private final String[] firstNames;
+  private final String[] lastNames;
+  private final int size;
+
+  /**
+   * Constructor for option1.model.data.NameSpace class.
+   *
+   * @param firstNames the first names
+   * @param lastNames  the last names
+   */
+  public NameSpace(List<String> firstNames, List<String> lastNames) {
+    long size = (long) firstNames.size() * lastNames.size();
+    if (size > MAX_SIZE) {
+      throw new IllegalArgumentException(firstNames.size() + " first names and "
+          + lastNames.size() + " last names make " + size + " names, more than " + MAX_SIZE + ".");
+    }
+    this.firstNames = firstNames.toArray(new String[0]);
+    this.lastNames = lastNames.toArray(new String[0]);
+    this.size = (int) size;
+  }
+
+  /**
+   * Gets the name with the given index.
+   *
+   * @param index the index of the name, from 0 to size - 1
+   * @return the first name and the last name, separated by a space
+   */
+  public String getName(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Name " + index + " out of " + this.size + " names.");
+    }
+    return this.firstNames[index / this.lastNames.length] + " "
+        + this.lastNames[index % this.lastNames.length];
+  }
+
+  /**
+   * Gets the number of names, the number of first names times the number of last names.
+   *
+   * @return the number of names
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the first names.
+   *
+   * @return the first names, unmodifiable
+   */
+  public List<String> getFirstNames() {
+    return Collections.unmodifiableList(Arrays.asList(firstNames));
+  }
+
+  /**
+   * Gets the last names.
+   *
+   * @return the last names, unmodifiable
+   */
+  public List<String> getLastNames() {
+    return Collections.unmodifiableList(Arrays.asList(lastNames));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    NameSpace nameSpace = (NameSpace) o;
+    return Arrays.equals(firstNames, nameSpace.firstNames)
+        && Arrays.equals(lastNames, nameSpace.lastNames);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(firstNames) + Arrays.hashCode(lastNames);
+  }
+
+  @Override
+  public String toString() {
+    return "NameSpace{" +
+        "numOfFirstNames=" + firstNames.length +
+        ", numOfLastNames=" + lastNames.length +
+        ", size=" + size +
+        '}';
+  }
+}
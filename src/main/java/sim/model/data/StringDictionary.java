@@ -0,0 +1,244 @@
+package sim.model.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * StringDictionary class, gives every distinct string an int id. Ids are assigned in the order the
+ * strings are first encoded, starting from 0, so a string can be resolved from its id with a
+ * single array lookup. Events and rides carry ids, and strings are only resolved when they are
+ * printed or exported.
+ *
+ * <p>A dictionary is filled before the simulation starts, and also while it runs when the
+ * arrivals are read from a request log, whose addresses are encoded as they appear. It is
+ * synchronized, so strings may be resolved by other threads, such as the writer of an event log,
+ * while they are encoded.
+ *
+ * <p>The names of a NameSpace may be given the first ids, 0 to the size of the space minus 1,
+ * before any string is encoded. They are not stored, but built from their id when they are
+ * resolved, and they are never looked up by encode: a string encoded afterwards gets an id of its
+ * own even if it is one of the names.
+ *
+ * <p>A dictionary shared by concurrent simulations is made read-only once it is filled, so that the
+ * ids it gives cannot depend on how the simulations interleave.
+ */
+public final class StringDictionary {
+
+  private static final NameSpace NO_NAMES = new NameSpace(List.of(), List.of());
+
+  private final ArrayList<String> strings;
+  private final HashMap<String, Integer> ids;
+  private NameSpace names;
+  private int numOfNames;
+  private boolean readOnly;
+
+  /**
+   * Constructor for option1.model.data.StringDictionary class.
+   */
+  public StringDictionary() {
+    this.strings = new ArrayList<>();
+    this.ids = new HashMap<>();
+    this.names = NO_NAMES;
+    this.numOfNames = 0;
+    this.readOnly = false;
+  }
+
+  /**
+   * Constructor for option1.model.data.StringDictionary class. Creates a copy of the given
+   * dictionary, which gives the same ids and then encodes strings independently of it. The copy
+   * is never read-only.
+   *
+   * @param other the dictionary to copy
+   */
+  public StringDictionary(StringDictionary other) {
+    synchronized (other) {
+      this.strings = new ArrayList<>(other.strings);
+      this.ids = new HashMap<>(other.ids);
+      this.names = other.names;
+      this.numOfNames = other.numOfNames;
+      this.readOnly = false;
+    }
+  }
+
+  /**
+   * Makes the dictionary read-only: strings it holds can still be encoded and decoded, but
+   * encoding a new string or restoring a state throws an IllegalStateException.
+   */
+  public synchronized void setReadOnly() {
+    this.readOnly = true;
+  }
+
+  /**
+   * Checks if the dictionary is read-only.
+   *
+   * @return true if no string can be added to the dictionary, false otherwise
+   */
+  public synchronized Boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * Gives the names of the given name space the first ids, in the order of their indices. The
+   * dictionary must still be empty.
+   *
+   * @param names the name space
+   */
+  public synchronized void setNames(NameSpace names) {
+    checkWritable();
+    if (this.numOfNames > 0 || !this.strings.isEmpty()) {
+      throw new IllegalStateException("Names must be given before any other string.");
+    }
+    this.names = names;
+    this.numOfNames = names.size();
+  }
+
+  /**
+   * Gets the name space whose names have the first ids.
+   *
+   * @return the name space, empty if no names were given
+   */
+  public synchronized NameSpace getNames() {
+    return names;
+  }
+
+  /**
+   * Gets the id of the given string, giving it a new id if it has not been encoded yet. The names
+   * of the name space are not looked up.
+   *
+   * @param string the given string
+   * @return the id of the string
+   */
+  public synchronized int encode(String string) {
+    Integer id = this.ids.get(string);
+    if (id == null) {
+      checkWritable();
+      id = this.numOfNames + this.strings.size();
+      this.strings.add(string);
+      this.ids.put(string, id);
+    }
+    return id;
+  }
+
+  /**
+   * Gets the string with the given id.
+   *
+   * @param id the id of the string
+   * @return the string with the given id
+   */
+  public synchronized String decode(int id) {
+    if (id < this.numOfNames) {
+      return this.names.getName(id);
+    }
+    return this.strings.get(id - this.numOfNames);
+  }
+
+  /**
+   * Gets the number of ids given: the names of the name space and the strings encoded.
+   *
+   * @return the number of ids
+   */
+  public synchronized int size() {
+    return this.numOfNames + this.strings.size();
+  }
+
+  /**
+   * Writes the first and last names of the name space, then every string encoded in id order, so
+   * that the dictionary can be restored with readState. The names are not built.
+   *
+   * @param out the output the strings are written to
+   * @throws IOException if the strings cannot be written
+   */
+  public synchronized void writeState(DataOutput out) throws IOException {
+    writeStrings(out, this.names.getFirstNames());
+    writeStrings(out, this.names.getLastNames());
+    writeStrings(out, this.strings);
+  }
+
+  /**
+   * Gives the same ids to the names and strings written by writeState. The dictionary must still
+   * be empty.
+   *
+   * @param in the input the strings are read from
+   * @throws IOException if the strings cannot be read
+   */
+  public synchronized void readState(DataInput in) throws IOException {
+    ArrayList<String> firstNames = readStrings(in);
+    setNames(new NameSpace(firstNames, readStrings(in)));
+    int numOfStrings = in.readInt();
+    for (int i = 0; i < numOfStrings; i++) {
+      String string = in.readUTF();
+      this.ids.put(string, this.numOfNames + this.strings.size());
+      this.strings.add(string);
+    }
+  }
+
+  /**
+   * Helper method. Checks that strings can still be added to the dictionary.
+   */
+  private void checkWritable() {
+    if (this.readOnly) {
+      throw new IllegalStateException("Cannot add strings to a read-only dictionary.");
+    }
+  }
+
+  /**
+   * Helper method. Writes the number of given strings, then the strings.
+   *
+   * @param out     the output
+   * @param strings the strings
+   * @throws IOException if the strings cannot be written
+   */
+  private static void writeStrings(DataOutput out, List<String> strings) throws IOException {
+    out.writeInt(strings.size());
+    for (String string : strings) {
+      out.writeUTF(string);
+    }
+  }
+
+  /**
+   * Helper method. Reads strings written by writeStrings.
+   *
+   * @param in the input
+   * @return the strings
+   * @throws IOException if the strings cannot be read
+   */
+  private static ArrayList<String> readStrings(DataInput in) throws IOException {
+    int numOfStrings = in.readInt();
+    ArrayList<String> strings = new ArrayList<>(numOfStrings);
+    for (int i = 0; i < numOfStrings; i++) {
+      strings.add(in.readUTF());
+    }
+    return strings;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    StringDictionary that = (StringDictionary) o;
+    return Objects.equals(names, that.names) && Objects.equals(strings, that.strings);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(names, strings);
+  }
+
+  @Override
+  public String toString() {
+    return "StringDictionary{" +
+        "numOfNames=" + numOfNames +
+        ", numOfStrings=" + strings.size() +
+        ", readOnly=" + readOnly +
+        '}';
+  }
+}
@@ -0,0 +1,247 @@
+package sim.model.driver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * DriverRegistry class, representing every driver of the simulation as a row of primitive arrays
+ * indexed by an int driver id. Events and driver queues only carry the driver id, and the state of
+ * a driver is updated in place when a ride starts or finishes, so that no object is allocated per
+ * ride for the driver.
+ *
+ * <p>The registry is not synchronized. A driver is only ever updated by the thread that processes
+ * the events of its current ride, so the zones of a parallel engine can share a registry as long as
+ * events are handed over between threads through a thread-safe queue.
+ */
+public final class DriverRegistry {
+
+  public static final int NO_LOCATION = -1;   // location of a driver that was never placed
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private String[] driverNames;       // driver id -> name
+  private double[] driverSpeeds;      // driver id -> driving speed
+  private int[] numOfRidesFinished;   // driver id -> number of rides finished
+  private long[] busyUntilTicks;      // driver id -> arrival tick of the last ride started
+  private long[] busySeconds;         // driver id -> total duration of the rides finished
+  private int[] locationIds;          // driver id -> location the driver stands at, or NO_LOCATION
+  private int numOfDrivers;
+
+  /**
+   * Constructor for option1.model.driver.DriverRegistry class.
+   */
+  public DriverRegistry() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructor for option1.model.driver.DriverRegistry class, with room for the given number of
+   * drivers before the arrays have to grow.
+   *
+   * @param capacity the expected number of drivers
+   */
+  public DriverRegistry(Integer capacity) {
+    int initialCapacity = Math.max(capacity, 1);
+    this.driverNames = new String[initialCapacity];
+    this.driverSpeeds = new double[initialCapacity];
+    this.numOfRidesFinished = new int[initialCapacity];
+    this.busyUntilTicks = new long[initialCapacity];
+    this.busySeconds = new long[initialCapacity];
+    this.locationIds = new int[initialCapacity];
+    this.numOfDrivers = 0;
+  }
+
+  /**
+   * Registers a new driver, who has not finished any ride yet and was not placed at any location.
+   *
+   * @param driverName  the name of the driver
+   * @param driverSpeed the driving speed of the driver
+   * @return the id of the driver
+   */
+  public int register(String driverName, Double driverSpeed) {
+    if (this.numOfDrivers == this.driverNames.length) {
+      grow();
+    }
+    int driverId = this.numOfDrivers++;
+    this.driverNames[driverId] = driverName;
+    this.driverSpeeds[driverId] = driverSpeed;
+    this.numOfRidesFinished[driverId] = 0;
+    this.busyUntilTicks[driverId] = Long.MIN_VALUE;
+    this.busySeconds[driverId] = 0;
+    this.locationIds[driverId] = NO_LOCATION;
+    return driverId;
+  }
+
+  /**
+   * Records that the given driver started a ride that ends at the given tick.
+   *
+   * @param driverId    the id of the driver
+   * @param arrivalTick the tick when the ride ends, in seconds since the epoch
+   */
+  public void startRide(int driverId, long arrivalTick) {
+    this.busyUntilTicks[driverId] = Math.max(this.busyUntilTicks[driverId], arrivalTick);
+  }
+
+  /**
+   * Records that the given driver finished a ride of the given duration.
+   *
+   * @param driverId   the id of the driver
+   * @param rideLength the duration of the ride in seconds
+   */
+  public void finishRide(int driverId, long rideLength) {
+    this.numOfRidesFinished[driverId]++;
+    this.busySeconds[driverId] += rideLength;
+  }
+
+  /**
+   * Records that the given driver stands at the given location, where it started or where its
+   * last ride dropped the customer off.
+   *
+   * @param driverId   the id of the driver
+   * @param locationId the dictionary id of the location
+   */
+  public void setLocationId(int driverId, int locationId) {
+    this.locationIds[driverId] = locationId;
+  }
+
+  /**
+   * Gets the number of registered drivers.
+   *
+   * @return the number of registered drivers
+   */
+  public int getNumOfDrivers() {
+    return numOfDrivers;
+  }
+
+  /**
+   * Gets the name of the given driver.
+   *
+   * @param driverId the id of the driver
+   * @return the name of the driver
+   */
+  public String getDriverName(int driverId) {
+    return this.driverNames[driverId];
+  }
+
+  /**
+   * Gets the driving speed of the given driver.
+   *
+   * @param driverId the id of the driver
+   * @return the driving speed of the driver
+   */
+  public double getDriverSpeed(int driverId) {
+    return this.driverSpeeds[driverId];
+  }
+
+  /**
+   * Gets the number of rides finished by the given driver.
+   *
+   * @param driverId the id of the driver
+   * @return the number of rides finished by the driver
+   */
+  public int getNumOfRidesFinished(int driverId) {
+    return this.numOfRidesFinished[driverId];
+  }
+
+  /**
+   * Gets the tick until which the given driver is busy: the arrival tick of the last ride it
+   * started.
+   *
+   * @param driverId the id of the driver
+   * @return the tick until which the driver is busy, or Long.MIN_VALUE if it never started a ride
+   */
+  public long getBusyUntilTick(int driverId) {
+    return this.busyUntilTicks[driverId];
+  }
+
+  /**
+   * Gets the total duration of the rides finished by the given driver.
+   *
+   * @param driverId the id of the driver
+   * @return the total duration of the rides finished by the driver, in seconds
+   */
+  public long getBusySeconds(int driverId) {
+    return this.busySeconds[driverId];
+  }
+
+  /**
+   * Gets the location the given driver stands at.
+   *
+   * @param driverId the id of the driver
+   * @return the dictionary id of the location, or NO_LOCATION if the driver was never placed
+   */
+  public int getLocationId(int driverId) {
+    return this.locationIds[driverId];
+  }
+
+  /**
+   * Creates a Driver object holding the current state of the given driver, for code that needs
+   * driver objects.
+   *
+   * @param driverId the id of the driver
+   * @return a driver object with the name, number of rides finished and speed of the driver
+   */
+  public Driver getDriver(int driverId) {
+    return new BasicDriver(this.driverNames[driverId], this.numOfRidesFinished[driverId],
+        this.driverSpeeds[driverId]);
+  }
+
+  /**
+   * Writes every driver, with its name, speed, the state of its rides and its location, so that
+   * the registry can be restored with readState.
+   *
+   * @param out the output the drivers are written to
+   * @throws IOException if the drivers cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    out.writeInt(this.numOfDrivers);
+    for (int i = 0; i < this.numOfDrivers; i++) {
+      out.writeUTF(this.driverNames[i]);
+      out.writeDouble(this.driverSpeeds[i]);
+      out.writeInt(this.numOfRidesFinished[i]);
+      out.writeLong(this.busyUntilTicks[i]);
+      out.writeLong(this.busySeconds[i]);
+      out.writeInt(this.locationIds[i]);
+    }
+  }
+
+  /**
+   * Replaces every registered driver with the drivers written by writeState, with the same ids.
+   *
+   * @param in the input the drivers are read from
+   * @throws IOException if the drivers cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    int size = in.readInt();
+    this.numOfDrivers = 0;
+    for (int i = 0; i < size; i++) {
+      int driverId = register(in.readUTF(), in.readDouble());
+      this.numOfRidesFinished[driverId] = in.readInt();
+      this.busyUntilTicks[driverId] = in.readLong();
+      this.busySeconds[driverId] = in.readLong();
+      this.locationIds[driverId] = in.readInt();
+    }
+  }
+
+  /**
+   * Helper method. Doubles the capacity of every array.
+   */
+  private void grow() {
+    int capacity = this.driverNames.length * 2;
+    this.driverNames = Arrays.copyOf(this.driverNames, capacity);
+    this.driverSpeeds = Arrays.copyOf(this.driverSpeeds, capacity);
+    this.numOfRidesFinished = Arrays.copyOf(this.numOfRidesFinished, capacity);
+    this.busyUntilTicks = Arrays.copyOf(this.busyUntilTicks, capacity);
+    this.busySeconds = Arrays.copyOf(this.busySeconds, capacity);
+    this.locationIds = Arrays.copyOf(this.locationIds, capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "DriverRegistry{" +
+        "numOfDrivers=" + numOfDrivers +
+        '}';
+  }
+}
@@ -1,83 +1,109 @@
 package sim.model.event;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
-import java.util.Queue;
+import sim.control.calculator.EpochTimeCalculator;
 import sim.control.exception.EmptyQueueException;
 import sim.control.factory.RideFactory;
 import sim.control.visitor.EventVisitor;
-import sim.model.driver.Driver;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventQueue;
-import sim.model.ride.Ride;
+import sim.model.ride.RideStore;
 
 /**
  * Abstract Event class, representing an event in the simulation.
  */
 public abstract class Event {
 
-  protected final LocalDateTime eventTime;
-  protected final String customerName;
-  protected final String startingLocation;
-  protected final String desiredLocation;
-  protected final Double rideDistance;
-  protected final Integer priority;
+  private static final EpochTimeCalculator EPOCH_TIME_CALCULATOR = new EpochTimeCalculator();
+
+  protected long eventTick;
+  protected int customerId;
+  protected int startingLocationId;
+  protected int desiredLocationId;
+  protected Double rideDistance;
+  protected Integer priority;
 
   /**
    * Constructor for option1.model.event.Event class.
    *
-   * @param eventTime        time used to sort the event
-   * @param customerName     the name of the customer encapsulated in this event
-   * @param startingLocation the starting location of a ride encapsulated in this event
-   * @param desiredLocation  the end location of a ride encapsulated in this event
-   * @param rideDistance     the distance covered by the ride in miles encapsulated in this event
-   * @param priority         the priority (type) of a ride encapsulated in this event
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
+   * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
+   * @param priority           the priority (type) of a ride encapsulated in this event
+   */
+  public Event(long eventTick, int customerId, int startingLocationId, int desiredLocationId,
+      Double rideDistance, Integer priority) {
+    recycle(eventTick, customerId, startingLocationId, desiredLocationId, rideDistance, priority);
+  }
+
+  /**
+   * Overwrites every attribute of the event, so that a pooled event can be reused for another
+   * ride. An event must not be recycled while it is scheduled or being processed.
+   *
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
+   * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
+   * @param priority           the priority (type) of a ride encapsulated in this event
    */
-  public Event(LocalDateTime eventTime, String customerName, String startingLocation,
-      String desiredLocation, Double rideDistance, Integer priority) {
-    this.eventTime = eventTime;
-    this.customerName = customerName;
-    this.startingLocation = startingLocation;
-    this.desiredLocation = desiredLocation;
+  protected final void recycle(long eventTick, int customerId, int startingLocationId,
+      int desiredLocationId, Double rideDistance, Integer priority) {
+    this.eventTick = eventTick;
+    this.customerId = customerId;
+    this.startingLocationId = startingLocationId;
+    this.desiredLocationId = desiredLocationId;
     this.rideDistance = rideDistance;
     this.priority = priority;
   }
 
   /**
-   * Gets the time used to sort the event.
+   * Gets the tick of the simulation clock used to sort the event.
+   *
+   * @return the tick used to sort the event, in seconds since the epoch
+   */
+  public long getEventTick() {
+    return eventTick;
+  }
+
+  /**
+   * Gets the time of the event as a calendar time, for printing and reporting.
    *
-   * @return the time used to sort the event
+   * @return the time of the event
    */
   public LocalDateTime getEventTime() {
-    return eventTime;
+    return EPOCH_TIME_CALCULATOR.toLocalDateTime(this.eventTick);
   }
 
   /**
-   * Gets the name of the customer.
+   * Gets the dictionary id of the name of the customer.
    *
-   * @return the name of the customer
+   * @return the id of the name of the customer
    */
-  public String getCustomerName() {
-    return customerName;
+  public int getCustomerId() {
+    return customerId;
   }
 
   /**
-   * Gets the starting location.
+   * Gets the dictionary id of the starting location.
    *
-   * @return the starting location
+   * @return the id of the starting location
    */
-  public String getStartingLocation() {
-    return startingLocation;
+  public int getStartingLocationId() {
+    return startingLocationId;
   }
 
   /**
-   * Gets the end location.
+   * Gets the dictionary id of the end location.
    *
-   * @return the end location
+   * @return the id of the end location
    */
-  public String getDesiredLocation() {
-    return desiredLocation;
+  public int getDesiredLocationId() {
+    return desiredLocationId;
   }
 
   /**
@@ -107,7 +133,7 @@ public abstract class Event {
    * @param eventQueue    the event priority queue
    * @param requestQueue  the request priority queue
    * @param driverQueue   the driver queue
-   * @param rideList      the list including all finished rides
+   * @param rideStore     the store of all finished rides
    * @throws EmptyQueueException throws EmptyQueueException when event queue or request queue is
    *                             empty
    */
@@ -116,8 +142,8 @@ public abstract class Event {
       HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue,
       EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue,
-      ArrayList<Ride> rideList) throws EmptyQueueException;
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException;
 
   @Override
   public boolean equals(Object o) {
@@ -128,27 +154,27 @@ public abstract class Event {
       return false;
     }
     Event event = (Event) o;
-    return Objects.equals(getEventTime(), event.getEventTime())
-        && Objects.equals(getCustomerName(), event.getCustomerName())
-        && Objects.equals(getStartingLocation(), event.getStartingLocation())
-        && Objects.equals(getDesiredLocation(), event.getDesiredLocation())
+    return getEventTick() == event.getEventTick()
+        && getCustomerId() == event.getCustomerId()
+        && getStartingLocationId() == event.getStartingLocationId()
+        && getDesiredLocationId() == event.getDesiredLocationId()
         && Objects.equals(getRideDistance(), event.getRideDistance())
         && Objects.equals(getPriority(), event.getPriority());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getEventTime(), getCustomerName(), getStartingLocation(),
-        getDesiredLocation(), getRideDistance(), getPriority());
+    return Objects.hash(getEventTick(), getCustomerId(), getStartingLocationId(),
+        getDesiredLocationId(), getRideDistance(), getPriority());
   }
 
   @Override
   public String toString() {
     return "Event{" +
-        "eventTime=" + eventTime +
-        ", customerName='" + customerName + '\'' +
-        ", startingLocation='" + startingLocation + '\'' +
-        ", desiredLocation='" + desiredLocation + '\'' +
+        "eventTick=" + eventTick +
+        ", customerId=" + customerId +
+        ", startingLocationId=" + startingLocationId +
+        ", desiredLocationId=" + desiredLocationId +
         ", rideDistance=" + rideDistance +
         ", priority=" + priority +
         '}';
@@ -1,110 +1,129 @@
 package sim.model.event;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
-import java.util.Queue;
+import sim.control.calculator.EpochTimeCalculator;
 import sim.control.exception.EmptyQueueException;
 import sim.control.factory.RideFactory;
 import sim.control.visitor.EventVisitor;
-import sim.model.driver.Driver;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventQueue;
-import sim.model.ride.Ride;
+import sim.model.ride.RideStore;
 
 /**
  * RideFinishedEvent class, representing a finished ride event in the simulation.
  */
 public final class RideFinishedEvent extends Event {
 
-  private final LocalDateTime requestTime;
-  private final LocalDateTime departureTime;
-  private final Long rideLength;
-  private final String driverName;
-  private final Integer numOfRidesFinished;
-  private final Double driverSpeed;
+  private static final EpochTimeCalculator EPOCH_TIME_CALCULATOR = new EpochTimeCalculator();
+
+  private long requestTick;
+  private long departureTick;
+  private Long rideLength;
+  private int driverId;
 
   /**
    * Constructor for option1.model.event.RideFinishedEvent class.
    *
-   * @param eventTime          time used to sort the event
-   * @param customerName       the name of the customer encapsulated in this event
-   * @param startingLocation   the starting location of a ride encapsulated in this event
-   * @param desiredLocation    the end location of a ride encapsulated in this event
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
    * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
    * @param priority           the priority (type) of a ride encapsulated in this event
-   * @param requestTime        the time of the ride request was created
-   * @param departureTime      the time of departure
+   * @param requestTick        the tick when the ride request was created
+   * @param departureTick      the tick of departure
    * @param rideLength         the duration of the ride
-   * @param driverName         the name of the driver assigned to the ride
-   * @param numOfRidesFinished the number of rides finished by the driver
-   * @param driverSpeed        the driving speed of the driver
+   * @param driverId           the id of the driver assigned to the ride in the driver registry
    */
-  public RideFinishedEvent(LocalDateTime eventTime, String customerName, String startingLocation,
-      String desiredLocation, Double rideDistance, Integer priority, LocalDateTime requestTime,
-      LocalDateTime departureTime, Long rideLength, String driverName, Integer numOfRidesFinished,
-      Double driverSpeed) {
-    super(eventTime, customerName, startingLocation, desiredLocation, rideDistance, priority);
-    this.requestTime = requestTime;
-    this.departureTime = departureTime;
-    this.rideLength = rideLength;
-    this.driverName = driverName;
-    this.numOfRidesFinished = numOfRidesFinished;
-    this.driverSpeed = driverSpeed;
+  public RideFinishedEvent(long eventTick, int customerId, int startingLocationId,
+      int desiredLocationId, Double rideDistance, Integer priority, long requestTick,
+      long departureTick, Long rideLength, int driverId) {
+    super(eventTick, customerId, startingLocationId, desiredLocationId, rideDistance, priority);
+    recycleRide(requestTick, departureTick, rideLength, driverId);
   }
 
   /**
-   * Gets the time of the ride request was created.
+   * Overwrites every attribute of the event, so that a pooled event can be reused for another
+   * ride. An event must not be recycled while it is scheduled or being processed.
    *
-   * @return the time of the ride request was created
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
+   * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
+   * @param priority           the priority (type) of a ride encapsulated in this event
+   * @param requestTick        the tick when the ride request was created
+   * @param departureTick      the tick of departure
+   * @param rideLength         the duration of the ride
+   * @param driverId           the id of the driver assigned to the ride in the driver registry
    */
-  public LocalDateTime getRequestTime() {
-    return requestTime;
+  public void recycle(long eventTick, int customerId, int startingLocationId,
+      int desiredLocationId, Double rideDistance, Integer priority, long requestTick,
+      long departureTick, Long rideLength, int driverId) {
+    recycle(eventTick, customerId, startingLocationId, desiredLocationId, rideDistance, priority);
+    recycleRide(requestTick, departureTick, rideLength, driverId);
   }
 
   /**
-   * Gets the time of departure.
+   * Helper method. Overwrites the attributes that only ride finished events have.
    *
-   * @return the time of departure
+   * @param requestTick        the tick when the ride request was created
+   * @param departureTick      the tick of departure
+   * @param rideLength         the duration of the ride
+   * @param driverId           the id of the driver assigned to the ride in the driver registry
    */
-  public LocalDateTime getDepartureTime() {
-    return departureTime;
+  private void recycleRide(long requestTick, long departureTick, Long rideLength, int driverId) {
+    this.requestTick = requestTick;
+    this.departureTick = departureTick;
+    this.rideLength = rideLength;
+    this.driverId = driverId;
   }
 
   /**
-   * Gets the duration of the ride.
+   * Gets the tick when the ride request was created.
    *
-   * @return the duration of the ride
+   * @return the tick when the ride request was created, in seconds since the epoch
    */
-  public Long getRideLength() {
-    return rideLength;
+  public long getRequestTick() {
+    return requestTick;
+  }
+
+  /**
+   * Gets the tick of departure.
+   *
+   * @return the tick of departure, in seconds since the epoch
+   */
+  public long getDepartureTick() {
+    return departureTick;
   }
 
   /**
-   * Gets the name of the driver assigned to the ride.
+   * Gets the time of departure as a calendar time, for printing and reporting.
    *
-   * @return the name of the driver assigned to the ride
+   * @return the time of departure
    */
-  public String getDriverName() {
-    return driverName;
+  public LocalDateTime getDepartureTime() {
+    return EPOCH_TIME_CALCULATOR.toLocalDateTime(this.departureTick);
   }
 
   /**
-   * Gets the number of rides finished by the driver.
+   * Gets the duration of the ride.
    *
-   * @return the number of rides finished by the driver
+   * @return the duration of the ride
    */
-  public Integer getNumOfRidesFinished() {
-    return numOfRidesFinished;
+  public Long getRideLength() {
+    return rideLength;
   }
 
   /**
-   * Gets the driving speed of the driver.
+   * Gets the id of the driver assigned to the ride.
    *
-   * @return the driving speed of the driver
+   * @return the id of the driver assigned to the ride in the driver registry
    */
-  public Double getDriverSpeed() {
-    return driverSpeed;
+  public int getDriverId() {
+    return driverId;
   }
 
   /**
@@ -115,7 +134,7 @@ public final class RideFinishedEvent extends Event {
    * @param eventQueue    the event priority queue
    * @param requestQueue  the request priority queue
    * @param driverQueue   the driver queue
-   * @param rideList      the list including all finished rides
+   * @param rideStore     the store of all finished rides
    * @throws EmptyQueueException throws EmptyQueueException when event queue or request queue is
    *                             empty
    */
@@ -125,15 +144,15 @@ public final class RideFinishedEvent extends Event {
       HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue,
       EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue,
-      ArrayList<Ride> rideList) throws EmptyQueueException {
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException {
     visitor.visit(
         this,
         rideFactories,
         eventQueue,
         requestQueue,
         driverQueue,
-        rideList);
+        rideStore);
   }
 
   @Override
@@ -148,29 +167,25 @@ public final class RideFinishedEvent extends Event {
       return false;
     }
     RideFinishedEvent that = (RideFinishedEvent) o;
-    return Objects.equals(getRequestTime(), that.getRequestTime())
-        && Objects.equals(getDepartureTime(), that.getDepartureTime())
+    return getRequestTick() == that.getRequestTick()
+        && getDepartureTick() == that.getDepartureTick()
         && Objects.equals(getRideLength(), that.getRideLength())
-        && Objects.equals(getDriverName(), that.getDriverName())
-        && Objects.equals(getNumOfRidesFinished(), that.getNumOfRidesFinished())
-        && Objects.equals(getDriverSpeed(), that.getDriverSpeed());
+        && getDriverId() == that.getDriverId();
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), getRequestTime(), getDepartureTime(), getRideLength(),
-        getDriverName(), getNumOfRidesFinished(), getDriverSpeed());
+    return Objects.hash(super.hashCode(), getRequestTick(), getDepartureTick(), getRideLength(),
+        getDriverId());
   }
 
   @Override
   public String toString() {
     return "RideFinishedEvent{" +
-        "requestTime=" + requestTime +
-        ", departureTime=" + departureTime +
+        "requestTick=" + requestTick +
+        ", departureTick=" + departureTick +
         ", rideLength=" + rideLength +
-        ", driverName='" + driverName + '\'' +
-        ", numOfRidesFinished=" + numOfRidesFinished +
-        ", driverSpeed=" + driverSpeed +
+        ", driverId=" + driverId +
         "} " + super.toString();
   }
 }
@@ -1,15 +1,12 @@
 package sim.model.event;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Queue;
 import sim.control.exception.EmptyQueueException;
 import sim.control.factory.RideFactory;
 import sim.control.visitor.EventVisitor;
-import sim.model.driver.Driver;
+import sim.model.queue.DriverQueue;
 import sim.model.queue.EventQueue;
-import sim.model.ride.Ride;
+import sim.model.ride.RideStore;
 
 /**
  * RideRequestEvent class, representing a ride request event in the simulation.
@@ -19,16 +16,16 @@ public final class RideRequestEvent extends Event {
   /**
    * Constructor for option1.model.event.RideRequestEvent class.
    *
-   * @param eventTime        time used to sort the event
-   * @param customerName     the name of the customer encapsulated in this event
-   * @param startingLocation the starting location of a ride encapsulated in this event
-   * @param desiredLocation  the end location of a ride encapsulated in this event
-   * @param rideDistance     the distance covered by the ride in miles encapsulated in this event
-   * @param priority         the priority (type) of a ride encapsulated in this event
+   * @param eventTick          tick of the simulation clock used to sort the event
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the ride
+   * @param desiredLocationId  the dictionary id of the end location of the ride
+   * @param rideDistance       the distance covered by the ride in miles encapsulated in this event
+   * @param priority           the priority (type) of a ride encapsulated in this event
    */
-  public RideRequestEvent(LocalDateTime eventTime, String customerName, String startingLocation,
-      String desiredLocation, Double rideDistance, Integer priority) {
-    super(eventTime, customerName, startingLocation, desiredLocation, rideDistance, priority);
+  public RideRequestEvent(long eventTick, int customerId, int startingLocationId,
+      int desiredLocationId, Double rideDistance, Integer priority) {
+    super(eventTick, customerId, startingLocationId, desiredLocationId, rideDistance, priority);
   }
 
   /**
@@ -39,7 +36,7 @@ public final class RideRequestEvent extends Event {
    * @param eventQueue    the event priority queue
    * @param requestQueue  the request priority queue
    * @param driverQueue   the driver queue
-   * @param rideList      the list including all finished rides
+   * @param rideStore     the store of all finished rides
    * @throws EmptyQueueException throws EmptyQueueException when event queue or request queue is
    *                             empty
    */
@@ -49,15 +46,15 @@ public final class RideRequestEvent extends Event {
       HashMap<Integer, RideFactory> rideFactories,
       EventQueue<Event> eventQueue,
       EventQueue<RideRequestEvent> requestQueue,
-      Queue<Driver> driverQueue,
-      ArrayList<Ride> rideList) throws EmptyQueueException {
+      DriverQueue driverQueue,
+      RideStore rideStore) throws EmptyQueueException {
     visitor.visit(
         this,
         rideFactories,
         eventQueue,
         requestQueue,
         driverQueue,
-        rideList);
+        rideStore);
   }
 
   @Override
@@ -0,0 +1,129 @@
+package sim.model.queue;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+
+/**
+ * ArrivalMergingEventQueue class, merges a lazily generated stream of arrivals, sorted by
+ * eventTime, with an event queue that holds every other scheduled event. Arrivals are only pulled
+ * from the stream when they become the next event, so the wrapped queue holds the events in
+ * flight instead of every future arrival. An arrival is dequeued before a queued event with the
+ * same eventTime.
+ */
+public class ArrivalMergingEventQueue implements EventQueue<Event> {
+
+  private final EventQueue<Event> eventQueue;
+  private final Iterator<? extends Event> arrivals;
+  private Event nextArrival;
+
+  /**
+   * Constructor for option1.model.queue.ArrivalMergingEventQueue class.
+   *
+   * @param eventQueue the queue of the scheduled events
+   * @param arrivals   the arrivals, in eventTime order
+   */
+  public ArrivalMergingEventQueue(EventQueue<Event> eventQueue,
+      Iterator<? extends Event> arrivals) {
+    this.eventQueue = eventQueue;
+    this.arrivals = arrivals;
+    this.nextArrival = arrivals.hasNext() ? arrivals.next() : null;
+  }
+
+  /**
+   * Constructor for option1.model.queue.ArrivalMergingEventQueue class, for a merge that resumes
+   * with the given next arrival, already pulled from the arrivals, for example when a simulation
+   * is restored from a checkpoint.
+   *
+   * @param eventQueue  the queue of the scheduled events
+   * @param arrivals    the arrivals that follow the next arrival, in eventTime order
+   * @param nextArrival the next arrival, or null if every arrival has been dequeued
+   */
+  public ArrivalMergingEventQueue(EventQueue<Event> eventQueue,
+      Iterator<? extends Event> arrivals, Event nextArrival) {
+    this.eventQueue = eventQueue;
+    this.arrivals = arrivals;
+    this.nextArrival = nextArrival;
+  }
+
+  /**
+   * Gets the next arrival, already pulled from the arrivals but not dequeued yet.
+   *
+   * @return the next arrival, or null if every arrival has been dequeued
+   */
+  public Event getNextArrival() {
+    return nextArrival;
+  }
+
+  /**
+   * Enqueues the given event into the queue of the scheduled events.
+   *
+   * @param event the given event.
+   */
+  @Override
+  public void enqueue(Event event) {
+    this.eventQueue.enqueue(event);
+  }
+
+  /**
+   * Passes every event of the queue of the scheduled events to the given sink, in the order of
+   * that queue. The arrivals are not listed: the next arrival is returned by getNextArrival, and
+   * the merge is rebuilt by enqueuing the events into a merge over the same arrivals.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  @Override
+  public void forEachQueued(Consumer<? super Event> sink) {
+    this.eventQueue.forEachQueued(sink);
+  }
+
+  /**
+   * Dequeues the earlier of the next arrival and the next scheduled event.
+   *
+   * @return the event with the earliest eventTime.
+   * @throws EmptyQueueException throws EmptyQueueException when both are exhausted
+   */
+  @Override
+  public Event dequeue() throws EmptyQueueException {
+    if (isArrivalNext()) {
+      Event arrival = this.nextArrival;
+      this.nextArrival = this.arrivals.hasNext() ? this.arrivals.next() : null;
+      return arrival;
+    }
+    return this.eventQueue.dequeue();
+  }
+
+  /**
+   * Gets the earlier of the next arrival and the next scheduled event without removing it.
+   *
+   * @return the event with the earliest eventTime, or null if both are exhausted
+   */
+  @Override
+  public Event peek() {
+    return isArrivalNext() ? this.nextArrival : this.eventQueue.peek();
+  }
+
+  /**
+   * Checks if every arrival has been dequeued and the queue of the scheduled events is empty.
+   *
+   * @return true if nothing is left to dequeue, false otherwise
+   */
+  @Override
+  public Boolean isQueueEmpty() {
+    return this.nextArrival == null && this.eventQueue.isQueueEmpty();
+  }
+
+  /**
+   * Helper method. Checks if the next arrival comes before the next scheduled event.
+   *
+   * @return true if the next arrival is dequeued next, false otherwise
+   */
+  private boolean isArrivalNext() {
+    if (this.nextArrival == null) {
+      return false;
+    }
+    Event next = this.eventQueue.peek();
+    return next == null || next.getEventTick() >= this.nextArrival.getEventTick();
+  }
+}
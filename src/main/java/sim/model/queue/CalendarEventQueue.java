@@ -0,0 +1,396 @@
+package sim.model.queue;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+
+/**
+ * CalendarEventQueue class, representing a calendar queue that stores event for simulation. The
+ * events are bucketed by eventTime, each bucket covering a fixed width of simulation time, in the
+ * same way days are laid out on a desk calendar. Enqueue and dequeue cost O(1) amortized as long as
+ * the bucket width matches the average separation between events, so the number of buckets and the
+ * bucket width are resized as the queue grows and shrinks. Events with the same eventTime are
+ * dequeued in the order they were enqueued.
+ *
+ * @param <T> type of element store in the calendar queue, any subtype of Event is allowed
+ */
+public class CalendarEventQueue<T extends Event> implements EventQueue<T> {
+
+  private static final int INITIAL_NUM_OF_BUCKETS = 2;
+  private static final long INITIAL_BUCKET_WIDTH = 60L;             // 1 minute in ticks
+  private static final int WIDTH_SAMPLE_SIZE = 25;                  // events sampled on resize
+  private static final int WIDTH_MULTIPLIER = 3;                    // width = 3 x separation
+
+  private Node<T>[] heads;
+  private Node<T>[] tails;
+  private int bucketMask;
+  private long bucketWidth;
+  private int lastBucket;
+  private long bucketTop;
+  private long lastKey;
+  private long nextSequence;
+  private int size;
+  private int growThreshold;
+  private int shrinkThreshold;
+
+  /**
+   * Constructor for option1.model.queue.CalendarEventQueue class.
+   */
+  public CalendarEventQueue() {
+    this.size = 0;
+    this.nextSequence = 0;
+    this.lastKey = Long.MIN_VALUE;
+    allocateBuckets(INITIAL_NUM_OF_BUCKETS, INITIAL_BUCKET_WIDTH);
+  }
+
+  /**
+   * Checks if the calendar queue is empty.
+   *
+   * @return true if the calendar queue is empty, false otherwise
+   */
+  @Override
+  public Boolean isQueueEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Gets the number of events in the calendar queue.
+   *
+   * @return the number of events in the calendar queue
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the current width of a bucket in ticks.
+   *
+   * @return the current width of a bucket in ticks
+   */
+  public long getBucketWidth() {
+    return this.bucketWidth;
+  }
+
+  /**
+   * Gets the current number of buckets.
+   *
+   * @return the current number of buckets
+   */
+  public int getNumOfBuckets() {
+    return this.heads.length;
+  }
+
+  /**
+   * Enqueues the given event.
+   *
+   * @param event the given event.
+   */
+  @Override
+  public void enqueue(T event) {
+    long key = event.getEventTick();
+    Node<T> node = new Node<>(key, this.nextSequence++, event);
+    if (this.size == 0 || key < this.lastKey) {
+      moveCursorTo(key);
+    }
+    insertNode(node);
+    this.size++;
+    if (this.size > this.growThreshold) {
+      resize(this.heads.length * 2);
+    }
+  }
+
+  /**
+   * Dequeues the event with the earliest eventTime.
+   *
+   * @return the event with the earliest eventTime.
+   * @throws EmptyQueueException throws EmptyQueueException when the calendar queue is empty
+   */
+  @Override
+  public T dequeue() throws EmptyQueueException {
+    if (this.size == 0) {
+      throw new EmptyQueueException("Dequeue from empty queue.");
+    }
+    Node<T> node = removeFirstNode();
+    this.size--;
+    if (this.size < this.shrinkThreshold) {
+      resize(this.heads.length / 2);
+    }
+    return node.event;
+  }
+
+  /**
+   * Gets the event with the earliest eventTime without removing it.
+   *
+   * @return the event with the earliest eventTime, or null if the calendar queue is empty
+   */
+  @Override
+  public T peek() {
+    if (this.size == 0) {
+      return null;
+    }
+    return this.heads[findFirstBucket()].event;
+  }
+
+  /**
+   * Passes every queued event to the given sink in dequeue order, events with the same eventTime
+   * in the order they were enqueued.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  @Override
+  public void forEachQueued(Consumer<? super T> sink) {
+    ArrayList<Node<T>> nodes = new ArrayList<>(this.size);
+    for (Node<T> head : this.heads) {
+      for (Node<T> node = head; node != null; node = node.next) {
+        nodes.add(node);
+      }
+    }
+    nodes.sort((first, second) -> first.key != second.key
+        ? Long.compare(first.key, second.key) : Long.compare(first.sequence, second.sequence));
+    for (Node<T> node : nodes) {
+      sink.accept(node.event);
+    }
+  }
+
+  /**
+   * Helper method. Removes the node with the smallest key from the calendar.
+   *
+   * @return the node with the smallest key
+   */
+  private Node<T> removeFirstNode() {
+    return unlinkHead(findFirstBucket());
+  }
+
+  /**
+   * Helper method. Finds the bucket whose head has the smallest key and moves the cursor to it. It
+   * scans at most one year of buckets starting from the current one, and falls back to a direct
+   * search over the bucket heads when the next event is more than a year away.
+   *
+   * @return the index of the bucket whose head has the smallest key
+   */
+  private int findFirstBucket() {
+    int bucket = this.lastBucket;
+    long top = this.bucketTop;
+    for (int i = 0; i < this.heads.length; i++) {
+      Node<T> head = this.heads[bucket];
+      if (head != null && head.key < top) {
+        // Keys enqueued later are compared with the head, so none lands behind the cursor
+        this.lastBucket = bucket;
+        this.bucketTop = top;
+        this.lastKey = head.key;
+        return bucket;
+      }
+      bucket = (bucket + 1) & this.bucketMask;
+      top += this.bucketWidth;
+    }
+    // No event within a year, jumps directly to the earliest bucket head
+    int earliest = -1;
+    for (int i = 0; i < this.heads.length; i++) {
+      Node<T> head = this.heads[i];
+      if (head != null && (earliest < 0 || head.precedes(this.heads[earliest]))) {
+        earliest = i;
+      }
+    }
+    moveCursorTo(this.heads[earliest].key);
+    return earliest;
+  }
+
+  /**
+   * Helper method. Unlinks the head node of the given bucket.
+   *
+   * @param bucket the index of the bucket
+   * @return the unlinked node
+   */
+  private Node<T> unlinkHead(int bucket) {
+    Node<T> head = this.heads[bucket];
+    this.heads[bucket] = head.next;
+    if (head.next == null) {
+      this.tails[bucket] = null;
+    }
+    head.next = null;
+    this.lastKey = head.key;
+    return head;
+  }
+
+  /**
+   * Helper method. Inserts the given node into its bucket, keeping the bucket sorted by key and
+   * then by sequence number. Nodes arriving in order are appended to the tail in constant time.
+   *
+   * @param node the node to insert
+   */
+  private void insertNode(Node<T> node) {
+    int bucket = bucketOf(node.key);
+    Node<T> tail = this.tails[bucket];
+    if (tail == null) {
+      this.heads[bucket] = node;
+      this.tails[bucket] = node;
+      return;
+    }
+    if (!node.precedes(tail)) {
+      tail.next = node;
+      this.tails[bucket] = node;
+      return;
+    }
+    Node<T> head = this.heads[bucket];
+    if (node.precedes(head)) {
+      node.next = head;
+      this.heads[bucket] = node;
+      return;
+    }
+    Node<T> previous = head;
+    while (!node.precedes(previous.next)) {
+      previous = previous.next;
+    }
+    node.next = previous.next;
+    previous.next = node;
+  }
+
+  /**
+   * Helper method. Moves the dequeue cursor to the bucket and year that contain the given key.
+   *
+   * @param key the key the cursor is moved to
+   */
+  private void moveCursorTo(long key) {
+    long day = Math.floorDiv(key, this.bucketWidth);
+    this.lastKey = key;
+    this.lastBucket = (int) (day & this.bucketMask);
+    this.bucketTop = (day + 1) * this.bucketWidth;
+  }
+
+  /**
+   * Helper method. Gets the index of the bucket for the given key.
+   *
+   * @param key the given key
+   * @return the index of the bucket
+   */
+  private int bucketOf(long key) {
+    return (int) (Math.floorDiv(key, this.bucketWidth) & this.bucketMask);
+  }
+
+  /**
+   * Helper method. Allocates empty buckets and updates the resize thresholds.
+   *
+   * @param numOfBuckets the number of buckets, must be a power of two
+   * @param width        the width of a bucket in ticks
+   */
+  private void allocateBuckets(int numOfBuckets, long width) {
+    this.heads = newNodes(numOfBuckets);
+    this.tails = newNodes(numOfBuckets);
+    this.bucketMask = numOfBuckets - 1;
+    this.bucketWidth = width;
+    this.growThreshold = numOfBuckets * 2;
+    this.shrinkThreshold = numOfBuckets > INITIAL_NUM_OF_BUCKETS ? numOfBuckets / 2 - 2 : 0;
+  }
+
+  /**
+   * Helper method. Creates an array of nodes, all null.
+   *
+   * @param length the length of the array
+   * @param <E>    type of event stored in the nodes
+   * @return the array of nodes
+   */
+  @SuppressWarnings("unchecked")
+  private static <E> Node<E>[] newNodes(int length) {
+    return (Node<E>[]) new Node<?>[length];
+  }
+
+  /**
+   * Helper method. Re-distributes every event over the given number of buckets, with a bucket
+   * width estimated from the events at the front of the queue.
+   *
+   * @param numOfBuckets the new number of buckets
+   */
+  private void resize(int numOfBuckets) {
+    long width = estimateBucketWidth();
+    Node<T>[] oldHeads = this.heads;
+    long cursorKey = this.lastKey;
+    allocateBuckets(numOfBuckets, width);
+    for (Node<T> head : oldHeads) {
+      Node<T> node = head;
+      while (node != null) {
+        Node<T> next = node.next;
+        node.next = null;
+        insertNode(node);
+        node = next;
+      }
+    }
+    moveCursorTo(cursorKey);
+  }
+
+  /**
+   * Helper method. Estimates the bucket width from the average separation of the events at the
+   * front of the queue. Separations larger than twice the average are discarded so that a few
+   * far-away events do not stretch the buckets. The sampled events are put back afterwards.
+   *
+   * @return the estimated bucket width in ticks
+   */
+  private long estimateBucketWidth() {
+    int samples = Math.min(this.size, WIDTH_SAMPLE_SIZE);
+    if (samples < 2) {
+      return this.bucketWidth;
+    }
+    int savedBucket = this.lastBucket;
+    long savedTop = this.bucketTop;
+    long savedKey = this.lastKey;
+    Node<T>[] sampled = newNodes(samples);
+    for (int i = 0; i < samples; i++) {
+      sampled[i] = removeFirstNode();
+    }
+    long total = sampled[samples - 1].key - sampled[0].key;
+    long average = total / (samples - 1);
+    long trimmedTotal = 0;
+    int trimmedCount = 0;
+    for (int i = 1; i < samples; i++) {
+      long separation = sampled[i].key - sampled[i - 1].key;
+      if (separation <= average * 2) {
+        trimmedTotal += separation;
+        trimmedCount++;
+      }
+    }
+    for (int i = samples - 1; i >= 0; i--) {
+      insertNode(sampled[i]);
+    }
+    this.lastBucket = savedBucket;
+    this.bucketTop = savedTop;
+    this.lastKey = savedKey;
+    long width = trimmedCount == 0 ? 0 : WIDTH_MULTIPLIER * (trimmedTotal / trimmedCount);
+    return width > 0 ? width : this.bucketWidth;
+  }
+
+  /**
+   * Node class, representing an event stored in a bucket of the calendar.
+   *
+   * @param <T> type of event stored in the node
+   */
+  private static final class Node<T> {
+
+    private final long key;
+    private final long sequence;
+    private final T event;
+    private Node<T> next;
+
+    /**
+     * Constructor for Node class.
+     *
+     * @param key      the eventTick of the event
+     * @param sequence the order in which the event was enqueued
+     * @param event    the event
+     */
+    private Node(long key, long sequence, T event) {
+      this.key = key;
+      this.sequence = sequence;
+      this.event = event;
+    }
+
+    /**
+     * Checks if this node should be dequeued before the other node.
+     *
+     * @param other the other node
+     * @return true if this node has a smaller key, or the same key and an earlier sequence
+     */
+    private boolean precedes(Node<T> other) {
+      return this.key < other.key || (this.key == other.key && this.sequence < other.sequence);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package sim.model.queue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import sim.control.exception.EmptyQueueException;
+
+/**
+ * DriverQueue class, representing the first-in first-out queue of available drivers. Drivers are
+ * identified by their id in the DriverRegistry, and the queue stores the ids in a growable ring
+ * buffer of ints, so that enqueuing and dequeuing a driver allocates nothing. Subclasses may
+ * order the drivers otherwise, such as by where they stand, and override every method that reads
+ * or writes the drivers.
+ */
+public class DriverQueue {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] driverIds;
+  private int head;
+  private int size;
+
+  /**
+   * Constructor for option1.model.queue.DriverQueue class.
+   */
+  public DriverQueue() {
+    this.driverIds = new int[INITIAL_CAPACITY];
+    this.head = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Constructor for option1.model.queue.DriverQueue class. Creates a copy of the given driver
+   * queue, with the same drivers in the same order.
+   *
+   * @param other the driver queue to copy
+   */
+  public DriverQueue(DriverQueue other) {
+    int otherSize = other.size();
+    this.driverIds = new int[Math.max(otherSize, INITIAL_CAPACITY)];
+    for (int i = 0; i < otherSize; i++) {
+      this.driverIds[i] = other.get(i);
+    }
+    this.head = 0;
+    this.size = otherSize;
+  }
+
+  /**
+   * Enqueues the given driver at the back of the queue.
+   *
+   * @param driverId the id of the driver
+   */
+  public void enqueue(int driverId) {
+    if (this.size == this.driverIds.length) {
+      grow();
+    }
+    this.driverIds[(this.head + this.size) % this.driverIds.length] = driverId;
+    this.size++;
+  }
+
+  /**
+   * Enqueues every driver of the given queue, in order.
+   *
+   * @param other the queue whose drivers are enqueued
+   */
+  public void enqueueAll(DriverQueue other) {
+    int otherSize = other.size();
+    for (int i = 0; i < otherSize; i++) {
+      enqueue(other.get(i));
+    }
+  }
+
+  /**
+   * Dequeues the driver at the front of the queue.
+   *
+   * @return the id of the driver at the front of the queue
+   * @throws EmptyQueueException throws EmptyQueueException when the queue is empty
+   */
+  public int dequeue() throws EmptyQueueException {
+    if (this.size == 0) {
+      throw new EmptyQueueException("Cannot dequeue from empty queue.");
+    }
+    int driverId = this.driverIds[this.head];
+    this.head = (this.head + 1) % this.driverIds.length;
+    this.size--;
+    return driverId;
+  }
+
+  /**
+   * Dequeues the driver that should serve a ride from the given location. The first-in first-out
+   * queue ignores the location and dequeues the driver at the front of the queue.
+   *
+   * @param locationId the dictionary id of the starting location of the ride
+   * @return the id of the driver
+   * @throws EmptyQueueException throws EmptyQueueException when the queue is empty
+   */
+  public int dequeueNearest(int locationId) throws EmptyQueueException {
+    return dequeue();
+  }
+
+  /**
+   * Gets the driver at the given position, counting from the front of the queue.
+   *
+   * @param index the position in the queue
+   * @return the id of the driver at the given position
+   */
+  public int get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+    }
+    return this.driverIds[(this.head + index) % this.driverIds.length];
+  }
+
+  /**
+   * Checks if the queue is empty.
+   *
+   * @return true if the queue is empty, false otherwise
+   */
+  public Boolean isQueueEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Gets the number of drivers in the queue.
+   *
+   * @return the number of drivers in the queue
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Removes every driver from the queue.
+   */
+  public void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Writes the drivers of the queue, from front to back, so that the queue can be restored with
+   * readState.
+   *
+   * @param out the output the drivers are written to
+   * @throws IOException if the drivers cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    int size = size();
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeInt(get(i));
+    }
+  }
+
+  /**
+   * Replaces the drivers of the queue with the drivers written by writeState, in the same order.
+   *
+   * @param in the input the drivers are read from
+   * @throws IOException if the drivers cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    clear();
+    int numOfDrivers = in.readInt();
+    for (int i = 0; i < numOfDrivers; i++) {
+      enqueue(in.readInt());
+    }
+  }
+
+  /**
+   * Helper method. Doubles the capacity of the ring buffer, moving the front of the queue to the
+   * start of the new buffer.
+   */
+  private void grow() {
+    int[] grown = new int[this.driverIds.length * 2];
+    for (int i = 0; i < this.size; i++) {
+      grown[i] = get(i);
+    }
+    this.driverIds = grown;
+    this.head = 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    DriverQueue that = (DriverQueue) o;
+    int size = size();
+    if (size != that.size()) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (get(i) != that.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    int size = size();
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + get(i);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    int[] ids = new int[size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = get(i);
+    }
+    return "DriverQueue{" +
+        "driverIds=" + Arrays.toString(ids) +
+        '}';
+  }
+}
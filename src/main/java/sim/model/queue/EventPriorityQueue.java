@@ -1,6 +1,7 @@
 package sim.model.queue;
 
 import java.util.PriorityQueue;
+import java.util.function.Consumer;
 import sim.control.comparator.EventComparator;
 import sim.control.exception.EmptyQueueException;
 import sim.model.event.Event;
@@ -40,6 +41,18 @@ public class EventPriorityQueue<T extends Event> extends PriorityQueue<T> implem
     this.add(event);
   }
 
+  /**
+   * Passes every queued event to the given sink in the order of the heap array. Enqueuing them in
+   * that order into an empty queue never moves an event, so it rebuilds the same heap, with the
+   * same order between events of the same eventTime.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  @Override
+  public void forEachQueued(Consumer<? super T> sink) {
+    this.forEach(sink);
+  }
+
   /**
    * Dequeues the event with the highest priority.
    *
@@ -1,5 +1,6 @@
 package sim.model.queue;
 
+import java.util.function.Consumer;
 import sim.control.exception.EmptyQueueException;
 import sim.model.event.Event;
 
@@ -25,6 +26,45 @@ public interface EventQueue<T extends Event> {
    */
   T dequeue() throws EmptyQueueException;
 
+  /**
+   * Gets the event with the highest priority without removing it.
+   *
+   * @return the event with the highest priority, or null if the priority queue is empty
+   */
+  T peek();
+
+  /**
+   * Dequeues, in priority order, every event whose eventTick is not after the given tick, and
+   * passes each of them to the given sink. Dequeuing stops at the first event that is after the
+   * given tick.
+   *
+   * @param tick the given tick, in seconds since the epoch
+   * @param sink the sink that receives the dequeued events
+   * @return the number of dequeued events
+   * @throws EmptyQueueException throws EmptyQueueException when the priority queue is empty
+   */
+  default int drainUntil(long tick, Consumer<? super T> sink)
+      throws EmptyQueueException {
+    int count = 0;
+    T next = peek();
+    while (next != null && next.getEventTick() <= tick) {
+      sink.accept(dequeue());
+      count++;
+      next = peek();
+    }
+    return count;
+  }
+
+  /**
+   * Passes every queued event to the given sink without removing it. The events come in an order
+   * that rebuilds an equivalent queue when they are enqueued in that order into an empty queue of
+   * the same type: it dequeues them in the same order, ties included, so that a simulation can be
+   * checkpointed and resumed.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  void forEachQueued(Consumer<? super T> sink);
+
   /**
    * Checks if the priority queue is empty.
    *
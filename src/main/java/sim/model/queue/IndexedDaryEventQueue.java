@@ -0,0 +1,436 @@
+package sim.model.queue;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+
+/**
+ * IndexedDaryEventQueue class, representing an indexed 4-ary heap that stores event for
+ * simulation. The heap itself only holds primitive keys: the eventTick of each event, the
+ * sequence number in which the event was scheduled, and an int slot of a payload table that
+ * holds the events. Sifting therefore compares longs in contiguous arrays instead of dereferencing
+ * Event objects. Events with the same eventTick are dequeued in the order they were scheduled.
+ *
+ * <p>Every scheduled event gets a handle that stays valid until the event is dequeued or
+ * cancelled, so an event can be cancelled or rescheduled in O(log n). A handle is a slot of the
+ * payload table together with the generation of the slot, which is bumped whenever the slot is
+ * released. Slots are reused, but a stale handle never refers to the event that took its slot
+ * over: it is no longer scheduled, and cancelling or rescheduling it throws.
+ *
+ * @param <T> type of element store in the heap, any subtype of Event is allowed
+ */
+public class IndexedDaryEventQueue<T extends Event> implements EventQueue<T> {
+
+  private static final int ARITY = 4;
+  private static final int LOG_ARITY = 2;
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int NOT_IN_HEAP = -1;
+  private static final int GENERATION_SHIFT = 32;   // handle = generation | slot
+  private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+  private long[] keys;            // heap position -> eventTick
+  private long[] sequences;       // heap position -> scheduling sequence number
+  private int[] heapSlots;        // heap position -> slot
+  private int[] positions;        // slot -> heap position, or NOT_IN_HEAP
+  private int[] generations;      // slot -> number of times the slot was released
+  private Object[] events;        // slot -> event
+  private int[] freeSlots;        // stack of released slots
+  private int numOfFreeSlots;
+  private int numOfSlots;
+  private int size;
+  private long nextSequence;
+
+  /**
+   * Constructor for option1.model.queue.IndexedDaryEventQueue class.
+   */
+  public IndexedDaryEventQueue() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.sequences = new long[INITIAL_CAPACITY];
+    this.heapSlots = new int[INITIAL_CAPACITY];
+    this.positions = new int[INITIAL_CAPACITY];
+    this.generations = new int[INITIAL_CAPACITY];
+    this.events = new Object[INITIAL_CAPACITY];
+    this.freeSlots = new int[INITIAL_CAPACITY];
+    this.numOfFreeSlots = 0;
+    this.numOfSlots = 0;
+    this.size = 0;
+    this.nextSequence = 0;
+  }
+
+  /**
+   * Checks if the heap is empty.
+   *
+   * @return true if the heap is empty, false otherwise
+   */
+  @Override
+  public Boolean isQueueEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Gets the number of events in the heap.
+   *
+   * @return the number of events in the heap
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Enqueues the given event.
+   *
+   * @param event the given event.
+   */
+  @Override
+  public void enqueue(T event) {
+    schedule(event);
+  }
+
+  /**
+   * Schedules the given event and returns its handle.
+   *
+   * @param event the given event
+   * @return the handle of the scheduled event
+   */
+  public long schedule(T event) {
+    return schedule(event, this.nextSequence++);
+  }
+
+  /**
+   * Schedules the given event with a tie-break order chosen by the caller, and returns its handle.
+   * Events with the same eventTick are dequeued in increasing order, so a caller that schedules
+   * events in an unpredictable order can still have them dequeued in a reproducible one. The
+   * order must not be mixed with that of {@link #schedule(Event)} in the same heap.
+   *
+   * @param event the given event
+   * @param order the tie-break order of the event among events with the same eventTick
+   * @return the handle of the scheduled event
+   */
+  public long schedule(T event, long order) {
+    int slot = acquireSlot();
+    int position = this.size++;
+    ensureHeapCapacity(this.size);
+    this.events[slot] = event;
+    this.keys[position] = event.getEventTick();
+    this.sequences[position] = order;
+    this.heapSlots[position] = slot;
+    this.positions[slot] = position;
+    siftUp(position);
+    return handleOf(slot);
+  }
+
+  /**
+   * Dequeues the event with the earliest eventTime.
+   *
+   * @return the event with the earliest eventTime.
+   * @throws EmptyQueueException throws EmptyQueueException when the heap is empty
+   */
+  @Override
+  public T dequeue() throws EmptyQueueException {
+    if (this.size == 0) {
+      throw new EmptyQueueException("Dequeue from empty queue.");
+    }
+    int slot = this.heapSlots[0];
+    T event = getEvent(slot);
+    removeAt(0);
+    releaseSlot(slot);
+    return event;
+  }
+
+  /**
+   * Passes every queued event to the given sink in dequeue order, events with the same eventTime
+   * in the order they were scheduled.
+   *
+   * @param sink the sink that receives the queued events
+   */
+  @Override
+  public void forEachQueued(Consumer<? super T> sink) {
+    Integer[] order = new Integer[this.size];
+    for (int position = 0; position < this.size; position++) {
+      order[position] = position;
+    }
+    Arrays.sort(order, (first, second) -> this.keys[first] != this.keys[second]
+        ? Long.compare(this.keys[first], this.keys[second])
+        : Long.compare(this.sequences[first], this.sequences[second]));
+    for (Integer position : order) {
+      sink.accept(getEvent(this.heapSlots[position]));
+    }
+  }
+
+  /**
+   * Gets the event with the earliest eventTime without removing it.
+   *
+   * @return the event with the earliest eventTime, or null if the heap is empty
+   */
+  @Override
+  public T peek() {
+    if (this.size == 0) {
+      return null;
+    }
+    return getEvent(this.heapSlots[0]);
+  }
+
+  /**
+   * Gets the handle of the event with the earliest eventTime without removing it.
+   *
+   * @return the handle of the event with the earliest eventTime
+   * @throws EmptyQueueException throws EmptyQueueException when the heap is empty
+   */
+  public long peekHandle() throws EmptyQueueException {
+    if (this.size == 0) {
+      throw new EmptyQueueException("Peek from empty queue.");
+    }
+    return handleOf(this.heapSlots[0]);
+  }
+
+  /**
+   * Checks if the given handle refers to an event that is still in the heap.
+   *
+   * @param handle the given handle
+   * @return true if the event is still scheduled, false otherwise
+   */
+  public boolean isScheduled(long handle) {
+    int slot = (int) (handle & SLOT_MASK);
+    return slot >= 0 && slot < this.numOfSlots && this.positions[slot] != NOT_IN_HEAP
+        && this.generations[slot] == (int) (handle >>> GENERATION_SHIFT);
+  }
+
+  /**
+   * Gets the event referred to by the given handle.
+   *
+   * @param handle the given handle
+   * @return the scheduled event
+   */
+  public T get(long handle) {
+    return getEvent(checkScheduled(handle));
+  }
+
+  /**
+   * Cancels the event referred to by the given handle, which is no longer scheduled afterwards.
+   *
+   * @param handle the given handle
+   * @return the cancelled event
+   */
+  public T cancel(long handle) {
+    int slot = checkScheduled(handle);
+    T event = getEvent(slot);
+    removeAt(this.positions[slot]);
+    releaseSlot(slot);
+    return event;
+  }
+
+  /**
+   * Replaces the event referred to by the given handle with the given event, and moves it to the
+   * position matching the eventTime of the new event. The handle stays valid. The rescheduled event
+   * is ordered after the events that already have the same eventTime.
+   *
+   * @param handle the given handle
+   * @param event  the event that replaces the scheduled one
+   */
+  public void reschedule(long handle, T event) {
+    int slot = checkScheduled(handle);
+    int position = this.positions[slot];
+    long oldKey = this.keys[position];
+    this.events[slot] = event;
+    this.keys[position] = event.getEventTick();
+    this.sequences[position] = this.nextSequence++;
+    if (this.keys[position] < oldKey) {
+      siftUp(position);
+    } else {
+      siftDown(position);
+    }
+  }
+
+  /**
+   * Helper method. Removes the entry at the given heap position, filling the hole with the last
+   * entry of the heap.
+   *
+   * @param position the heap position
+   */
+  private void removeAt(int position) {
+    int last = --this.size;
+    this.positions[this.heapSlots[position]] = NOT_IN_HEAP;
+    if (position == last) {
+      return;
+    }
+    move(last, position);
+    if (position > 0 && precedes(position, (position - 1) >>> LOG_ARITY)) {
+      siftUp(position);
+    } else {
+      siftDown(position);
+    }
+  }
+
+  /**
+   * Helper method. Moves the entry at the given position up until its parent precedes it.
+   *
+   * @param position the heap position
+   */
+  private void siftUp(int position) {
+    long key = this.keys[position];
+    long sequence = this.sequences[position];
+    int slot = this.heapSlots[position];
+    while (position > 0) {
+      int parent = (position - 1) >>> LOG_ARITY;
+      long parentKey = this.keys[parent];
+      if (parentKey < key || (parentKey == key && this.sequences[parent] < sequence)) {
+        break;
+      }
+      move(parent, position);
+      position = parent;
+    }
+    place(position, key, sequence, slot);
+  }
+
+  /**
+   * Helper method. Moves the entry at the given position down until it precedes its children.
+   *
+   * @param position the heap position
+   */
+  private void siftDown(int position) {
+    long key = this.keys[position];
+    long sequence = this.sequences[position];
+    int slot = this.heapSlots[position];
+    while (true) {
+      int firstChild = (position << LOG_ARITY) + 1;
+      if (firstChild >= this.size) {
+        break;
+      }
+      int lastChild = Math.min(firstChild + ARITY, this.size);
+      int best = firstChild;
+      for (int child = firstChild + 1; child < lastChild; child++) {
+        if (precedes(child, best)) {
+          best = child;
+        }
+      }
+      long bestKey = this.keys[best];
+      if (key < bestKey || (key == bestKey && sequence < this.sequences[best])) {
+        break;
+      }
+      move(best, position);
+      position = best;
+    }
+    place(position, key, sequence, slot);
+  }
+
+  /**
+   * Helper method. Checks if the entry at the first position should be dequeued before the entry
+   * at the second position.
+   *
+   * @param first  the first heap position
+   * @param second the second heap position
+   * @return true if the first entry has a smaller key, or the same key and an earlier sequence
+   */
+  private boolean precedes(int first, int second) {
+    long firstKey = this.keys[first];
+    long secondKey = this.keys[second];
+    return firstKey < secondKey
+        || (firstKey == secondKey && this.sequences[first] < this.sequences[second]);
+  }
+
+  /**
+   * Helper method. Copies the entry at one heap position to another.
+   *
+   * @param from the source heap position
+   * @param to   the destination heap position
+   */
+  private void move(int from, int to) {
+    place(to, this.keys[from], this.sequences[from], this.heapSlots[from]);
+  }
+
+  /**
+   * Helper method. Writes an entry at the given heap position.
+   *
+   * @param position the heap position
+   * @param key      the eventTick
+   * @param sequence the scheduling sequence number
+   * @param slot     the slot of the event
+   */
+  private void place(int position, long key, long sequence, int slot) {
+    this.keys[position] = key;
+    this.sequences[position] = sequence;
+    this.heapSlots[position] = slot;
+    this.positions[slot] = position;
+  }
+
+  /**
+   * Helper method. Gets a slot of the payload table, reusing a released one if possible.
+   *
+   * @return a free slot
+   */
+  private int acquireSlot() {
+    if (this.numOfFreeSlots > 0) {
+      return this.freeSlots[--this.numOfFreeSlots];
+    }
+    if (this.numOfSlots == this.positions.length) {
+      int capacity = this.positions.length * 2;
+      this.positions = Arrays.copyOf(this.positions, capacity);
+      this.generations = Arrays.copyOf(this.generations, capacity);
+      this.events = Arrays.copyOf(this.events, capacity);
+      this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+    }
+    return this.numOfSlots++;
+  }
+
+  /**
+   * Helper method. Releases the given slot so it can be reused, and bumps its generation so the
+   * handles given for it no longer refer to it.
+   *
+   * @param slot the given slot
+   */
+  private void releaseSlot(int slot) {
+    this.events[slot] = null;
+    this.positions[slot] = NOT_IN_HEAP;
+    this.generations[slot]++;
+    this.freeSlots[this.numOfFreeSlots++] = slot;
+  }
+
+  /**
+   * Helper method. Gets the handle of the given slot in its current generation.
+   *
+   * @param slot the given slot
+   * @return the handle
+   */
+  private long handleOf(int slot) {
+    return ((long) this.generations[slot] << GENERATION_SHIFT) | slot;
+  }
+
+  /**
+   * Helper method. Grows the heap arrays so they can hold the given number of entries.
+   *
+   * @param capacity the required number of entries
+   */
+  private void ensureHeapCapacity(int capacity) {
+    if (capacity > this.keys.length) {
+      int newCapacity = this.keys.length * 2;
+      this.keys = Arrays.copyOf(this.keys, newCapacity);
+      this.sequences = Arrays.copyOf(this.sequences, newCapacity);
+      this.heapSlots = Arrays.copyOf(this.heapSlots, newCapacity);
+    }
+  }
+
+  /**
+   * Helper method. Checks that the given handle refers to a scheduled event.
+   *
+   * @param handle the given handle
+   * @return the slot of the event
+   */
+  private int checkScheduled(long handle) {
+    if (!isScheduled(handle)) {
+      throw new IllegalArgumentException("Handle does not refer to a scheduled event: " + handle);
+    }
+    return (int) (handle & SLOT_MASK);
+  }
+
+  /**
+   * Helper method. Gets the event stored in the given slot.
+   *
+   * @param slot the given slot
+   * @return the event
+   */
+  @SuppressWarnings("unchecked")
+  private T getEvent(int slot) {
+    return (T) this.events[slot];
+  }
+}
@@ -1,10 +1,14 @@
 package sim.model.queue;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.function.Consumer;
 import sim.control.comparator.RequestComparator;
 import sim.control.exception.EmptyQueueException;
 import sim.model.event.RideRequestEvent;
@@ -22,10 +26,10 @@ public class RequestPriorityQueue<T extends RideRequestEvent> extends
     ArrayList<PriorityQueue<T>> implements EventQueue<T> {
 
   private static final Integer NUM_PRIORITY_QUEUES = 4;
-  private static final Integer EXPRESS_QUANTUM = 10;
-  private static final Integer STANDARD_QUANTUM = 7;
-  private static final Integer WAIT_AND_SAVE_QUANTUM = 5;
-  private static final Integer ENVIRONMENTALLY_CONSCIOUS_QUANTUM = 3;
+  public static final Integer EXPRESS_QUANTUM = 10;
+  public static final Integer STANDARD_QUANTUM = 7;
+  public static final Integer WAIT_AND_SAVE_QUANTUM = 5;
+  public static final Integer ENVIRONMENTALLY_CONSCIOUS_QUANTUM = 3;
 
   private Queue<Integer> indices;
   private HashMap<Integer, Integer> countMap;
@@ -47,10 +51,42 @@ public class RequestPriorityQueue<T extends RideRequestEvent> extends
    * higher priority queue has a higher probability of being served.
    */
   public RequestPriorityQueue() {
+    this(EXPRESS_QUANTUM, STANDARD_QUANTUM, WAIT_AND_SAVE_QUANTUM,
+        ENVIRONMENTALLY_CONSCIOUS_QUANTUM);
+  }
+
+  /**
+   * Constructor for option1.model.queue.RequestPriorityQueue class, with the given service quantum
+   * for each priority queue instead of the default ones.
+   *
+   * @param expressQuantum                  the service quantum of express rides
+   * @param standardQuantum                 the service quantum of standard rides
+   * @param waitAndSaveQuantum              the service quantum of wait and save rides
+   * @param environmentallyConsciousQuantum the service quantum of environmentally conscious rides
+   */
+  public RequestPriorityQueue(Integer expressQuantum, Integer standardQuantum,
+      Integer waitAndSaveQuantum, Integer environmentallyConsciousQuantum) {
     initializePriorityQueues();
     initializeIndices();
     initializeCountMap();
-    initializeQuantumMap();
+    initializeQuantumMap(expressQuantum, standardQuantum, waitAndSaveQuantum,
+        environmentallyConsciousQuantum);
+  }
+
+  /**
+   * Constructor for option1.model.queue.RequestPriorityQueue class. Creates a copy of the given
+   * request queue, with the same requests and the same rotation state, so that both queues dequeue
+   * the same requests in the same order. The requests themselves are shared.
+   *
+   * @param other the request queue to copy
+   */
+  public RequestPriorityQueue(RequestPriorityQueue<T> other) {
+    for (PriorityQueue<T> pq : other) {
+      this.add(new PriorityQueue<>(pq));
+    }
+    this.indices = new LinkedList<>(other.indices);
+    this.countMap = new HashMap<>(other.countMap);
+    this.quantumMap = other.quantumMap; // never modified after initialization
   }
 
   /**
@@ -87,21 +123,27 @@ public class RequestPriorityQueue<T extends RideRequestEvent> extends
   /**
    * Initializes the quantum map that record the maximum service quantum that each queue can reach
    * before providing service to the next queue in each iteration.
+   *
+   * @param expressQuantum                  the service quantum of express rides
+   * @param standardQuantum                 the service quantum of standard rides
+   * @param waitAndSaveQuantum              the service quantum of wait and save rides
+   * @param environmentallyConsciousQuantum the service quantum of environmentally conscious rides
    */
-  private void initializeQuantumMap() {
+  private void initializeQuantumMap(Integer expressQuantum, Integer standardQuantum,
+      Integer waitAndSaveQuantum, Integer environmentallyConsciousQuantum) {
     this.quantumMap = new HashMap<>();
     for (int i = 0; i < NUM_PRIORITY_QUEUES; i++) {
       if (i == RideType.EXPRESS_PICK_UP.getPriority()) {
-        this.quantumMap.put(i, EXPRESS_QUANTUM);
+        this.quantumMap.put(i, expressQuantum);
       }
       if (i == RideType.STANDARD_PICK_UP.getPriority()) {
-        this.quantumMap.put(i, STANDARD_QUANTUM);
+        this.quantumMap.put(i, standardQuantum);
       }
       if (i == RideType.WAIT_AND_SAVE_PICK_UP.getPriority()) {
-        this.quantumMap.put(i, WAIT_AND_SAVE_QUANTUM);
+        this.quantumMap.put(i, waitAndSaveQuantum);
       }
       if (i == RideType.ENVIRONMENTALLY_CONSCIOUS_PICK_UP.getPriority()) {
-        this.quantumMap.put(i, ENVIRONMENTALLY_CONSCIOUS_QUANTUM);
+        this.quantumMap.put(i, environmentallyConsciousQuantum);
       }
     }
   }
@@ -142,6 +184,19 @@ public class RequestPriorityQueue<T extends RideRequestEvent> extends
     return Boolean.TRUE;
   }
 
+  /**
+   * Gets the number of requests in all priority queues.
+   *
+   * @return the number of requests in all priority queues
+   */
+  public Integer getNumOfRequests() {
+    int count = 0;
+    for (PriorityQueue<T> pq : this) {
+      count += pq.size();
+    }
+    return count;
+  }
+
   /**
    * Dequeues the request event with the highest priority.
    *
@@ -157,6 +212,77 @@ public class RequestPriorityQueue<T extends RideRequestEvent> extends
     }
   }
 
+  /**
+   * Gets the request event that the next dequeue would return, without removing it or advancing
+   * the rotation of the queues.
+   *
+   * @return the request with the highest priority, or null if the priority queue is empty
+   */
+  @Override
+  public T peek() {
+    if (this.isQueueEmpty()) {
+      return null;
+    }
+    Integer current = this.indices.peek();
+    if (this.countMap.get(current) < this.quantumMap.get(current)
+        && !this.get(current).isEmpty()) {
+      return this.get(current).peek();
+    }
+    // The current queue is exhausted, the next non-empty queue in rotation order is served
+    for (Integer index : this.indices) {
+      if (!index.equals(current) && !this.get(index).isEmpty()) {
+        return this.get(index).peek();
+      }
+    }
+    return this.get(current).peek();
+  }
+
+  /**
+   * Passes every queued request to the given sink, queue by queue in the order of each heap array.
+   * Enqueuing them in that order into an empty request queue rebuilds the same heaps.
+   *
+   * @param sink the sink that receives the queued requests
+   */
+  @Override
+  public void forEachQueued(Consumer<? super T> sink) {
+    for (PriorityQueue<T> pq : this) {
+      pq.forEach(sink);
+    }
+  }
+
+  /**
+   * Writes the rotation state of the queues: the order in which they are served and the number of
+   * requests each one served in its current turn, so that it can be restored with
+   * readRotationState. The requests themselves are not written.
+   *
+   * @param out the output the rotation state is written to
+   * @throws IOException if the rotation state cannot be written
+   */
+  public void writeRotationState(DataOutput out) throws IOException {
+    for (Integer index : this.indices) {
+      out.writeByte(index);
+    }
+    for (int i = 0; i < NUM_PRIORITY_QUEUES; i++) {
+      out.writeInt(this.countMap.get(i));
+    }
+  }
+
+  /**
+   * Replaces the rotation state of the queues with a state written by writeRotationState.
+   *
+   * @param in the input the rotation state is read from
+   * @throws IOException if the rotation state cannot be read
+   */
+  public void readRotationState(DataInput in) throws IOException {
+    this.indices.clear();
+    for (int i = 0; i < NUM_PRIORITY_QUEUES; i++) {
+      this.indices.add((int) in.readByte());
+    }
+    for (int i = 0; i < NUM_PRIORITY_QUEUES; i++) {
+      this.countMap.put(i, in.readInt());
+    }
+  }
+
   /**
    * Helper method. Gets the index of the next queue that is going to be served.
    *
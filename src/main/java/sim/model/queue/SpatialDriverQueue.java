@@ -0,0 +1,546 @@
+package sim.model.queue;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import sim.control.exception.EmptyQueueException;
+import sim.model.data.Geocoder;
+import sim.model.driver.DriverRegistry;
+
+/**
+ * SpatialDriverQueue class, the available drivers indexed by where they stand, so that the driver
+ * nearest to the starting location of a ride is found without scanning every driver. A driver
+ * stands at the location recorded in the DriverRegistry when it is enqueued: where it started, or
+ * where its last ride dropped the customer off.
+ *
+ * <p>The drivers standing at the same location wait in a first-in first-out list threaded
+ * through an int array, and every location with at least one driver is listed in a cell of a
+ * uniform grid laid over the area of the Geocoder. A nearest query scans the cells ring by ring
+ * around the starting location, and stops as soon as no cell of the next ring can hold a nearer
+ * location, so its cost depends on the number of occupied locations around the start, not on the
+ * number of drivers. Removing a driver and adding it back elsewhere swaps entries in place, and
+ * allocates nothing once the arrays have grown to the number of drivers and locations.
+ *
+ * <p>The lists are doubly linked, so that any driver can be taken out of the queue, and a
+ * k-nearest query lists the drivers nearest to a location for a dispatcher that matches many
+ * requests at once.
+ */
+public final class SpatialDriverQueue extends DriverQueue {
+
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int INITIAL_CELL_CAPACITY = 4;
+  private static final double LOCATIONS_PER_CELL = 2.0;
+
+  private final DriverRegistry driverRegistry;
+  private final Geocoder geocoder;
+  private final int firstLocationId;
+  private final int cellsPerSide;
+  private final double cellWidth;
+  private final double halfAreaWidth;
+  private final int[][] cellLocations;  // cell -> locations with a driver, in slots 0 to size - 1
+  private final int[] cellSizes;        // cell -> number of locations with a driver
+  private int[] firstDrivers;           // location -> first driver standing there, or NONE
+  private int[] lastDrivers;            // location -> last driver standing there, or NONE
+  private int[] locationSlots;          // location -> slot in its cell, or NONE without driver
+  private int[] nextDrivers;            // driver id -> next driver at the same location, or NONE
+  private int[] prevDrivers;            // driver id -> previous driver at the same location
+  private int[] driverSlots;            // driver id -> slot in availableDrivers
+  private int[] availableDrivers;       // every available driver, in slots 0 to size - 1
+  private int numOfDrivers;
+  private int nearestLocation;          // result of the last scan of a cell
+  private double nearestDistanceSquared;
+  private int[] foundLocations;         // location of each driver found by the last k-nearest scan
+  private int numOfFound;
+
+  /**
+   * Constructor for option1.model.queue.SpatialDriverQueue class. The grid has about one cell for
+   * every two expected locations, the addresses of the raw data for example.
+   *
+   * @param driverRegistry the registry the locations of the drivers are read from
+   * @param geocoder       the geocoder of the locations
+   * @param numOfLocations the expected number of locations
+   */
+  public SpatialDriverQueue(DriverRegistry driverRegistry, Geocoder geocoder,
+      Integer numOfLocations) {
+    this.driverRegistry = driverRegistry;
+    this.geocoder = geocoder;
+    this.firstLocationId = geocoder.getFirstLocationId();
+    this.cellsPerSide = Math.max(1,
+        (int) Math.ceil(Math.sqrt(numOfLocations / LOCATIONS_PER_CELL)));
+    this.cellWidth = geocoder.getAreaWidth() / this.cellsPerSide;
+    this.halfAreaWidth = geocoder.getAreaWidth() / 2;
+    this.cellLocations = new int[this.cellsPerSide * this.cellsPerSide][];
+    this.cellSizes = new int[this.cellsPerSide * this.cellsPerSide];
+    this.firstDrivers = new int[0];
+    this.lastDrivers = new int[0];
+    this.locationSlots = new int[0];
+    this.nextDrivers = new int[INITIAL_CAPACITY];
+    this.prevDrivers = new int[INITIAL_CAPACITY];
+    this.driverSlots = new int[INITIAL_CAPACITY];
+    this.availableDrivers = new int[INITIAL_CAPACITY];
+    this.numOfDrivers = 0;
+    this.foundLocations = new int[0];
+    growLocations(numOfLocations);
+  }
+
+  /**
+   * Enqueues the given driver at the location recorded for it in the driver registry, behind the
+   * drivers already standing there.
+   *
+   * @param driverId the id of the driver
+   */
+  @Override
+  public void enqueue(int driverId) {
+    int locationId = this.driverRegistry.getLocationId(driverId);
+    if (locationId == DriverRegistry.NO_LOCATION) {
+      throw new IllegalArgumentException("Driver " + driverId + " was never placed.");
+    }
+    int location = locationId - this.firstLocationId;
+    if (location >= this.firstDrivers.length) {
+      growLocations(location + 1);
+    }
+    if (driverId >= this.nextDrivers.length) {
+      growDrivers(driverId + 1);
+    }
+    this.nextDrivers[driverId] = NONE;
+    this.prevDrivers[driverId] = this.lastDrivers[location];
+    if (this.firstDrivers[location] == NONE) {
+      this.firstDrivers[location] = driverId;
+      addToCell(location);
+    } else {
+      this.nextDrivers[this.lastDrivers[location]] = driverId;
+    }
+    this.lastDrivers[location] = driverId;
+    this.driverSlots[driverId] = this.numOfDrivers;
+    this.availableDrivers[this.numOfDrivers++] = driverId;
+  }
+
+  /**
+   * Dequeues a driver standing where the first driver of the queue stands: the driver that has
+   * been waiting there the longest.
+   *
+   * @return the id of the driver
+   * @throws EmptyQueueException throws EmptyQueueException when the queue is empty
+   */
+  @Override
+  public int dequeue() throws EmptyQueueException {
+    if (this.numOfDrivers == 0) {
+      throw new EmptyQueueException("Cannot dequeue from empty queue.");
+    }
+    return removeFirstDriver(
+        this.driverRegistry.getLocationId(this.availableDrivers[0]) - this.firstLocationId);
+  }
+
+  /**
+   * Dequeues the driver nearest to the given location. Among the drivers standing at the nearest
+   * location, the driver that has been waiting there the longest is dequeued.
+   *
+   * @param locationId the dictionary id of the starting location of the ride
+   * @return the id of the driver
+   * @throws EmptyQueueException throws EmptyQueueException when the queue is empty
+   */
+  @Override
+  public int dequeueNearest(int locationId) throws EmptyQueueException {
+    if (this.numOfDrivers == 0) {
+      throw new EmptyQueueException("Cannot dequeue from empty queue.");
+    }
+    return removeFirstDriver(findNearestLocation(this.geocoder.getEasting(locationId),
+        this.geocoder.getNorthing(locationId)));
+  }
+
+  /**
+   * Removes the given driver from the queue, wherever it waits at its location.
+   *
+   * @param driverId the id of the driver
+   * @throws IllegalArgumentException if the driver is not in the queue
+   */
+  public void remove(int driverId) {
+    if (driverId < 0 || driverId >= this.nextDrivers.length
+        || this.driverSlots[driverId] >= this.numOfDrivers
+        || this.availableDrivers[this.driverSlots[driverId]] != driverId) {
+      throw new IllegalArgumentException("Driver " + driverId + " is not in the queue.");
+    }
+    removeDriver(driverId,
+        this.driverRegistry.getLocationId(driverId) - this.firstLocationId);
+  }
+
+  /**
+   * Lists the drivers nearest to the given location, nearest first, without removing them. Of
+   * drivers as near, the drivers of the location with the lower id come first, and the drivers of
+   * the same location in the order they wait there. The scan of the grid stops as soon as no cell
+   * of the next ring can hold a driver nearer than the last one listed.
+   *
+   * @param locationId the dictionary id of the location
+   * @param maxDrivers the most drivers to list
+   * @param driverIds  the array the ids of the drivers are written to, at least maxDrivers long
+   * @param distances  the array the distances of the drivers are written to, in miles, at least
+   *                   maxDrivers long
+   * @return the number of drivers listed, fewer than maxDrivers only if the queue holds fewer
+   */
+  public int findNearestDrivers(int locationId, int maxDrivers, int[] driverIds,
+      double[] distances) {
+    if (this.foundLocations.length < maxDrivers) {
+      this.foundLocations = new int[maxDrivers];
+    }
+    this.numOfFound = 0;
+    if (maxDrivers <= 0) {
+      return 0;
+    }
+    double easting = this.geocoder.getEasting(locationId);
+    double northing = this.geocoder.getNorthing(locationId);
+    int column = toCell(easting);
+    int row = toCell(northing);
+    int lastRing = Math.max(Math.max(column, this.cellsPerSide - 1 - column),
+        Math.max(row, this.cellsPerSide - 1 - row));
+    for (int ring = 0; ring <= lastRing; ring++) {
+      int top = Math.max(row - ring, 0);
+      int bottom = Math.min(row + ring, this.cellsPerSide - 1);
+      int left = Math.max(column - ring, 0);
+      int right = Math.min(column + ring, this.cellsPerSide - 1);
+      for (int y = top; y <= bottom; y++) {
+        if (y == row - ring || y == row + ring) {
+          for (int x = left; x <= right; x++) {
+            collectCell(y * this.cellsPerSide + x, easting, northing, maxDrivers, driverIds,
+                distances);
+          }
+        } else {
+          if (column - ring >= 0) {
+            collectCell(y * this.cellsPerSide + column - ring, easting, northing, maxDrivers,
+                driverIds, distances);
+          }
+          if (column + ring < this.cellsPerSide) {
+            collectCell(y * this.cellsPerSide + column + ring, easting, northing, maxDrivers,
+                driverIds, distances);
+          }
+        }
+      }
+      double reach = ring * this.cellWidth;
+      if (this.numOfFound == maxDrivers && distances[maxDrivers - 1] <= reach * reach) {
+        break;
+      }
+    }
+    for (int i = 0; i < this.numOfFound; i++) {
+      distances[i] = Math.sqrt(distances[i]);
+    }
+    return this.numOfFound;
+  }
+
+  /**
+   * Gets the driver at the given position. The drivers are in no particular order.
+   *
+   * @param index the position in the queue
+   * @return the id of the driver at the given position
+   */
+  @Override
+  public int get(int index) {
+    if (index < 0 || index >= this.numOfDrivers) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.numOfDrivers);
+    }
+    return this.availableDrivers[index];
+  }
+
+  /**
+   * Checks if the queue is empty.
+   *
+   * @return true if the queue is empty, false otherwise
+   */
+  @Override
+  public Boolean isQueueEmpty() {
+    return this.numOfDrivers == 0;
+  }
+
+  /**
+   * Gets the number of drivers in the queue.
+   *
+   * @return the number of drivers in the queue
+   */
+  @Override
+  public int size() {
+    return this.numOfDrivers;
+  }
+
+  /**
+   * Removes every driver from the queue.
+   */
+  @Override
+  public void clear() {
+    for (int i = 0; i < this.numOfDrivers; i++) {
+      int location = this.driverRegistry.getLocationId(this.availableDrivers[i])
+          - this.firstLocationId;
+      this.firstDrivers[location] = NONE;
+      this.lastDrivers[location] = NONE;
+      this.locationSlots[location] = NONE;
+    }
+    Arrays.fill(this.cellSizes, 0);
+    this.numOfDrivers = 0;
+  }
+
+  /**
+   * Writes the drivers of the queue location by location, each location from the driver that has
+   * been waiting there the longest, so that readState restores the same order at every location.
+   *
+   * @param out the output the drivers are written to
+   * @throws IOException if the drivers cannot be written
+   */
+  @Override
+  public void writeState(DataOutput out) throws IOException {
+    out.writeInt(this.numOfDrivers);
+    for (int location = 0; location < this.firstDrivers.length; location++) {
+      for (int driverId = this.firstDrivers[location]; driverId != NONE;
+          driverId = this.nextDrivers[driverId]) {
+        out.writeInt(driverId);
+      }
+    }
+  }
+
+  /**
+   * Helper method. Finds the location with a driver nearest to the given point, scanning the
+   * cells of the grid ring by ring around the cell of the point. Every cell of ring r + 1 is at
+   * least r cell widths away from the point, so the scan stops after the first ring r whose
+   * nearest location is at most r cell widths away.
+   *
+   * @param easting  the distance east of the center of the area of the point, in miles
+   * @param northing the distance north of the center of the area of the point, in miles
+   * @return the nearest location with a driver
+   */
+  private int findNearestLocation(double easting, double northing) {
+    int column = toCell(easting);
+    int row = toCell(northing);
+    int lastRing = Math.max(Math.max(column, this.cellsPerSide - 1 - column),
+        Math.max(row, this.cellsPerSide - 1 - row));
+    this.nearestLocation = NONE;
+    this.nearestDistanceSquared = Double.POSITIVE_INFINITY;
+    for (int ring = 0; ring <= lastRing; ring++) {
+      int top = Math.max(row - ring, 0);
+      int bottom = Math.min(row + ring, this.cellsPerSide - 1);
+      int left = Math.max(column - ring, 0);
+      int right = Math.min(column + ring, this.cellsPerSide - 1);
+      for (int y = top; y <= bottom; y++) {
+        if (y == row - ring || y == row + ring) {
+          for (int x = left; x <= right; x++) {
+            scanCell(y * this.cellsPerSide + x, easting, northing);
+          }
+        } else {
+          if (column - ring >= 0) {
+            scanCell(y * this.cellsPerSide + column - ring, easting, northing);
+          }
+          if (column + ring < this.cellsPerSide) {
+            scanCell(y * this.cellsPerSide + column + ring, easting, northing);
+          }
+        }
+      }
+      double reach = ring * this.cellWidth;
+      if (this.nearestLocation != NONE && this.nearestDistanceSquared <= reach * reach) {
+        break;
+      }
+    }
+    return this.nearestLocation;
+  }
+
+  /**
+   * Helper method. Scans the locations listed in the given cell, and keeps the nearest to the
+   * given point if it is nearer than the nearest found so far. Of two locations as near, the one
+   * with the lower id is kept, so that the order of the cells and slots does not matter.
+   *
+   * @param cell     the index of the cell
+   * @param easting  the distance east of the center of the area of the point, in miles
+   * @param northing the distance north of the center of the area of the point, in miles
+   */
+  private void scanCell(int cell, double easting, double northing) {
+    int[] locations = this.cellLocations[cell];
+    for (int i = 0; i < this.cellSizes[cell]; i++) {
+      int locationId = locations[i] + this.firstLocationId;
+      double eastDistance = this.geocoder.getEasting(locationId) - easting;
+      double northDistance = this.geocoder.getNorthing(locationId) - northing;
+      double distanceSquared = eastDistance * eastDistance + northDistance * northDistance;
+      if (distanceSquared < this.nearestDistanceSquared
+          || (distanceSquared == this.nearestDistanceSquared
+          && locations[i] < this.nearestLocation)) {
+        this.nearestDistanceSquared = distanceSquared;
+        this.nearestLocation = locations[i];
+      }
+    }
+  }
+
+  /**
+   * Helper method. Lists the drivers of the locations of the given cell that are nearer to the
+   * given point than the farthest driver listed so far, keeping the list sorted by the squared
+   * distance and then by location. Only the first maxDrivers drivers of a location can be listed.
+   *
+   * @param cell       the index of the cell
+   * @param easting    the distance east of the center of the area of the point, in miles
+   * @param northing   the distance north of the center of the area of the point, in miles
+   * @param maxDrivers the most drivers to list
+   * @param driverIds  the ids of the drivers listed
+   * @param distances  the squared distances of the drivers listed
+   */
+  private void collectCell(int cell, double easting, double northing, int maxDrivers,
+      int[] driverIds, double[] distances) {
+    int[] locations = this.cellLocations[cell];
+    for (int i = 0; i < this.cellSizes[cell]; i++) {
+      int location = locations[i];
+      int locationId = location + this.firstLocationId;
+      double eastDistance = this.geocoder.getEasting(locationId) - easting;
+      double northDistance = this.geocoder.getNorthing(locationId) - northing;
+      double distanceSquared = eastDistance * eastDistance + northDistance * northDistance;
+      int position = this.numOfFound;
+      while (position > 0 && (distances[position - 1] > distanceSquared
+          || (distances[position - 1] == distanceSquared
+          && this.foundLocations[position - 1] > location))) {
+        position--;
+      }
+      for (int driverId = this.firstDrivers[location]; driverId != NONE && position < maxDrivers;
+          driverId = this.nextDrivers[driverId]) {
+        int last = Math.min(this.numOfFound, maxDrivers - 1);
+        System.arraycopy(driverIds, position, driverIds, position + 1, last - position);
+        System.arraycopy(distances, position, distances, position + 1, last - position);
+        System.arraycopy(this.foundLocations, position, this.foundLocations, position + 1,
+            last - position);
+        driverIds[position] = driverId;
+        distances[position] = distanceSquared;
+        this.foundLocations[position] = location;
+        this.numOfFound = last + 1;
+        position++;
+      }
+    }
+  }
+
+  /**
+   * Helper method. Removes the driver that has been waiting the longest at the given location.
+   *
+   * @param location the location, counted from the first location id
+   * @return the id of the driver
+   */
+  private int removeFirstDriver(int location) {
+    int driverId = this.firstDrivers[location];
+    removeDriver(driverId, location);
+    return driverId;
+  }
+
+  /**
+   * Helper method. Unlinks the given driver from the list of its location, and moves the last
+   * available driver into its slot.
+   *
+   * @param driverId the id of the driver
+   * @param location the location of the driver, counted from the first location id
+   */
+  private void removeDriver(int driverId, int location) {
+    int previous = this.prevDrivers[driverId];
+    int next = this.nextDrivers[driverId];
+    if (previous == NONE) {
+      this.firstDrivers[location] = next;
+    } else {
+      this.nextDrivers[previous] = next;
+    }
+    if (next == NONE) {
+      this.lastDrivers[location] = previous;
+    } else {
+      this.prevDrivers[next] = previous;
+    }
+    if (this.firstDrivers[location] == NONE) {
+      removeFromCell(location);
+    }
+    int slot = this.driverSlots[driverId];
+    int lastDriverId = this.availableDrivers[--this.numOfDrivers];
+    this.availableDrivers[slot] = lastDriverId;
+    this.driverSlots[lastDriverId] = slot;
+  }
+
+  /**
+   * Helper method. Lists the given location in the cell it lies in.
+   *
+   * @param location the location, counted from the first location id
+   */
+  private void addToCell(int location) {
+    int cell = getCell(location);
+    int[] locations = this.cellLocations[cell];
+    if (locations == null) {
+      locations = new int[INITIAL_CELL_CAPACITY];
+      this.cellLocations[cell] = locations;
+    } else if (this.cellSizes[cell] == locations.length) {
+      locations = Arrays.copyOf(locations, 2 * locations.length);
+      this.cellLocations[cell] = locations;
+    }
+    this.locationSlots[location] = this.cellSizes[cell];
+    locations[this.cellSizes[cell]++] = location;
+  }
+
+  /**
+   * Helper method. Removes the given location from the cell it lies in, moving the last location
+   * of the cell into its slot.
+   *
+   * @param location the location, counted from the first location id
+   */
+  private void removeFromCell(int location) {
+    int cell = getCell(location);
+    int[] locations = this.cellLocations[cell];
+    int slot = this.locationSlots[location];
+    int lastLocation = locations[--this.cellSizes[cell]];
+    locations[slot] = lastLocation;
+    this.locationSlots[lastLocation] = slot;
+    this.locationSlots[location] = NONE;
+  }
+
+  /**
+   * Helper method. Gets the cell the given location lies in.
+   *
+   * @param location the location, counted from the first location id
+   * @return the index of the cell
+   */
+  private int getCell(int location) {
+    int locationId = location + this.firstLocationId;
+    return toCell(this.geocoder.getNorthing(locationId)) * this.cellsPerSide
+        + toCell(this.geocoder.getEasting(locationId));
+  }
+
+  /**
+   * Helper method. Gets the column or row of the grid a coordinate lies in.
+   *
+   * @param coordinate the easting or northing, in miles from the center of the area
+   * @return the column or row, clamped to the grid
+   */
+  private int toCell(double coordinate) {
+    int cell = (int) ((coordinate + this.halfAreaWidth) / this.cellWidth);
+    return Math.min(Math.max(cell, 0), this.cellsPerSide - 1);
+  }
+
+  /**
+   * Helper method. Grows the arrays of the locations to hold at least the given number of
+   * locations.
+   *
+   * @param minCapacity the number of locations
+   */
+  private void growLocations(int minCapacity) {
+    int oldCapacity = this.firstDrivers.length;
+    int capacity = Math.max(minCapacity, 2 * oldCapacity);
+    this.firstDrivers = Arrays.copyOf(this.firstDrivers, capacity);
+    this.lastDrivers = Arrays.copyOf(this.lastDrivers, capacity);
+    this.locationSlots = Arrays.copyOf(this.locationSlots, capacity);
+    Arrays.fill(this.firstDrivers, oldCapacity, capacity, NONE);
+    Arrays.fill(this.lastDrivers, oldCapacity, capacity, NONE);
+    Arrays.fill(this.locationSlots, oldCapacity, capacity, NONE);
+  }
+
+  /**
+   * Helper method. Grows the arrays of the drivers to hold at least the given number of drivers.
+   *
+   * @param minCapacity the number of drivers
+   */
+  private void growDrivers(int minCapacity) {
+    int capacity = Math.max(minCapacity, 2 * this.nextDrivers.length);
+    this.nextDrivers = Arrays.copyOf(this.nextDrivers, capacity);
+    this.prevDrivers = Arrays.copyOf(this.prevDrivers, capacity);
+    this.driverSlots = Arrays.copyOf(this.driverSlots, capacity);
+    this.availableDrivers = Arrays.copyOf(this.availableDrivers, capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "SpatialDriverQueue{" +
+        "numOfDrivers=" + numOfDrivers +
+        ", cellsPerSide=" + cellsPerSide +
+        ", cellWidth=" + cellWidth +
+        '}';
+  }
+}
@@ -0,0 +1,100 @@
+package sim.model.result;
+
+import java.util.Objects;
+
+/**
+ * ConfidenceInterval class, representing the sample mean of a key performance indicator together
+ * with the half-width of its confidence interval.
+ */
+public final class ConfidenceInterval {
+
+  private final Double mean;
+  private final Double halfWidth;
+  private final Integer numOfSamples;
+
+  /**
+   * Constructor for option1.model.result.ConfidenceInterval class.
+   *
+   * @param mean         the sample mean
+   * @param halfWidth    the half-width of the confidence interval
+   * @param numOfSamples the number of samples
+   */
+  public ConfidenceInterval(Double mean, Double halfWidth, Integer numOfSamples) {
+    this.mean = mean;
+    this.halfWidth = halfWidth;
+    this.numOfSamples = numOfSamples;
+  }
+
+  /**
+   * Gets the sample mean.
+   *
+   * @return the sample mean
+   */
+  public Double getMean() {
+    return mean;
+  }
+
+  /**
+   * Gets the half-width of the confidence interval.
+   *
+   * @return the half-width of the confidence interval
+   */
+  public Double getHalfWidth() {
+    return halfWidth;
+  }
+
+  /**
+   * Gets the number of samples.
+   *
+   * @return the number of samples
+   */
+  public Integer getNumOfSamples() {
+    return numOfSamples;
+  }
+
+  /**
+   * Gets the lower bound of the confidence interval.
+   *
+   * @return the lower bound of the confidence interval
+   */
+  public Double getLowerBound() {
+    return this.mean - this.halfWidth;
+  }
+
+  /**
+   * Gets the upper bound of the confidence interval.
+   *
+   * @return the upper bound of the confidence interval
+   */
+  public Double getUpperBound() {
+    return this.mean + this.halfWidth;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ConfidenceInterval that = (ConfidenceInterval) o;
+    return Objects.equals(getMean(), that.getMean())
+        && Objects.equals(getHalfWidth(), that.getHalfWidth())
+        && Objects.equals(getNumOfSamples(), that.getNumOfSamples());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getMean(), getHalfWidth(), getNumOfSamples());
+  }
+
+  @Override
+  public String toString() {
+    return "ConfidenceInterval{" +
+        "mean=" + mean +
+        ", halfWidth=" + halfWidth +
+        ", numOfSamples=" + numOfSamples +
+        '}';
+  }
+}
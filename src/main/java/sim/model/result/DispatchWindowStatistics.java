@@ -0,0 +1,247 @@
+package sim.model.result;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * DispatchWindowStatistics class, accumulates the windows of matched dispatch: how many requests
+ * and drivers each window held, how many requests the optimal matching and the greedy matching
+ * served a candidate, the pickup distance each adds up to over every request of the windows, the
+ * nearest drivers left sent to the others included, and how long the candidates took to list and
+ * the matching took to solve. The times are wall-clock times, so they differ
+ * from run to run, unlike the rest.
+ */
+public final class DispatchWindowStatistics {
+
+  private long numOfRequests;
+  private long numOfDrivers;
+  private long numOfCandidates;
+  private long numOfMatched;
+  private long numOfGreedyMatched;
+  private long numOfFallbacks;
+  private double pickupDistance;          // total, in miles
+  private double greedyPickupDistance;    // total, in miles
+  private final RunningStatistics candidateTimes;
+  private final RunningStatistics solveTimes;
+  private final LogHistogram solveTimeHistogram;
+
+  /**
+   * Constructor for option1.model.result.DispatchWindowStatistics class.
+   */
+  public DispatchWindowStatistics() {
+    this.numOfRequests = 0;
+    this.numOfDrivers = 0;
+    this.numOfCandidates = 0;
+    this.numOfMatched = 0;
+    this.numOfGreedyMatched = 0;
+    this.numOfFallbacks = 0;
+    this.pickupDistance = 0;
+    this.greedyPickupDistance = 0;
+    this.candidateTimes = new RunningStatistics();
+    this.solveTimes = new RunningStatistics();
+    this.solveTimeHistogram = new LogHistogram();
+  }
+
+  /**
+   * Records a dispatch window.
+   *
+   * @param requests              the number of requests matched in the window
+   * @param drivers               the number of available drivers
+   * @param candidates            the number of candidate pairs of a request and a driver
+   * @param matched               the number of requests served a candidate by the optimal
+   *                              matching
+   * @param pickupDistance        the total pickup distance of the optimal matching over every
+   *                              request, in miles
+   * @param greedyMatched         the number of requests served a candidate by the greedy matching
+   * @param greedyPickupDistance  the total pickup distance of the greedy matching over every
+   *                              request, in miles
+   * @param fallbacks             the number of requests no candidate was left for, sent the
+   *                              nearest driver left instead
+   * @param candidateMicros       the time taken to list the candidates, in microseconds
+   * @param solveMicros           the time taken to solve the matching, in microseconds
+   */
+  public void record(int requests, int drivers, int candidates, int matched,
+      double pickupDistance, int greedyMatched, double greedyPickupDistance,
+      int fallbacks, long candidateMicros, long solveMicros) {
+    this.numOfRequests += requests;
+    this.numOfDrivers += drivers;
+    this.numOfCandidates += candidates;
+    this.numOfMatched += matched;
+    this.numOfGreedyMatched += greedyMatched;
+    this.numOfFallbacks += fallbacks;
+    this.pickupDistance += pickupDistance;
+    this.greedyPickupDistance += greedyPickupDistance;
+    this.candidateTimes.add(candidateMicros);
+    this.solveTimes.add(solveMicros);
+    this.solveTimeHistogram.add(solveMicros);
+  }
+
+  /**
+   * Gets the number of recorded windows.
+   *
+   * @return the number of windows
+   */
+  public long getNumOfWindows() {
+    return this.solveTimes.getCount();
+  }
+
+  /**
+   * Gets the number of requests matched in every window.
+   *
+   * @return the number of requests
+   */
+  public long getNumOfRequests() {
+    return numOfRequests;
+  }
+
+  /**
+   * Gets the number of available drivers of every window.
+   *
+   * @return the number of drivers
+   */
+  public long getNumOfDrivers() {
+    return numOfDrivers;
+  }
+
+  /**
+   * Gets the number of candidate pairs of every window.
+   *
+   * @return the number of candidate pairs
+   */
+  public long getNumOfCandidates() {
+    return numOfCandidates;
+  }
+
+  /**
+   * Gets the number of requests served a candidate by the optimal matchings.
+   *
+   * @return the number of requests
+   */
+  public long getNumOfMatched() {
+    return numOfMatched;
+  }
+
+  /**
+   * Gets the number of requests the greedy matchings would have served a candidate.
+   *
+   * @return the number of requests
+   */
+  public long getNumOfGreedyMatched() {
+    return numOfGreedyMatched;
+  }
+
+  /**
+   * Gets the number of requests no candidate was left for.
+   *
+   * @return the number of requests
+   */
+  public long getNumOfFallbacks() {
+    return numOfFallbacks;
+  }
+
+  /**
+   * Gets the number of requests the greedy matchings would have left without a candidate.
+   *
+   * @return the number of requests
+   */
+  public long getNumOfGreedyFallbacks() {
+    return numOfRequests - numOfGreedyMatched;
+  }
+
+  /**
+   * Gets the total pickup distance of the optimal matchings, over every request.
+   *
+   * @return the total pickup distance, in miles
+   */
+  public double getPickupDistance() {
+    return pickupDistance;
+  }
+
+  /**
+   * Gets the total pickup distance the greedy matchings would have driven, over every request.
+   *
+   * @return the total pickup distance, in miles
+   */
+  public double getGreedyPickupDistance() {
+    return greedyPickupDistance;
+  }
+
+  /**
+   * Gets the statistics of the times taken to list the candidates of a window.
+   *
+   * @return the statistics of the times, in microseconds
+   */
+  public RunningStatistics getCandidateTimes() {
+    return candidateTimes;
+  }
+
+  /**
+   * Gets the statistics of the times taken to solve the matching of a window.
+   *
+   * @return the statistics of the times, in microseconds
+   */
+  public RunningStatistics getSolveTimes() {
+    return solveTimes;
+  }
+
+  /**
+   * Gets the histogram of the times taken to solve the matching of a window.
+   *
+   * @return the histogram of the times, in microseconds
+   */
+  public LogHistogram getSolveTimeHistogram() {
+    return solveTimeHistogram;
+  }
+
+  /**
+   * Writes the state of the statistics, so that they can be restored with readState.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    out.writeLong(this.numOfRequests);
+    out.writeLong(this.numOfDrivers);
+    out.writeLong(this.numOfCandidates);
+    out.writeLong(this.numOfMatched);
+    out.writeLong(this.numOfGreedyMatched);
+    out.writeLong(this.numOfFallbacks);
+    out.writeDouble(this.pickupDistance);
+    out.writeDouble(this.greedyPickupDistance);
+    this.candidateTimes.writeState(out);
+    this.solveTimes.writeState(out);
+    this.solveTimeHistogram.writeState(out);
+  }
+
+  /**
+   * Replaces the state of the statistics with a state written by writeState.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    this.numOfRequests = in.readLong();
+    this.numOfDrivers = in.readLong();
+    this.numOfCandidates = in.readLong();
+    this.numOfMatched = in.readLong();
+    this.numOfGreedyMatched = in.readLong();
+    this.numOfFallbacks = in.readLong();
+    this.pickupDistance = in.readDouble();
+    this.greedyPickupDistance = in.readDouble();
+    this.candidateTimes.readState(in);
+    this.solveTimes.readState(in);
+    this.solveTimeHistogram.readState(in);
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchWindowStatistics{" +
+        "numOfWindows=" + getNumOfWindows() +
+        ", numOfRequests=" + numOfRequests +
+        ", numOfMatched=" + numOfMatched +
+        ", pickupDistance=" + pickupDistance +
+        ", greedyPickupDistance=" + greedyPickupDistance +
+        '}';
+  }
+}
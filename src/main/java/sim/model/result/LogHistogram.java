@@ -0,0 +1,187 @@
+package sim.model.result;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * LogHistogram class, counts non-negative integer samples, such as durations in seconds, in
+ * log-bucketed bins so that percentiles can be estimated in constant memory. Samples below 64 have
+ * a bin of their own; above, every power of two is split into 32 bins of equal width, so that a
+ * percentile is estimated within about 3% of its value.
+ */
+public final class LogHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;         // bins per power of two
+  private static final int NUM_OF_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final long[] counts;
+  private long count;
+  private long min;
+  private long max;
+
+  /**
+   * Constructor for option1.model.result.LogHistogram class.
+   */
+  public LogHistogram() {
+    this.counts = new long[NUM_OF_BUCKETS];
+    this.count = 0;
+    this.min = Long.MAX_VALUE;
+    this.max = Long.MIN_VALUE;
+  }
+
+  /**
+   * Adds a sample.
+   *
+   * @param sample the sample, at least 0
+   */
+  public void add(long sample) {
+    if (sample < 0) {
+      throw new IllegalArgumentException("Samples must not be negative: " + sample);
+    }
+    this.counts[bucketOf(sample)]++;
+    this.count++;
+    this.min = Math.min(this.min, sample);
+    this.max = Math.max(this.max, sample);
+  }
+
+  /**
+   * Adds every sample counted by the given histogram.
+   *
+   * @param other the histogram to merge into this histogram
+   */
+  public void merge(LogHistogram other) {
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      this.counts[i] += other.counts[i];
+    }
+    this.count += other.count;
+    this.min = Math.min(this.min, other.min);
+    this.max = Math.max(this.max, other.max);
+  }
+
+  /**
+   * Gets the number of samples.
+   *
+   * @return the number of samples
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Estimates the given percentile of the samples: the middle of the bin holding the smallest
+   * sample that is not below the given percentage of the samples, kept between the smallest and
+   * the largest sample.
+   *
+   * @param percentile the percentile, greater than 0 and at most 100
+   * @return the estimated percentile, or -1 if there is no sample
+   */
+  public long getPercentile(double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+    }
+    if (this.count == 0) {
+      return -1;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * this.count);
+    long cumulative = 0;
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      cumulative += this.counts[i];
+      if (cumulative >= rank) {
+        long middle = lowerBoundOf(i) + (widthOf(i) - 1) / 2;
+        return Math.max(this.min, Math.min(this.max, middle));
+      }
+    }
+    return this.max;
+  }
+
+  /**
+   * Writes the state of the histogram, so that it can be restored with readState. Only the bins
+   * holding samples are written, as pairs of index and count.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    out.writeLong(this.count);
+    out.writeLong(this.min);
+    out.writeLong(this.max);
+    int numOfBins = 0;
+    for (long binCount : this.counts) {
+      if (binCount != 0) {
+        numOfBins++;
+      }
+    }
+    out.writeShort(numOfBins);
+    for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+      if (this.counts[i] != 0) {
+        out.writeShort(i);
+        out.writeLong(this.counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Replaces the state of the histogram with a state written by writeState.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    this.count = in.readLong();
+    this.min = in.readLong();
+    this.max = in.readLong();
+    Arrays.fill(this.counts, 0);
+    int numOfBins = in.readUnsignedShort();
+    for (int i = 0; i < numOfBins; i++) {
+      this.counts[in.readUnsignedShort()] = in.readLong();
+    }
+  }
+
+  /**
+   * Helper method. Gets the bin of the given sample.
+   *
+   * @param sample the sample, at least 0
+   * @return the index of the bin
+   */
+  private static int bucketOf(long sample) {
+    if (sample < 2 * SUB_BUCKETS) {
+      return (int) sample;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(sample) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) (sample >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * Helper method. Gets the smallest sample of the given bin.
+   *
+   * @param bucket the index of the bin
+   * @return the smallest sample of the bin
+   */
+  private static long lowerBoundOf(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+  }
+
+  /**
+   * Helper method. Gets the number of samples of the given bin.
+   *
+   * @param bucket the index of the bin
+   * @return the width of the bin
+   */
+  private static long widthOf(int bucket) {
+    return bucket < 2 * SUB_BUCKETS ? 1 : 1L << (bucket / SUB_BUCKETS - 1);
+  }
+
+  @Override
+  public String toString() {
+    return "LogHistogram{" +
+        "count=" + count +
+        '}';
+  }
+}
@@ -0,0 +1,241 @@
+package sim.model.result;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import sim.model.type.RideType;
+
+/**
+ * RideStatistics class, accumulates the waiting times and trip times of finished rides as they are
+ * recorded, overall and per ride type. Each KPI keeps a RunningStatistics for its mean and
+ * variance and a LogHistogram for its percentiles, so the memory used does not grow with the
+ * number of rides. When drivers drive to the starting location of a ride, the distances driven to
+ * pick the customers up are recorded too.
+ */
+public final class RideStatistics {
+
+  private static final int NUM_OF_RIDE_TYPES = RideType.values().length;
+
+  private final RunningStatistics waitingTimes;
+  private final RunningStatistics tripTimes;
+  private final LogHistogram waitingTimeHistogram;
+  private final LogHistogram tripTimeHistogram;
+  private final RunningStatistics[] waitingTimesByType;     // ride type priority -> statistics
+  private final RunningStatistics[] tripTimesByType;        // ride type priority -> statistics
+  private final LogHistogram[] waitingTimeHistogramsByType; // ride type priority -> histogram
+  private final LogHistogram[] tripTimeHistogramsByType;    // ride type priority -> histogram
+  private final RunningStatistics pickupDistances;
+
+  /**
+   * Constructor for option1.model.result.RideStatistics class.
+   */
+  public RideStatistics() {
+    this.waitingTimes = new RunningStatistics();
+    this.tripTimes = new RunningStatistics();
+    this.waitingTimeHistogram = new LogHistogram();
+    this.tripTimeHistogram = new LogHistogram();
+    this.waitingTimesByType = new RunningStatistics[NUM_OF_RIDE_TYPES];
+    this.tripTimesByType = new RunningStatistics[NUM_OF_RIDE_TYPES];
+    this.waitingTimeHistogramsByType = new LogHistogram[NUM_OF_RIDE_TYPES];
+    this.tripTimeHistogramsByType = new LogHistogram[NUM_OF_RIDE_TYPES];
+    for (int i = 0; i < NUM_OF_RIDE_TYPES; i++) {
+      this.waitingTimesByType[i] = new RunningStatistics();
+      this.tripTimesByType[i] = new RunningStatistics();
+      this.waitingTimeHistogramsByType[i] = new LogHistogram();
+      this.tripTimeHistogramsByType[i] = new LogHistogram();
+    }
+    this.pickupDistances = new RunningStatistics();
+  }
+
+  /**
+   * Records a finished ride.
+   *
+   * @param priority    the priority of the ride type
+   * @param waitingTime the time the customer waited between the request and the departure, in
+   *                    seconds
+   * @param tripTime    the duration of the ride, in seconds
+   */
+  public void record(int priority, long waitingTime, long tripTime) {
+    this.waitingTimes.add(waitingTime);
+    this.tripTimes.add(tripTime);
+    this.waitingTimeHistogram.add(waitingTime);
+    this.tripTimeHistogram.add(tripTime);
+    this.waitingTimesByType[priority].add(waitingTime);
+    this.tripTimesByType[priority].add(tripTime);
+    this.waitingTimeHistogramsByType[priority].add(waitingTime);
+    this.tripTimeHistogramsByType[priority].add(tripTime);
+  }
+
+  /**
+   * Records the distance a driver drove to the starting location of a ride it was dispatched to.
+   *
+   * @param pickupDistance the distance in miles, 0 if the driver stood at the starting location
+   */
+  public void recordPickup(double pickupDistance) {
+    this.pickupDistances.add(pickupDistance);
+  }
+
+  /**
+   * Adds every ride recorded by the given statistics.
+   *
+   * @param other the statistics to merge into these statistics
+   */
+  public void merge(RideStatistics other) {
+    this.waitingTimes.merge(other.waitingTimes);
+    this.tripTimes.merge(other.tripTimes);
+    this.waitingTimeHistogram.merge(other.waitingTimeHistogram);
+    this.tripTimeHistogram.merge(other.tripTimeHistogram);
+    for (int i = 0; i < NUM_OF_RIDE_TYPES; i++) {
+      this.waitingTimesByType[i].merge(other.waitingTimesByType[i]);
+      this.tripTimesByType[i].merge(other.tripTimesByType[i]);
+      this.waitingTimeHistogramsByType[i].merge(other.waitingTimeHistogramsByType[i]);
+      this.tripTimeHistogramsByType[i].merge(other.tripTimeHistogramsByType[i]);
+    }
+    this.pickupDistances.merge(other.pickupDistances);
+  }
+
+  /**
+   * Gets the number of recorded rides.
+   *
+   * @return the number of recorded rides
+   */
+  public long getNumOfRides() {
+    return this.waitingTimes.getCount();
+  }
+
+  /**
+   * Gets the statistics of the waiting times of every ride.
+   *
+   * @return the statistics of the waiting times, in seconds
+   */
+  public RunningStatistics getWaitingTimes() {
+    return waitingTimes;
+  }
+
+  /**
+   * Gets the statistics of the trip times of every ride.
+   *
+   * @return the statistics of the trip times, in seconds
+   */
+  public RunningStatistics getTripTimes() {
+    return tripTimes;
+  }
+
+  /**
+   * Gets the statistics of the distances driven to pick the customers up, for the rides whose
+   * pickup was recorded.
+   *
+   * @return the statistics of the pickup distances, in miles
+   */
+  public RunningStatistics getPickupDistances() {
+    return pickupDistances;
+  }
+
+  /**
+   * Gets the histogram of the waiting times of every ride.
+   *
+   * @return the histogram of the waiting times, in seconds
+   */
+  public LogHistogram getWaitingTimeHistogram() {
+    return waitingTimeHistogram;
+  }
+
+  /**
+   * Gets the histogram of the trip times of every ride.
+   *
+   * @return the histogram of the trip times, in seconds
+   */
+  public LogHistogram getTripTimeHistogram() {
+    return tripTimeHistogram;
+  }
+
+  /**
+   * Gets the statistics of the waiting times of the rides of the given type.
+   *
+   * @param rideType the ride type
+   * @return the statistics of the waiting times, in seconds
+   */
+  public RunningStatistics getWaitingTimes(RideType rideType) {
+    return this.waitingTimesByType[rideType.getPriority()];
+  }
+
+  /**
+   * Gets the statistics of the trip times of the rides of the given type.
+   *
+   * @param rideType the ride type
+   * @return the statistics of the trip times, in seconds
+   */
+  public RunningStatistics getTripTimes(RideType rideType) {
+    return this.tripTimesByType[rideType.getPriority()];
+  }
+
+  /**
+   * Gets the histogram of the waiting times of the rides of the given type.
+   *
+   * @param rideType the ride type
+   * @return the histogram of the waiting times, in seconds
+   */
+  public LogHistogram getWaitingTimeHistogram(RideType rideType) {
+    return this.waitingTimeHistogramsByType[rideType.getPriority()];
+  }
+
+  /**
+   * Gets the histogram of the trip times of the rides of the given type.
+   *
+   * @param rideType the ride type
+   * @return the histogram of the trip times, in seconds
+   */
+  public LogHistogram getTripTimeHistogram(RideType rideType) {
+    return this.tripTimeHistogramsByType[rideType.getPriority()];
+  }
+
+  /**
+   * Writes the state of every statistics and histogram, so that they can be restored with
+   * readState.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    this.waitingTimes.writeState(out);
+    this.tripTimes.writeState(out);
+    this.waitingTimeHistogram.writeState(out);
+    this.tripTimeHistogram.writeState(out);
+    for (int i = 0; i < NUM_OF_RIDE_TYPES; i++) {
+      this.waitingTimesByType[i].writeState(out);
+      this.tripTimesByType[i].writeState(out);
+      this.waitingTimeHistogramsByType[i].writeState(out);
+      this.tripTimeHistogramsByType[i].writeState(out);
+    }
+    this.pickupDistances.writeState(out);
+  }
+
+  /**
+   * Replaces the state of every statistics and histogram with a state written by writeState.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    this.waitingTimes.readState(in);
+    this.tripTimes.readState(in);
+    this.waitingTimeHistogram.readState(in);
+    this.tripTimeHistogram.readState(in);
+    for (int i = 0; i < NUM_OF_RIDE_TYPES; i++) {
+      this.waitingTimesByType[i].readState(in);
+      this.tripTimesByType[i].readState(in);
+      this.waitingTimeHistogramsByType[i].readState(in);
+      this.tripTimeHistogramsByType[i].readState(in);
+    }
+    this.pickupDistances.readState(in);
+  }
+
+  @Override
+  public String toString() {
+    return "RideStatistics{" +
+        "waitingTimes=" + waitingTimes +
+        ", tripTimes=" + tripTimes +
+        '}';
+  }
+}
@@ -0,0 +1,165 @@
+package sim.model.result;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * RunningStatistics class, accumulates the count, mean, variance, minimum and maximum of a stream
+ * of samples in constant memory. The mean and variance are updated with Welford's algorithm, and
+ * two accumulators can be merged with the pairwise update of Chan et al., so that the statistics
+ * of several zones or replications can be combined.
+ */
+public final class RunningStatistics {
+
+  private long count;
+  private double mean;
+  private double sumOfSquares;   // sum of squared differences from the current mean
+  private double min;
+  private double max;
+
+  /**
+   * Constructor for option1.model.result.RunningStatistics class.
+   */
+  public RunningStatistics() {
+    this.count = 0;
+    this.mean = 0;
+    this.sumOfSquares = 0;
+    this.min = Double.POSITIVE_INFINITY;
+    this.max = Double.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * Adds a sample.
+   *
+   * @param sample the sample
+   */
+  public void add(double sample) {
+    this.count++;
+    double delta = sample - this.mean;
+    this.mean += delta / this.count;
+    this.sumOfSquares += delta * (sample - this.mean);
+    this.min = Math.min(this.min, sample);
+    this.max = Math.max(this.max, sample);
+  }
+
+  /**
+   * Adds every sample accumulated by the given statistics.
+   *
+   * @param other the statistics to merge into these statistics
+   */
+  public void merge(RunningStatistics other) {
+    if (other.count == 0) {
+      return;
+    }
+    if (this.count == 0) {
+      this.count = other.count;
+      this.mean = other.mean;
+      this.sumOfSquares = other.sumOfSquares;
+      this.min = other.min;
+      this.max = other.max;
+      return;
+    }
+    long total = this.count + other.count;
+    double delta = other.mean - this.mean;
+    this.mean += delta * other.count / total;
+    this.sumOfSquares += other.sumOfSquares
+        + delta * delta * ((double) this.count * other.count / total);
+    this.count = total;
+    this.min = Math.min(this.min, other.min);
+    this.max = Math.max(this.max, other.max);
+  }
+
+  /**
+   * Gets the number of samples.
+   *
+   * @return the number of samples
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the mean of the samples.
+   *
+   * @return the mean of the samples, or NaN if there is no sample
+   */
+  public double getMean() {
+    return this.count == 0 ? Double.NaN : this.mean;
+  }
+
+  /**
+   * Gets the sample variance of the samples.
+   *
+   * @return the sample variance, or NaN if there are fewer than two samples
+   */
+  public double getVariance() {
+    return this.count < 2 ? Double.NaN : this.sumOfSquares / (this.count - 1);
+  }
+
+  /**
+   * Gets the sample standard deviation of the samples.
+   *
+   * @return the sample standard deviation, or NaN if there are fewer than two samples
+   */
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  /**
+   * Gets the smallest sample.
+   *
+   * @return the smallest sample, or NaN if there is no sample
+   */
+  public double getMin() {
+    return this.count == 0 ? Double.NaN : this.min;
+  }
+
+  /**
+   * Gets the largest sample.
+   *
+   * @return the largest sample, or NaN if there is no sample
+   */
+  public double getMax() {
+    return this.count == 0 ? Double.NaN : this.max;
+  }
+
+  /**
+   * Writes the state of the statistics, so that they can be restored with readState.
+   *
+   * @param out the output the state is written to
+   * @throws IOException if the state cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    out.writeLong(this.count);
+    out.writeDouble(this.mean);
+    out.writeDouble(this.sumOfSquares);
+    out.writeDouble(this.min);
+    out.writeDouble(this.max);
+  }
+
+  /**
+   * Replaces the state of the statistics with a state written by writeState.
+   *
+   * @param in the input the state is read from
+   * @throws IOException if the state cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    this.count = in.readLong();
+    this.mean = in.readDouble();
+    this.sumOfSquares = in.readDouble();
+    this.min = in.readDouble();
+    this.max = in.readDouble();
+  }
+
+  @Override
+  public String toString() {
+    return "RunningStatistics{" +
+        "count=" + count +
+        ", mean=" + getMean() +
+        ", standardDeviation=" + getStandardDeviation() +
+        ", min=" + getMin() +
+        ", max=" + getMax() +
+        '}';
+  }
+}
@@ -0,0 +1,84 @@
+package sim.model.result;
+
+import java.util.Objects;
+
+/**
+ * SimResult class, representing the key performance indicators of one simulation run.
+ */
+public final class SimResult {
+
+  private final Integer totalNumOfRidesServed;
+  private final Double averageWaitingTime;
+  private final Double averageNumOfRidesPerDriver;
+
+  /**
+   * Constructor for option1.model.result.SimResult class.
+   *
+   * @param totalNumOfRidesServed      the total number of rides served
+   * @param averageWaitingTime         the average waiting time of the customers in seconds
+   * @param averageNumOfRidesPerDriver the average number of rides handled per driver
+   */
+  public SimResult(Integer totalNumOfRidesServed, Double averageWaitingTime,
+      Double averageNumOfRidesPerDriver) {
+    this.totalNumOfRidesServed = totalNumOfRidesServed;
+    this.averageWaitingTime = averageWaitingTime;
+    this.averageNumOfRidesPerDriver = averageNumOfRidesPerDriver;
+  }
+
+  /**
+   * Gets the total number of rides served.
+   *
+   * @return the total number of rides served
+   */
+  public Integer getTotalNumOfRidesServed() {
+    return totalNumOfRidesServed;
+  }
+
+  /**
+   * Gets the average waiting time of the customers in seconds.
+   *
+   * @return the average waiting time in seconds
+   */
+  public Double getAverageWaitingTime() {
+    return averageWaitingTime;
+  }
+
+  /**
+   * Gets the average number of rides handled per driver.
+   *
+   * @return the average number of rides handled per driver
+   */
+  public Double getAverageNumOfRidesPerDriver() {
+    return averageNumOfRidesPerDriver;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SimResult simResult = (SimResult) o;
+    return Objects.equals(getTotalNumOfRidesServed(), simResult.getTotalNumOfRidesServed())
+        && Objects.equals(getAverageWaitingTime(), simResult.getAverageWaitingTime())
+        && Objects.equals(getAverageNumOfRidesPerDriver(),
+        simResult.getAverageNumOfRidesPerDriver());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getTotalNumOfRidesServed(), getAverageWaitingTime(),
+        getAverageNumOfRidesPerDriver());
+  }
+
+  @Override
+  public String toString() {
+    return "SimResult{" +
+        "totalNumOfRidesServed=" + totalNumOfRidesServed +
+        ", averageWaitingTime=" + averageWaitingTime +
+        ", averageNumOfRidesPerDriver=" + averageNumOfRidesPerDriver +
+        '}';
+  }
+}
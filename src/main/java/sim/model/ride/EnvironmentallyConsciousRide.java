@@ -1,6 +1,5 @@
 package sim.model.ride;
 
-import java.time.LocalDateTime;
 import sim.model.customer.Customer;
 import sim.model.driver.Driver;
 import sim.model.type.RideType;
@@ -16,16 +15,16 @@ public final class EnvironmentallyConsciousRide extends Ride {
    *
    * @param customer      the customer who requested the ride
    * @param driver        the driver assigned to the ride
-   * @param requestTime   the time when the ride was requested
-   * @param departureTime the time when the ride started
-   * @param arrivalTime   the time when the ride ended
+   * @param requestTick   the tick when the ride was requested
+   * @param departureTick the tick when the ride started
+   * @param arrivalTick   the tick when the ride ended
    * @param rideDistance  the distance covered by the ride in miles
    * @param rideLength    the duration of the ride in seconds
    */
-  public EnvironmentallyConsciousRide(Customer customer, Driver driver, LocalDateTime requestTime,
-      LocalDateTime departureTime, LocalDateTime arrivalTime, Double rideDistance,
+  public EnvironmentallyConsciousRide(Customer customer, Driver driver, long requestTick,
+      long departureTick, long arrivalTick, Double rideDistance,
       Long rideLength) {
-    super(customer, driver, requestTime, departureTime, arrivalTime, rideDistance,
+    super(customer, driver, requestTick, departureTick, arrivalTick, rideDistance,
         RideType.ENVIRONMENTALLY_CONSCIOUS_PICK_UP.getPriority(), rideLength);
   }
 
@@ -2,6 +2,7 @@ package sim.model.ride;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import sim.control.calculator.EpochTimeCalculator;
 import sim.model.customer.Customer;
 import sim.model.driver.Driver;
 
@@ -10,11 +11,13 @@ import sim.model.driver.Driver;
  */
 public abstract class Ride {
 
+  private static final EpochTimeCalculator EPOCH_TIME_CALCULATOR = new EpochTimeCalculator();
+
   protected final Customer customer;
   protected final Driver driver;
-  protected final LocalDateTime requestTime;
-  protected final LocalDateTime departureTime;
-  protected final LocalDateTime arrivalTime;
+  protected final long requestTick;
+  protected final long departureTick;
+  protected final long arrivalTick;
   protected final Double rideDistance;
   protected final Integer priority;
   protected final Long rideLength;
@@ -24,22 +27,21 @@ public abstract class Ride {
    *
    * @param customer      the customer who requested the ride
    * @param driver        the driver assigned to the ride
-   * @param requestTime   the time when the ride was requested
-   * @param departureTime the time when the ride started
-   * @param arrivalTime   the time when the ride ended
+   * @param requestTick   the tick when the ride was requested
+   * @param departureTick the tick when the ride started
+   * @param arrivalTick   the tick when the ride ended
    * @param rideDistance  the distance covered by the ride in miles
    * @param priority      the priority level of the ride, with lower numbers indicating higher
    *                      priority
    * @param rideLength    the duration of the ride in seconds
    */
-  public Ride(Customer customer, Driver driver, LocalDateTime requestTime,
-      LocalDateTime departureTime, LocalDateTime arrivalTime, Double rideDistance, Integer priority,
-      Long rideLength) {
+  public Ride(Customer customer, Driver driver, long requestTick, long departureTick,
+      long arrivalTick, Double rideDistance, Integer priority, Long rideLength) {
     this.customer = customer;
     this.driver = driver;
-    this.requestTime = requestTime;
-    this.departureTime = departureTime;
-    this.arrivalTime = arrivalTime;
+    this.requestTick = requestTick;
+    this.departureTick = departureTick;
+    this.arrivalTick = arrivalTick;
     this.rideDistance = rideDistance;
     this.priority = priority;
     this.rideLength = rideLength;
@@ -64,30 +66,66 @@ public abstract class Ride {
   }
 
   /**
-   * Gets the time when the ride was requested.
+   * Gets the tick when the ride was requested.
+   *
+   * @return the tick when the ride was requested, in seconds since the epoch
+   */
+  public long getRequestTick() {
+    return requestTick;
+  }
+
+  /**
+   * Gets the tick when the ride started.
+   *
+   * @return the tick when the ride started, in seconds since the epoch
+   */
+  public long getDepartureTick() {
+    return departureTick;
+  }
+
+  /**
+   * Gets the tick when the ride ended.
+   *
+   * @return the tick when the ride ended, in seconds since the epoch
+   */
+  public long getArrivalTick() {
+    return arrivalTick;
+  }
+
+  /**
+   * Gets the time when the ride was requested as a calendar time, for reporting.
    *
    * @return the time when the ride was requested
    */
   public LocalDateTime getRequestTime() {
-    return requestTime;
+    return EPOCH_TIME_CALCULATOR.toLocalDateTime(this.requestTick);
   }
 
   /**
-   * Gets the time when the ride started.
+   * Gets the time when the ride started as a calendar time, for reporting.
    *
    * @return the time when the ride started
    */
   public LocalDateTime getDepartureTime() {
-    return departureTime;
+    return EPOCH_TIME_CALCULATOR.toLocalDateTime(this.departureTick);
   }
 
   /**
-   * Gets the time when the ride ended.
+   * Gets the time when the ride ended as a calendar time, for reporting.
    *
    * @return the time when the ride ended
    */
   public LocalDateTime getArrivalTime() {
-    return arrivalTime;
+    return EPOCH_TIME_CALCULATOR.toLocalDateTime(this.arrivalTick);
+  }
+
+  /**
+   * Gets the time the customer waited between the request and the departure of the ride.
+   *
+   * @return the waiting time in seconds
+   */
+  public long getWaitingTime() {
+    return this.departureTick - this.requestTick;
   }
 
   /**
@@ -128,9 +166,9 @@ public abstract class Ride {
     Ride ride = (Ride) o;
     return Objects.equals(getCustomer(), ride.getCustomer())
         && Objects.equals(getDriver(), ride.getDriver())
-        && Objects.equals(getRequestTime(), ride.getRequestTime())
-        && Objects.equals(getDepartureTime(), ride.getDepartureTime())
-        && Objects.equals(getArrivalTime(), ride.getArrivalTime())
+        && getRequestTick() == ride.getRequestTick()
+        && getDepartureTick() == ride.getDepartureTick()
+        && getArrivalTick() == ride.getArrivalTick()
         && Objects.equals(getRideDistance(), ride.getRideDistance())
         && Objects.equals(getPriority(), ride.getPriority())
         && Objects.equals(getRideLength(), ride.getRideLength());
@@ -138,8 +176,8 @@ public abstract class Ride {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getCustomer(), getDriver(), getRequestTime(), getDepartureTime(),
-        getArrivalTime(), getRideDistance(), getPriority(), getRideLength());
+    return Objects.hash(getCustomer(), getDriver(), getRequestTick(), getDepartureTick(),
+        getArrivalTick(), getRideDistance(), getPriority(), getRideLength());
   }
 
   @Override
@@ -147,9 +185,9 @@ public abstract class Ride {
     return "Ride{" +
         "customer=" + customer +
         ", driver=" + driver +
-        ", requestTime=" + requestTime +
-        ", departureTime=" + departureTime +
-        ", arrivalTime=" + arrivalTime +
+        ", requestTick=" + requestTick +
+        ", departureTick=" + departureTick +
+        ", arrivalTick=" + arrivalTick +
         ", rideDistance=" + rideDistance +
         ", priority=" + priority +
         ", rideLength=" + rideLength +
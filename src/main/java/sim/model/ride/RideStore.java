@@ -0,0 +1,531 @@
+package sim.model.ride;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import sim.control.factory.RideFactory;
+import sim.model.driver.DriverRegistry;
+
+/**
+ * RideStore class, representing the finished rides of the simulation as rows of primitive arrays,
+ * one column per field of a ride. Drivers are stored by their id in the DriverRegistry, and
+ * customers and locations by their id in the StringDictionary, so that storing a finished ride
+ * allocates nothing but the occasional growth of the columns.
+ *
+ * <p>Rides are appended by the visitor as they finish. Code that needs Ride objects can create a
+ * view of a stored ride on demand with getRide. A store that does not retain rides only counts
+ * them, for runs whose results are accumulated as the rides finish. The store is not synchronized.
+ */
+public final class RideStore {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] driverIds;            // ride index -> driver id
+  private int[] numOfRidesFinished;   // ride index -> rides finished by the driver at the time
+  private int[] customerIds;          // ride index -> dictionary id of the customer
+  private int[] startingLocationIds;  // ride index -> dictionary id of the starting location
+  private int[] desiredLocationIds;   // ride index -> dictionary id of the desired location
+  private long[] requestTicks;        // ride index -> tick when the ride was requested
+  private long[] departureTicks;      // ride index -> tick when the ride started
+  private long[] arrivalTicks;        // ride index -> tick when the ride ended
+  private double[] rideDistances;     // ride index -> distance covered in miles
+  private byte[] rideTypes;           // ride index -> priority of the ride type
+  private final Boolean retainRides;
+  private int size;
+
+  /**
+   * Constructor for option1.model.ride.RideStore class.
+   */
+  public RideStore() {
+    this(INITIAL_CAPACITY, Boolean.TRUE);
+  }
+
+  /**
+   * Constructor for option1.model.ride.RideStore class.
+   *
+   * @param retainRides true to retain the rides, false to only count them
+   */
+  public RideStore(Boolean retainRides) {
+    this(retainRides ? INITIAL_CAPACITY : 1, retainRides);
+  }
+
+  /**
+   * Constructor for option1.model.ride.RideStore class, with room for the given number of rides
+   * before the columns have to grow.
+   *
+   * @param capacity    the expected number of rides
+   * @param retainRides true to retain the rides, false to only count them
+   */
+  public RideStore(Integer capacity, Boolean retainRides) {
+    int initialCapacity = Math.max(capacity, 1);
+    this.driverIds = new int[initialCapacity];
+    this.numOfRidesFinished = new int[initialCapacity];
+    this.customerIds = new int[initialCapacity];
+    this.startingLocationIds = new int[initialCapacity];
+    this.desiredLocationIds = new int[initialCapacity];
+    this.requestTicks = new long[initialCapacity];
+    this.departureTicks = new long[initialCapacity];
+    this.arrivalTicks = new long[initialCapacity];
+    this.rideDistances = new double[initialCapacity];
+    this.rideTypes = new byte[initialCapacity];
+    this.retainRides = retainRides;
+    this.size = 0;
+  }
+
+  /**
+   * Appends a finished ride to the store, or only counts it if the store does not retain rides.
+   *
+   * @param driverId           the id of the driver assigned to the ride
+   * @param numOfRidesFinished the number of rides finished by the driver before this ride
+   * @param customerId         the dictionary id of the name of the customer
+   * @param startingLocationId the dictionary id of the starting location of the customer
+   * @param desiredLocationId  the dictionary id of the desired location of the customer
+   * @param requestTick        the tick when the ride was requested
+   * @param departureTick      the tick when the ride started
+   * @param arrivalTick        the tick when the ride ended
+   * @param rideDistance       the distance covered by the ride in miles
+   * @param priority           the priority of the ride type
+   */
+  public void add(int driverId, int numOfRidesFinished, int customerId, int startingLocationId,
+      int desiredLocationId, long requestTick, long departureTick, long arrivalTick,
+      double rideDistance, int priority) {
+    if (!this.retainRides) {
+      this.size++;
+      return;
+    }
+    if (this.size == this.driverIds.length) {
+      grow(this.size + 1);
+    }
+    int index = this.size++;
+    this.driverIds[index] = driverId;
+    this.numOfRidesFinished[index] = numOfRidesFinished;
+    this.customerIds[index] = customerId;
+    this.startingLocationIds[index] = startingLocationId;
+    this.desiredLocationIds[index] = desiredLocationId;
+    this.requestTicks[index] = requestTick;
+    this.departureTicks[index] = departureTick;
+    this.arrivalTicks[index] = arrivalTick;
+    this.rideDistances[index] = rideDistance;
+    this.rideTypes[index] = (byte) priority;
+  }
+
+  /**
+   * Appends every ride of the given store, in order. A store that retains rides cannot append the
+   * rides of a store that only counted them.
+   *
+   * @param other the store whose rides are appended
+   */
+  public void addAll(RideStore other) {
+    int newSize = this.size + other.size;
+    if (!this.retainRides) {
+      this.size = newSize;
+      return;
+    }
+    if (!other.retainRides) {
+      throw new IllegalStateException("Cannot append rides that were not retained.");
+    }
+    if (newSize > this.driverIds.length) {
+      grow(newSize);
+    }
+    System.arraycopy(other.driverIds, 0, this.driverIds, this.size, other.size);
+    System.arraycopy(other.numOfRidesFinished, 0, this.numOfRidesFinished, this.size, other.size);
+    System.arraycopy(other.customerIds, 0, this.customerIds, this.size, other.size);
+    System.arraycopy(other.startingLocationIds, 0, this.startingLocationIds, this.size,
+        other.size);
+    System.arraycopy(other.desiredLocationIds, 0, this.desiredLocationIds, this.size, other.size);
+    System.arraycopy(other.requestTicks, 0, this.requestTicks, this.size, other.size);
+    System.arraycopy(other.departureTicks, 0, this.departureTicks, this.size, other.size);
+    System.arraycopy(other.arrivalTicks, 0, this.arrivalTicks, this.size, other.size);
+    System.arraycopy(other.rideDistances, 0, this.rideDistances, this.size, other.size);
+    System.arraycopy(other.rideTypes, 0, this.rideTypes, this.size, other.size);
+    this.size = newSize;
+  }
+
+  /**
+   * Removes every ride after the given number of rides, keeping the first ones.
+   *
+   * @param newSize the number of rides to keep
+   */
+  public void truncate(int newSize) {
+    if (newSize < 0 || newSize > this.size) {
+      throw new IndexOutOfBoundsException("Size: " + newSize + ", current size: " + this.size);
+    }
+    this.size = newSize;
+  }
+
+  /**
+   * Removes every ride from the store.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Gets the number of rides in the store, including those only counted.
+   *
+   * @return the number of rides in the store
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if the store is empty.
+   *
+   * @return true if the store is empty, false otherwise
+   */
+  public Boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Checks if the store retains the rides appended to it.
+   *
+   * @return true if the rides are retained, false if they are only counted
+   */
+  public Boolean isRetainingRides() {
+    return retainRides;
+  }
+
+  /**
+   * Gets the id of the driver assigned to the given ride.
+   *
+   * @param index the index of the ride
+   * @return the id of the driver
+   */
+  public int getDriverId(int index) {
+    return this.driverIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the number of rides the driver of the given ride had finished before it.
+   *
+   * @param index the index of the ride
+   * @return the number of rides finished by the driver before the ride
+   */
+  public int getNumOfRidesFinished(int index) {
+    return this.numOfRidesFinished[checkIndex(index)];
+  }
+
+  /**
+   * Gets the dictionary id of the customer of the given ride.
+   *
+   * @param index the index of the ride
+   * @return the dictionary id of the name of the customer
+   */
+  public int getCustomerId(int index) {
+    return this.customerIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the dictionary id of the starting location of the given ride.
+   *
+   * @param index the index of the ride
+   * @return the dictionary id of the starting location
+   */
+  public int getStartingLocationId(int index) {
+    return this.startingLocationIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the dictionary id of the desired location of the given ride.
+   *
+   * @param index the index of the ride
+   * @return the dictionary id of the desired location
+   */
+  public int getDesiredLocationId(int index) {
+    return this.desiredLocationIds[checkIndex(index)];
+  }
+
+  /**
+   * Gets the tick when the given ride was requested.
+   *
+   * @param index the index of the ride
+   * @return the tick when the ride was requested, in seconds since the epoch
+   */
+  public long getRequestTick(int index) {
+    return this.requestTicks[checkIndex(index)];
+  }
+
+  /**
+   * Gets the tick when the given ride started.
+   *
+   * @param index the index of the ride
+   * @return the tick when the ride started, in seconds since the epoch
+   */
+  public long getDepartureTick(int index) {
+    return this.departureTicks[checkIndex(index)];
+  }
+
+  /**
+   * Gets the tick when the given ride ended.
+   *
+   * @param index the index of the ride
+   * @return the tick when the ride ended, in seconds since the epoch
+   */
+  public long getArrivalTick(int index) {
+    return this.arrivalTicks[checkIndex(index)];
+  }
+
+  /**
+   * Gets the time the customer of the given ride waited between the request and the departure.
+   *
+   * @param index the index of the ride
+   * @return the waiting time in seconds
+   */
+  public long getWaitingTime(int index) {
+    checkIndex(index);
+    return this.departureTicks[index] - this.requestTicks[index];
+  }
+
+  /**
+   * Gets the duration of the given ride.
+   *
+   * @param index the index of the ride
+   * @return the duration of the ride in seconds
+   */
+  public long getRideLength(int index) {
+    checkIndex(index);
+    return this.arrivalTicks[index] - this.departureTicks[index];
+  }
+
+  /**
+   * Gets the distance covered by the given ride.
+   *
+   * @param index the index of the ride
+   * @return the distance covered by the ride in miles
+   */
+  public double getRideDistance(int index) {
+    return this.rideDistances[checkIndex(index)];
+  }
+
+  /**
+   * Gets the priority of the ride type of the given ride.
+   *
+   * @param index the index of the ride
+   * @return the priority of the ride type
+   */
+  public int getPriority(int index) {
+    return this.rideTypes[checkIndex(index)];
+  }
+
+  /**
+   * Creates a Ride object holding the given stored ride, for code that needs ride objects. The
+   * ride is built by the factory of its ride type, with the name and speed of its driver read from
+   * the registry.
+   *
+   * @param index          the index of the ride
+   * @param rideFactories  the ride factories, by priority of the ride type
+   * @param driverRegistry the registry of the drivers of the rides
+   * @return a ride object with the fields of the stored ride
+   */
+  public Ride getRide(int index, HashMap<Integer, RideFactory> rideFactories,
+      DriverRegistry driverRegistry) {
+    checkIndex(index);
+    int driverId = this.driverIds[index];
+    return rideFactories
+        .get((int) this.rideTypes[index])
+        .generateRide(
+            driverRegistry.getDriverName(driverId),
+            this.numOfRidesFinished[index],
+            driverRegistry.getDriverSpeed(driverId),
+            this.customerIds[index],
+            this.startingLocationIds[index],
+            this.desiredLocationIds[index],
+            this.requestTicks[index],
+            this.departureTicks[index],
+            this.arrivalTicks[index],
+            this.rideDistances[index],
+            this.arrivalTicks[index] - this.departureTicks[index]);
+  }
+
+  /**
+   * Writes the number of rides and, if they are retained, every ride column by column, so that
+   * the store can be restored with readState.
+   *
+   * @param out the output the rides are written to
+   * @throws IOException if the rides cannot be written
+   */
+  public void writeState(DataOutput out) throws IOException {
+    out.writeBoolean(this.retainRides);
+    out.writeInt(this.size);
+    if (!this.retainRides) {
+      return;
+    }
+    writeColumn(out, this.driverIds);
+    writeColumn(out, this.numOfRidesFinished);
+    writeColumn(out, this.customerIds);
+    writeColumn(out, this.startingLocationIds);
+    writeColumn(out, this.desiredLocationIds);
+    writeColumn(out, this.requestTicks);
+    writeColumn(out, this.departureTicks);
+    writeColumn(out, this.arrivalTicks);
+    for (int i = 0; i < this.size; i++) {
+      out.writeDouble(this.rideDistances[i]);
+    }
+    out.write(this.rideTypes, 0, this.size);
+  }
+
+  /**
+   * Replaces the rides of the store with the rides written by writeState. A store that does not
+   * retain rides only restores their number, and a store that retains rides cannot restore rides
+   * that were not retained.
+   *
+   * @param in the input the rides are read from
+   * @throws IOException if the rides cannot be read
+   */
+  public void readState(DataInput in) throws IOException {
+    boolean retained = in.readBoolean();
+    int newSize = in.readInt();
+    if (this.retainRides && !retained) {
+      throw new IllegalStateException("Cannot restore rides that were not retained.");
+    }
+    this.size = 0;
+    if (!retained) {
+      this.size = newSize;
+      return;
+    }
+    if (!this.retainRides) {
+      // Skips the columns: 5 int columns, 3 long columns, 1 double column and 1 byte column
+      skipFully(in, (long) newSize * (5 * Integer.BYTES + 3 * Long.BYTES + Double.BYTES
+          + Byte.BYTES));
+      this.size = newSize;
+      return;
+    }
+    if (newSize > this.driverIds.length) {
+      grow(newSize);
+    }
+    readColumn(in, this.driverIds, newSize);
+    readColumn(in, this.numOfRidesFinished, newSize);
+    readColumn(in, this.customerIds, newSize);
+    readColumn(in, this.startingLocationIds, newSize);
+    readColumn(in, this.desiredLocationIds, newSize);
+    readColumn(in, this.requestTicks, newSize);
+    readColumn(in, this.departureTicks, newSize);
+    readColumn(in, this.arrivalTicks, newSize);
+    for (int i = 0; i < newSize; i++) {
+      this.rideDistances[i] = in.readDouble();
+    }
+    in.readFully(this.rideTypes, 0, newSize);
+    this.size = newSize;
+  }
+
+  /**
+   * Helper method. Writes the stored values of an int column.
+   *
+   * @param out    the output the values are written to
+   * @param column the column
+   * @throws IOException if the values cannot be written
+   */
+  private void writeColumn(DataOutput out, int[] column) throws IOException {
+    for (int i = 0; i < this.size; i++) {
+      out.writeInt(column[i]);
+    }
+  }
+
+  /**
+   * Helper method. Writes the stored values of a long column.
+   *
+   * @param out    the output the values are written to
+   * @param column the column
+   * @throws IOException if the values cannot be written
+   */
+  private void writeColumn(DataOutput out, long[] column) throws IOException {
+    for (int i = 0; i < this.size; i++) {
+      out.writeLong(column[i]);
+    }
+  }
+
+  /**
+   * Helper method. Reads the given number of values of an int column.
+   *
+   * @param in        the input the values are read from
+   * @param column    the column
+   * @param numOfRows the number of values
+   * @throws IOException if the values cannot be read
+   */
+  private static void readColumn(DataInput in, int[] column, int numOfRows) throws IOException {
+    for (int i = 0; i < numOfRows; i++) {
+      column[i] = in.readInt();
+    }
+  }
+
+  /**
+   * Helper method. Reads the given number of values of a long column.
+   *
+   * @param in        the input the values are read from
+   * @param column    the column
+   * @param numOfRows the number of values
+   * @throws IOException if the values cannot be read
+   */
+  private static void readColumn(DataInput in, long[] column, int numOfRows) throws IOException {
+    for (int i = 0; i < numOfRows; i++) {
+      column[i] = in.readLong();
+    }
+  }
+
+  /**
+   * Helper method. Skips the given number of bytes of the input.
+   *
+   * @param in         the input
+   * @param numOfBytes the number of bytes to skip
+   * @throws IOException if the bytes cannot be skipped
+   */
+  private static void skipFully(DataInput in, long numOfBytes) throws IOException {
+    long remaining = numOfBytes;
+    while (remaining > 0) {
+      int skipped = in.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+      if (skipped == 0) {
+        in.readByte(); // throws EOFException at the end of the input
+        skipped = 1;
+      }
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Helper method. Checks that the given index refers to a retained ride.
+   *
+   * @param index the index of the ride
+   * @return the index
+   */
+  private int checkIndex(int index) {
+    if (!this.retainRides) {
+      throw new IllegalStateException("Rides are not retained.");
+    }
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+    }
+    return index;
+  }
+
+  /**
+   * Helper method. Grows every column to hold at least the given number of rides, at least
+   * doubling their capacity.
+   *
+   * @param minCapacity the number of rides the columns must hold
+   */
+  private void grow(int minCapacity) {
+    int capacity = Math.max(this.driverIds.length * 2, minCapacity);
+    this.driverIds = Arrays.copyOf(this.driverIds, capacity);
+    this.numOfRidesFinished = Arrays.copyOf(this.numOfRidesFinished, capacity);
+    this.customerIds = Arrays.copyOf(this.customerIds, capacity);
+    this.startingLocationIds = Arrays.copyOf(this.startingLocationIds, capacity);
+    this.desiredLocationIds = Arrays.copyOf(this.desiredLocationIds, capacity);
+    this.requestTicks = Arrays.copyOf(this.requestTicks, capacity);
+    this.departureTicks = Arrays.copyOf(this.departureTicks, capacity);
+    this.arrivalTicks = Arrays.copyOf(this.arrivalTicks, capacity);
+    this.rideDistances = Arrays.copyOf(this.rideDistances, capacity);
+    this.rideTypes = Arrays.copyOf(this.rideTypes, capacity);
+  }
+
+  @Override
+  public String toString() {
+    return "RideStore{" +
+        "size=" + size +
+        ", retainRides=" + retainRides +
+        '}';
+  }
+}
@@ -0,0 +1,48 @@
+package sim.model.type;
+
+/**
+ * Enum representing the time-of-day profiles of the customer arrival rate. Each profile gives the
+ * relative arrival rate of every hour of the day; only the ratios between hours matter.
+ */
+public enum ArrivalProfileType {
+  UNIFORM(new double[]{
+      1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+      1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1}),  // the same rate at every hour
+  TIME_OF_DAY(new double[]{
+      0.5, 0.3, 0.2, 0.2, 0.3, 0.6, 1.2, 2.2, 2.5, 1.6, 1.1, 1.2,
+      1.4, 1.3, 1.2, 1.4, 1.9, 2.6, 2.4, 1.7, 1.3, 1.2, 1.0, 0.8}); // morning and evening peaks
+
+  private static final int HOURS_IN_DAY = 24;
+
+  private final double[] hourlyRates;
+
+  /**
+   * Constructor for option1.model.type.ArrivalProfileType enum.
+   *
+   * @param hourlyRates the relative arrival rate of every hour of the day, from midnight
+   */
+  ArrivalProfileType(double[] hourlyRates) {
+    this.hourlyRates = hourlyRates;
+  }
+
+  /**
+   * Gets the relative arrival rate of the given hour of the day.
+   *
+   * @param hour the hour of the day, from 0 to 23
+   * @return the relative arrival rate of the hour
+   */
+  public double getHourlyRate(int hour) {
+    return this.hourlyRates[Math.floorMod(hour, HOURS_IN_DAY)];
+  }
+
+  /**
+   * Gets the arrival profile type based on the given name. The name is case-insensitive and may
+   * use dashes instead of underscores.
+   *
+   * @param name the given name
+   * @return the arrival profile type
+   */
+  public static ArrivalProfileType fromName(String name) {
+    return ArrivalProfileType.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
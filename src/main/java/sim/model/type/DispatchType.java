@@ -0,0 +1,42 @@
+package sim.model.type;
+
+/**
+ * Enum representing the different ways an available driver is picked for a waiting request.
+ */
+public enum DispatchType {
+  FIFO,             // driver available the longest, locations are not geocoded
+  GEOCODED_FIFO,    // driver available the longest, who drives to the starting location
+  NEAREST,          // driver nearest to the starting location, who drives there
+  MATCHED;          // drivers matched to the requests of a window, for the least total pickup
+
+  /**
+   * Gets the dispatch type based on the given name. The name is case-insensitive and may use
+   * dashes instead of underscores.
+   *
+   * @param name the given name
+   * @return the dispatch type
+   */
+  public static DispatchType fromName(String name) {
+    return DispatchType.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+
+  /**
+   * Checks if the locations are geocoded, so that drivers stand at a location and drive to the
+   * starting location of the rides they are dispatched to.
+   *
+   * @return true if the locations are geocoded, false otherwise
+   */
+  public Boolean isGeocoded() {
+    return this != FIFO;
+  }
+
+  /**
+   * Checks if the available drivers are indexed by where they stand, so that the drivers nearest
+   * to a starting location are found without scanning every driver.
+   *
+   * @return true if the drivers are indexed by location, false otherwise
+   */
+  public Boolean isSpatial() {
+    return this == NEAREST || this == MATCHED;
+  }
+}
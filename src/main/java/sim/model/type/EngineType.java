@@ -0,0 +1,21 @@
+package sim.model.type;
+
+/**
+ * Enum representing the different engines that run the simulation main loop.
+ */
+public enum EngineType {
+  SEQUENTIAL,     // single main loop on the calling thread
+  CONSERVATIVE,   // one thread per zone, synchronized with null messages
+  OPTIMISTIC;     // one thread per zone, synchronized with Time Warp rollbacks
+
+  /**
+   * Gets the engine type based on the given name. The name is case-insensitive and may use dashes
+   * instead of underscores.
+   *
+   * @param name the given name
+   * @return the engine type
+   */
+  public static EngineType fromName(String name) {
+    return EngineType.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
@@ -0,0 +1,31 @@
+package sim.model.type;
+
+/**
+ * Enum representing the levels of the simulation event log, from the least to the most verbose.
+ */
+public enum EventLogLevel {
+  OFF,      // nothing is logged
+  RIDES,    // one message per finished ride
+  ALL;      // one message per requested, started and finished ride
+
+  /**
+   * Checks if messages of the given level are logged at this level.
+   *
+   * @param level the level of the messages
+   * @return true if the messages are logged, false otherwise
+   */
+  public boolean includes(EventLogLevel level) {
+    return level != OFF && this.ordinal() >= level.ordinal();
+  }
+
+  /**
+   * Gets the event log level based on the given name. The name is case-insensitive and may use
+   * dashes instead of underscores.
+   *
+   * @param name the given name
+   * @return the event log level
+   */
+  public static EventLogLevel fromName(String name) {
+    return EventLogLevel.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
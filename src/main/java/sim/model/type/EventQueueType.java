@@ -0,0 +1,21 @@
+package sim.model.type;
+
+/**
+ * Enum representing the different implementations of the event queue.
+ */
+public enum EventQueueType {
+  BINARY_HEAP,    // java.util.PriorityQueue ordered by EventComparator
+  CALENDAR,       // calendar queue bucketed by eventTime
+  INDEXED_DARY;   // indexed 4-ary heap of primitive keys
+
+  /**
+   * Gets the event queue type based on the given name. The name is case-insensitive and may use
+   * dashes instead of underscores.
+   *
+   * @param name the given name
+   * @return the event queue type
+   */
+  public static EventQueueType fromName(String name) {
+    return EventQueueType.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
@@ -0,0 +1,15 @@
+package sim.model.type;
+
+/**
+ * Enum representing the purposes random numbers are drawn for. Each purpose gets its own random
+ * stream, so that changing how many numbers one purpose draws does not change the others.
+ */
+public enum RandomStreamType {
+  ARRIVALS,         // request times of the customers
+  NAMES,            // names of the customers
+  LOCATIONS,        // starting and desired locations of the rides
+  DISTANCE,         // ride distances
+  RIDE_TYPE,        // ride types requested by the customers
+  DRIVERS,          // names of the drivers
+  DRIVER_LOCATIONS  // starting locations of the drivers, when locations are geocoded
+}
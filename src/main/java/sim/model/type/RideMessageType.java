@@ -0,0 +1,55 @@
+package sim.model.type;
+
+/**
+ * Enum representing the messages of the simulation event log, with the labels they are printed
+ * with and the level they are logged at.
+ */
+public enum RideMessageType {
+  REQUESTED("[RIDE REQUESTED]", " [Request Time:   ", EventLogLevel.ALL),
+  STARTED("[RIDE STARTED]  ", " [Departure Time: ", EventLogLevel.ALL),
+  ENDED("[RIDE ENDED]    ", " [Arrival Time:   ", EventLogLevel.RIDES);
+
+  private final String label;
+  private final String timeLabel;
+  private final EventLogLevel level;
+
+  /**
+   * Constructor for option1.model.type.RideMessageType class.
+   *
+   * @param label     the label the message starts with
+   * @param timeLabel the label of the time of the message
+   * @param level     the level the message is logged at
+   */
+  RideMessageType(String label, String timeLabel, EventLogLevel level) {
+    this.label = label;
+    this.timeLabel = timeLabel;
+    this.level = level;
+  }
+
+  /**
+   * Gets the label the message starts with.
+   *
+   * @return the label of the message
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Gets the label of the time of the message.
+   *
+   * @return the label of the time of the message
+   */
+  public String getTimeLabel() {
+    return timeLabel;
+  }
+
+  /**
+   * Gets the level the message is logged at.
+   *
+   * @return the level of the message
+   */
+  public EventLogLevel getLevel() {
+    return level;
+  }
+}
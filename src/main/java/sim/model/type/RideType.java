@@ -9,6 +9,9 @@ public enum RideType {
   WAIT_AND_SAVE_PICK_UP(2),                // Wait and save pick up ride
   ENVIRONMENTALLY_CONSCIOUS_PICK_UP(3);    // Environmentally conscious pick up ride
 
+  private static final String UNKNOWN_RIDE_TYPE = "Unknown Ride Type";
+  private static final RideType[] BY_PRIORITY = byPriority();   // priority -> ride type
+
   private final Integer priority;
 
   /**
@@ -29,6 +32,34 @@ public enum RideType {
     return priority;
   }
 
+  /**
+   * Helper method. Indexes the ride types by priority.
+   *
+   * @return the ride types, indexed by priority
+   */
+  private static RideType[] byPriority() {
+    int size = 0;
+    for (RideType type : values()) {
+      size = Math.max(size, type.priority + 1);
+    }
+    RideType[] types = new RideType[size];
+    for (RideType type : values()) {
+      types[type.priority] = type;
+    }
+    return types;
+  }
+
+  /**
+   * Gets the ride type with the given priority. Priorities are the indices of the ride types, so
+   * the lookup is a single array access.
+   *
+   * @param priority the given priority
+   * @return the ride type, or null if no ride type has the given priority
+   */
+  public static RideType fromPriority(int priority) {
+    return priority >= 0 && priority < BY_PRIORITY.length ? BY_PRIORITY[priority] : null;
+  }
+
   /**
    * Gets the ride type based on the given priority.
    *
@@ -36,11 +67,7 @@ public enum RideType {
    * @return the ride type
    */
   public static String getRideType(Integer priority) {
-    for (RideType type : RideType.values()) {
-      if (type.getPriority().equals(priority)) {
-        return type.toString();
-      }
-    }
-    return "Unknown Ride Type";
+    RideType type = fromPriority(priority);
+    return type == null ? UNKNOWN_RIDE_TYPE : type.toString();
   }
 }
@@ -0,0 +1,20 @@
+package sim.model.type;
+
+/**
+ * Enum representing the different ways a parameter sweep chooses its cells.
+ */
+public enum SweepDesignType {
+  GRID,             // every combination of the listed values
+  LATIN_HYPERCUBE;  // a fixed number of cells, each parameter stratified over its range
+
+  /**
+   * Gets the sweep design type based on the given name. The name is case-insensitive and may use
+   * dashes instead of underscores.
+   *
+   * @param name the given name
+   * @return the sweep design type
+   */
+  public static SweepDesignType fromName(String name) {
+    return SweepDesignType.valueOf(name.trim().toUpperCase().replace('-', '_'));
+  }
+}
@@ -0,0 +1,64 @@
+package sim.model.type;
+
+/**
+ * Enum representing the parameters that a parameter sweep can vary. Each parameter is named after
+ * its command line option.
+ */
+public enum SweepParameterType {
+  DRIVERS("drivers", true),
+  CUSTOMERS("customers", true),
+  TIME_SPAN("time-span", true),
+  DRIVER_SPEED("driver-speed", false),
+  DISTANCE_UPPER_BOUND("distance-upper-bound", false),
+  EXPRESS_QUANTUM("express-quantum", true),
+  STANDARD_QUANTUM("standard-quantum", true),
+  WAIT_AND_SAVE_QUANTUM("wait-and-save-quantum", true),
+  ENVIRONMENTALLY_CONSCIOUS_QUANTUM("environmentally-conscious-quantum", true);
+
+  private final String optionName;
+  private final Boolean integer;
+
+  /**
+   * Constructor for option1.model.type.SweepParameterType enum.
+   *
+   * @param optionName the name of the parameter, as written on the command line
+   * @param integer    true if the parameter only takes integer values
+   */
+  SweepParameterType(String optionName, Boolean integer) {
+    this.optionName = optionName;
+    this.integer = integer;
+  }
+
+  /**
+   * Gets the name of the parameter, as written on the command line.
+   *
+   * @return the name of the parameter
+   */
+  public String getOptionName() {
+    return optionName;
+  }
+
+  /**
+   * Checks if the parameter only takes integer values.
+   *
+   * @return true if the parameter only takes integer values, false otherwise
+   */
+  public Boolean isInteger() {
+    return integer;
+  }
+
+  /**
+   * Gets the sweep parameter type based on the given name, as written on the command line.
+   *
+   * @param name the given name
+   * @return the sweep parameter type
+   */
+  public static SweepParameterType fromOptionName(String name) {
+    for (SweepParameterType type : values()) {
+      if (type.getOptionName().equals(name.trim())) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown sweep parameter: " + name);
+  }
+}
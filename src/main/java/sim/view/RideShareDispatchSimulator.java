@@ -1,7 +1,10 @@
 package sim.view;
 
 import sim.control.exception.EmptyQueueException;
+import sim.control.mediator.SimConfig;
 import sim.control.mediator.SimDirector;
+import sim.control.sweep.ParameterSweepRunner;
+import sim.control.sweep.SweepDefinition;
 
 /**
  * Simulator class.
@@ -9,10 +12,21 @@ import sim.control.mediator.SimDirector;
 public class RideShareDispatchSimulator {
 
   /**
-   * Main method. Instantiates SimDirector and runs the simulation.
+   * Main method. Instantiates SimDirector and runs the simulation. Options are passed as
+   * {@code --option=value} arguments, for example {@code --event-queue=calendar} selects the
+   * calendar queue instead of the binary heap. With {@code --sweep=<file>}, runs the parameter
+   * sweep defined in the file instead of an interactive simulation.
    */
   public static void main(String[] args) throws EmptyQueueException {
-    SimDirector simDirector = new SimDirector();
+    SimConfig config = SimConfig.fromArgs(args);
+    if (config.getSweepFile() != null) {
+      SweepDefinition definition = SweepDefinition.fromFile(config.getSweepFile());
+      new ParameterSweepRunner(config, Runtime.getRuntime().availableProcessors())
+          .run(definition.createCells(config), config.getSweepOutputFile());
+      System.out.printf("Sweep results written to %s\n", config.getSweepOutputFile());
+      return;
+    }
+    SimDirector simDirector = new SimDirector(config);
     simDirector.run();
   }
 
@@ -0,0 +1,66 @@
+package sim.view;
+
+import java.util.Arrays;
+import sim.control.calculator.AllocationCalculator;
+import sim.control.exception.EmptyQueueException;
+import sim.control.mediator.SimConfig;
+import sim.control.mediator.SimDirector;
+import sim.model.data.MockDataGenerator;
+import sim.model.result.SimResult;
+
+/**
+ * Benchmark class, measures the throughput of the simulation in events processed per second of
+ * wall-clock time, and the number of bytes allocated per event.
+ */
+public class SimBenchmark {
+
+  private static final Integer NUM_OF_WARMUP_RUNS = 3;
+  private static final Integer NUM_OF_MEASURED_RUNS = 5;
+  private static final Double NANOS_IN_SECOND = 1e9;
+
+  /**
+   * Main method. The first two arguments are the number of drivers and the number of customers,
+   * the remaining arguments are {@code --option=value} options as for the simulator, for example
+   * {@code java sim.view.SimBenchmark 1000 1000000 --time-span=100000}. Ride messages are never
+   * printed. Every run processes one event per ride request and one per finished ride, and the
+   * median throughput of the measured runs is reported after the JIT has been warmed up.
+   */
+  public static void main(String[] args) throws EmptyQueueException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException(
+          "Usage: SimBenchmark <drivers> <customers> [--option=value ...]");
+    }
+    Integer numOfDrivers = Integer.parseInt(args[0]);
+    Integer numOfCustomers = Integer.parseInt(args[1]);
+    SimConfig config = SimConfig.fromArgs(Arrays.copyOfRange(args, 2, args.length));
+    config.setPrintMessages(Boolean.FALSE);
+    MockDataGenerator mockDataGenerator = new MockDataGenerator(config.getMockDataFile(),
+        config.getMockDataCache());
+    mockDataGenerator.generate();
+    AllocationCalculator allocationCalculator = new AllocationCalculator();
+    double[] eventsPerSecond = new double[NUM_OF_MEASURED_RUNS];
+    double[] bytesPerEvent = new double[NUM_OF_MEASURED_RUNS];
+    for (int i = 0; i < NUM_OF_WARMUP_RUNS + NUM_OF_MEASURED_RUNS; i++) {
+      long startBytes = allocationCalculator.getAllocatedBytes();
+      long start = System.nanoTime();
+      SimResult result = new SimDirector(config, mockDataGenerator)
+          .simulate(numOfDrivers, numOfCustomers);
+      long elapsedNanos = System.nanoTime() - start;
+      long numOfEvents = (long) numOfCustomers + result.getTotalNumOfRidesServed();
+      double throughput = numOfEvents * NANOS_IN_SECOND / elapsedNanos;
+      double allocation = allocationCalculator.calculateBytesPerEvent(startBytes,
+          allocationCalculator.getAllocatedBytes(), numOfEvents);
+      if (i >= NUM_OF_WARMUP_RUNS) {
+        eventsPerSecond[i - NUM_OF_WARMUP_RUNS] = throughput;
+        bytesPerEvent[i - NUM_OF_WARMUP_RUNS] = allocation;
+      }
+      System.out.printf("%s run %d: %d events in %d ms, %.0f events/sec, %.1f bytes/event\n",
+          i < NUM_OF_WARMUP_RUNS ? "Warmup" : "Measured", i + 1, numOfEvents,
+          elapsedNanos / 1_000_000, throughput, allocation);
+    }
+    Arrays.sort(eventsPerSecond);
+    Arrays.sort(bytesPerEvent);
+    System.out.printf("Median: %.0f events/sec, %.1f bytes/event\n",
+        eventsPerSecond[NUM_OF_MEASURED_RUNS / 2], bytesPerEvent[NUM_OF_MEASURED_RUNS / 2]);
+  }
+}
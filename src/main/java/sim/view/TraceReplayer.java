@@ -0,0 +1,46 @@
+package sim.view;
+
+import sim.control.mediator.SimDirector;
+import sim.control.trace.TraceReplay;
+import sim.model.result.SimResult;
+import sim.model.type.RideMessageType;
+
+/**
+ * TraceReplayer class.
+ */
+public class TraceReplayer {
+
+  /**
+   * Main method. Replays the binary event trace written by a simulation run with
+   * {@code --trace-file=<name>}, and prints the key performance indicators and ride statistics
+   * rebuilt from it, without running the simulation again. With {@code --print-rides}, every
+   * finished ride of the trace is printed as well.
+   */
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.out.println("Usage: TraceReplayer <trace-file> [--print-rides]");
+      return;
+    }
+    TraceReplay replay = new TraceReplay(args[0]);
+    long startNanos = System.nanoTime();
+    SimResult result = replay.replay();
+    long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    if (args.length > 1 && args[1].equals("--print-rides")) {
+      replay.getRides().forEach(System.out::println);
+    }
+    System.out.printf("Replayed %d records in %d ms: %d requested, %d started, %d ended\n",
+        replay.getNumOfRecords(RideMessageType.REQUESTED)
+            + replay.getNumOfRecords(RideMessageType.STARTED)
+            + replay.getNumOfRecords(RideMessageType.ENDED),
+        elapsedMillis,
+        replay.getNumOfRecords(RideMessageType.REQUESTED),
+        replay.getNumOfRecords(RideMessageType.STARTED),
+        replay.getNumOfRecords(RideMessageType.ENDED));
+    System.out.printf("Total number of rides served: %d\n", result.getTotalNumOfRidesServed());
+    System.out.printf("Average wait time for a ride: %.1f s\n", result.getAverageWaitingTime());
+    System.out.printf("Average number of rides handled per driver: %.2f\n",
+        result.getAverageNumOfRidesPerDriver());
+    SimDirector.printRideStatistics(replay.getRideStatistics());
+  }
+
+}
@@ -0,0 +1,181 @@
+package sim.control.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.control.random.RandomStreamService;
+import sim.model.data.StringDictionary;
+import sim.model.event.RideRequestEvent;
+
+/**
+ * Tests of the RequestLogReader class.
+ */
+class RequestLogReaderTest {
+
+  private static final long START = 1_704_067_200L;   // 2024-01-01T00:00 in seconds
+  private static final int NUM_OF_NAMES = 10;
+  private static final int NUM_OF_ADDRESSES = 10_000;  // many times the initial address table
+  private static final String LOG = "timestamp,pickup,dropoff,distance,ride_type\r\n"
+      + "2024-01-01T00:00:15,1 Main St,\"2 Pine St, Apt 3\",3.25,STANDARD_PICK_UP\r\n"
+      + "\r\n"
+      + "2024-01-01 00:01,\"The \"\"Big\"\" Easy\",1 Main St,0.5,express_pick_up,extra\n"
+      + "\n"
+      + "1704067290.75,2 Pine St,1 Main St,12,2\n"
+      + "2024-01-02,1 Main St,2 Pine St,7.125,3";
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Checks that a plain log with a header, blank lines, CRLF line ends, quoted addresses, every
+   * timestamp format, ride types by name or priority and no line separator at its end is read.
+   *
+   * @throws IOException if the log cannot be written
+   */
+  @Test
+  void readsPlainLog() throws IOException {
+    Path log = directory.resolve("requests.csv");
+    Files.writeString(log, LOG);
+    checkLog(log);
+  }
+
+  /**
+   * Checks that a gzip log is read the same as the plain log.
+   *
+   * @throws IOException if the log cannot be written
+   */
+  @Test
+  void readsGzipLog() throws IOException {
+    Path log = directory.resolve("requests.csv.gz");
+    try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(log))) {
+      output.write(LOG.getBytes(StandardCharsets.UTF_8));
+    }
+    checkLog(log);
+  }
+
+  /**
+   * Checks that the address table keeps giving the same ids while it grows past its initial size.
+   *
+   * @throws IOException if the log cannot be written
+   */
+  @Test
+  void keepsAddressIdsWhileTheTableGrows() throws IOException {
+    StringBuilder lines = new StringBuilder();
+    for (int i = 0; i < 2 * NUM_OF_ADDRESSES; i++) {
+      // Every address is picked up once and dropped off at again later
+      lines.append(START + i).append(',').append(i % NUM_OF_ADDRESSES).append(" Main St,")
+          .append((i + 1) % NUM_OF_ADDRESSES).append(" Main St,1.0,0\n");
+    }
+    Path log = directory.resolve("requests.csv");
+    Files.writeString(log, lines);
+    StringDictionary dictionary = new StringDictionary();
+    List<RideRequestEvent> events = readAll(log, dictionary);
+    assertEquals(2 * NUM_OF_ADDRESSES, events.size());
+    assertEquals(NUM_OF_ADDRESSES, dictionary.size());
+    for (int i = 0; i < events.size(); i++) {
+      RideRequestEvent event = events.get(i);
+      assertEquals(i % NUM_OF_ADDRESSES + " Main St",
+          dictionary.decode(event.getStartingLocationId()));
+      assertEquals((i + 1) % NUM_OF_ADDRESSES + " Main St",
+          dictionary.decode(event.getDesiredLocationId()));
+    }
+  }
+
+  /**
+   * Checks that no more requests are read than asked for.
+   *
+   * @throws IOException if the log cannot be written
+   */
+  @Test
+  void stopsAtTheLargestNumberOfRequests() throws IOException {
+    Path log = directory.resolve("requests.csv");
+    Files.writeString(log, LOG);
+    RequestLogReader reader = new RequestLogReader(log.toString(), 2, new StringDictionary(),
+        new RandomStreamService(1L, 0), NUM_OF_NAMES);
+    reader.next();
+    reader.next();
+    assertFalse(reader.hasNext());
+    reader.close();
+  }
+
+  /**
+   * Checks that malformed or unsorted lines are rejected.
+   *
+   * @throws IOException if a log cannot be written
+   */
+  @Test
+  void rejectsMalformedLines() throws IOException {
+    String[] lines = {
+        "2024-13-01T00:00,1 Main St,2 Pine St,1.0,0",
+        "2024-01-01T0a:00,1 Main St,2 Pine St,1.0,0",
+        "1704067200,,2 Pine St,1.0,0",
+        "1704067200,1 Main St,2 Pine St,1.0",
+        "1704067200,1 Main St,2 Pine St,one,0",
+        "1704067200,1 Main St,2 Pine St,1.0,9",
+        "1704067200,1 Main St,2 Pine St,1.0,LIMOUSINE",
+        "1704067200,1 Main St,2 Pine St,1.0,0\n1704067199,1 Main St,2 Pine St,1.0,0"};
+    for (int i = 0; i < lines.length; i++) {
+      Path log = directory.resolve("malformed" + i + ".csv");
+      Files.writeString(log, lines[i]);
+      assertThrows(IllegalArgumentException.class,
+          () -> readAll(log, new StringDictionary()), lines[i]);
+    }
+  }
+
+  /**
+   * Helper method. Checks the requests read from a log holding LOG.
+   *
+   * @param log the path of the log
+   */
+  private void checkLog(Path log) {
+    StringDictionary dictionary = new StringDictionary();
+    List<RideRequestEvent> events = readAll(log, dictionary);
+    assertEquals(4, events.size());
+    long[] ticks = {START + 15, START + 60, START + 90, START + 86_400};
+    String[] pickups = {"1 Main St", "The \"Big\" Easy", "2 Pine St", "1 Main St"};
+    String[] dropoffs = {"2 Pine St, Apt 3", "1 Main St", "1 Main St", "2 Pine St"};
+    double[] distances = {3.25, 0.5, 12.0, 7.125};
+    int[] priorities = {1, 0, 2, 3};
+    for (int i = 0; i < events.size(); i++) {
+      RideRequestEvent event = events.get(i);
+      assertEquals(ticks[i], event.getEventTick(), "request " + i);
+      assertEquals(pickups[i], dictionary.decode(event.getStartingLocationId()), "request " + i);
+      assertEquals(dropoffs[i], dictionary.decode(event.getDesiredLocationId()), "request " + i);
+      assertEquals(distances[i], event.getRideDistance(), "request " + i);
+      assertEquals(priorities[i], event.getPriority(), "request " + i);
+    }
+    assertEquals(4, dictionary.size());
+  }
+
+  /**
+   * Helper method. Reads every request of a log.
+   *
+   * @param log        the path of the log
+   * @param dictionary the dictionary the addresses are encoded in
+   * @return the requests, in the order they were read
+   */
+  private static List<RideRequestEvent> readAll(Path log, StringDictionary dictionary) {
+    RequestLogReader reader = new RequestLogReader(log.toString(), Integer.MAX_VALUE, dictionary,
+        new RandomStreamService(1L, 0), NUM_OF_NAMES);
+    List<RideRequestEvent> events = new ArrayList<>();
+    try {
+      while (reader.hasNext()) {
+        events.add(reader.next());
+      }
+    } finally {
+      reader.close();
+    }
+    return events;
+  }
+}
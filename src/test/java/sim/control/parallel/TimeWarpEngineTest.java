@@ -0,0 +1,61 @@
+package sim.control.parallel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import sim.control.exception.EmptyQueueException;
+import sim.control.mediator.SimConfig;
+import sim.control.mediator.SimDirector;
+import sim.model.data.MockDataGenerator;
+import sim.model.result.SimResult;
+import sim.model.type.EngineType;
+
+/**
+ * Tests for the TimeWarpEngine class.
+ */
+class TimeWarpEngineTest {
+
+  private static final int NUM_OF_DRIVERS = 1_000;
+  private static final int NUM_OF_CUSTOMERS = 20_000;
+  private static final int NUM_OF_ZONES = 8;
+  private static final int NUM_OF_RUNS = 3;
+  private static final int NUM_OF_SCARCE_DRIVERS = 200;
+
+  /**
+   * Runs with the same seed give the same results, however the messages between zones interleave.
+   */
+  @Test
+  void seededRunsGiveTheSameResults() throws EmptyQueueException {
+    SimResult expected = simulate(NUM_OF_DRIVERS);
+    for (int i = 1; i < NUM_OF_RUNS; i++) {
+      assertEquals(expected, simulate(NUM_OF_DRIVERS));
+    }
+  }
+
+  /**
+   * A run that leaves requests waiting in a zone no driver reaches fails instead of returning
+   * results that cannot be compared with the sequential main loop.
+   */
+  @Test
+  void requestsLeftWaitingFailTheRun() {
+    assertThrows(IllegalStateException.class, () -> simulate(NUM_OF_SCARCE_DRIVERS));
+  }
+
+  /**
+   * Helper method. Runs the optimistic engine with a fixed seed.
+   *
+   * @param numOfDrivers the number of drivers
+   * @return the result of the run
+   * @throws EmptyQueueException throw EmptyQueueException when dequeue from an empty queue
+   */
+  private static SimResult simulate(int numOfDrivers) throws EmptyQueueException {
+    SimConfig config = new SimConfig();
+    config.setEngineType(EngineType.OPTIMISTIC);
+    config.setNumOfZones(NUM_OF_ZONES);
+    config.setSeed(5L);
+    config.setPrintMessages(Boolean.FALSE);
+    return new SimDirector(config, new MockDataGenerator())
+        .simulate(numOfDrivers, NUM_OF_CUSTOMERS);
+  }
+}
@@ -0,0 +1,207 @@
+package sim.model.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the CsvColumnReader class.
+ */
+class CsvColumnReaderTest {
+
+  private static final String MOCK_DATA_RESOURCE = "/mock/mock_data.csv";
+  private static final String MOCK_DATA_FILE_PATH = "src/main/resources/mock/mock_data.csv";
+  private static final String CSV = "\uFEFFid,name,address,note\r\n"
+      + "1,plain,\"1 Main St, Apt 2\",x\r\n"
+      + "\r\n"
+      + "2,\"The \"\"Big\"\" Easy\",\"\"\"quoted\"\"\",y\n"
+      + "\n"
+      + "3,,\"two\r\nlines, and a \"\"quote\"\"\",\n"
+      + "4,\u00E9t\u00E9 \u00E0 Z\u00FCrich,last,z";
+  private static final int NUM_OF_RECORDS = 2_000;
+  private static final int NUM_OF_COLUMNS = 5;
+
+  @TempDir
+  Path directory;
+
+  /**
+   * Checks that escaped quotes, separators and line separators within quoted fields, CRLF line
+   * ends, blank lines, a byte order mark, UTF-8 text and a last record with no line separator are
+   * read.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Test
+  void readsQuotedFieldsAndLineEnds() throws IOException {
+    Path file = directory.resolve("data.csv");
+    Files.writeString(file, CSV);
+    List<ArrayList<String>> values = read(new CsvColumnReader(file.toString()),
+        new int[] {2, 1, 3});
+    assertEquals(List.of("1 Main St, Apt 2", "\"quoted\"", "two\r\nlines, and a \"quote\"",
+        "last"), values.get(0));
+    assertEquals(List.of("plain", "The \"Big\" Easy", "", "\u00E9t\u00E9 \u00E0 Z\u00FCrich"),
+        values.get(1));
+    assertEquals(List.of("x", "y", "", "z"), values.get(2));
+  }
+
+  /**
+   * Checks that random records, with fields longer and shorter than the eight bytes scanned at
+   * once, quoted or not, are read back whatever their line ends and whether the file ends with a
+   * line separator or not.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Test
+  void readsRandomRecords() throws IOException {
+    Random random = new Random(42L);
+    for (int trial = 0; trial < 4; trial++) {
+      List<List<String>> records = new ArrayList<>();
+      StringBuilder csv = new StringBuilder("a,b,c,d,e\n");
+      for (int i = 0; i < NUM_OF_RECORDS; i++) {
+        List<String> record = new ArrayList<>();
+        for (int j = 0; j < NUM_OF_COLUMNS; j++) {
+          String value = randomField(random);
+          record.add(value);
+          if (j > 0) {
+            csv.append(',');
+          }
+          csv.append(encode(value, random));
+        }
+        records.add(record);
+        boolean last = i == NUM_OF_RECORDS - 1;
+        if (!last || trial % 2 == 0) {
+          csv.append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+      }
+      Path file = directory.resolve("random" + trial + ".csv");
+      Files.writeString(file, csv);
+      int[] columns = {4, 0, 2};
+      List<ArrayList<String>> values = read(new CsvColumnReader(file.toString()), columns);
+      for (int i = 0; i < NUM_OF_RECORDS; i++) {
+        for (int k = 0; k < columns.length; k++) {
+          assertEquals(records.get(i).get(columns[k]), values.get(k).get(i),
+              "record " + i + ", column " + columns[k] + ", trial " + trial);
+        }
+      }
+      assertEquals(NUM_OF_RECORDS, values.get(0).size());
+    }
+  }
+
+  /**
+   * Checks that the mock data is read the same from the classpath resource, from the copy in the
+   * source tree and from a resource stored in a jar, which is read into the heap.
+   *
+   * @throws IOException if the jar cannot be written
+   */
+  @Test
+  void readsClasspathResource() throws IOException {
+    URL resource = CsvColumnReaderTest.class.getResource(MOCK_DATA_RESOURCE);
+    assertNotNull(resource);
+    int[] columns = {0, 1, 2, 11};
+    List<ArrayList<String>> fromResource = read(new CsvColumnReader(resource), columns);
+    List<ArrayList<String>> fromFile = read(new CsvColumnReader(MOCK_DATA_FILE_PATH), columns);
+    assertEquals(fromFile, fromResource);
+    assertEquals("James", fromResource.get(0).get(0));
+    assertEquals("Butt", fromResource.get(1).get(0));
+    assertEquals("Benton, John B Jr", fromResource.get(2).get(0));
+    assertEquals("http://www.bentonjohnbjr.com", fromResource.get(3).get(0));
+
+    Path jar = directory.resolve("mock.jar");
+    try (OutputStream output = Files.newOutputStream(jar);
+        JarOutputStream jarOutput = new JarOutputStream(output)) {
+      jarOutput.putNextEntry(new ZipEntry("mock/mock_data.csv"));
+      jarOutput.write(Files.readAllBytes(Path.of(MOCK_DATA_FILE_PATH)));
+      jarOutput.closeEntry();
+    }
+    URL jarResource = new URL("jar:" + jar.toUri() + "!/mock/mock_data.csv");
+    assertEquals(fromFile, read(new CsvColumnReader(jarResource), columns));
+    assertEquals(new CsvColumnReader(MOCK_DATA_FILE_PATH).checksum(),
+        new CsvColumnReader(jarResource).checksum());
+    assertEquals(new CsvColumnReader(MOCK_DATA_FILE_PATH).checksum(),
+        new CsvColumnReader(resource).checksum());
+  }
+
+  /**
+   * Checks that an unterminated quoted field, a record with too few columns and a wrong number of
+   * lists of values are rejected.
+   *
+   * @throws IOException if the files cannot be written
+   */
+  @Test
+  void rejectsMalformedInput() throws IOException {
+    Path unterminated = directory.resolve("unterminated.csv");
+    Files.writeString(unterminated, "a,b\n1,\"open\n2,x\n");
+    assertThrows(IllegalArgumentException.class,
+        () -> read(new CsvColumnReader(unterminated.toString()), new int[] {1}));
+    Path shortRecord = directory.resolve("short.csv");
+    Files.writeString(shortRecord, "a,b,c\n1,2,3\n4,5\n");
+    assertThrows(IllegalArgumentException.class,
+        () -> read(new CsvColumnReader(shortRecord.toString()), new int[] {2}));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CsvColumnReader(shortRecord.toString()).readColumns(new int[] {0, 1},
+            List.of(new ArrayList<>())));
+  }
+
+  /**
+   * Helper method. Reads the given columns with the given reader.
+   *
+   * @param reader  the reader
+   * @param columns the numbers of the columns read
+   * @return the values of each column, in the order of columns
+   */
+  private static List<ArrayList<String>> read(CsvColumnReader reader, int[] columns) {
+    List<ArrayList<String>> values = new ArrayList<>();
+    for (int i = 0; i < columns.length; i++) {
+      values.add(new ArrayList<>());
+    }
+    reader.readColumns(columns, values);
+    return values;
+  }
+
+  /**
+   * Helper method. Draws a field of 0 to 24 characters, with separators, quotes, line ends and
+   * non ASCII characters among letters.
+   *
+   * @param random the random number generator
+   * @return the field
+   */
+  private static String randomField(Random random) {
+    String alphabet = "abcdefgh ,\"\n\r\u00E9\u20AC";
+    int length = random.nextInt(25);
+    StringBuilder field = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      field.append(random.nextInt(3) == 0 ? alphabet.charAt(random.nextInt(alphabet.length()))
+          : (char) ('a' + random.nextInt(26)));
+    }
+    return field.toString();
+  }
+
+  /**
+   * Helper method. Writes a field as a CSV field, quoted if it has to be, or at random.
+   *
+   * @param value  the value of the field
+   * @param random the random number generator
+   * @return the field as written in the file
+   */
+  private static String encode(String value, Random random) {
+    boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+        || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+    if (!needsQuotes && random.nextBoolean()) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,150 @@
+package sim.model.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+import sim.model.event.RideRequestEvent;
+
+/**
+ * Tests of the CalendarEventQueue class, checked against the EventPriorityQueue.
+ */
+class CalendarEventQueueTest {
+
+  private static final long START = 1_704_067_200L;   // 2024-01-01T00:00 in seconds
+  private static final int NUM_OF_OPERATIONS = 200_000;
+
+  /**
+   * Checks that random enqueues and dequeues, with events enqueued behind the last one dequeued
+   * and the queue growing and shrinking across resizes, dequeue the same eventTimes as the
+   * EventPriorityQueue.
+   *
+   * @throws EmptyQueueException if a queue runs out of events
+   */
+  @Test
+  void dequeuesInTheSameOrderAsEventPriorityQueue() throws EmptyQueueException {
+    Random random = new Random(42);
+    CalendarEventQueue<Event> calendar = new CalendarEventQueue<>();
+    EventPriorityQueue<Event> reference = new EventPriorityQueue<>();
+    long now = 0;
+    for (int i = 0; i < NUM_OF_OPERATIONS; i++) {
+      int operation = random.nextInt(10);
+      if (operation < 5 || reference.isQueueEmpty()) {
+        // Mostly ahead of the last event dequeued, sometimes behind it or far ahead
+        long offset = operation == 0 ? -random.nextInt(600) : random.nextInt(3_600);
+        if (random.nextInt(1_000) == 0) {
+          offset += 400L * 24 * 3_600;
+        }
+        Event event = newEvent(now + offset, i);
+        calendar.enqueue(event);
+        reference.enqueue(event);
+      } else {
+        Event expected = reference.dequeue();
+        Event actual = calendar.dequeue();
+        assertEquals(expected.getEventTick(), actual.getEventTick(), "operation " + i);
+        now = secondsOf(actual);
+      }
+      assertEquals(reference.size(), calendar.size());
+    }
+    while (!reference.isQueueEmpty()) {
+      assertEquals(reference.dequeue().getEventTick(), calendar.dequeue().getEventTick());
+    }
+    assertTrue(calendar.isQueueEmpty());
+  }
+
+  /**
+   * Checks that peeks between enqueues and dequeues, with events enqueued behind the event peeked
+   * at, return and dequeue the same eventTimes as the EventPriorityQueue.
+   *
+   * @throws EmptyQueueException if a queue runs out of events
+   */
+  @Test
+  void peeksInTheSameOrderAsEventPriorityQueue() throws EmptyQueueException {
+    Random random = new Random(7);
+    CalendarEventQueue<Event> calendar = new CalendarEventQueue<>();
+    EventPriorityQueue<Event> reference = new EventPriorityQueue<>();
+    long now = 0;
+    for (int i = 0; i < NUM_OF_OPERATIONS; i++) {
+      int operation = random.nextInt(3);
+      if (operation == 0 || reference.isQueueEmpty()) {
+        Event event = newEvent(now + random.nextInt(3_600), i);
+        calendar.enqueue(event);
+        reference.enqueue(event);
+      } else if (operation == 1) {
+        Event peeked = calendar.peek();
+        assertEquals(reference.peek().getEventTick(), peeked.getEventTick(), "operation " + i);
+        // Enqueues an event between the last event dequeued and the event peeked at
+        long behind = now + random.nextLong(secondsOf(peeked) - now + 1);
+        Event event = newEvent(behind, i);
+        calendar.enqueue(event);
+        reference.enqueue(event);
+      } else {
+        Event expected = reference.dequeue();
+        Event actual = calendar.dequeue();
+        assertEquals(expected.getEventTick(), actual.getEventTick(), "operation " + i);
+        now = secondsOf(actual);
+      }
+    }
+    assertEquals(reference.size(), calendar.size());
+  }
+
+  /**
+   * Checks that events with the same eventTime are dequeued in the order they were enqueued.
+   *
+   * @throws EmptyQueueException if the queue runs out of events
+   */
+  @Test
+  void dequeuesTiesInEnqueueOrder() throws EmptyQueueException {
+    CalendarEventQueue<Event> calendar = new CalendarEventQueue<>();
+    ArrayList<Event> enqueued = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      Event event = newEvent(i % 3 == 0 ? 60 : 120, i);
+      calendar.enqueue(event);
+      enqueued.add(event);
+    }
+    for (int i = 0; i < 100; i += 3) {
+      assertSame(enqueued.get(i), calendar.dequeue());
+    }
+    for (int i = 0; i < 100; i++) {
+      if (i % 3 != 0) {
+        assertSame(enqueued.get(i), calendar.dequeue());
+      }
+    }
+  }
+
+  /**
+   * Checks that dequeuing from an empty queue throws EmptyQueueException.
+   */
+  @Test
+  void dequeueFromEmptyQueueThrows() {
+    CalendarEventQueue<Event> calendar = new CalendarEventQueue<>();
+    assertThrows(EmptyQueueException.class, calendar::dequeue);
+  }
+
+  /**
+   * Helper method. Creates an event at the given number of seconds after the start.
+   *
+   * @param seconds the number of seconds after the start
+   * @param index   the index of the event, used as the customer id
+   * @return the event
+   */
+  private static Event newEvent(long seconds, int index) {
+    return new RideRequestEvent(START + seconds, index, 0, 1, 1.0, 1);
+  }
+
+  /**
+   * Helper method. Gets the number of seconds after the start of the given event.
+   *
+   * @param event the event
+   * @return the number of seconds after the start
+   */
+  private static long secondsOf(Event event) {
+    return event.getEventTick() - START;
+  }
+}
@@ -0,0 +1,189 @@
+package sim.model.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import sim.control.exception.EmptyQueueException;
+import sim.model.event.Event;
+import sim.model.event.RideRequestEvent;
+
+/**
+ * Tests of the IndexedDaryEventQueue class, checked against a PriorityQueue ordered by eventTime
+ * and then by the order the events were scheduled or rescheduled in.
+ */
+class IndexedDaryEventQueueTest {
+
+  private static final long START = 1_704_067_200L;   // 2024-01-01T00:00 in seconds
+  private static final int NUM_OF_OPERATIONS = 50_000;
+  private static final int NUM_OF_SECONDS = 300;       // few distinct eventTimes, many ties
+
+  /**
+   * Checks that random schedules, cancels, reschedules, peeks and dequeues give the same events as
+   * the reference, and that the handles of cancelled and dequeued events, whose slots are reused,
+   * no longer refer to any event.
+   *
+   * @throws EmptyQueueException if a queue runs out of events
+   */
+  @Test
+  void matchesPriorityQueue() throws EmptyQueueException {
+    Random random = new Random(42);
+    IndexedDaryEventQueue<Event> heap = new IndexedDaryEventQueue<>();
+    PriorityQueue<Entry> reference = new PriorityQueue<>(
+        Comparator.comparingLong((Entry entry) -> entry.event.getEventTick())
+            .thenComparingLong(entry -> entry.sequence));
+    HashMap<Long, Entry> scheduled = new HashMap<>();
+    ArrayList<Long> handles = new ArrayList<>();
+    ArrayList<Long> staleHandles = new ArrayList<>();
+    long sequence = 0;
+    for (int i = 0; i < NUM_OF_OPERATIONS; i++) {
+      int operation = random.nextInt(10);
+      if (operation < 3 || handles.isEmpty()) {
+        Event event = newEvent(random.nextInt(NUM_OF_SECONDS), i);
+        long handle = heap.schedule(event);
+        assertFalse(scheduled.containsKey(handle), "operation " + i);
+        Entry entry = new Entry(event, sequence++, handle);
+        reference.add(entry);
+        scheduled.put(handle, entry);
+        handles.add(handle);
+      } else if (operation == 3) {
+        long handle = removeRandom(handles, random);
+        Entry entry = scheduled.remove(handle);
+        reference.remove(entry);
+        assertSame(entry.event, heap.cancel(handle), "operation " + i);
+        staleHandles.add(handle);
+      } else if (operation == 4) {
+        long handle = handles.get(random.nextInt(handles.size()));
+        Event event = newEvent(random.nextInt(NUM_OF_SECONDS), i);
+        heap.reschedule(handle, event);
+        reference.remove(scheduled.get(handle));
+        Entry entry = new Entry(event, sequence++, handle);
+        reference.add(entry);
+        scheduled.put(handle, entry);
+      } else if (operation == 5) {
+        Entry expected = reference.peek();
+        assertEquals(expected.handle, heap.peekHandle(), "operation " + i);
+        assertSame(expected.event, heap.peek());
+        assertSame(expected.event, heap.get(expected.handle));
+      } else if (operation < 8) {
+        Entry expected = reference.poll();
+        assertSame(expected.event, heap.dequeue(), "operation " + i);
+        scheduled.remove(expected.handle);
+        handles.remove(expected.handle);
+        staleHandles.add(expected.handle);
+      } else if (!staleHandles.isEmpty()) {
+        long stale = staleHandles.get(random.nextInt(staleHandles.size()));
+        assertFalse(heap.isScheduled(stale), "operation " + i);
+        assertThrows(IllegalArgumentException.class, () -> heap.cancel(stale));
+        assertThrows(IllegalArgumentException.class,
+            () -> heap.reschedule(stale, newEvent(0, -1)));
+      }
+      assertEquals(reference.size(), heap.size());
+    }
+    while (!reference.isEmpty()) {
+      assertSame(reference.poll().event, heap.dequeue());
+    }
+    assertTrue(heap.isQueueEmpty());
+    assertThrows(EmptyQueueException.class, heap::peekHandle);
+  }
+
+  /**
+   * Checks that a rescheduled event is dequeued after the events that already have its new
+   * eventTime, whether its eventTime changed or not.
+   *
+   * @throws EmptyQueueException if the queue runs out of events
+   */
+  @Test
+  void dequeuesRescheduledEventAfterItsTies() throws EmptyQueueException {
+    IndexedDaryEventQueue<Event> heap = new IndexedDaryEventQueue<>();
+    Event first = newEvent(60, 0);
+    Event second = newEvent(60, 1);
+    Event third = newEvent(120, 2);
+    long firstHandle = heap.schedule(first);
+    heap.schedule(second);
+    long thirdHandle = heap.schedule(third);
+    Event sameTime = newEvent(60, 3);
+    Event earlier = newEvent(60, 4);
+    heap.reschedule(firstHandle, sameTime);
+    heap.reschedule(thirdHandle, earlier);
+    assertSame(second, heap.dequeue());
+    assertSame(sameTime, heap.dequeue());
+    assertSame(earlier, heap.dequeue());
+    assertTrue(heap.isQueueEmpty());
+  }
+
+  /**
+   * Checks that the handle of a cancelled event does not refer to the event scheduled in its slot
+   * afterwards.
+   */
+  @Test
+  void staleHandleDoesNotReachReusedSlot() {
+    IndexedDaryEventQueue<Event> heap = new IndexedDaryEventQueue<>();
+    long stale = heap.schedule(newEvent(60, 0));
+    heap.cancel(stale);
+    Event event = newEvent(120, 1);
+    long handle = heap.schedule(event);
+    assertFalse(heap.isScheduled(stale));
+    assertTrue(heap.isScheduled(handle));
+    assertThrows(IllegalArgumentException.class, () -> heap.cancel(stale));
+    assertSame(event, heap.get(handle));
+  }
+
+  /**
+   * Helper method. Removes a random handle from the given handles.
+   *
+   * @param handles the handles
+   * @param random  the random generator
+   * @return the removed handle
+   */
+  private static long removeRandom(ArrayList<Long> handles, Random random) {
+    int index = random.nextInt(handles.size());
+    long handle = handles.get(index);
+    handles.set(index, handles.get(handles.size() - 1));
+    handles.remove(handles.size() - 1);
+    return handle;
+  }
+
+  /**
+   * Helper method. Creates an event at the given number of seconds after the start.
+   *
+   * @param seconds the number of seconds after the start
+   * @param index   the index of the event, used as the customer id
+   * @return the event
+   */
+  private static Event newEvent(long seconds, int index) {
+    return new RideRequestEvent(START + seconds, index, 0, 1, 1.0, 1);
+  }
+
+  /**
+   * Entry class, an event of the reference queue with the order it was scheduled in and its
+   * handle in the heap.
+   */
+  private static final class Entry {
+
+    private final Event event;
+    private final long sequence;
+    private final long handle;
+
+    /**
+     * Constructor for option1.model.queue.IndexedDaryEventQueueTest.Entry class.
+     *
+     * @param event    the event
+     * @param sequence the order the event was scheduled or rescheduled in
+     * @param handle   the handle of the event in the heap
+     */
+    private Entry(Event event, long sequence, long handle) {
+      this.event = event;
+      this.sequence = sequence;
+      this.handle = handle;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package sim.model.queue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import sim.control.exception.EmptyQueueException;
+import sim.model.data.Geocoder;
+import sim.model.data.NameSpace;
+import sim.model.data.StringDictionary;
+import sim.model.driver.DriverRegistry;
+
+/**
+ * Tests of the SpatialDriverQueue class, checked against a brute-force search over every
+ * available driver.
+ */
+class SpatialDriverQueueTest {
+
+  private static final int NUM_OF_LOCATIONS = 2_000;
+  private static final int NUM_OF_CROWDED_LOCATIONS = 40;  // many drivers stand at the same place
+  private static final int NUM_OF_DRIVERS = 600;
+  private static final int NUM_OF_OPERATIONS = 20_000;
+  private static final int MAX_NEAREST = 12;
+
+  /**
+   * Checks that random k-nearest queries, nearest dequeues, removals and drivers enqueued again at
+   * new locations give the same drivers as a brute-force search, for grids from a single cell to
+   * more cells than locations. Drivers as near are ordered by location, then by how long they
+   * have waited there.
+   *
+   * @throws EmptyQueueException if the queue runs out of drivers
+   */
+  @Test
+  void findsTheSameDriversAsBruteForce() throws EmptyQueueException {
+    for (int numOfCells : new int[] {1, 50, 4 * NUM_OF_LOCATIONS}) {
+      checkAgainstBruteForce(numOfCells, new Random(numOfCells));
+    }
+  }
+
+  /**
+   * Checks that removing a driver that is not in the queue throws.
+   */
+  @Test
+  void removeUnknownDriverThrows() {
+    StringDictionary dictionary = new StringDictionary();
+    DriverRegistry registry = new DriverRegistry();
+    Geocoder geocoder = new Geocoder(dictionary);
+    SpatialDriverQueue queue = new SpatialDriverQueue(registry, geocoder, 1);
+    int driverId = registry.register("Driver", 60.0);
+    registry.setLocationId(driverId, dictionary.encode("1 Main St"));
+    queue.enqueue(driverId);
+    queue.remove(driverId);
+    assertThrows(IllegalArgumentException.class, () -> queue.remove(driverId));
+    assertThrows(IllegalArgumentException.class, () -> queue.remove(NUM_OF_DRIVERS));
+  }
+
+  /**
+   * Helper method. Runs random operations on a queue with a grid sized for the given number of
+   * locations, and checks every answer against a brute-force search.
+   *
+   * @param numOfCells the number of locations the grid is sized for
+   * @param random     the random generator
+   * @throws EmptyQueueException if the queue runs out of drivers
+   */
+  private static void checkAgainstBruteForce(int numOfCells, Random random)
+      throws EmptyQueueException {
+    StringDictionary dictionary = new StringDictionary();
+    dictionary.setNames(new NameSpace(List.of("Ann", "Bob"), List.of("Lee")));
+    int[] locationIds = new int[NUM_OF_LOCATIONS];
+    for (int i = 0; i < NUM_OF_LOCATIONS; i++) {
+      locationIds[i] = dictionary.encode(i + " Main St");
+    }
+    Geocoder geocoder = new Geocoder(dictionary);
+    DriverRegistry registry = new DriverRegistry();
+    SpatialDriverQueue queue = new SpatialDriverQueue(registry, geocoder, numOfCells);
+    long[] enqueueOrders = new long[NUM_OF_DRIVERS];
+    ArrayList<Integer> available = new ArrayList<>();
+    ArrayList<Integer> busy = new ArrayList<>();
+    long enqueueOrder = 0;
+    for (int i = 0; i < NUM_OF_DRIVERS; i++) {
+      int driverId = registry.register("Driver " + i, 60.0);
+      busy.add(driverId);
+    }
+    int[] driverIds = new int[MAX_NEAREST];
+    double[] distances = new double[MAX_NEAREST];
+    for (int i = 0; i < NUM_OF_OPERATIONS; i++) {
+      int operation = random.nextInt(5);
+      String message = "cells " + numOfCells + ", operation " + i;
+      if ((operation == 0 || available.isEmpty()) && !busy.isEmpty()) {
+        // Enqueues a driver again, at a crowded location or anywhere
+        int driverId = busy.remove(random.nextInt(busy.size()));
+        int location = random.nextBoolean() ? random.nextInt(NUM_OF_CROWDED_LOCATIONS)
+            : random.nextInt(NUM_OF_LOCATIONS);
+        registry.setLocationId(driverId, locationIds[location]);
+        queue.enqueue(driverId);
+        enqueueOrders[driverId] = enqueueOrder++;
+        available.add(driverId);
+      } else if (operation == 1) {
+        Integer driverId = available.remove(random.nextInt(available.size()));
+        queue.remove(driverId);
+        busy.add(driverId);
+      } else {
+        int from = locationIds[random.nextBoolean() ? random.nextInt(NUM_OF_CROWDED_LOCATIONS)
+            : random.nextInt(NUM_OF_LOCATIONS)];
+        List<Integer> expected = sortByDistance(available, from, registry, geocoder,
+            enqueueOrders);
+        if (operation == 2) {
+          int driverId = queue.dequeueNearest(from);
+          assertEquals(expected.get(0), driverId, message);
+          available.remove(Integer.valueOf(driverId));
+          busy.add(driverId);
+        } else {
+          int maxDrivers = 1 + random.nextInt(MAX_NEAREST);
+          int numOfFound = queue.findNearestDrivers(from, maxDrivers, driverIds, distances);
+          int numOfExpected = Math.min(maxDrivers, expected.size());
+          assertEquals(numOfExpected, numOfFound, message);
+          int[] expectedIds = new int[numOfExpected];
+          double[] expectedDistances = new double[numOfExpected];
+          for (int j = 0; j < numOfExpected; j++) {
+            expectedIds[j] = expected.get(j);
+            expectedDistances[j] = Math.sqrt(distanceSquared(geocoder,
+                registry.getLocationId(expectedIds[j]), from));
+          }
+          assertArrayEquals(expectedIds, Arrays.copyOf(driverIds, numOfFound),
+              message);
+          assertArrayEquals(expectedDistances, Arrays.copyOf(distances, numOfFound),
+              message);
+        }
+      }
+      assertEquals(available.size(), queue.size(), message);
+    }
+  }
+
+  /**
+   * Helper method. Sorts the given drivers by their distance to the given location, then by the
+   * id of their location, then by the order they were enqueued in.
+   *
+   * @param drivers       the drivers
+   * @param locationId    the dictionary id of the location
+   * @param registry      the registry the locations of the drivers are read from
+   * @param geocoder      the geocoder of the locations
+   * @param enqueueOrders the order each driver was last enqueued in, by driver id
+   * @return the sorted drivers
+   */
+  private static List<Integer> sortByDistance(List<Integer> drivers, int locationId,
+      DriverRegistry registry, Geocoder geocoder, long[] enqueueOrders) {
+    List<Integer> sorted = new ArrayList<>(drivers);
+    sorted.sort(Comparator.comparingDouble((Integer driverId) -> distanceSquared(geocoder,
+            registry.getLocationId(driverId), locationId))
+        .thenComparingInt(registry::getLocationId)
+        .thenComparingLong(driverId -> enqueueOrders[driverId]));
+    return sorted;
+  }
+
+  /**
+   * Helper method. Gets the squared distance between two locations, computed the same way as the
+   * queue does.
+   *
+   * @param geocoder the geocoder of the locations
+   * @param from     the dictionary id of the first location
+   * @param to       the dictionary id of the second location
+   * @return the squared distance, in square miles
+   */
+  private static double distanceSquared(Geocoder geocoder, int from, int to) {
+    double eastDistance = geocoder.getEasting(from) - geocoder.getEasting(to);
+    double northDistance = geocoder.getNorthing(from) - geocoder.getNorthing(to);
+    return eastDistance * eastDistance + northDistance * northDistance;
+  }
+}